@@ -0,0 +1,84 @@
+package com.aws.aurora;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the benchmarks at 1, 8 and 64 threads with the GC profiler, then
+ * prints time and allocation per operation for every thread count
+ *
+ * Takes the usual JMH options, e.g. a benchmark regex or -p hostAttribution=query.
+ * With -t only that thread count is run.
+ */
+public class BenchmarkMain {
+
+    private static final int[] THREADS = {1, 8, 64};
+    // Bytes allocated per operation; older JMH versions prefix the label with a dot
+    private static final String[] ALLOCATION = {"gc.alloc.rate.norm", "\u00b7gc.alloc.rate.norm"};
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cli;
+        try {
+            cli = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+
+        int[] threads = cli.getThreads().hasValue() ? new int[] {cli.getThreads().get()} : THREADS;
+        boolean profiled = cli.getProfilers().stream()
+            .anyMatch(p -> p.getKlass().equals(GCProfiler.class.getName()) || p.getKlass().equals("gc"));
+
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format("%-62s %7s %12s %12s %14s", "Benchmark", "Threads", "ns/op", "B/op", "ops/sec total"));
+        for (int t : threads) {
+            ChainedOptionsBuilder options = new OptionsBuilder().parent(cli).threads(t);
+            if (!profiled) {
+                options.addProfiler(GCProfiler.class);
+            }
+            Collection<RunResult> results = new Runner(options.build()).run();
+            for (RunResult result : results) {
+                summary.add(formatRow(result, t));
+            }
+        }
+
+        System.out.println();
+        System.out.println("PER-OPERATION CLIENT OVERHEAD");
+        summary.forEach(System.out::println);
+    }
+
+    private static String formatRow(RunResult result, int threads) {
+        String name = result.getParams().getBenchmark();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        for (String key : result.getParams().getParamsKeys()) {
+            name += " " + key + "=" + result.getParams().getParam(key);
+        }
+        double nanos = result.getPrimaryResult().getScore();
+        Result<?> allocation = null;
+        for (String label : ALLOCATION) {
+            if (allocation == null) {
+                allocation = result.getSecondaryResults().get(label);
+            }
+        }
+        return String.format("%-62s %7d %12.1f %12s %14.0f", name, threads, nanos,
+            allocation != null ? String.format("%.1f", allocation.getScore()) : "-",
+            nanos > 0 ? threads * 1e9 / nanos : 0);
+    }
+}
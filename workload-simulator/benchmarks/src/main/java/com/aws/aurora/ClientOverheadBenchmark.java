@@ -0,0 +1,129 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.DistributionType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The per-operation bookkeeping steps of a worker, one at a time
+ *
+ * Pairs show what the hot path avoids: formatting a table name per
+ * operation against the precomputed name, a Micrometer Timer against the
+ * striped HdrHistogram recorder, and a log line formatted on the worker
+ * thread against an operation log ring slot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-DLOG_LEVEL=warn")
+@State(Scope.Benchmark)
+public class ClientOverheadBenchmark {
+
+    private static final int TABLES = 12000;
+    private static final long LATENCY_NANOS = 1_250_000;
+
+    private final String[] tableNames = new String[TABLES + 1];
+    private final KeyDistribution uniform = KeyDistribution.create(DistributionType.UNIFORM, TABLES, 0.99, 0.05, 0.9);
+    private final KeyDistribution zipfian = KeyDistribution.create(DistributionType.ZIPFIAN, TABLES, 0.99, 0.05, 0.9);
+    private final TableHits tableHits = new TableHits(TABLES);
+    private final LongAdder counter = new LongAdder();
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder("benchmark");
+    private final Timer timer = Timer.builder("benchmark.latency").register(new SimpleMeterRegistry());
+    private OperationLog operationLog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int tableId = 1; tableId <= TABLES; tableId++) {
+            tableNames[tableId] = String.format("test_%04d", tableId);
+        }
+        operationLog = new OperationLog(NOPLogger.NOP_LOGGER, tableNames, 65536, 1.0, OperationLog.FullPolicy.DROP);
+        operationLog.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        operationLog.close();
+    }
+
+    /**
+     * Walks the table ids so consecutive calls touch different tables
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int tableId;
+
+        int next() {
+            tableId = tableId % TABLES + 1;
+            return tableId;
+        }
+    }
+
+    @Benchmark
+    public String tableNameFormat(Cursor cursor) {
+        return String.format("test_%04d", cursor.next());
+    }
+
+    @Benchmark
+    public String tableNameLookup(Cursor cursor) {
+        return tableNames[cursor.next()];
+    }
+
+    @Benchmark
+    public int uniformKey() {
+        return uniform.next();
+    }
+
+    @Benchmark
+    public int zipfianKey() {
+        return zipfian.next();
+    }
+
+    @Benchmark
+    public void tableHit(Cursor cursor) {
+        tableHits.record(cursor.next());
+    }
+
+    @Benchmark
+    public void counter() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void latencyRecorder() {
+        latencyRecorder.record(LATENCY_NANOS);
+    }
+
+    @Benchmark
+    public void micrometerTimer() {
+        timer.record(LATENCY_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void operationLogEvent(Cursor cursor) {
+        operationLog.writeSucceeded(1, "ip-10-0-1-10", cursor.next(), 1);
+    }
+
+    @Benchmark
+    public String formattedLogLine(Cursor cursor) {
+        return MessageFormatter.arrayFormat("SUCCESS: Worker-{} | Host: {} | Table: {} | INSERT completed | Latency: {}ms",
+            new Object[] {1, "ip-10-0-1-10", tableNames[cursor.next()], 1L}).getMessage();
+    }
+}
@@ -0,0 +1,125 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Whole write and read operations against a zero-latency emulated cluster
+ *
+ * {@link #write} and {@link #read} run the same code as a worker for one
+ * scheduled slot: table selection, pool checkout, statement preparation and
+ * binding, host attribution, latency recording, phase and pool counters,
+ * and the operation log. The connections come from an {@link AuroraEmulator}
+ * with no service time, so the score is what the simulator spends per
+ * operation on its own. {@link #jdbcInsert} is the bare pooled INSERT on the
+ * same emulator, for telling the simulator's share from the driver stand-in's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-DLOG_LEVEL=warn", "-Dhikari.log.level=warn"})
+@State(Scope.Benchmark)
+public class OperationBenchmark {
+
+    // Enough connections that 64 threads never wait for the pool
+    private static final int POOL_SIZE = 128;
+
+    @Param({"connection", "query"})
+    public String hostAttribution;
+
+    private WorkloadSimulator simulator;
+    private AuroraEmulator emulator;
+    private HikariDataSource baselinePool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WorkloadSimulator.Config config = new WorkloadSimulator.Config();
+        emulator = AuroraEmulator.parse("latency-ms=0,jitter-ms=0");
+        config.emulator = emulator;
+        config.auroraEndpoint = "benchmark.cluster-emulator.us-east-1.rds.amazonaws.com";
+        config.password = "emulator";
+        config.connectionPoolSize = POOL_SIZE;
+        config.writeWorkers = POOL_SIZE;
+        config.readWorkers = POOL_SIZE;
+        config.hostAttribution = WorkloadSimulator.HostAttribution.valueOf(hostAttribution.toUpperCase());
+        config.readMix = new EnumMap<>(ReadQuery.class);
+        config.readMix.put(ReadQuery.POINT, 70);
+        config.readMix.put(ReadQuery.RANGE, 20);
+        config.readMix.put(ReadQuery.AGGREGATE, 10);
+        simulator = new WorkloadSimulator(config);
+        simulator.open();
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDataSource(emulator.dataSource(config.auroraEndpoint));
+        hikariConfig.setMaximumPoolSize(POOL_SIZE);
+        hikariConfig.setPoolName("baseline");
+        baselinePool = new HikariDataSource(hikariConfig);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        baselinePool.close();
+        simulator.close();
+    }
+
+    /**
+     * One worker per benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger ids = new AtomicInteger();
+
+        WorkloadSimulator.WorkerState state;
+
+        @Setup(Level.Trial)
+        public void setUp(OperationBenchmark benchmark) {
+            state = benchmark.simulator.newWorkerState(ids.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public void write(Worker worker) {
+        simulator.runWrite(worker.state, System.nanoTime());
+    }
+
+    @Benchmark
+    public void read(Worker worker) {
+        simulator.runRead(worker.state, System.nanoTime());
+    }
+
+    @Benchmark
+    public int jdbcInsert() throws SQLException {
+        try (Connection conn = baselinePool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO test_0001 (col1, col2, col3, col4, col5) VALUES (?, ?, ?, ?, ?)")) {
+            stmt.setString(1, "data-worker-1");
+            stmt.setInt(2, 42);
+            stmt.setString(3, "worker-1");
+            stmt.setLong(4, System.currentTimeMillis());
+            stmt.setString(5, "test-data");
+            return stmt.executeUpdate();
+        }
+    }
+}
@@ -18,6 +18,7 @@ set -e
 #   test          - Run tests
 #   verify        - Verify syntax without building
 #   install       - Install to local Maven repository
+#   bench         - Run the JMH client overhead benchmarks
 #   help          - Show this help message
 #####################################################################
 
@@ -61,6 +62,7 @@ Commands:
   test          Run unit tests
   verify        Verify project structure and dependencies
   install       Install to local Maven repository
+  bench [args]  Run the JMH benchmarks at 1, 8 and 64 threads (args go to JMH)
   dependency    Display dependency tree
   help          Show this help message
 
@@ -77,6 +79,9 @@ Examples:
   # View dependency tree
   $0 dependency
 
+  # Benchmark only the write path
+  $0 bench OperationBenchmark.write
+
 Environment:
   MAVEN_OPTS    Additional Maven options (e.g., MAVEN_OPTS="-Xmx2g")
 
@@ -236,6 +241,18 @@ cmd_install() {
     print_info "Installed to: ~/.m2/repository/com/aws/aurora/aurora-workload-simulator/1.0.0/"
 }
 
+# Benchmark command - install the simulator, build benchmarks.jar and run it
+cmd_bench() {
+    print_info "Running client overhead benchmarks..."
+
+    check_prerequisites
+
+    mvn install -DskipTests -q
+    mvn -f benchmarks/pom.xml package -q
+
+    java -jar benchmarks/target/benchmarks.jar "$@"
+}
+
 # Dependency tree command
 cmd_dependency() {
     print_info "Displaying dependency tree..."
@@ -274,6 +291,10 @@ main() {
         install)
             cmd_install
             ;;
+        bench)
+            shift
+            cmd_bench "$@"
+            ;;
         dependency|deps)
             cmd_dependency
             ;;
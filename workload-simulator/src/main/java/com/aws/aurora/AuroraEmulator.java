@@ -0,0 +1,709 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import software.amazon.jdbc.plugin.failover.FailoverSuccessSQLException;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for an Aurora MySQL cluster going through a Blue-Green switchover
+ *
+ * Each pool gets a {@link DataSource} whose connections answer the
+ * simulator's own SQL from memory: inserts into test_NNNN tables (counted per
+ * table), the point, range and aggregate reads, and @@hostname,
+ * @@aurora_version, @@server_id and @@read_only. Every statement takes the
+ * configured service latency.
+ *
+ * The switchover is scripted on the clock. Status records go to the bg
+ * plugin's logger as the real plugin would write them, so the phase tracker
+ * follows the emulated deployment. While the switchover is IN_PROGRESS, new
+ * connections are refused, and statements on open connections fail with a
+ * communications link failure that closes the connection. Afterwards the
+ * cluster is served by the green hosts. A connection opened on blue raises
+ * the wrapper's "active SQL connection has changed" exception on its next
+ * statement and continues on green, like a wrapper connection switched by
+ * the plugin.
+ *
+ * The AWS JDBC Wrapper is not involved: its plugins read cluster topology
+ * that the emulator does not provide. The emulator exercises everything
+ * above the driver (pooling, scheduling, retries, error classification,
+ * host and phase tracking), which is what matters for measuring the
+ * simulator's own throughput ceiling and its recovery detection.
+ */
+class AuroraEmulator {
+
+    private static final Logger statusLogger = Logger.getLogger(BlueGreenPhaseTracker.BG_LOGGER + ".emulator");
+
+    // Read-only instance rejecting a write
+    private static final int ER_OPTION_PREVENTS_STATEMENT = 1290;
+
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:INTO|FROM)\\s+(\\w+)");
+    private static final Pattern LIMIT = Pattern.compile("(?i)\\bLIMIT\\s+(\\d+)");
+    private static final Pattern INSERT_COLUMNS = Pattern.compile("(?i)^INSERT\\s+INTO\\s+\\w+\\s*\\(([^)]*)\\)");
+
+    private final double latencyMs;
+    private final double jitterMs;
+    private final double switchoverAtSeconds;  // 0 for no deployment
+    private final double preparationSeconds;
+    private final double outageSeconds;
+    private final double postSeconds;
+    private final String[] writerHosts;        // Blue, green
+    private final String[] readerHosts;
+    private final String[] versions;
+
+    private long startNanos;
+    private ScheduledExecutorService statusExecutor;
+
+    // Highest id per table; ids start at 1 like AUTO_INCREMENT
+    private final ConcurrentHashMap<String, AtomicLong> tables = new ConcurrentHashMap<>();
+
+    private final LongAdder insertedRows = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder refusedConnections = new LongAdder();
+    private final LongAdder droppedConnections = new LongAdder();
+    private final LongAdder connectionChanges = new LongAdder();
+
+    private AuroraEmulator(double latencyMs, double jitterMs, double switchoverAtSeconds, double preparationSeconds,
+                           double outageSeconds, double postSeconds, String[] writerHosts, String[] readerHosts,
+                           String[] versions) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.switchoverAtSeconds = switchoverAtSeconds;
+        this.preparationSeconds = preparationSeconds;
+        this.outageSeconds = outageSeconds;
+        this.postSeconds = postSeconds;
+        this.writerHosts = writerHosts;
+        this.readerHosts = readerHosts;
+        this.versions = versions;
+    }
+
+    /**
+     * Parse --emulator options: "latency-ms=1,jitter-ms=0.5,switchover-at=60s,outage=5s,post=60s".
+     * An empty value gives an emulator with the default latency and no switchover.
+     */
+    static AuroraEmulator parse(String value) {
+        double latencyMs = 1.0;
+        double jitterMs = 0.5;
+        double switchoverAt = 0;
+        double preparation = 10;
+        double outage = 5;
+        double post = 60;
+        String[] writerHosts = {"ip-10-0-1-10", "ip-10-0-2-10"};
+        String[] readerHosts = {"ip-10-0-1-20", "ip-10-0-2-20"};
+        String[] versions = {"3.05.2", "3.08.0"};
+
+        for (String entry : value.split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected key=value: " + entry);
+            }
+            String option = parts[1].trim();
+            switch (parts[0].trim()) {
+                case "latency-ms":
+                    latencyMs = Double.parseDouble(option);
+                    break;
+                case "jitter-ms":
+                    jitterMs = Double.parseDouble(option);
+                    break;
+                case "switchover-at":
+                    switchoverAt = WorkloadProfile.parseSeconds(option);
+                    break;
+                case "preparation":
+                    preparation = WorkloadProfile.parseSeconds(option);
+                    break;
+                case "outage":
+                    outage = WorkloadProfile.parseSeconds(option);
+                    break;
+                case "post":
+                    post = WorkloadProfile.parseSeconds(option);
+                    break;
+                case "blue-host":
+                    writerHosts[0] = option;
+                    break;
+                case "green-host":
+                    writerHosts[1] = option;
+                    break;
+                case "blue-version":
+                    versions[0] = option;
+                    break;
+                case "green-version":
+                    versions[1] = option;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown emulator option: " + parts[0].trim());
+            }
+        }
+        if (latencyMs < 0 || jitterMs < 0 || jitterMs > latencyMs || switchoverAt < 0 || preparation < 0
+            || outage < 0 || post < 0) {
+            throw new IllegalArgumentException("Durations must be at least 0 and jitter-ms at most latency-ms");
+        }
+        return new AuroraEmulator(latencyMs, jitterMs, switchoverAt, preparation, outage, post,
+            writerHosts, readerHosts, versions);
+    }
+
+    /**
+     * Start the clock of the scripted switchover
+     */
+    void start() {
+        startNanos = System.nanoTime();
+        if (switchoverAtSeconds <= 0) {
+            return;
+        }
+        statusExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "aurora-emulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        double preparationAt = Math.max(0, switchoverAtSeconds - preparationSeconds);
+        logStatusAt(0, BlueGreenPhase.CREATED);
+        logStatusAt(preparationAt, BlueGreenPhase.PREPARATION);
+        logStatusAt(switchoverAtSeconds, BlueGreenPhase.IN_PROGRESS);
+        logStatusAt(switchoverAtSeconds + outageSeconds, BlueGreenPhase.POST);
+        logStatusAt(switchoverAtSeconds + outageSeconds + postSeconds, BlueGreenPhase.COMPLETED);
+    }
+
+    private void logStatusAt(double seconds, BlueGreenPhase phase) {
+        statusExecutor.schedule(() -> statusLogger.log(Level.FINE, "BG status: " + phase.name()),
+            (long) (seconds * 1000), TimeUnit.MILLISECONDS);
+    }
+
+    void close() {
+        if (statusExecutor != null) {
+            statusExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * One-line summary for the startup banner
+     */
+    String describe() {
+        String latency = String.format("%.1fms +/- %.1fms latency", latencyMs, jitterMs);
+        if (switchoverAtSeconds <= 0) {
+            return latency + ", no switchover";
+        }
+        return String.format("%s, switchover %s -> %s at %.0fs (%.0fs outage, %.0fs post)", latency,
+            writerHosts[0], writerHosts[1], switchoverAtSeconds, outageSeconds, postSeconds);
+    }
+
+    /**
+     * Totals for the shutdown summary
+     */
+    String summary() {
+        return String.format("%d rows inserted in %d tables, %d queries, %d connections refused, "
+                + "%d dropped, %d switched to green", insertedRows.sum(), tables.size(), queries.sum(),
+            refusedConnections.sum(), droppedConnections.sum(), connectionChanges.sum());
+    }
+
+    /**
+     * Data source for one endpoint; an endpoint with "-ro-" in it is served by the reader
+     */
+    DataSource dataSource(String endpoint) {
+        return new EmulatedDataSource(endpoint.contains("-ro-"));
+    }
+
+    private double elapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private boolean isSwitchingOver() {
+        double elapsed = elapsedSeconds();
+        return switchoverAtSeconds > 0 && elapsed >= switchoverAtSeconds
+            && elapsed < switchoverAtSeconds + outageSeconds;
+    }
+
+    /**
+     * 0 while blue serves the cluster, 1 once green does
+     */
+    private int servingGeneration() {
+        return switchoverAtSeconds > 0 && elapsedSeconds() >= switchoverAtSeconds + outageSeconds ? 1 : 0;
+    }
+
+    private void serviceDelay() {
+        double ms = jitterMs > 0
+            ? latencyMs + ThreadLocalRandom.current().nextDouble(-jitterMs, jitterMs)
+            : latencyMs;
+        if (ms > 0) {
+            LockSupport.parkNanos((long) (ms * 1_000_000));
+        }
+    }
+
+    private AtomicLong table(String sql) {
+        Matcher matcher = TABLE.matcher(sql);
+        return matcher.find() ? tables.computeIfAbsent(matcher.group(1).toLowerCase(), t -> new AtomicLong()) : null;
+    }
+
+    /**
+     * Connection the simulator's host tracking can look through, like the wrapper's ConnectionWrapper
+     */
+    interface EmulatedConnection extends Connection {
+        /**
+         * Stand-in for the physical connection; replaced when the connection moves to green
+         */
+        Connection getCurrentConnection();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(AuroraEmulator.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * Answers for Object and Wrapper methods, and a zero value for everything
+     * the emulator does not model (driver properties, warnings, hints)
+     */
+    private static Object common(Object proxy, Method method, Object[] args) throws SQLException {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "emulated " + proxy.getClass().getInterfaces()[0].getSimpleName() + "@"
+                    + Integer.toHexString(System.identityHashCode(proxy));
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                throw new SQLException("Not a wrapper for " + args[0]);
+            case "isWrapperFor":
+                return ((Class<?>) args[0]).isInstance(proxy);
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Hands out connections unless the switchover is in progress
+     */
+    private final class EmulatedDataSource implements DataSource {
+        private final boolean reader;
+
+        EmulatedDataSource(boolean reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            serviceDelay();
+            if (isSwitchingOver()) {
+                refusedConnections.increment();
+                throw new SQLNonTransientConnectionException("Communications link failure: connection refused "
+                    + "while the Blue-Green switchover is in progress", "08001");
+            }
+            return proxy(EmulatedConnection.class, new ConnectionHandler(reader));
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            throw new SQLException("Not a wrapper for " + iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return iface.isInstance(this);
+        }
+    }
+
+    /**
+     * Server session behind a connection; the physical stand-in only answers isClosed
+     */
+    private static final class Session {
+        final int generation;
+        volatile boolean closed;
+        final Connection physical;
+
+        Session(int generation) {
+            this.generation = generation;
+            this.physical = proxy(Connection.class, (proxy, method, args) ->
+                method.getName().equals("isClosed") ? closed : common(proxy, method, args));
+        }
+    }
+
+    /**
+     * One client connection; used by one thread at a time, like a pooled connection
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+        private final boolean reader;
+        private volatile Session session;
+        private volatile boolean closed;
+        private boolean readOnly;
+        private boolean autoCommit = true;
+        private Connection self;
+
+        ConnectionHandler(boolean reader) {
+            this.reader = reader;
+            this.session = new Session(servingGeneration());
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            self = (Connection) proxy;
+            switch (method.getName()) {
+                case "close":
+                case "abort":
+                    closed = true;
+                    session.closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "isValid":
+                    return !closed;
+                case "getCurrentConnection":
+                    return session.physical;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly;
+                case "getTransactionIsolation":
+                    return Connection.TRANSACTION_REPEATABLE_READ;
+                case "commit":
+                    beforeStatement();
+                    return null;
+                case "rollback":
+                    ensureOpen();
+                    return null;
+                case "prepareStatement":
+                    ensureOpen();
+                    return proxy(PreparedStatement.class, new StatementHandler(this, (String) args[0]));
+                case "createStatement":
+                    ensureOpen();
+                    return proxy(Statement.class, new StatementHandler(this, null));
+                default:
+                    return common(proxy, method, args);
+            }
+        }
+
+        void ensureOpen() throws SQLException {
+            if (closed) {
+                throw new SQLNonTransientConnectionException("No operations allowed after connection closed.", "08003");
+            }
+        }
+
+        /**
+         * Fail the statement the way a switchover would, otherwise wait out the service latency
+         */
+        void beforeStatement() throws SQLException {
+            ensureOpen();
+            if (isSwitchingOver()) {
+                closed = true;
+                session.closed = true;
+                droppedConnections.increment();
+                throw new SQLNonTransientConnectionException("Communications link failure", "08S01");
+            }
+            int generation = servingGeneration();
+            if (session.generation < generation) {
+                session.closed = true;
+                session = new Session(generation);
+                connectionChanges.increment();
+                throw new FailoverSuccessSQLException();
+            }
+            serviceDelay();
+        }
+
+        boolean isReaderSession() {
+            return reader || readOnly;
+        }
+
+        String host() {
+            return isReaderSession() ? readerHosts[session.generation] : writerHosts[session.generation];
+        }
+
+        int serverId() {
+            return (session.generation + 1) * 1000 + (isReaderSession() ? 2 : 1);
+        }
+    }
+
+    /**
+     * Prepared or plain statement running the simulator's SQL against the in-memory tables
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final ConnectionHandler connection;
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private int batched;
+        private boolean closed;
+        private ResultSet lastResult;
+
+        StatementHandler(ConnectionHandler connection, String preparedSql) {
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                int index = (Integer) args[0];
+                while (parameters.size() < index) {
+                    parameters.add(null);
+                }
+                parameters.set(index - 1, args[1]);
+                return null;
+            }
+            switch (name) {
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connection.self;
+                case "addBatch":
+                    batched++;
+                    return null;
+                case "clearBatch":
+                    batched = 0;
+                    return null;
+                case "clearParameters":
+                    parameters.clear();
+                    return null;
+                case "executeUpdate":
+                    return update(sql(args));
+                case "executeBatch":
+                    return batch();
+                case "executeQuery":
+                    return query(sql(args));
+                case "execute":
+                    lastResult = query(sql(args));
+                    return true;
+                case "getResultSet":
+                    return lastResult;
+                case "getUpdateCount":
+                    return -1;
+                default:
+                    return common(proxy, method, args);
+            }
+        }
+
+        private String sql(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+        }
+
+        private int update(String sql) throws SQLException {
+            connection.beforeStatement();
+            boolean create = sql.regionMatches(true, 0, "CREATE", 0, 6);
+            if (!create && !sql.regionMatches(true, 0, "INSERT", 0, 6)) {
+                throw new SQLException("Statement not supported by the emulator: " + sql, "42000");
+            }
+            if (connection.isReaderSession()) {
+                throw new SQLException("The MySQL server is running with the --read-only option so it cannot "
+                    + "execute this statement", "HY000", ER_OPTION_PREVENTS_STATEMENT);
+            }
+            if (create) {
+                // Tables exist as soon as rows are inserted into them
+                return 0;
+            }
+            Matcher columns = INSERT_COLUMNS.matcher(sql);
+            int perRow = columns.find() ? columns.group(1).split(",").length : 1;
+            int rows = Math.max(1, parameters.size() / perRow);
+            table(sql).addAndGet(rows);
+            insertedRows.add(rows);
+            return rows;
+        }
+
+        private int[] batch() throws SQLException {
+            int[] counts = new int[batched];
+            if (batched > 0) {
+                update(preparedSql);
+                table(preparedSql).addAndGet(batched - 1);
+                insertedRows.add(batched - 1);
+                Arrays.fill(counts, 1);
+            }
+            batched = 0;
+            return counts;
+        }
+
+        private ResultSet query(String sql) throws SQLException {
+            connection.beforeStatement();
+            queries.increment();
+            return proxy(ResultSet.class, new ResultSetHandler(rows(sql.trim())));
+        }
+
+        private List<Object[]> rows(String sql) throws SQLException {
+            String upper = sql.toUpperCase();
+            if (upper.equals("SELECT 1")) {
+                return Collections.singletonList(new Object[] {1});
+            }
+            if (upper.startsWith("SELECT @@")) {
+                String[] variables = upper.substring("SELECT ".length()).split(",");
+                Object[] row = new Object[variables.length];
+                for (int i = 0; i < variables.length; i++) {
+                    row[i] = variable(variables[i].trim());
+                }
+                return Collections.singletonList(row);
+            }
+
+            AtomicLong table = table(sql);
+            long maxId = table != null ? table.get() : 0;
+            if (upper.startsWith("SELECT MAX(ID)")) {
+                return Collections.singletonList(new Object[] {maxId});
+            }
+            if (upper.startsWith("SELECT COUNT(*)")) {
+                // About a tenth of the rows fall in the aggregate's col2 span
+                return Collections.singletonList(new Object[] {maxId / 10, 500.0, System.currentTimeMillis()});
+            }
+            if (upper.startsWith("SELECT ID, COL1")) {
+                long id = parameters.isEmpty() ? 0 : ((Number) parameters.get(0)).longValue();
+                return id >= 1 && id <= maxId
+                    ? Collections.singletonList(new Object[] {id, "data", 1, "worker", System.currentTimeMillis(), "emulated"})
+                    : Collections.emptyList();
+            }
+            if (upper.startsWith("SELECT ID, COL2")) {
+                Matcher limit = LIMIT.matcher(sql);
+                int count = (int) Math.min(maxId, limit.find() ? Long.parseLong(limit.group(1)) : 100);
+                List<Object[]> rows = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    rows.add(new Object[] {maxId - i, 0, System.currentTimeMillis()});
+                }
+                return rows;
+            }
+            throw new SQLException("Query not supported by the emulator: " + sql, "42000");
+        }
+
+        private Object variable(String name) {
+            switch (name) {
+                case "@@HOSTNAME":
+                    return connection.host();
+                case "@@AURORA_VERSION":
+                    return versions[connection.session.generation];
+                case "@@SERVER_ID":
+                    return connection.serverId();
+                case "@@READ_ONLY":
+                    return connection.isReaderSession() ? 1 : 0;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Forward-only result set over rows built by the statement
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final List<Object[]> rows;
+        private int position = -1;
+        private boolean wasNull;
+
+        ResultSetHandler(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    return ++position < rows.size();
+                case "close":
+                    return null;
+                case "wasNull":
+                    return wasNull;
+                case "getObject":
+                    return column(args);
+                case "getString": {
+                    Object value = column(args);
+                    return value != null ? value.toString() : null;
+                }
+                case "getInt":
+                    return (int) number(args);
+                case "getLong":
+                    return (long) number(args);
+                case "getDouble":
+                    return number(args);
+                default:
+                    return common(proxy, method, args);
+            }
+        }
+
+        private Object column(Object[] args) throws SQLException {
+            if (position < 0 || position >= rows.size() || !(args[0] instanceof Integer)) {
+                throw new SQLException("No current row, or column not addressed by index", "S1000");
+            }
+            Object value = rows.get(position)[(Integer) args[0] - 1];
+            wasNull = value == null;
+            return value;
+        }
+
+        private double number(Object[] args) throws SQLException {
+            Object value = column(args);
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
+    }
+}
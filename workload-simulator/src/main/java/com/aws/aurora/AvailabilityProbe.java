@@ -0,0 +1,338 @@
+package com.aws.aurora;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Millisecond-resolution availability probe, independent of the workload
+ *
+ * The workload only notices a writer switch when one of its own operations
+ * gets through, and per-second buckets round every outage to whole seconds.
+ * Under saturation, queueing also hides when the database came back. A
+ * probe runs one tiny operation every few milliseconds on its own thread and
+ * its own single-connection pool with short timeouts. For the write probe
+ * that is an INSERT into the heartbeat table plus SELECT @@hostname; for the
+ * read probe, SELECT @@hostname alone.
+ *
+ * An unavailable window runs from the completion of the last successful
+ * probe before a failure to the completion of the first successful probe
+ * after it. A success on a different host also closes a window, even without
+ * failures in between. The first window that moves off the initial host is
+ * the switchover: its two ends are the last success on blue and the first
+ * success on green. Resolution is the probe interval plus one round trip.
+ */
+class AvailabilityProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityProbe.class);
+
+    static final String HEARTBEAT_TABLE = "availability_heartbeat";
+    static final String CREATE_HEARTBEAT_SQL = "CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " ("
+        + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+        + "probe VARCHAR(64), "
+        + "seq BIGINT, "
+        + "sent_at BIGINT, "
+        + "created_at TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3)"
+        + ") ENGINE=InnoDB";
+    private static final String INSERT_SQL = "INSERT INTO " + HEARTBEAT_TABLE + " (probe, seq, sent_at) VALUES (?, ?, ?)";
+    private static final String HOST_SQL = "SELECT @@hostname";
+
+    // Windows kept for the shutdown summary; later ones are only counted
+    private static final int MAX_WINDOWS = 1000;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+        .withZone(ZoneId.systemDefault());
+
+    enum Kind {
+        WRITE, READ
+    }
+
+    private final Kind kind;
+    private final DataSource dataSource;
+    private final String endpoint;
+    private final long intervalNanos;
+    private final String probeId;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // Probe thread only
+    private long seq;
+    private String lastHost;
+    private long lastSuccessNanos;
+    private long lastSuccessMillis;
+    private long failuresSinceSuccess;
+
+    // Read by the statistics thread
+    private volatile String initialHost;
+    private volatile String currentHost;
+    private volatile long failingSinceNanos;    // 0 while up
+    private volatile String lastError;
+    private volatile Window switchover;         // First window that left the initial host
+    private volatile long maxUnavailableNanos;
+    private final ConcurrentLinkedQueue<Window> closed = new ConcurrentLinkedQueue<>();
+    private final List<Window> windows = new ArrayList<>();
+    private long windowCount;
+    private long totalUnavailableNanos;
+
+    AvailabilityProbe(Kind kind, DataSource dataSource, String endpoint, long intervalMillis, String probeId) {
+        this.kind = kind;
+        this.dataSource = dataSource;
+        this.endpoint = endpoint;
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        this.probeId = probeId;
+        this.thread = new Thread(this::run, "probe-" + kind.name().toLowerCase());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Create the heartbeat table if needed and start probing
+     */
+    void start() {
+        if (kind == Kind.WRITE) {
+            try (Connection conn = dataSource.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(CREATE_HEARTBEAT_SQL);
+            } catch (SQLException e) {
+                logger.warn("Could not create {}; write probes fail until it exists: {}", HEARTBEAT_TABLE, e.getMessage());
+            }
+        }
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        while (running) {
+            String host = null;
+            try {
+                host = probe();
+            } catch (SQLException e) {
+                lastError = e.getMessage();
+            }
+            long doneNanos = System.nanoTime();
+            long doneMillis = System.currentTimeMillis();
+            if (host != null) {
+                succeeded.increment();
+                onSuccess(host, doneNanos, doneMillis);
+            } else {
+                failed.increment();
+                onFailure(doneNanos);
+            }
+
+            // Keep the cadence, but do not fire a burst of probes after a long stall
+            next = Math.max(next + intervalNanos, doneNanos);
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    /**
+     * One probe round trip; returns the serving host
+     */
+    private String probe() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            if (kind == Kind.WRITE) {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+                    stmt.setString(1, probeId);
+                    stmt.setLong(2, ++seq);
+                    stmt.setLong(3, System.currentTimeMillis());
+                    stmt.executeUpdate();
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(HOST_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void onSuccess(String host, long nanos, long millis) {
+        if (lastHost != null && (failuresSinceSuccess > 0 || !host.equals(lastHost))) {
+            Window window = new Window(kind, lastHost, lastSuccessMillis, host, millis,
+                nanos - lastSuccessNanos, failuresSinceSuccess);
+            if (switchover == null && lastHost.equals(initialHost) && !host.equals(initialHost)) {
+                switchover = window;
+            }
+            record(window);
+        }
+        if (initialHost == null) {
+            initialHost = host;
+        }
+        lastHost = host;
+        lastSuccessNanos = nanos;
+        lastSuccessMillis = millis;
+        failuresSinceSuccess = 0;
+        currentHost = host;
+        failingSinceNanos = 0;
+    }
+
+    private void onFailure(long nanos) {
+        if (failuresSinceSuccess++ == 0) {
+            // Down since the last success; before the first success, since now
+            failingSinceNanos = lastHost != null ? lastSuccessNanos : nanos;
+        }
+    }
+
+    private void record(Window window) {
+        closed.add(window);
+        maxUnavailableNanos = Math.max(maxUnavailableNanos, window.unavailableNanos);
+        synchronized (windows) {
+            windowCount++;
+            totalUnavailableNanos += window.unavailableNanos;
+            if (windows.size() < MAX_WINDOWS) {
+                windows.add(window);
+            }
+        }
+    }
+
+    /**
+     * Next window closed since the last call, or null. Statistics thread only.
+     */
+    Window pollWindow() {
+        return closed.poll();
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    boolean isUp() {
+        return currentHost != null && failingSinceNanos == 0;
+    }
+
+    String getCurrentHost() {
+        return currentHost;
+    }
+
+    String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Seconds since the last success while failing, else 0
+     */
+    double getOngoingUnavailableSeconds() {
+        long since = failingSinceNanos;
+        return since != 0 ? (System.nanoTime() - since) / 1e9 : 0;
+    }
+
+    double getMaxUnavailableSeconds() {
+        return maxUnavailableNanos / 1e9;
+    }
+
+    Window getSwitchover() {
+        return switchover;
+    }
+
+    long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Shutdown summary lines: totals, the switchover, then every window
+     */
+    List<String> report() {
+        List<String> lines = new ArrayList<>();
+        String name = kind == Kind.WRITE ? "Write probe" : "Read probe";
+        synchronized (windows) {
+            lines.add(String.format("%s (%s): %d probes, %d failed | %d unavailable windows, longest %.3fs, total %.3fs",
+                name, endpoint, getSucceeded() + getFailed(), getFailed(), windowCount,
+                getMaxUnavailableSeconds(), totalUnavailableNanos / 1e9));
+            Window first = switchover;
+            if (first != null) {
+                lines.add(String.format("%s switchover: last success on blue %s at %s | first success on green %s at %s | unavailable %.3fs",
+                    name, first.lastHost, first.formatLastSuccess(), first.nextHost, first.formatNextSuccess(),
+                    first.getUnavailableSeconds()));
+            }
+            for (Window window : windows) {
+                lines.add(name + " window: " + window.describe());
+            }
+            if (windowCount > windows.size()) {
+                lines.add(String.format("%s: %d more windows not listed", name, windowCount - windows.size()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Time between the last success before an interruption and the first success after it
+     */
+    static final class Window {
+        final Kind kind;
+        final String lastHost;
+        final long lastSuccessMillis;
+        final String nextHost;
+        final long nextSuccessMillis;
+        final long unavailableNanos;
+        final long failedProbes;
+
+        Window(Kind kind, String lastHost, long lastSuccessMillis, String nextHost, long nextSuccessMillis,
+               long unavailableNanos, long failedProbes) {
+            this.kind = kind;
+            this.lastHost = lastHost;
+            this.lastSuccessMillis = lastSuccessMillis;
+            this.nextHost = nextHost;
+            this.nextSuccessMillis = nextSuccessMillis;
+            this.unavailableNanos = unavailableNanos;
+            this.failedProbes = failedProbes;
+        }
+
+        boolean isHostChange() {
+            return !lastHost.equals(nextHost);
+        }
+
+        double getUnavailableSeconds() {
+            return unavailableNanos / 1e9;
+        }
+
+        String formatLastSuccess() {
+            return TIME.format(Instant.ofEpochMilli(lastSuccessMillis));
+        }
+
+        String formatNextSuccess() {
+            return TIME.format(Instant.ofEpochMilli(nextSuccessMillis));
+        }
+
+        /**
+         * e.g. "3.412s from 12:00:01.123 on ip-10-0-1-10 to 12:00:04.535 on ip-10-0-2-10, 160 failed probes"
+         */
+        String describe() {
+            return String.format("%.3fs from %s on %s to %s on %s, %d failed probes%s", getUnavailableSeconds(),
+                formatLastSuccess(), lastHost, formatNextSuccess(), nextHost, failedProbes,
+                isHostChange() ? " (host changed)" : "");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Blue-Green phase as reported by the AWS JDBC Wrapper's bg plugin
+ *
+ * The plugin's status monitors log every status they read from the
+ * deployment's metadata table on the "software.amazon.jdbc.plugin.bluegreen"
+ * JUL logger. A handler on that logger parses the phase out of those records
+ * and publishes each change as an immutable, timestamped {@link Transition}
+ * with a single compare-and-set, so workers read the current phase with one
+ * volatile read and the statistics thread drains the transitions in order.
+ *
+ * The bg logger is opened to FINEST so status records always reach the
+ * handler; records at or above the configured wrapper log level are passed
+ * on to SLF4J as before, everything below it is dropped after parsing.
+ */
+class BlueGreenPhaseTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlueGreenPhaseTracker.class);
+    static final String BG_LOGGER = "software.amazon.jdbc.plugin.bluegreen";
+
+    // "BG status: IN_PROGRESS" (status provider) and "Status changed to: POST" (status monitor)
+    private static final Pattern STATUS = Pattern.compile(
+        "(?:BG status|[Ss]tatus changed to)\\W+(NOT_CREATED|CREATED|PREPARATION|IN_PROGRESS|POST|COMPLETED)\\b");
+
+    // Held strongly: JUL only keeps weak references to loggers, and a collected logger loses its handler
+    private java.util.logging.Logger bgLogger;
+
+    private final AtomicReference<Transition> current;
+    private final ConcurrentLinkedQueue<Transition> pending = new ConcurrentLinkedQueue<>();
+
+    BlueGreenPhaseTracker() {
+        this.current = new AtomicReference<>(
+            new Transition(0, BlueGreenPhase.NOT_CREATED, BlueGreenPhase.NOT_CREATED, "startup"));
+    }
+
+    /**
+     * Start listening to the bg plugin's status records
+     *
+     * @param wrapperLoggerLevel JUL level below which bg plugin records are not logged
+     */
+    void install(String wrapperLoggerLevel) {
+        bgLogger = java.util.logging.Logger.getLogger(BG_LOGGER);
+        bgLogger.setLevel(Level.ALL);
+        bgLogger.setUseParentHandlers(false);
+        bgLogger.addHandler(new StatusHandler(Level.parse(wrapperLoggerLevel)));
+        logger.info("Tracking Blue-Green phase from {} status records", BG_LOGGER);
+    }
+
+    /**
+     * Current phase; one volatile read, safe to call on every operation
+     */
+    BlueGreenPhase current() {
+        return current.get().phase;
+    }
+
+    Transition currentTransition() {
+        return current.get();
+    }
+
+    /**
+     * Publish a phase; a no-op if it is already the current phase
+     *
+     * @return true if this call made the transition
+     */
+    boolean publish(BlueGreenPhase phase, String source) {
+        while (true) {
+            Transition previous = current.get();
+            if (previous.phase == phase) {
+                return false;
+            }
+            Transition next = new Transition(previous.sequence + 1, previous.phase, phase, source);
+            if (current.compareAndSet(previous, next)) {
+                pending.add(next);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Next transition not yet seen by the statistics thread, or null
+     */
+    Transition pollTransition() {
+        return pending.poll();
+    }
+
+    /**
+     * Phase named in a bg plugin log message, or null
+     */
+    static BlueGreenPhase parseStatus(String message) {
+        if (message == null) {
+            return null;
+        }
+        Matcher matcher = STATUS.matcher(message);
+        return matcher.find() ? BlueGreenPhase.fromString(matcher.group(1)) : null;
+    }
+
+    /**
+     * One phase change
+     */
+    static final class Transition {
+        final long sequence;
+        final BlueGreenPhase previous;
+        final BlueGreenPhase phase;
+        final long nanoTime;
+        final long epochMillis;
+        final String source;
+
+        Transition(long sequence, BlueGreenPhase previous, BlueGreenPhase phase, String source) {
+            this.sequence = sequence;
+            this.previous = previous;
+            this.phase = phase;
+            this.nanoTime = System.nanoTime();
+            this.epochMillis = System.currentTimeMillis();
+            this.source = source;
+        }
+    }
+
+    /**
+     * JUL handler on the bg plugin logger: parses every record, forwards loggable ones to SLF4J
+     */
+    private class StatusHandler extends Handler {
+        private final Level forwardLevel;
+        private final Handler forward = new SLF4JBridgeHandler();
+        private final Formatter formatter = new SimpleFormatter();
+
+        StatusHandler(Level forwardLevel) {
+            this.forwardLevel = forwardLevel;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            String message;
+            try {
+                message = formatter.formatMessage(record);
+            } catch (RuntimeException e) {
+                message = record.getMessage();
+            }
+            BlueGreenPhase phase = parseStatus(message);
+            if (phase != null) {
+                BlueGreenPhaseTracker.this.publish(phase, record.getLoggerName());
+            }
+            if (record.getLevel().intValue() >= forwardLevel.intValue()) {
+                forward.publish(record);
+            }
+        }
+
+        @Override
+        public void flush() {
+            forward.flush();
+        }
+
+        @Override
+        public void close() {
+            forward.close();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.aws.aurora;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closed-loop search for the highest write rate that meets a P99 latency SLO
+ *
+ * The search drives the write scheduler through a series of constant-rate
+ * steps. Each step discards a warmup period, then measures the steady state:
+ * achieved throughput, the latency distribution (from intended start, so
+ * queueing counts), errors and pool utilization. A step passes when P99 is
+ * within the SLO, at least 95% of the target rate completed and under 1% of
+ * operations failed.
+ *
+ * Rates grow by a fixed factor until a step fails; that is the knee of the
+ * curve. The gap between the last passing and the first failing rate is then
+ * bisected a few times, and the best passing step is the reported capacity.
+ * Concurrency follows the rate through the worker scaling in
+ * {@link WorkloadSimulator}.
+ *
+ * All methods are called from the statistics thread only.
+ */
+class CapacitySearch {
+
+    static final double MIN_ACHIEVED_RATIO = 0.95;
+    static final double MAX_ERROR_RATIO = 0.01;
+
+    private final double sloP99Nanos;
+    private final double startRate;
+    private final double stepFactor;
+    private final double maxRate;
+    private final int warmupSeconds;
+    private final int measureSeconds;
+    private final int refineSteps;
+
+    private final List<Step> steps = new ArrayList<>();
+    private Step current;
+    private int secondsInStep;
+    private Step bestPass;
+    private Step firstFail;
+    private int refinements;
+    private boolean finished;
+
+    /**
+     * @param maxRate highest rate to try, 0 for no limit
+     */
+    CapacitySearch(double sloP99Ms, double startRate, double stepFactor, double maxRate,
+                   int warmupSeconds, int measureSeconds, int refineSteps) {
+        this.sloP99Nanos = sloP99Ms * 1e6;
+        this.startRate = startRate;
+        this.stepFactor = stepFactor;
+        this.maxRate = maxRate;
+        this.warmupSeconds = warmupSeconds;
+        this.measureSeconds = measureSeconds;
+        this.refineSteps = refineSteps;
+        this.current = new Step(startRate);
+        steps.add(current);
+    }
+
+    /**
+     * Rate of the step in progress
+     */
+    double getTargetRate() {
+        return current.targetRate;
+    }
+
+    /**
+     * One-line summary for the startup banner
+     */
+    String describe() {
+        return String.format("P99 SLO %.1fms, from %.0f writes/sec, x%.2f per step%s, %ds warmup + %ds per step",
+            sloP99Nanos / 1e6, startRate, stepFactor, maxRate > 0 ? String.format(" up to %.0f/sec", maxRate) : "",
+            warmupSeconds, measureSeconds);
+    }
+
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Feed one second of write statistics
+     *
+     * @param latency write latency histogram of that second
+     * @return the rate to run next: the current one, the next step's, or -1 once the search is over
+     */
+    double onSecond(WindowedStats.Bucket bucket, Histogram latency, int workers,
+                    int activeConnections, int maxPoolSize, int pendingThreads) {
+        if (finished) {
+            return -1;
+        }
+        if (++secondsInStep <= warmupSeconds) {
+            return current.targetRate;
+        }
+
+        current.seconds++;
+        current.ops += bucket.writeOps;
+        current.failed += bucket.writeFailed;
+        current.scheduled += bucket.writeTarget;
+        current.latency.add(latency);
+        current.workers = Math.max(current.workers, workers);
+        current.connectionSum += activeConnections;
+        current.maxPoolSize = Math.max(current.maxPoolSize, maxPoolSize);
+        current.pendingPeak = Math.max(current.pendingPeak, pendingThreads);
+        if (current.seconds < measureSeconds) {
+            return current.targetRate;
+        }
+
+        current.verdict = judge(current);
+        if (current.verdict == Verdict.PASS) {
+            if (bestPass == null || current.targetRate > bestPass.targetRate) {
+                bestPass = current;
+            }
+        } else if (firstFail == null || current.targetRate < firstFail.targetRate) {
+            firstFail = current;
+        }
+
+        double next = nextRate();
+        if (next < 0) {
+            finished = true;
+            return -1;
+        }
+        current = new Step(next);
+        steps.add(current);
+        secondsInStep = 0;
+        return next;
+    }
+
+    private Verdict judge(Step step) {
+        if (step.ops > 0 && step.failed > step.ops * MAX_ERROR_RATIO) {
+            return Verdict.ERRORS;
+        }
+        if (step.latency.getTotalCount() == 0 || step.latency.getValueAtPercentile(99.0) > sloP99Nanos) {
+            return Verdict.SLO;
+        }
+        if (step.ops < step.scheduled * MIN_ACHIEVED_RATIO) {
+            return Verdict.SATURATED;
+        }
+        return Verdict.PASS;
+    }
+
+    /**
+     * Grow until the first failure, then bisect between the best pass and the first failure
+     */
+    private double nextRate() {
+        if (firstFail == null) {
+            double next = current.targetRate * stepFactor;
+            if (maxRate > 0 && current.targetRate >= maxRate) {
+                return -1;
+            }
+            return maxRate > 0 ? Math.min(next, maxRate) : next;
+        }
+        if (bestPass == null || refinements >= refineSteps) {
+            return -1;
+        }
+        refinements++;
+        double next = Math.sqrt(bestPass.targetRate * firstFail.targetRate);
+        // Not worth another step once the two rates are within 2%
+        return firstFail.targetRate / bestPass.targetRate < 1.02 ? -1 : next;
+    }
+
+    /**
+     * Capacity report lines: one row per step and the result
+     */
+    List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("CAPACITY REPORT: P99 SLO %.1fms, %ds steps after %ds warmup",
+            sloP99Nanos / 1e6, measureSeconds, warmupSeconds));
+        lines.add(String.format("%4s %10s %10s %8s %8s %8s %8s %7s %13s %7s  %s",
+            "Step", "Target/s", "Achieved/s", "P50 ms", "P99 ms", "Max ms", "Errors", "Workers",
+            "Pool used/max", "Pending", "Result"));
+        int number = 0;
+        for (Step step : steps) {
+            if (step.verdict == null) {
+                continue; // Interrupted before it was measured
+            }
+            lines.add(String.format("%4d %10.0f %10.0f %8.1f %8.1f %8.1f %7.2f%% %7d %6.0f/%-6d %7d  %s",
+                ++number, step.targetRate, step.getAchievedRate(),
+                LatencyRecorder.percentileMs(step.latency, 50.0), LatencyRecorder.percentileMs(step.latency, 99.0),
+                LatencyRecorder.maxMs(step.latency), step.getErrorPercent(), step.workers,
+                step.getMeanConnections(), step.maxPoolSize, step.pendingPeak, step.verdict.describe()));
+        }
+        if (bestPass != null) {
+            lines.add(String.format("CAPACITY: %.0f writes/sec at P99 %.1fms (SLO %.1fms)%s",
+                bestPass.getAchievedRate(), LatencyRecorder.percentileMs(bestPass.latency, 99.0), sloP99Nanos / 1e6,
+                firstFail != null ? String.format(", knee before %.0f/sec (%s)", firstFail.targetRate,
+                    firstFail.verdict.describe()) : ", no knee found below the highest rate tried"));
+        } else if (firstFail != null) {
+            lines.add(String.format("CAPACITY: below the starting rate of %.0f writes/sec (%s)",
+                startRate, firstFail.verdict.describe()));
+        } else {
+            lines.add("CAPACITY: no step completed");
+        }
+        return lines;
+    }
+
+    enum Verdict {
+        PASS("ok"),
+        SLO("P99 over SLO"),
+        SATURATED("rate not reached"),
+        ERRORS("errors over 1%");
+
+        private final String description;
+
+        Verdict(String description) {
+            this.description = description;
+        }
+
+        String describe() {
+            return description;
+        }
+    }
+
+    /**
+     * Steady-state measurements at one target rate
+     */
+    private static final class Step {
+        final double targetRate;
+        final Histogram latency = LatencyRecorder.newHistogram();
+        int seconds;
+        long ops;
+        long failed;
+        long scheduled;
+        int workers;
+        long connectionSum;
+        int maxPoolSize;
+        int pendingPeak;
+        Verdict verdict;
+
+        Step(double targetRate) {
+            this.targetRate = targetRate;
+        }
+
+        double getAchievedRate() {
+            return seconds > 0 ? (double) ops / seconds : 0;
+        }
+
+        double getErrorPercent() {
+            return ops > 0 ? failed * 100.0 / ops : 0;
+        }
+
+        double getMeanConnections() {
+            return seconds > 0 ? (double) connectionSum / seconds : 0;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.aws.aurora;
+
+import software.amazon.jdbc.wrapper.ConnectionWrapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-physical-connection state cache
+ *
+ * The AWS JDBC Wrapper hands out a stable ConnectionWrapper, but swaps the
+ * physical connection underneath it on Blue-Green switchover or failover.
+ * State is keyed by that physical connection, so the serving host is learned
+ * with a single SELECT @@hostname the first time a physical connection is
+ * used and re-learned automatically once the wrapper moves to a new one.
+ *
+ * It also mirrors the driver's per-connection prepared statement cache
+ * (cachePrepStmts/prepStmtCacheSize), which is an LRU keyed by SQL text.
+ * The mirror is keyed the same way with the same capacity, so it models
+ * the driver's hits and evictions; the driver itself exposes no counters.
+ */
+class ConnectionTracker {
+
+    private final ConcurrentHashMap<Connection, ConnectionInfo> connections = new ConcurrentHashMap<>();
+    private final AtomicLong hostLookups = new AtomicLong(0);
+
+    private final int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    ConnectionTracker(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Return the Aurora host serving the given pooled connection, querying it
+     * only if this physical connection has not been seen before
+     */
+    String hostFor(Connection conn) throws SQLException {
+        ConnectionInfo info = lookup(conn);
+        if (info.host == null) {
+            info.host = queryHost(conn);
+            hostLookups.incrementAndGet();
+        }
+        return info.host;
+    }
+
+    /**
+     * Record that the given SQL is about to be prepared on this connection,
+     * and account it as a statement cache hit or miss
+     */
+    void recordStatement(Connection conn, String sql) throws SQLException {
+        if (statementCacheSize <= 0) {
+            return;
+        }
+
+        StatementCacheModel statements = lookup(conn).statements;
+        if (statements.touch(sql)) {
+            statementCacheHits.increment();
+        } else {
+            statementCacheMisses.increment();
+            if (statements.add(sql)) {
+                statementCacheEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop entries for physical connections that have been closed by the pool
+     * or replaced by the wrapper. Called from the statistics thread.
+     */
+    void purgeClosed() {
+        Iterator<Map.Entry<Connection, ConnectionInfo>> it = connections.entrySet().iterator();
+        while (it.hasNext()) {
+            try {
+                if (it.next().getKey().isClosed()) {
+                    it.remove();
+                }
+            } catch (SQLException e) {
+                it.remove();
+            }
+        }
+    }
+
+    long getHostLookups() {
+        return hostLookups.get();
+    }
+
+    int getTrackedConnections() {
+        return connections.size();
+    }
+
+    int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+
+    private ConnectionInfo lookup(Connection conn) throws SQLException {
+        return connections.computeIfAbsent(physicalConnection(conn), k -> new ConnectionInfo(statementCacheSize));
+    }
+
+    /**
+     * Resolve the physical connection behind the Hikari proxy and AWS wrapper
+     */
+    private static Connection physicalConnection(Connection conn) throws SQLException {
+        if (conn.isWrapperFor(ConnectionWrapper.class)) {
+            return conn.unwrap(ConnectionWrapper.class).getCurrentConnection();
+        }
+        if (conn.isWrapperFor(AuroraEmulator.EmulatedConnection.class)) {
+            return conn.unwrap(AuroraEmulator.EmulatedConnection.class).getCurrentConnection();
+        }
+        return conn.unwrap(Connection.class);
+    }
+
+    private static String queryHost(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT @@hostname");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    /**
+     * State cached against a single physical connection. A physical connection
+     * is only ever used by the worker that has it checked out.
+     */
+    static class ConnectionInfo {
+        String host;
+        final StatementCacheModel statements;
+
+        ConnectionInfo(int statementCacheSize) {
+            this.statements = new StatementCacheModel(Math.max(statementCacheSize, 0));
+        }
+    }
+
+    /**
+     * Access-ordered LRU of SQL text with the driver's cache capacity
+     */
+    static class StatementCacheModel {
+        private final int capacity;
+        private final LinkedHashMap<String, Boolean> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        StatementCacheModel(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Whether sql is cached; a hit moves it to the most recently used end
+         */
+        boolean touch(String sql) {
+            return entries.get(sql) != null;
+        }
+
+        /**
+         * Cache sql; returns whether the least recently used entry was evicted
+         */
+        boolean add(String sql) {
+            entries.put(sql, Boolean.TRUE);
+            if (entries.size() <= capacity) {
+                return false;
+            }
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            return true;
+        }
+    }
+}
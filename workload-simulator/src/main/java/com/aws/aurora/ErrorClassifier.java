@@ -0,0 +1,120 @@
+package com.aws.aurora;
+
+import software.amazon.jdbc.plugin.failover.FailoverSQLException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Classifies SQL errors seen by the workers into a few switchover-relevant types
+ *
+ * Classification looks at the exception type first (the AWS JDBC Wrapper's
+ * failover exceptions, timeouts), then at the MySQL error code and finally
+ * at the SQLState class, so it never depends on message text.
+ */
+final class ErrorClassifier {
+
+    // MySQL error codes
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_OPTION_PREVENTS_STATEMENT = 1290; // e.g. --read-only on the old writer
+    private static final int ER_CANT_EXECUTE_IN_READ_ONLY_TRANSACTION = 1792;
+    private static final int ER_READ_ONLY_MODE = 1836;
+
+    /**
+     * Error types, exported as the "type" tag of workload.errors
+     */
+    enum ErrorType {
+        CONNECTION, // Connection lost or refused (SQLState class 08)
+        FAILOVER,   // Wrapper failed over or switched the connection underneath the statement
+        TIMEOUT,    // Query or pool acquisition timeout
+        DEADLOCK,   // Deadlock or serialization failure, transaction rolled back
+        LOCK_WAIT,  // Lock wait timeout
+        READ_ONLY,  // Statement rejected by a read-only instance
+        OTHER;      // Anything else
+
+        String getTag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private ErrorClassifier() {
+    }
+
+    static ErrorType classify(SQLException e) {
+        if (e instanceof FailoverSQLException) {
+            return ErrorType.FAILOVER;
+        }
+
+        switch (e.getErrorCode()) {
+            case ER_LOCK_WAIT_TIMEOUT:
+                return ErrorType.LOCK_WAIT;
+            case ER_LOCK_DEADLOCK:
+                return ErrorType.DEADLOCK;
+            case ER_OPTION_PREVENTS_STATEMENT:
+            case ER_CANT_EXECUTE_IN_READ_ONLY_TRANSACTION:
+            case ER_READ_ONLY_MODE:
+                return ErrorType.READ_ONLY;
+            default:
+                break;
+        }
+
+        if (e instanceof SQLTimeoutException) {
+            return ErrorType.TIMEOUT;
+        }
+
+        String sqlState = e.getSQLState();
+        if (sqlState != null) {
+            if (sqlState.startsWith("08")) {
+                return ErrorType.CONNECTION;
+            }
+            if (sqlState.startsWith("40")) {
+                return ErrorType.DEADLOCK;
+            }
+        }
+
+        // HikariCP reports "Connection is not available, request timed out" this way
+        if (e instanceof SQLTransientConnectionException) {
+            return ErrorType.TIMEOUT;
+        }
+        return ErrorType.OTHER;
+    }
+
+    /**
+     * Whether another attempt can succeed. Everything a switchover produces
+     * (lost connections, failover, timeouts, the old writer turning read-only)
+     * is retryable; data, constraint, syntax and authorization errors fail the
+     * same way on every attempt.
+     */
+    static boolean isRetryable(SQLException e, ErrorType type) {
+        if (type != ErrorType.OTHER) {
+            return true;
+        }
+        String sqlState = e.getSQLState();
+        if (sqlState == null || sqlState.length() < 2) {
+            return true;
+        }
+        switch (sqlState.substring(0, 2)) {
+            case "0A": // Feature not supported
+            case "22": // Data exception
+            case "23": // Integrity constraint violation
+            case "28": // Invalid authorization
+            case "42": // Syntax error or access rule violation
+            case "44": // WITH CHECK OPTION violation
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Whether a statement or COMMIT that failed this way after it was sent
+     * may still have been committed. The server answers deadlocks, lock wait
+     * timeouts, read-only rejections and other errors after rolling back; a
+     * lost connection, a failover or a timeout leave the outcome unknown.
+     */
+    static boolean mayHaveCommitted(ErrorType type) {
+        return type == ErrorType.CONNECTION || type == ErrorType.FAILOVER || type == ErrorType.TIMEOUT;
+    }
+}
@@ -0,0 +1,259 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only binary journal with one fixed-width record per operation
+ *
+ * The journal file is memory-mapped in segments. A worker claims a record
+ * index with one atomic increment and writes its fields with absolute puts,
+ * so there is no lock, no formatting and no allocation on the hot path.
+ * Host names are interned into small ids; the dictionary is kept in a
+ * "&lt;journal&gt;.hosts" text file next to the journal.
+ *
+ * Layout (little endian):
+ * <pre>
+ * header (64 bytes)
+ *   0  long  magic "AURJRNL1"
+ *   8  int   version
+ *   12 int   record size
+ *   16 long  wall clock anchor (epoch millis)
+ *   24 long  System.nanoTime() at the anchor
+ *   32 long  record count, written on close (0 if the run did not close the journal)
+ * record (40 bytes)
+ *   0  long  intended start (nanoTime)
+ *   8  long  actual start (nanoTime)
+ *   16 long  end (nanoTime)
+ *   24 int   worker id
+ *   28 int   table id (0 if none)
+ *   32 short host id (0 = unknown)
+ *   34 byte  operation type (never 0, so a zero byte marks the end of an unclosed journal)
+ *   35 byte  outcome
+ *   36 byte  failed attempts before the outcome
+ *   37 byte  error class of the last failed attempt (0 = none)
+ *   38 byte  Blue-Green phase the operation was scheduled in (phase ordinal + 1; 0 in version 1 journals)
+ * </pre>
+ *
+ * See {@link JournalAnalyzer} for the reader.
+ */
+class EventJournal implements AutoCloseable {
+
+    static final long MAGIC = 0x314C4E524A525541L; // "AURJRNL1" read as a little-endian long
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 40;
+    static final int RECORDS_PER_SEGMENT = (64 << 20) / RECORD_SIZE;
+    static final String HOSTS_SUFFIX = ".hosts";
+
+    // Record field offsets
+    static final int INTENDED_START = 0;
+    static final int ACTUAL_START = 8;
+    static final int END = 16;
+    static final int WORKER_ID = 24;
+    static final int TABLE_ID = 28;
+    static final int HOST_ID = 32;
+    static final int OP_TYPE = 34;
+    static final int OUTCOME = 35;
+    static final int RETRIES = 36;
+    static final int ERROR_CLASS = 37;
+    static final int PHASE = 38;
+
+    // Operation types: a write row, or a read of a given query type
+    static final byte OP_WRITE = 1;
+    static final byte OP_READ_BASE = 2; // + ReadQuery ordinal
+
+    static final byte OUTCOME_SUCCESS = 0;
+    static final byte OUTCOME_FAILED = 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long maxRecords;
+    private final AtomicReferenceArray<MappedByteBuffer> segments;
+    private final AtomicLong nextRecord = new AtomicLong(0);
+    private final LongAdder dropped = new LongAdder();
+
+    private final ConcurrentHashMap<String, Short> hostIds = new ConcurrentHashMap<>();
+    private final BufferedWriter hostsWriter;
+
+    /**
+     * @param maxBytes journal size limit; records beyond it are dropped and counted
+     */
+    EventJournal(Path path, long maxBytes) throws IOException {
+        this.path = path;
+        this.maxRecords = Math.max(1, (maxBytes - HEADER_SIZE) / RECORD_SIZE);
+        this.segments = new AtomicReferenceArray<>((int) ((maxRecords + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(0, MAGIC);
+        header.putInt(8, VERSION);
+        header.putInt(12, RECORD_SIZE);
+        header.putLong(16, System.currentTimeMillis());
+        header.putLong(24, System.nanoTime());
+        header.putLong(32, 0);
+        header.force();
+
+        this.hostsWriter = Files.newBufferedWriter(hostsPath(path), StandardCharsets.UTF_8);
+    }
+
+    static Path hostsPath(Path journal) {
+        return Paths.get(journal.toString() + HOSTS_SUFFIX);
+    }
+
+    /**
+     * Append one operation record; dropped and counted once the journal is full
+     */
+    void record(long intendedStart, long actualStart, long end, int workerId, byte opType,
+                int tableId, String host, boolean success, Attempts attempts, BlueGreenPhase phase) {
+        long index = nextRecord.getAndIncrement();
+        if (index >= maxRecords) {
+            dropped.increment();
+            return;
+        }
+        MappedByteBuffer segment = segment((int) (index / RECORDS_PER_SEGMENT));
+        int offset = (int) (index % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+
+        segment.putLong(offset + INTENDED_START, intendedStart);
+        segment.putLong(offset + ACTUAL_START, actualStart);
+        segment.putLong(offset + END, end);
+        segment.putInt(offset + WORKER_ID, workerId);
+        segment.putInt(offset + TABLE_ID, tableId);
+        segment.putShort(offset + HOST_ID, hostId(host));
+        segment.put(offset + OUTCOME, success ? OUTCOME_SUCCESS : OUTCOME_FAILED);
+        segment.put(offset + RETRIES, (byte) Math.min(attempts.failed, Byte.MAX_VALUE));
+        segment.put(offset + ERROR_CLASS, attempts.lastError != null ? (byte) (attempts.lastError.ordinal() + 1) : 0);
+        segment.put(offset + PHASE, (byte) (phase.ordinal() + 1));
+        // Written last: a non-zero type marks the record as complete
+        segment.put(offset + OP_TYPE, opType);
+    }
+
+    private MappedByteBuffer segment(int number) {
+        MappedByteBuffer segment = segments.get(number);
+        if (segment == null) {
+            segment = mapSegment(number);
+        }
+        return segment;
+    }
+
+    private synchronized MappedByteBuffer mapSegment(int number) {
+        MappedByteBuffer segment = segments.get(number);
+        if (segment == null) {
+            long first = (long) number * RECORDS_PER_SEGMENT;
+            // The last segment only covers the records left under the size limit
+            long records = Math.min(RECORDS_PER_SEGMENT, maxRecords - first);
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + first * RECORD_SIZE,
+                    records * RECORD_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map journal segment " + number, e);
+            }
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            segments.set(number, segment);
+        }
+        return segment;
+    }
+
+    private short hostId(String host) {
+        if (host == null) {
+            return 0;
+        }
+        Short id = hostIds.get(host);
+        return id != null ? id : internHost(host);
+    }
+
+    private synchronized short internHost(String host) {
+        Short id = hostIds.get(host);
+        if (id != null) {
+            return id;
+        }
+        if (hostIds.size() >= Short.MAX_VALUE - 1) {
+            return 0;
+        }
+        short newId = (short) (hostIds.size() + 1);
+        try {
+            hostsWriter.write(newId + "\t" + host);
+            hostsWriter.newLine();
+            hostsWriter.flush();
+        } catch (IOException e) {
+            // The record still carries the id; the analyzer shows it as host-<id>
+        }
+        hostIds.put(host, newId);
+        return newId;
+    }
+
+    long getRecords() {
+        return Math.min(nextRecord.get(), maxRecords);
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write the record count, flush the mapped segments and trim the file to the records written.
+     * Workers must have stopped.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        long records = getRecords();
+        for (int i = 0; i < segments.length(); i++) {
+            MappedByteBuffer segment = segments.get(i);
+            if (segment != null) {
+                segment.force();
+            }
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(32, records);
+        header.force();
+        try {
+            channel.truncate(HEADER_SIZE + records * RECORD_SIZE);
+        } catch (IOException e) {
+            // Some platforms refuse to truncate a mapped file; the record count still bounds the reader
+        }
+        channel.close();
+        hostsWriter.close();
+    }
+
+    /**
+     * Failed attempts of one operation, reused by a worker for every operation it runs
+     */
+    static class Attempts {
+        int failed;
+        ErrorClassifier.ErrorType lastError;
+        boolean ambiguous;  // An attempt failed after its write was sent, and may have committed
+
+        void reset() {
+            failed = 0;
+            lastError = null;
+            ambiguous = false;
+        }
+
+        void failed(ErrorClassifier.ErrorType type) {
+            failed++;
+            lastError = type;
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.aws.aurora;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline reader for an {@link EventJournal}: rebuilds the switchover timeline
+ *
+ * The journal is streamed twice through read-only mappings, so memory use
+ * does not depend on its size. The first pass finds each worker's longest
+ * gap between successful operations (its downtime window) and the host it
+ * resumed on. The second pass builds a per-millisecond (or --bucket-ms)
+ * availability, in-flight and latency timeline around the union of those
+ * windows, finds the first success on the new writer host and totals the
+ * operations of each Blue-Green phase.
+ *
+ * Usage: analyze-journal &lt;journal&gt; [--bucket-ms 1] [--padding-seconds 5]
+ * [--min-gap-ms 500] [--output timeline.csv]
+ */
+class JournalAnalyzer {
+
+    private static final int READER_KEY = 1 << 30;
+    private static final long MAX_BUCKETS = 10_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+
+    private final Path journal;
+    private final long bucketNanos;
+    private final long paddingNanos;
+    private final long minGapNanos;
+
+    private long anchorMillis;
+    private long anchorNanos;
+    private long records;
+    private final Map<Integer, String> hostNames = new HashMap<>();
+
+    JournalAnalyzer(Path journal, int bucketMs, int paddingSeconds, int minGapMs) {
+        this.journal = journal;
+        this.bucketNanos = bucketMs * 1_000_000L;
+        this.paddingNanos = paddingSeconds * 1_000_000_000L;
+        this.minGapNanos = minGapMs * 1_000_000L;
+    }
+
+    /**
+     * Entry point for the analyze-journal subcommand
+     */
+    static void main(String[] args) {
+        String journal = null;
+        String output = null;
+        int bucketMs = 1;
+        int paddingSeconds = 5;
+        int minGapMs = 500;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--bucket-ms":
+                    bucketMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--padding-seconds":
+                    paddingSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--min-gap-ms":
+                    minGapMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--output":
+                    output = args[++i];
+                    break;
+                case "--help":
+                    printUsage();
+                    return;
+                default:
+                    if (journal == null && !args[i].startsWith("--")) {
+                        journal = args[i];
+                    } else {
+                        System.err.println("Unknown argument: " + args[i]);
+                        printUsage();
+                        System.exit(1);
+                    }
+            }
+        }
+
+        if (journal == null) {
+            System.err.println("Error: journal file is required");
+            printUsage();
+            System.exit(1);
+        }
+        if (bucketMs < 1 || paddingSeconds < 0 || minGapMs < 0) {
+            System.err.println("Error: --bucket-ms must be at least 1, --padding-seconds and --min-gap-ms at least 0");
+            System.exit(1);
+        }
+
+        try {
+            new JournalAnalyzer(Paths.get(journal), bucketMs, paddingSeconds, minGapMs)
+                .analyze(output != null ? Paths.get(output) : null, System.out);
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  java -jar workload-simulator.jar analyze-journal <journal> [options]");
+        System.out.println("\nOptions:");
+        System.out.println("  --bucket-ms <ms>                Timeline resolution (default: 1)");
+        System.out.println("  --padding-seconds <seconds>     Timeline before and after the switchover window (default: 5)");
+        System.out.println("  --min-gap-ms <ms>               Shortest gap between successes reported as downtime (default: 500)");
+        System.out.println("  --output <file>                 Write the timeline CSV to a file instead of standard output");
+    }
+
+    /**
+     * Print the summary to out and the timeline CSV to output (or out)
+     */
+    void analyze(Path output, PrintStream out) throws IOException {
+        readHeader();
+        readHosts();
+
+        // Pass 1: downtime window of every worker
+        Map<Integer, WorkerGap> workers = new HashMap<>();
+        long[] runBounds = {Long.MAX_VALUE, Long.MIN_VALUE};
+        long[] lastWriteHost = {0};
+        PhaseTotals[] phases = new PhaseTotals[WorkloadSimulator.BlueGreenPhase.values().length + 1];
+        forEachRecord((buffer, offset) -> {
+            long end = buffer.getLong(offset + EventJournal.END);
+            int phase = buffer.get(offset + EventJournal.PHASE);
+            if (phase < 0 || phase >= phases.length) {
+                phase = 0;
+            }
+            if (phases[phase] == null) {
+                phases[phase] = new PhaseTotals();
+            }
+            phases[phase].add(buffer, offset);
+            runBounds[0] = Math.min(runBounds[0], buffer.getLong(offset + EventJournal.INTENDED_START));
+            runBounds[1] = Math.max(runBounds[1], end);
+
+            boolean write = buffer.get(offset + EventJournal.OP_TYPE) == EventJournal.OP_WRITE;
+            int key = buffer.getInt(offset + EventJournal.WORKER_ID) | (write ? 0 : READER_KEY);
+            WorkerGap worker = workers.computeIfAbsent(key, WorkerGap::new);
+
+            if (buffer.get(offset + EventJournal.OUTCOME) == EventJournal.OUTCOME_SUCCESS) {
+                int host = buffer.getShort(offset + EventJournal.HOST_ID);
+                worker.success(end, host);
+                if (write && host != 0) {
+                    lastWriteHost[0] = host;
+                }
+            } else {
+                worker.failuresSinceSuccess++;
+            }
+        });
+
+        if (records == 0) {
+            out.println("Journal " + journal + " holds no records");
+            return;
+        }
+
+        List<WorkerGap> downtime = new ArrayList<>();
+        long windowStart = Long.MAX_VALUE;
+        long windowEnd = Long.MIN_VALUE;
+        for (WorkerGap worker : workers.values()) {
+            worker.closeOpenGap(runBounds[1]);
+            if (worker.gapEnd > worker.gapStart
+                && (worker.gapEnd - worker.gapStart >= minGapNanos || worker.gapFailures > 0)) {
+                downtime.add(worker);
+                windowStart = Math.min(windowStart, worker.gapStart);
+                windowEnd = Math.max(windowEnd, worker.gapEnd);
+            }
+        }
+        downtime.sort((a, b) -> Integer.compare(a.key, b.key));
+
+        out.printf("Journal: %s (%d records, %d workers)%n", journal, records, workers.size());
+        out.printf("Run: %s -> %s%n", formatTime(runBounds[0]), formatTime(runBounds[1]));
+
+        if (downtime.isEmpty()) {
+            out.printf("No downtime: no worker went %dms without a success%n", minGapNanos / 1_000_000);
+            windowStart = runBounds[0];
+            windowEnd = Math.min(runBounds[1], runBounds[0] + paddingNanos);
+        } else {
+            out.printf("Switchover window: %s -> %s (%dms)%n", formatTime(windowStart), formatTime(windowEnd),
+                (windowEnd - windowStart) / 1_000_000);
+        }
+
+        // Pass 2: timeline and first success on the new writer host
+        long timelineStart = Math.max(runBounds[0], windowStart - paddingNanos);
+        long timelineEnd = Math.min(runBounds[1], windowEnd + paddingNanos);
+        long buckets = (timelineEnd - timelineStart) / bucketNanos + 1;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalStateException("Timeline needs " + buckets + " buckets; raise --bucket-ms");
+        }
+        Timeline timeline = new Timeline(timelineStart, bucketNanos, (int) buckets);
+        int newHost = (int) lastWriteHost[0];
+        long switchFrom = downtime.isEmpty() ? Long.MIN_VALUE : windowStart;
+        long[] firstOnNewHost = {Long.MAX_VALUE, -1};
+        forEachRecord((buffer, offset) -> {
+            timeline.add(buffer, offset);
+            long end = buffer.getLong(offset + EventJournal.END);
+            if (buffer.get(offset + EventJournal.OP_TYPE) == EventJournal.OP_WRITE
+                && buffer.get(offset + EventJournal.OUTCOME) == EventJournal.OUTCOME_SUCCESS
+                && buffer.getShort(offset + EventJournal.HOST_ID) == newHost
+                && end >= switchFrom && end < firstOnNewHost[0]) {
+                firstOnNewHost[0] = end;
+                firstOnNewHost[1] = buffer.getInt(offset + EventJournal.WORKER_ID);
+            }
+        });
+
+        if (newHost != 0 && firstOnNewHost[1] >= 0) {
+            out.printf("Writer host: %s, first successful write at %s by Worker-%d%s%n", hostName(newHost),
+                formatTime(firstOnNewHost[0]), firstOnNewHost[1],
+                downtime.isEmpty() ? "" : String.format(" (+%dms into the window)",
+                    (firstOnNewHost[0] - windowStart) / 1_000_000));
+        }
+
+        if (!downtime.isEmpty()) {
+            out.println("Downtime per worker (last success -> first success after it):");
+            for (WorkerGap worker : downtime) {
+                out.printf("  %-12s %s -> %s %8dms  failed ops: %-5d %s -> %s%n", worker.name(),
+                    formatTime(worker.gapStart), formatTime(worker.gapEnd),
+                    (worker.gapEnd - worker.gapStart) / 1_000_000, worker.gapFailures,
+                    hostName(worker.gapHostBefore), worker.gapResumed ? hostName(worker.gapHostAfter) : "(never resumed)");
+            }
+        }
+
+        if (phases[0] == null || phases[0].ops < records) {
+            out.println("Operations by Blue-Green phase (scheduled in):");
+            for (int phase = 0; phase < phases.length; phase++) {
+                PhaseTotals totals = phases[phase];
+                if (totals != null) {
+                    out.printf("  %-12s %s -> %s  ops: %-9d failed: %-7d avg: %8.1fms  max: %9.1fms%n",
+                        phase == 0 ? "unknown" : WorkloadSimulator.BlueGreenPhase.values()[phase - 1].getPhaseName(),
+                        formatTime(totals.firstStart), formatTime(totals.lastEnd), totals.ops, totals.failed,
+                        totals.ops > 0 ? totals.latencySum / (totals.ops * 1e6) : 0.0, totals.latencyMax / 1e6);
+                }
+            }
+        }
+
+        if (output != null) {
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                timeline.write(writer);
+            }
+            out.printf("Timeline: %d buckets of %dms written to %s%n", buckets, bucketNanos / 1_000_000, output);
+        } else {
+            out.println();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            timeline.write(writer);
+            writer.flush();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            if (channel.size() < EventJournal.HEADER_SIZE) {
+                throw new IllegalStateException(journal + " is not an event journal");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventJournal.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong(0) != EventJournal.MAGIC || header.getInt(12) != EventJournal.RECORD_SIZE) {
+                throw new IllegalStateException(journal + " is not an event journal");
+            }
+            // Version 1 journals have no phase byte; their records all read as phase 0 (unknown)
+            if (header.getInt(8) < 1 || header.getInt(8) > EventJournal.VERSION) {
+                throw new IllegalStateException("Unsupported journal version " + header.getInt(8));
+            }
+            anchorMillis = header.getLong(16);
+            anchorNanos = header.getLong(24);
+            long fileRecords = (channel.size() - EventJournal.HEADER_SIZE) / EventJournal.RECORD_SIZE;
+            long closedRecords = header.getLong(32);
+            // An unclosed journal is read up to its first incomplete record
+            records = closedRecords > 0 ? Math.min(closedRecords, fileRecords) : fileRecords;
+        }
+    }
+
+    private void readHosts() throws IOException {
+        Path hosts = EventJournal.hostsPath(journal);
+        if (!Files.exists(hosts)) {
+            return;
+        }
+        for (String line : Files.readAllLines(hosts, StandardCharsets.UTF_8)) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                hostNames.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1));
+            }
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(MappedByteBuffer buffer, int offset);
+    }
+
+    /**
+     * Stream the records one segment mapping at a time; stops at the first incomplete record
+     */
+    private void forEachRecord(RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            long index = 0;
+            while (index < records) {
+                int count = (int) Math.min(EventJournal.RECORDS_PER_SEGMENT, records - index);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                    EventJournal.HEADER_SIZE + index * EventJournal.RECORD_SIZE, (long) count * EventJournal.RECORD_SIZE);
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * EventJournal.RECORD_SIZE;
+                    if (segment.get(offset + EventJournal.OP_TYPE) == 0) {
+                        records = index + i;
+                        return;
+                    }
+                    visitor.visit(segment, offset);
+                }
+                index += count;
+            }
+        }
+    }
+
+    private String formatTime(long nanos) {
+        return TIME_FORMAT.format(Instant.ofEpochMilli(toEpochMillis(nanos)));
+    }
+
+    private long toEpochMillis(long nanos) {
+        return anchorMillis + Math.floorDiv(nanos - anchorNanos, 1_000_000L);
+    }
+
+    private String hostName(int id) {
+        if (id == 0) {
+            return "unknown";
+        }
+        return hostNames.getOrDefault(id, "host-" + id);
+    }
+
+    /**
+     * Longest stretch between two successful operations of one worker
+     */
+    private static class WorkerGap {
+        final int key;
+        long lastSuccessEnd = Long.MIN_VALUE;
+        int lastSuccessHost;
+        int failuresSinceSuccess;
+
+        long gapStart;
+        long gapEnd;
+        int gapFailures;
+        int gapHostBefore;
+        int gapHostAfter;
+        boolean gapResumed;
+
+        WorkerGap(int key) {
+            this.key = key;
+        }
+
+        void success(long end, int host) {
+            if (lastSuccessEnd != Long.MIN_VALUE && end - lastSuccessEnd > gapEnd - gapStart) {
+                gapStart = lastSuccessEnd;
+                gapEnd = end;
+                gapFailures = failuresSinceSuccess;
+                gapHostBefore = lastSuccessHost;
+                gapHostAfter = host;
+                gapResumed = true;
+            }
+            lastSuccessEnd = end;
+            lastSuccessHost = host;
+            failuresSinceSuccess = 0;
+        }
+
+        /**
+         * A worker that only failed after its last success is down until the end of the run
+         */
+        void closeOpenGap(long runEnd) {
+            if (failuresSinceSuccess > 0 && lastSuccessEnd != Long.MIN_VALUE
+                && runEnd - lastSuccessEnd > gapEnd - gapStart) {
+                gapStart = lastSuccessEnd;
+                gapEnd = runEnd;
+                gapFailures = failuresSinceSuccess;
+                gapHostBefore = lastSuccessHost;
+                gapResumed = false;
+            }
+        }
+
+        String name() {
+            return (key & READER_KEY) != 0 ? "Reader-" + (key & ~READER_KEY) : "Worker-" + key;
+        }
+    }
+
+    /**
+     * Operations scheduled in one Blue-Green phase, with latency from intended start
+     */
+    private static class PhaseTotals {
+        long ops;
+        long failed;
+        long latencySum;
+        long latencyMax;
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+
+        void add(MappedByteBuffer buffer, int offset) {
+            long intendedStart = buffer.getLong(offset + EventJournal.INTENDED_START);
+            long end = buffer.getLong(offset + EventJournal.END);
+            long latency = end - intendedStart;
+            ops++;
+            if (buffer.get(offset + EventJournal.OUTCOME) != EventJournal.OUTCOME_SUCCESS) {
+                failed++;
+            }
+            latencySum += latency;
+            latencyMax = Math.max(latencyMax, latency);
+            firstStart = Math.min(firstStart, intendedStart);
+            lastEnd = Math.max(lastEnd, end);
+        }
+    }
+
+    /**
+     * Fixed-width buckets of completed operations (by end time), operations
+     * in flight (intended start to end) and success latency from intended start
+     */
+    private class Timeline {
+        private final long start;
+        private final long width;
+        private final long[] writeOk;
+        private final long[] writeFailed;
+        private final long[] readOk;
+        private final long[] readFailed;
+        private final long[] inFlightDelta;
+        private final long[] latencySum;
+        private final long[] latencyMax;
+
+        Timeline(long start, long width, int buckets) {
+            this.start = start;
+            this.width = width;
+            this.writeOk = new long[buckets];
+            this.writeFailed = new long[buckets];
+            this.readOk = new long[buckets];
+            this.readFailed = new long[buckets];
+            this.inFlightDelta = new long[buckets + 1];
+            this.latencySum = new long[buckets];
+            this.latencyMax = new long[buckets];
+        }
+
+        void add(MappedByteBuffer buffer, int offset) {
+            long intendedStart = buffer.getLong(offset + EventJournal.INTENDED_START);
+            long end = buffer.getLong(offset + EventJournal.END);
+            int buckets = writeOk.length;
+            if (end < start || intendedStart >= start + buckets * width) {
+                return;
+            }
+
+            int from = (int) Math.max(0, Math.floorDiv(intendedStart - start, width));
+            int to = (int) Math.min(buckets, Math.floorDiv(end - start, width));
+            inFlightDelta[from]++;
+            inFlightDelta[to]--;
+
+            if (to >= buckets) {
+                return;
+            }
+            boolean write = buffer.get(offset + EventJournal.OP_TYPE) == EventJournal.OP_WRITE;
+            if (buffer.get(offset + EventJournal.OUTCOME) == EventJournal.OUTCOME_SUCCESS) {
+                if (write) {
+                    writeOk[to]++;
+                } else {
+                    readOk[to]++;
+                }
+                long latency = end - intendedStart;
+                latencySum[to] += latency;
+                latencyMax[to] = Math.max(latencyMax[to], latency);
+            } else if (write) {
+                writeFailed[to]++;
+            } else {
+                readFailed[to]++;
+            }
+        }
+
+        void write(Writer writer) throws IOException {
+            writer.write("epoch_ms,offset_ms,write_ok,write_failed,read_ok,read_failed,availability_pct,"
+                + "in_flight,latency_avg_ms,latency_max_ms\n");
+            long inFlight = 0;
+            long startMillis = toEpochMillis(start);
+            for (int i = 0; i < writeOk.length; i++) {
+                inFlight += inFlightDelta[i];
+                long ok = writeOk[i] + readOk[i];
+                long completed = ok + writeFailed[i] + readFailed[i];
+                long bucketMillis = toEpochMillis(start + i * width);
+                writer.write(String.format("%d,%d,%d,%d,%d,%d,%s,%d,%.3f,%.3f%n",
+                    bucketMillis, bucketMillis - startMillis, writeOk[i], writeFailed[i], readOk[i], readFailed[i],
+                    completed > 0 ? String.format("%.1f", ok * 100.0 / completed) : "",
+                    inFlight, ok > 0 ? latencySum[i] / (ok * 1e6) : 0.0, latencyMax[i] / 1e6));
+            }
+        }
+    }
+}
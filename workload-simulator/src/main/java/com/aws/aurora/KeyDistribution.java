@@ -0,0 +1,192 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.DistributionType;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table selection distribution
+ *
+ * Picks table ids in 1..n. Everything a sampler needs (zeta constants for
+ * Zipfian, the rank-to-table permutation) is computed once up front, so a
+ * sample is a few arithmetic operations on a ThreadLocalRandom draw with no
+ * allocation and no shared state, apart from the single counter used by the
+ * sequential distribution.
+ *
+ * Skewed distributions rank tables through a fixed pseudo-random permutation
+ * (same seed on every run and pod) so the hot tables are spread over the id
+ * range instead of being test_0001, test_0002, ...
+ */
+abstract class KeyDistribution {
+
+    private static final long PERMUTATION_SEED = 0x5EEDL;
+
+    protected final int n;
+
+    KeyDistribution(int n) {
+        this.n = n;
+    }
+
+    /**
+     * Next table id in 1..n
+     */
+    abstract int next();
+
+    static KeyDistribution create(DistributionType type, int n, double zipfTheta,
+                                  double hotspotTables, double hotspotOps) {
+        switch (type) {
+            case ZIPFIAN:
+                return new Zipfian(n, zipfTheta);
+            case HOTSPOT:
+                return new Hotspot(n, hotspotTables, hotspotOps);
+            case SEQUENTIAL:
+                return new Sequential(n);
+            case LATEST:
+                return new Latest(n, zipfTheta);
+            case UNIFORM:
+            default:
+                return new Uniform(n);
+        }
+    }
+
+    /**
+     * Fixed shuffle of 1..n, indexed by rank 0..n-1
+     */
+    static int[] permutation(int n) {
+        int[] tables = new int[n];
+        for (int i = 0; i < n; i++) {
+            tables[i] = i + 1;
+        }
+        Random random = new Random(PERMUTATION_SEED);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = tables[i];
+            tables[i] = tables[j];
+            tables[j] = swap;
+        }
+        return tables;
+    }
+
+    static class Uniform extends KeyDistribution {
+        Uniform(int n) {
+            super(n);
+        }
+
+        @Override
+        int next() {
+            return ThreadLocalRandom.current().nextInt(1, n + 1);
+        }
+    }
+
+    /**
+     * Round-robin over all tables, shared by every worker
+     */
+    static class Sequential extends KeyDistribution {
+        private final AtomicLong counter = new AtomicLong(0);
+
+        Sequential(int n) {
+            super(n);
+        }
+
+        @Override
+        int next() {
+            return (int) (counter.getAndIncrement() % n) + 1;
+        }
+    }
+
+    /**
+     * A fraction of the tables receives a fraction of the operations,
+     * uniformly within the hot and the cold set
+     */
+    static class Hotspot extends KeyDistribution {
+        private final int[] tables;
+        private final int hotCount;
+        private final double hotOps;
+
+        Hotspot(int n, double hotTables, double hotOps) {
+            super(n);
+            this.tables = permutation(n);
+            this.hotCount = (int) Math.max(1, Math.min(n, Math.round(n * hotTables)));
+            this.hotOps = hotOps;
+        }
+
+        @Override
+        int next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (hotCount == n || random.nextDouble() < hotOps) {
+                return tables[random.nextInt(hotCount)];
+            }
+            return tables[hotCount + random.nextInt(n - hotCount)];
+        }
+    }
+
+    /**
+     * Zipfian ranks (Gray et al., "Quickly generating billion-record synthetic
+     * databases"): rank r is drawn with probability proportional to 1/r^theta
+     */
+    static class Zipfian extends KeyDistribution {
+        private final int[] tables;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+        private final double secondRankThreshold;
+
+        Zipfian(int n, double theta) {
+            super(n);
+            this.tables = permutation(n);
+
+            double zeta = 0;
+            for (int i = 1; i <= n; i++) {
+                zeta += 1.0 / Math.pow(i, theta);
+            }
+            this.zetaN = zeta;
+            double zeta2 = 1.0 + 1.0 / Math.pow(2, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1.0 - Math.pow(2.0 / n, 1.0 - theta)) / (1.0 - zeta2 / zetaN);
+            this.secondRankThreshold = 1.0 + Math.pow(0.5, theta);
+        }
+
+        /**
+         * Rank in 0..n-1, 0 being the most popular
+         */
+        int nextRank() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < secondRankThreshold) {
+                return 1;
+            }
+            int rank = (int) (n * Math.pow(eta * u - eta + 1.0, alpha));
+            return Math.min(rank, n - 1);
+        }
+
+        @Override
+        int next() {
+            return tables[nextRank()];
+        }
+    }
+
+    /**
+     * Recently written tables are hottest: a head moves forward one table per
+     * second and tables are drawn Zipfian-distributed behind it
+     */
+    static class Latest extends KeyDistribution {
+        private final Zipfian ranks;
+        private final long startNanos = System.nanoTime();
+
+        Latest(int n, double theta) {
+            super(n);
+            this.ranks = new Zipfian(n, theta);
+        }
+
+        @Override
+        int next() {
+            long head = (System.nanoTime() - startNanos) / 1_000_000_000L;
+            return (int) Math.floorMod(head - ranks.nextRank(), (long) n) + 1;
+        }
+    }
+}
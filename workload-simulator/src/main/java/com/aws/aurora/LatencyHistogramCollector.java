@@ -0,0 +1,58 @@
+package com.aws.aurora;
+
+import io.prometheus.client.Collector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prometheus histogram workload_latency_seconds{operation} over the
+ * recorders' cumulative buckets
+ *
+ * The statistics thread folds each interval into the buckets and publishes
+ * an immutable snapshot; a scrape only reads those snapshots. Neither the
+ * workers nor the statistics thread call into the Prometheus client.
+ */
+class LatencyHistogramCollector extends Collector {
+
+    static final String NAME = "workload_latency_seconds";
+
+    private static final List<String> BUCKET_LABELS = List.of("operation", "le");
+    private static final List<String> LABELS = List.of("operation");
+
+    private final List<LatencyRecorder> recorders;
+    private final String[] bounds;
+
+    LatencyHistogramCollector(List<LatencyRecorder> recorders) {
+        this.recorders = recorders;
+        this.bounds = new String[LatencyRecorder.BUCKET_BOUNDS_NANOS.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = doubleToGoString(LatencyRecorder.BUCKET_BOUNDS_NANOS[i] / 1e9);
+        }
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        for (LatencyRecorder recorder : recorders) {
+            LatencyRecorder.BucketSnapshot snapshot = recorder.getBucketSnapshot();
+            if (snapshot == null) {
+                continue;
+            }
+            String operation = recorder.getOperation();
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += snapshot.counts[i];
+                samples.add(new MetricFamilySamples.Sample(NAME + "_bucket", BUCKET_LABELS,
+                    List.of(operation, bounds[i]), cumulative));
+            }
+            samples.add(new MetricFamilySamples.Sample(NAME + "_bucket", BUCKET_LABELS,
+                List.of(operation, "+Inf"), snapshot.count));
+            samples.add(new MetricFamilySamples.Sample(NAME + "_count", LABELS, List.of(operation), snapshot.count));
+            samples.add(new MetricFamilySamples.Sample(NAME + "_sum", LABELS, List.of(operation),
+                snapshot.sumNanos / 1e9));
+        }
+        return List.of(new MetricFamilySamples(NAME, Type.HISTOGRAM,
+            "Operation latency measured from intended start", samples));
+    }
+}
@@ -0,0 +1,188 @@
+package com.aws.aurora;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.util.Arrays;
+
+/**
+ * Interval latency recorder backed by HdrHistogram
+ *
+ * Workers record nanosecond latencies into one of several striped
+ * {@link Recorder}s (wait-free for writers), chosen by thread id so
+ * concurrent workers rarely touch the same counts array. The statistics
+ * thread calls {@link #swapInterval(Histogram)} once per second, which flips
+ * every stripe and merges them into a histogram covering exactly that second.
+ * When a Prometheus histogram is exported, that second's counts are added to
+ * cumulative buckets one distinct value at a time, not one sample at a time,
+ * and published as an immutable snapshot for {@link LatencyHistogramCollector}.
+ */
+class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] EXPORTED_PERCENTILES = {50.0, 95.0, 99.0, 99.9};
+
+    // Upper bounds of the exported histogram buckets, 1ms to 60s; +Inf is implied
+    static final long[] BUCKET_BOUNDS_NANOS = {
+        1_000_000L, 2_000_000L, 5_000_000L, 10_000_000L, 20_000_000L, 50_000_000L,
+        100_000_000L, 200_000_000L, 500_000_000L, 1_000_000_000L, 2_000_000_000L,
+        5_000_000_000L, 10_000_000_000L, 30_000_000_000L, 60_000_000_000L
+    };
+
+    private final String operation;
+    private final Recorder[] stripes;
+    private final Histogram[] recycled;
+    private final int stripeMask;
+
+    // Last reported interval, replaced (never mutated) by the statistics thread
+    private volatile Histogram intervalHistogram = newHistogram();
+
+    // Cumulative bucket counts (last one is +Inf), null unless the histogram is exported
+    private long[] bucketCounts;
+    private long exportedCount;
+    private long exportedSumNanos;
+    private volatile BucketSnapshot bucketSnapshot;
+
+    LatencyRecorder(String operation) {
+        this.operation = operation;
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+        this.stripes = new Recorder[stripeCount];
+        this.recycled = new Histogram[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Recorder(SIGNIFICANT_DIGITS);
+        }
+    }
+
+    /**
+     * Record one latency sample in nanoseconds
+     */
+    void record(long latencyNanos) {
+        stripes[(int) Thread.currentThread().getId() & stripeMask].recordValue(Math.max(latencyNanos, 0));
+    }
+
+    /**
+     * Close the current interval and merge it into the (reset) target histogram.
+     * Only the statistics thread calls this.
+     */
+    void swapInterval(Histogram target) {
+        target.reset();
+        for (int i = 0; i < stripes.length; i++) {
+            recycled[i] = stripes[i].getIntervalHistogram(recycled[i]);
+            target.add(recycled[i]);
+        }
+
+        if (bucketCounts != null && target.getTotalCount() > 0) {
+            for (HistogramIterationValue value : target.recordedValues()) {
+                long latencyNanos = value.getValueIteratedTo();
+                long count = value.getCountAtValueIteratedTo();
+                bucketCounts[bucketIndex(latencyNanos)] += count;
+                exportedCount += count;
+                exportedSumNanos += latencyNanos * count;
+            }
+            bucketSnapshot = new BucketSnapshot(bucketCounts.clone(), exportedCount, exportedSumNanos);
+        }
+    }
+
+    /**
+     * Index of the first bucket whose upper bound is at least latencyNanos
+     */
+    static int bucketIndex(long latencyNanos) {
+        int index = Arrays.binarySearch(BUCKET_BOUNDS_NANOS, latencyNanos);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Publish the histogram of the last statistics interval for export.
+     * The histogram must not be modified afterwards.
+     */
+    void publish(Histogram histogram) {
+        intervalHistogram = histogram;
+    }
+
+    /**
+     * Histogram of the last published interval
+     */
+    Histogram getIntervalHistogram() {
+        return intervalHistogram;
+    }
+
+    static Histogram newHistogram() {
+        return new Histogram(SIGNIFICANT_DIGITS);
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Export the last interval's percentiles as Micrometer gauges
+     */
+    void bindTo(MeterRegistry registry) {
+        for (double percentile : EXPORTED_PERCENTILES) {
+            Gauge.builder("workload.latency.interval", this,
+                    r -> r.intervalHistogram.getValueAtPercentile(percentile) / 1e9)
+                .description("Latency percentile over the last statistics interval")
+                .baseUnit("seconds")
+                .tag("operation", operation)
+                .tag("quantile", String.valueOf(percentile / 100.0))
+                .register(registry);
+        }
+
+        Gauge.builder("workload.latency.interval.max", this, r -> r.intervalHistogram.getMaxValue() / 1e9)
+            .description("Maximum latency over the last statistics interval")
+            .baseUnit("seconds")
+            .tag("operation", operation)
+            .register(registry);
+    }
+
+    /**
+     * Also keep cumulative bucket counts for workload_latency_seconds_bucket,
+     * which Prometheus can aggregate across pods. Call before statistics start.
+     */
+    void exportHistogram() {
+        bucketCounts = new long[BUCKET_BOUNDS_NANOS.length + 1];
+        bucketSnapshot = new BucketSnapshot(bucketCounts.clone(), 0, 0);
+    }
+
+    /**
+     * Cumulative buckets as of the last swapped interval, null unless exported
+     */
+    BucketSnapshot getBucketSnapshot() {
+        return bucketSnapshot;
+    }
+
+    /**
+     * Immutable copy of the cumulative bucket counts, read by the scrape thread
+     */
+    static final class BucketSnapshot {
+        final long[] counts;  // Per bucket, not cumulative; the last one is +Inf
+        final long count;
+        final long sumNanos;
+
+        BucketSnapshot(long[] counts, long count, long sumNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+        }
+    }
+
+    /**
+     * Value at percentile in milliseconds
+     */
+    static double percentileMs(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1e6 : 0.0;
+    }
+
+    static double meanMs(Histogram histogram) {
+        return histogram.getTotalCount() > 0 ? histogram.getMean() / 1e6 : 0.0;
+    }
+
+    static double maxMs(Histogram histogram) {
+        return histogram.getTotalCount() > 0 ? histogram.getMaxValue() / 1e6 : 0.0;
+    }
+}
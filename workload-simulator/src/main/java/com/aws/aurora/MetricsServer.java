@@ -0,0 +1,90 @@
+package com.aws.aurora;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prometheus scrape endpoint
+ *
+ * Serves the registry on /metrics from the JDK's built-in HTTP server, with
+ * a single dedicated daemon thread. Every meter reads striped counters,
+ * volatile snapshots or pool MXBeans, so a scrape never takes a lock that a
+ * worker thread holds. Clients that accept OpenMetrics get that format, all
+ * others the Prometheus text format 0.0.4.
+ */
+class MetricsServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+
+    private final PrometheusMeterRegistry registry;
+    private final int port;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    MetricsServer(PrometheusMeterRegistry registry, int port) {
+        this.registry = registry;
+        this.port = port;
+    }
+
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/metrics", this::handleScrape);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Prometheus metrics available on http://0.0.0.0:{}/metrics", port);
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            String contentType = TextFormat.chooseContentType(accept);
+            byte[] body = registry.scrape(contentType).getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Metrics scrape failed: {}", e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous per-operation event log
+ *
+ * Workers used to format and write a log line per operation on their own
+ * thread, through a synchronous file appender, which at high rates cost
+ * more than the JDBC call. Workers now copy the raw fields of an event into
+ * a preallocated slot of a bounded ring buffer (no formatting, no
+ * allocation) and a single writer thread formats the slots into the
+ * operations logger.
+ *
+ * Success events can be sampled. Failures, retries and give-ups are always
+ * offered. When the ring is full, an event is dropped and counted (DROP) or
+ * the worker waits for space (BLOCK). The ring is a bounded multi-producer
+ * queue with a sequence number per slot, so producers only contend on one
+ * CAS per event.
+ */
+class OperationLog implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long FULL_PARK_NANOS = 50_000L;
+
+    /**
+     * What to do with an event when the ring is full
+     */
+    enum FullPolicy {
+        DROP,  // Drop the event and count it (default)
+        BLOCK  // Wait for the writer thread to free a slot
+    }
+
+    private enum Kind {
+        WRITE_SUCCESS, WRITE_FAILED, WRITE_RETRY, WRITE_GAVE_UP,
+        BATCH_SUCCESS, BATCH_FAILED, BATCH_RETRY, BATCH_GAVE_UP,
+        READ_SUCCESS, READ_SYSTEM_SUCCESS, READ_FAILED, READ_RETRY, READ_GAVE_UP
+    }
+
+    private final Logger out;
+    private final String[] tableNames;
+    private final double successSampleRate;
+    private final FullPolicy fullPolicy;
+
+    private final Event[] ring;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(0);
+    private volatile long head = 0;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private volatile long written = 0;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity          ring size, rounded up to a power of two
+     * @param successSampleRate fraction of success events kept, 0..1
+     */
+    OperationLog(Logger out, String[] tableNames, int capacity, double successSampleRate, FullPolicy fullPolicy) {
+        this.out = out;
+        this.tableNames = tableNames;
+        this.successSampleRate = successSampleRate;
+        this.fullPolicy = fullPolicy;
+
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.ring = new Event[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Event();
+            sequences.set(i, i);
+        }
+
+        this.writer = new Thread(this::drainLoop, "operation-log");
+        this.writer.setDaemon(true);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    // ---- producer side (worker threads) ----
+
+    void writeSucceeded(int workerId, String host, int tableId, long latencyMs) {
+        if (!sampled()) {
+            return;
+        }
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.WRITE_SUCCESS;
+        e.workerId = workerId;
+        e.host = host;
+        e.tableId = tableId;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void writeFailed(int workerId, int tableId, long latencyMs) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.WRITE_FAILED;
+        e.workerId = workerId;
+        e.tableId = tableId;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void batchSucceeded(int workerId, String host, int tableId, int rows, long latencyMs) {
+        if (!sampled()) {
+            return;
+        }
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.BATCH_SUCCESS;
+        e.workerId = workerId;
+        e.host = host;
+        e.tableId = tableId;
+        e.rows = rows;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void batchFailed(int workerId, int tableId, int rows, long latencyMs) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.BATCH_FAILED;
+        e.workerId = workerId;
+        e.tableId = tableId;
+        e.rows = rows;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    /**
+     * A failed write attempt; rows is 0 for single-row writes
+     */
+    void writeRetry(int workerId, int tableId, int rows, int attempt, int maxAttempts, long delayMs, String error) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = rows > 0 ? Kind.BATCH_RETRY : Kind.WRITE_RETRY;
+        e.workerId = workerId;
+        e.tableId = tableId;
+        e.rows = rows;
+        e.attempt = attempt;
+        e.maxAttempts = maxAttempts;
+        e.millis = delayMs;
+        e.detail = error;
+        publish(seq);
+    }
+
+    void writeGaveUp(int workerId, int tableId, int rows) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = rows > 0 ? Kind.BATCH_GAVE_UP : Kind.WRITE_GAVE_UP;
+        e.workerId = workerId;
+        e.tableId = tableId;
+        e.rows = rows;
+        publish(seq);
+    }
+
+    void readSucceeded(int workerId, String host, ReadQuery query, int tableId, int rows, long latencyMs) {
+        if (!sampled()) {
+            return;
+        }
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.READ_SUCCESS;
+        e.workerId = workerId;
+        e.host = host;
+        e.query = query;
+        e.tableId = tableId;
+        e.rows = rows;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void systemVarsRead(int workerId, String host, int serverId, String auroraVersion, int readOnly, long latencyMs) {
+        if (!sampled()) {
+            return;
+        }
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.READ_SYSTEM_SUCCESS;
+        e.workerId = workerId;
+        e.host = host;
+        e.serverId = serverId;
+        e.detail = auroraVersion;
+        e.readOnly = readOnly;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void readFailed(int workerId, ReadQuery query, long latencyMs) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.READ_FAILED;
+        e.workerId = workerId;
+        e.query = query;
+        e.millis = latencyMs;
+        publish(seq);
+    }
+
+    void readRetry(int workerId, ReadQuery query, int attempt, int maxAttempts, long delayMs, String error) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.READ_RETRY;
+        e.workerId = workerId;
+        e.query = query;
+        e.attempt = attempt;
+        e.maxAttempts = maxAttempts;
+        e.millis = delayMs;
+        e.detail = error;
+        publish(seq);
+    }
+
+    void readGaveUp(int workerId, ReadQuery query) {
+        long seq = claim();
+        if (seq < 0) {
+            return;
+        }
+        Event e = ring[(int) seq & mask];
+        e.kind = Kind.READ_GAVE_UP;
+        e.workerId = workerId;
+        e.query = query;
+        publish(seq);
+    }
+
+    private boolean sampled() {
+        if (successSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < successSampleRate) {
+            return true;
+        }
+        sampledOut.increment();
+        return false;
+    }
+
+    /**
+     * Claim the next free slot, or return -1 if the event was dropped
+     */
+    private long claim() {
+        long pos = tail.get();
+        while (true) {
+            long diff = sequences.get((int) pos & mask) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    return pos;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // Slot still holds an event from the previous lap: the ring is full
+                if (fullPolicy == FullPolicy.DROP || !running) {
+                    dropped.increment();
+                    return -1;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                pos = tail.get();
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private void publish(long seq) {
+        sequences.set((int) seq & mask, seq + 1);
+    }
+
+    // ---- consumer side (writer thread) ----
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int count = 0;
+        long pos = head;
+        while (true) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+            Event e = ring[index];
+            try {
+                format(e);
+            } catch (RuntimeException ex) {
+                // A broken appender must not stop the writer thread
+            }
+            e.host = null;
+            e.detail = null;
+            sequences.set(index, pos + ring.length);
+            pos++;
+            count++;
+        }
+        head = pos;
+        written += count;
+        return count;
+    }
+
+    private void format(Event e) {
+        switch (e.kind) {
+            case WRITE_SUCCESS:
+                out.info("SUCCESS: Worker-{} | Host: {} | Table: {} | INSERT completed | Latency: {}ms",
+                    e.workerId, e.host, tableNames[e.tableId], e.millis);
+                break;
+            case WRITE_FAILED:
+                out.error("FAILED: Worker-{} | Table: {} | INSERT failed | Latency: {}ms",
+                    e.workerId, tableNames[e.tableId], e.millis);
+                break;
+            case WRITE_RETRY:
+                out.warn("Worker-{} | Table: {} | connection_error | Retry {}/{} in {}ms | Error: {}",
+                    e.workerId, tableNames[e.tableId], e.attempt, e.maxAttempts, e.millis, e.detail);
+                break;
+            case WRITE_GAVE_UP:
+                out.error("Worker-{} | Table: {} | Max retries exceeded", e.workerId, tableNames[e.tableId]);
+                break;
+            case BATCH_SUCCESS:
+                out.info("SUCCESS: Worker-{} | Host: {} | Table: {} | INSERT batch of {} rows committed | Latency: {}ms",
+                    e.workerId, e.host, tableNames[e.tableId], e.rows, e.millis);
+                break;
+            case BATCH_FAILED:
+                out.error("FAILED: Worker-{} | Table: {} | INSERT batch of {} rows failed | Latency: {}ms",
+                    e.workerId, tableNames[e.tableId], e.rows, e.millis);
+                break;
+            case BATCH_RETRY:
+                out.warn("Worker-{} | Table: {} | Batch: {} rows | connection_error | Retry {}/{} in {}ms | Error: {}",
+                    e.workerId, tableNames[e.tableId], e.rows, e.attempt, e.maxAttempts, e.millis, e.detail);
+                break;
+            case BATCH_GAVE_UP:
+                out.error("Worker-{} | Table: {} | Batch: {} rows | Max retries exceeded",
+                    e.workerId, tableNames[e.tableId], e.rows);
+                break;
+            case READ_SUCCESS:
+                out.info("SUCCESS: Reader-{} | Host: {} | Query: {} | Table: {} | Rows: {} | Latency: {}ms",
+                    e.workerId, e.host, e.query.getQueryName(), tableNames[e.tableId], e.rows, e.millis);
+                break;
+            case READ_SYSTEM_SUCCESS:
+                out.info("SUCCESS: Reader-{} | Result: {} (server_id={}, version={}, read_only={}) | Latency: {}ms",
+                    e.workerId, e.host, e.serverId, e.detail, e.readOnly, e.millis);
+                break;
+            case READ_FAILED:
+                out.error("FAILED: Reader-{} | Query: {} | READ failed | Latency: {}ms",
+                    e.workerId, e.query.getQueryName(), e.millis);
+                break;
+            case READ_RETRY:
+                out.warn("Reader-{} | Query: {} | connection_error | Retry {}/{} in {}ms | Error: {}",
+                    e.workerId, e.query.getQueryName(), e.attempt, e.maxAttempts, e.millis, e.detail);
+                break;
+            case READ_GAVE_UP:
+                out.error("Reader-{} | Query: {} | Max retries exceeded", e.workerId, e.query.getQueryName());
+                break;
+            default:
+                break;
+        }
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    int getQueueDepth() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int getCapacity() {
+        return ring.length;
+    }
+
+    FullPolicy getFullPolicy() {
+        return fullPolicy;
+    }
+
+    double getSuccessSampleRate() {
+        return successSampleRate;
+    }
+
+    /**
+     * Stop accepting waits, write out everything still queued and stop the writer thread
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One preallocated ring slot; fields are only meaningful for the event kind
+     */
+    private static final class Event {
+        Kind kind;
+        int workerId;
+        int tableId;
+        int rows;
+        int attempt;
+        int maxAttempts;
+        int serverId;
+        int readOnly;
+        long millis;
+        String host;
+        String detail;
+        ReadQuery query;
+    }
+}
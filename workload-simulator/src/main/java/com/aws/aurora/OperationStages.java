@@ -0,0 +1,107 @@
+package com.aws.aurora;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Latency of each stage of a database operation
+ *
+ * An operation's end-to-end latency mixes pool queueing with database time.
+ * Every attempt is split into stages (waiting for a pooled connection,
+ * preparing, executing, committing, the host attribution lookup and handing
+ * the connection back), and each stage has its own {@link LatencyRecorder},
+ * so a P99 spike can be traced to Hikari or to Aurora.
+ *
+ * Each worker reuses one {@link Timer}; it holds the connection it acquired
+ * and times its release when closed, so it can stand in for the connection
+ * in a try-with-resources block.
+ */
+class OperationStages {
+
+    enum Stage {
+        ACQUIRE, // dataSource.getConnection(), including time queued for a free connection and a read-only switch
+        PREPARE, // prepareStatement (statement cache hit or miss)
+        EXECUTE, // executeUpdate/executeBatch, or a whole read query (prepare, execute, read results)
+        COMMIT,  // Explicit commit in batched write modes
+        HOST,    // Host attribution lookup after a write
+        RELEASE; // Connection.close(), returning the connection to the pool
+
+        String getOperation() {
+            return "stage_" + name().toLowerCase();
+        }
+    }
+
+    private final LatencyRecorder[] recorders = new LatencyRecorder[Stage.values().length];
+
+    OperationStages() {
+        for (Stage stage : Stage.values()) {
+            recorders[stage.ordinal()] = new LatencyRecorder(stage.getOperation());
+        }
+    }
+
+    LatencyRecorder recorderFor(Stage stage) {
+        return recorders[stage.ordinal()];
+    }
+
+    LatencyRecorder[] getRecorders() {
+        return recorders.clone();
+    }
+
+    Timer newTimer() {
+        return new Timer();
+    }
+
+    /**
+     * Per-worker stage clock for one attempt at a time
+     */
+    class Timer implements AutoCloseable {
+        private Connection connection;
+        private long mark;
+
+        /**
+         * Borrow a connection and record the wait, also when the pool times out
+         *
+         * @param readOnly mark the connection read-only, which moves it to a
+         *                 reader when the pool uses the readWriteSplitting plugin
+         */
+        Connection acquire(DataSource dataSource, boolean readOnly) throws SQLException {
+            mark = System.nanoTime();
+            try {
+                connection = dataSource.getConnection();
+                if (readOnly) {
+                    connection.setReadOnly(true);
+                }
+            } finally {
+                lap(Stage.ACQUIRE);
+            }
+            return connection;
+        }
+
+        /**
+         * Record the time since the previous lap as the given stage
+         */
+        void lap(Stage stage) {
+            long now = System.nanoTime();
+            recorders[stage.ordinal()].record(now - mark);
+            mark = now;
+        }
+
+        /**
+         * Return the connection to the pool and record the release
+         */
+        @Override
+        public void close() throws SQLException {
+            if (connection == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                connection.close();
+            } finally {
+                recorders[Stage.RELEASE.ordinal()].record(System.nanoTime() - start);
+                connection = null;
+            }
+        }
+    }
+}
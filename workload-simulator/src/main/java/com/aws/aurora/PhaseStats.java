@@ -0,0 +1,153 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency per Blue-Green phase
+ *
+ * Workers tag every operation with the phase that was current when it was
+ * scheduled and record it into that phase's striped counters and latency
+ * recorders. Once per second the statistics thread folds each phase's
+ * recorders into a histogram covering the whole run, and every drained
+ * {@link BlueGreenPhaseTracker.Transition} closes the time spent in the
+ * previous phase, so each phase can be reported with its own duration,
+ * throughput and tail latency.
+ */
+class PhaseStats {
+
+    private static final BlueGreenPhase[] PHASES = BlueGreenPhase.values();
+
+    private final LatencyRecorder[] writeLatency = new LatencyRecorder[PHASES.length];
+    private final LatencyRecorder[] readLatency = new LatencyRecorder[PHASES.length];
+    private final LongAdder[] writeSuccess = new LongAdder[PHASES.length];
+    private final LongAdder[] writeFailed = new LongAdder[PHASES.length];
+    private final LongAdder[] readSuccess = new LongAdder[PHASES.length];
+    private final LongAdder[] readFailed = new LongAdder[PHASES.length];
+
+    // Statistics thread only
+    private final Histogram[] writeTotal = new Histogram[PHASES.length];
+    private final Histogram[] readTotal = new Histogram[PHASES.length];
+    private final Histogram scratch = LatencyRecorder.newHistogram();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final boolean[] entered = new boolean[PHASES.length];
+    private BlueGreenPhase phase = BlueGreenPhase.NOT_CREATED;
+    private long enteredNanos = System.nanoTime();
+
+    PhaseStats() {
+        for (BlueGreenPhase p : PHASES) {
+            int i = p.ordinal();
+            writeLatency[i] = new LatencyRecorder("write_" + p.getPhaseName().toLowerCase());
+            readLatency[i] = new LatencyRecorder("read_" + p.getPhaseName().toLowerCase());
+            writeSuccess[i] = new LongAdder();
+            writeFailed[i] = new LongAdder();
+            readSuccess[i] = new LongAdder();
+            readFailed[i] = new LongAdder();
+            writeTotal[i] = LatencyRecorder.newHistogram();
+            readTotal[i] = LatencyRecorder.newHistogram();
+        }
+        entered[phase.ordinal()] = true;
+    }
+
+    void recordWrite(BlueGreenPhase phase, long latencyNanos, boolean success) {
+        int i = phase.ordinal();
+        writeLatency[i].record(latencyNanos);
+        (success ? writeSuccess : writeFailed)[i].increment();
+    }
+
+    void recordRead(BlueGreenPhase phase, long latencyNanos, boolean success) {
+        int i = phase.ordinal();
+        readLatency[i].record(latencyNanos);
+        (success ? readSuccess : readFailed)[i].increment();
+    }
+
+    /**
+     * Fold the last second into the per-phase histograms. Statistics thread only.
+     */
+    void roll() {
+        for (int i = 0; i < PHASES.length; i++) {
+            writeLatency[i].swapInterval(scratch);
+            writeTotal[i].add(scratch);
+            readLatency[i].swapInterval(scratch);
+            readTotal[i].add(scratch);
+        }
+    }
+
+    /**
+     * Close the time spent in the phase being left. Statistics thread only.
+     */
+    void enter(BlueGreenPhaseTracker.Transition transition) {
+        phaseNanos[phase.ordinal()] += Math.max(0, transition.nanoTime - enteredNanos);
+        phase = transition.phase;
+        enteredNanos = transition.nanoTime;
+        entered[phase.ordinal()] = true;
+    }
+
+    /**
+     * Whether the run has been in this phase
+     */
+    boolean wasEntered(BlueGreenPhase p) {
+        return entered[p.ordinal()];
+    }
+
+    /**
+     * Totals for one phase, including the time spent in it so far
+     */
+    Summary summary(BlueGreenPhase p) {
+        int i = p.ordinal();
+        Summary summary = new Summary();
+        summary.phase = p;
+        summary.nanos = phaseNanos[i] + (p == phase ? Math.max(0, System.nanoTime() - enteredNanos) : 0);
+        summary.writeSuccess = writeSuccess[i].sum();
+        summary.writeFailed = writeFailed[i].sum();
+        summary.readSuccess = readSuccess[i].sum();
+        summary.readFailed = readFailed[i].sum();
+        summary.writeLatency = writeTotal[i];
+        summary.readLatency = readTotal[i];
+        return summary;
+    }
+
+    long getWriteSuccess(BlueGreenPhase p) {
+        return writeSuccess[p.ordinal()].sum();
+    }
+
+    long getWriteFailed(BlueGreenPhase p) {
+        return writeFailed[p.ordinal()].sum();
+    }
+
+    long getReadSuccess(BlueGreenPhase p) {
+        return readSuccess[p.ordinal()].sum();
+    }
+
+    long getReadFailed(BlueGreenPhase p) {
+        return readFailed[p.ordinal()].sum();
+    }
+
+    /**
+     * One phase's figures; the histograms are live and only valid on the statistics thread
+     */
+    static class Summary {
+        BlueGreenPhase phase;
+        long nanos;
+        long writeSuccess;
+        long writeFailed;
+        long readSuccess;
+        long readFailed;
+        Histogram writeLatency;
+        Histogram readLatency;
+
+        double getSeconds() {
+            return nanos / 1e9;
+        }
+
+        double getWritesPerSecond() {
+            return nanos > 0 ? writeSuccess / getSeconds() : 0.0;
+        }
+
+        double getReadsPerSecond() {
+            return nanos > 0 ? readSuccess / getSeconds() : 0.0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.aws.aurora;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Virtual thread pinning monitor
+ *
+ * Streams the JDK's jdk.VirtualThreadPinned JFR event, which fires when a
+ * virtual thread blocks while pinned to its carrier (typically inside a
+ * synchronized block in a JDBC driver or pool). Pins are counted per
+ * blocking code location so the stats output can show which JDBC/Hikari
+ * path is holding carriers.
+ */
+class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> pinsBySite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    PinnedThreadMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Start streaming pinned events. Failure to start only disables reporting.
+     */
+    void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            logger.info("Virtual thread pinning monitor started (threshold: {}ms)", threshold.toMillis());
+        } catch (Exception e) {
+            logger.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+
+        String site = blockingSite(event.getStackTrace());
+        LongAdder count = pinsBySite.computeIfAbsent(site, k -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            logger.warn("Virtual thread pinned for {}ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * First frame outside the JDK, i.e. the library code that blocked while pinned
+     */
+    private static String blockingSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "jdk";
+    }
+
+    long getPinnedEvents() {
+        return pinnedEvents.sum();
+    }
+
+    long getPinnedMillis() {
+        return pinnedNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * Code location with the most pins, or null if nothing has pinned
+     */
+    String getTopSite() {
+        return pinsBySite.entrySet().stream()
+            .max(Comparator.comparingLong(e -> e.getValue().sum()))
+            .map(Map.Entry::getKey)
+            .orElse(null);
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
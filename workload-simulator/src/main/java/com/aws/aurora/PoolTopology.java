@@ -0,0 +1,383 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Named connection pools and the routing of operations onto them
+ *
+ * Applications usually keep separate pools for the writer endpoint, the
+ * reader endpoint and custom endpoints, and each one reconnects differently
+ * during a switchover. Every {@link Pool} has its own endpoint, wrapper plugin
+ * list and sizing, plus its own counters, latency recorder and recovery
+ * clock, so throughput and recovery time can be compared per endpoint.
+ *
+ * Routes are fixed at startup: writes go to one pool and each read query type
+ * to one pool. A read routed to a pool with the readWriteSplitting plugin
+ * marks its connection read-only, which makes the plugin switch it to a
+ * reader instance.
+ */
+class PoolTopology {
+
+    static final String WRITER = "writer";
+    static final String READER = "reader";
+    static final String DEFAULT_PLUGINS = "initialConnection,auroraConnectionTracker,bg,failover2,efm2";
+    static final String READ_WRITE_SPLITTING = "readWriteSplitting";
+
+    private final Map<String, Pool> pools;
+    private final Route writeRoute;
+    private final Route[] readRoutes = new Route[ReadQuery.values().length];
+
+    /**
+     * @param specs  pool definitions; the one named "writer" also serves host lookups
+     * @param routes "write", "read" or "read.&lt;query&gt;" to pool name; unrouted reads follow "read"
+     */
+    PoolTopology(Collection<Spec> specs, Map<String, String> routes) {
+        Map<String, Pool> defined = new LinkedHashMap<>();
+        for (Spec spec : specs) {
+            defined.put(spec.name, new Pool(spec));
+        }
+        if (!defined.containsKey(WRITER)) {
+            throw new IllegalArgumentException("No \"" + WRITER + "\" pool defined");
+        }
+
+        for (String key : routes.keySet()) {
+            if (!key.equals("write") && !key.equals("read") && !key.startsWith("read.")) {
+                throw new IllegalArgumentException("Unknown route " + key + " (expected write, read or read.<query>)");
+            }
+        }
+        this.writeRoute = route(defined, routes.getOrDefault("write", WRITER), false);
+        Route defaultRead = route(defined, routes.getOrDefault("read", WRITER), true);
+        for (ReadQuery query : ReadQuery.values()) {
+            String target = routes.get("read." + query.getQueryName());
+            readRoutes[query.ordinal()] = target != null ? route(defined, target, true) : defaultRead;
+        }
+
+        // Only pools something is routed to are opened; the writer pool always is
+        this.pools = new LinkedHashMap<>();
+        for (Pool pool : defined.values()) {
+            if (pool.spec.name.equals(WRITER) || isRouted(pool)) {
+                pools.put(pool.spec.name, pool);
+            }
+        }
+    }
+
+    private static Route route(Map<String, Pool> pools, String name, boolean read) {
+        Pool pool = pools.get(name);
+        if (pool == null) {
+            throw new IllegalArgumentException("Route to unknown pool " + name);
+        }
+        return new Route(pool, read && pool.spec.hasPlugin(READ_WRITE_SPLITTING));
+    }
+
+    private boolean isRouted(Pool pool) {
+        if (writeRoute.pool == pool) {
+            return true;
+        }
+        for (Route route : readRoutes) {
+            if (route.pool == pool) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create every routed pool's data source
+     */
+    void open(Function<Spec, HikariDataSource> factory) {
+        for (Pool pool : pools.values()) {
+            pool.dataSource = factory.apply(pool.spec);
+        }
+    }
+
+    void close() {
+        for (Pool pool : pools.values()) {
+            if (pool.dataSource != null) {
+                pool.dataSource.close();
+            }
+        }
+    }
+
+    Route forWrite() {
+        return writeRoute;
+    }
+
+    /**
+     * Route for a read query; reads on a readWriteSplitting pool run on read-only connections
+     */
+    Route forRead(ReadQuery query) {
+        return readRoutes[query.ordinal()];
+    }
+
+    Pool writer() {
+        return pools.get(WRITER);
+    }
+
+    Collection<Pool> getPools() {
+        return pools.values();
+    }
+
+    /**
+     * Pool definition: "name:endpoint=host,size=N,min-idle=N,plugins=a+b+c"
+     */
+    static final class Spec {
+        final String name;
+        final String endpoint;
+        final int size;
+        final int minIdle;
+        final String plugins;
+
+        Spec(String name, String endpoint, int size, int minIdle, String plugins) {
+            this.name = name;
+            this.endpoint = endpoint;
+            this.size = size;
+            this.minIdle = minIdle;
+            this.plugins = plugins;
+        }
+
+        Spec(String name, String endpoint, int size, String plugins) {
+            this(name, endpoint, size, Math.min(10, size / 2), plugins);
+        }
+
+        boolean hasPlugin(String plugin) {
+            for (String p : plugins.split(",")) {
+                if (p.trim().equals(plugin)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Parse a --pool value; keys that are left out are taken from the pool it replaces, if any
+         */
+        static Spec parse(String value, Spec base) {
+            int colon = value.indexOf(':');
+            String name = (colon < 0 ? value : value.substring(0, colon)).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Missing pool name");
+            }
+            String endpoint = base != null ? base.endpoint : null;
+            int size = base != null ? base.size : 10;
+            Integer minIdle = null;
+            String plugins = base != null ? base.plugins : DEFAULT_PLUGINS;
+
+            if (colon >= 0) {
+                for (String entry : value.substring(colon + 1).split(",")) {
+                    String[] parts = entry.trim().split("=", 2);
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Expected key=value: " + entry);
+                    }
+                    String option = parts[1].trim();
+                    switch (parts[0].trim()) {
+                        case "endpoint":
+                            endpoint = option;
+                            break;
+                        case "size":
+                            size = Integer.parseInt(option);
+                            break;
+                        case "min-idle":
+                            minIdle = Integer.parseInt(option);
+                            break;
+                        case "plugins":
+                            plugins = option.replace('+', ',');
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown pool option: " + parts[0].trim());
+                    }
+                }
+            }
+
+            if (endpoint == null || endpoint.isEmpty()) {
+                throw new IllegalArgumentException("Pool " + name + " needs endpoint=<host>");
+            }
+            if (size < 1) {
+                throw new IllegalArgumentException("Pool " + name + " size must be at least 1");
+            }
+            int idle = minIdle != null ? minIdle : Math.min(10, size / 2);
+            if (idle < 0 || idle > size) {
+                throw new IllegalArgumentException("Pool " + name + " min-idle must be between 0 and its size");
+            }
+            return new Spec(name, endpoint, size, idle, plugins);
+        }
+    }
+
+    /**
+     * Where an operation runs; readOnly routes flip the connection to a reader via readWriteSplitting
+     */
+    static final class Route {
+        final Pool pool;
+        final boolean readOnly;
+
+        private Route(Pool pool, boolean readOnly) {
+            this.pool = pool;
+            this.readOnly = readOnly;
+        }
+
+        HikariDataSource dataSource() {
+            return pool.dataSource;
+        }
+    }
+
+    /**
+     * One named pool and its counters
+     *
+     * Recovery time is measured from the first failed attempt after a success
+     * to the next successful operation on the pool.
+     */
+    static final class Pool {
+        final Spec spec;
+        final LatencyRecorder latency;
+        private volatile HikariDataSource dataSource;
+
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder failedAttempts = new LongAdder();
+        private final AtomicLong failingSince = new AtomicLong(); // 0 while healthy
+        private final LongAdder recoveries = new LongAdder();
+        private final AtomicLong lastRecoveryNanos = new AtomicLong();
+        private final AtomicLong maxRecoveryNanos = new AtomicLong();
+
+        // Statistics thread only
+        private long lastSuccess;
+        private long lastFailed;
+        private long lastRecoveries;
+
+        Pool(Spec spec) {
+            this.spec = spec;
+            this.latency = new LatencyRecorder("pool_" + spec.name);
+        }
+
+        HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Record one finished operation, latency measured from its intended start
+         */
+        void record(long latencyNanos, boolean succeeded) {
+            latency.record(latencyNanos);
+            if (succeeded) {
+                success.increment();
+                long since = failingSince.get();
+                if (since != 0 && failingSince.compareAndSet(since, 0)) {
+                    long outage = System.nanoTime() - since;
+                    recoveries.increment();
+                    lastRecoveryNanos.set(outage);
+                    maxRecoveryNanos.accumulateAndGet(outage, Math::max);
+                }
+            } else {
+                failed.increment();
+            }
+        }
+
+        /**
+         * Record a failed attempt; the first one after a success starts the recovery clock
+         */
+        void attemptFailed() {
+            failedAttempts.increment();
+            if (failingSince.get() == 0) {
+                failingSince.compareAndSet(0, System.nanoTime());
+            }
+        }
+
+        /**
+         * Counts since the previous call. Statistics thread only.
+         */
+        Interval drainInterval() {
+            long s = success.sum();
+            long f = failed.sum();
+            long r = recoveries.sum();
+            Interval interval = new Interval(s - lastSuccess, f - lastFailed, r - lastRecoveries);
+            lastSuccess = s;
+            lastFailed = f;
+            lastRecoveries = r;
+            return interval;
+        }
+
+        boolean isFailing() {
+            return failingSince.get() != 0;
+        }
+
+        long getSuccess() {
+            return success.sum();
+        }
+
+        long getFailed() {
+            return failed.sum();
+        }
+
+        long getFailedAttempts() {
+            return failedAttempts.sum();
+        }
+
+        long getRecoveries() {
+            return recoveries.sum();
+        }
+
+        double getLastRecoverySeconds() {
+            return lastRecoveryNanos.get() / 1e9;
+        }
+
+        double getMaxRecoverySeconds() {
+            return maxRecoveryNanos.get() / 1e9;
+        }
+
+        int getActiveConnections() {
+            HikariDataSource ds = dataSource;
+            return ds != null ? ds.getHikariPoolMXBean().getActiveConnections() : 0;
+        }
+
+        int getTotalConnections() {
+            HikariDataSource ds = dataSource;
+            return ds != null ? ds.getHikariPoolMXBean().getTotalConnections() : 0;
+        }
+
+        int getPendingThreads() {
+            HikariDataSource ds = dataSource;
+            return ds != null ? ds.getHikariPoolMXBean().getThreadsAwaitingConnection() : 0;
+        }
+
+        /**
+         * Change the maximum pool size at runtime, never below the configured size
+         *
+         * @return the new maximum
+         */
+        int resize(int connections) {
+            int size = Math.max(spec.size, connections);
+            HikariDataSource ds = dataSource;
+            if (ds != null && ds.getHikariConfigMXBean().getMaximumPoolSize() != size) {
+                ds.getHikariConfigMXBean().setMaximumPoolSize(size);
+            }
+            return size;
+        }
+
+        int getMaximumPoolSize() {
+            HikariDataSource ds = dataSource;
+            return ds != null ? ds.getHikariConfigMXBean().getMaximumPoolSize() : spec.size;
+        }
+    }
+
+    /**
+     * A pool's operations and recoveries over one statistics interval
+     */
+    static final class Interval {
+        final long success;
+        final long failed;
+        final long recoveries;
+
+        Interval(long success, long failed, long recoveries) {
+            this.success = success;
+            this.failed = failed;
+            this.recoveries = recoveries;
+        }
+    }
+}
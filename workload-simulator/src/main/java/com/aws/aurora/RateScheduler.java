@@ -0,0 +1,224 @@
+package com.aws.aurora;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop rate scheduler
+ *
+ * Operations are handed out as numbered slots on a fixed schedule derived
+ * from a global target rate: slot n is intended to start at
+ * start + n / rate, computed in nanoseconds. Workers share one scheduler per
+ * operation type and claim the next free slot, so a stalled database does not
+ * slow the schedule down. Callers measure latency from the intended start
+ * returned by {@link #acquire()}, which keeps time spent waiting behind a
+ * stall in the latency numbers (no coordinated omission).
+ *
+ * With a {@link WorkloadProfile} the slot times follow the profile's
+ * time-varying rate instead, and the number of active workers can change at
+ * runtime: workers above the active count park in {@link #awaitActive(int)}.
+ * A constant rate can also be changed at runtime with
+ * {@link #setOpsPerSecond(double)}; the schedule continues from the next
+ * unclaimed slot at the new spacing.
+ *
+ * A slot that starts later than one per-worker period behind its intended
+ * time is counted as missed.
+ */
+class RateScheduler {
+
+    private static final long MIN_MISS_THRESHOLD_NANOS = 1_000_000L;
+    private static final long MAX_PARK_NANOS = 50_000_000L;
+
+    private volatile Segment segment;           // Constant-rate schedule since the last rate change
+    private final WorkloadProfile profile;
+    private volatile int activeWorkers;
+    private volatile boolean stopped;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong nextSlot = new AtomicLong(0);
+    private final LongAdder missedSlots = new LongAdder();
+    private final AtomicLong intervalMaxLagNanos = new AtomicLong(0);
+
+    /**
+     * @param opsPerSecond global target rate across all workers, 0 for unthrottled
+     * @param workers      number of workers sharing this scheduler
+     */
+    RateScheduler(double opsPerSecond, int workers) {
+        this.segment = new Segment(0, startNanos, opsPerSecond);
+        this.profile = null;
+        this.activeWorkers = workers;
+    }
+
+    /**
+     * @param profile time-varying global target rate
+     * @param workers number of workers active at the start
+     */
+    RateScheduler(WorkloadProfile profile, int workers) {
+        this.segment = new Segment(0, startNanos, profile.getPeakRate());
+        this.profile = profile;
+        this.activeWorkers = workers;
+    }
+
+    /**
+     * Wait for the next slot and return its intended start time (System.nanoTime based)
+     */
+    long acquire() throws InterruptedException {
+        return awaitSlot(claim());
+    }
+
+    /**
+     * Claim the next slot without waiting and return its intended start time.
+     * Batching workers use this to flush a lingering batch before sleeping.
+     */
+    long claim() {
+        Segment current = segment;
+        if (current.rate <= 0) {
+            nextSlot.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        long slot = nextSlot.getAndIncrement();
+        if (profile != null) {
+            long offset = profile.slotOffsetNanos(slot);
+            return offset == Long.MAX_VALUE ? Long.MAX_VALUE : startNanos + offset;
+        }
+        return current.slotStart(slot);
+    }
+
+    /**
+     * Change a constant target rate. The next unclaimed slot starts where the
+     * old schedule would have put it, or now if the schedule is behind, so a
+     * backlog from the old rate is not carried over.
+     */
+    synchronized void setOpsPerSecond(double rate) {
+        Segment current = segment;
+        if (profile != null || current.rate <= 0 || rate <= 0) {
+            throw new IllegalStateException("Only a positive constant rate can be changed");
+        }
+        long slot = nextSlot.get();
+        segment = new Segment(slot, Math.max(System.nanoTime(), current.slotStart(slot)), rate);
+    }
+
+    /**
+     * Wait until a claimed slot's intended start, accounting it as missed if
+     * it is already too far behind
+     */
+    long awaitSlot(long intendedStart) throws InterruptedException {
+        long now = System.nanoTime();
+        while (now < intendedStart) {
+            // Park in chunks: a slot the profile never reaches (it ends at rate 0) only ends with stop()
+            LockSupport.parkNanos(Math.min(intendedStart - now, MAX_PARK_NANOS));
+            if (Thread.interrupted() || (stopped && intendedStart == Long.MAX_VALUE)) {
+                throw new InterruptedException();
+            }
+            now = System.nanoTime();
+        }
+
+        long lag = now - intendedStart;
+        if (segment.rate > 0 && lag > missThresholdNanos(now)) {
+            missedSlots.increment();
+            if (lag > intervalMaxLagNanos.get()) {
+                intervalMaxLagNanos.accumulateAndGet(lag, Math::max);
+            }
+        }
+        return intendedStart;
+    }
+
+    /**
+     * One per-worker period at the current rate, at least 1ms
+     */
+    private long missThresholdNanos(long now) {
+        double rate = getOpsPerSecond(now);
+        long perWorkerPeriodNanos = rate > 0 ? (long) (1_000_000_000.0 * Math.max(activeWorkers, 1) / rate) : 0;
+        return Math.max(perWorkerPeriodNanos, MIN_MISS_THRESHOLD_NANOS);
+    }
+
+    /**
+     * Park a worker while its id (1-based) is above the active worker count
+     */
+    void awaitActive(int workerId) throws InterruptedException {
+        while (workerId > activeWorkers) {
+            LockSupport.parkNanos(MAX_PARK_NANOS);
+            if (Thread.interrupted() || stopped) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    void setActiveWorkers(int workers) {
+        this.activeWorkers = workers;
+    }
+
+    int getActiveWorkers() {
+        return activeWorkers;
+    }
+
+    /**
+     * End the wait of inactive workers and of slots that never come, with an
+     * InterruptedException
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Current target rate, 0 for unthrottled
+     */
+    double getOpsPerSecond() {
+        return getOpsPerSecond(System.nanoTime());
+    }
+
+    private double getOpsPerSecond(long now) {
+        return profile != null ? profile.rateAt((now - startNanos) / 1e9) : segment.rate;
+    }
+
+    /**
+     * Operations the schedule calls for from its start up to a System.nanoTime
+     * instant, 0 for unthrottled
+     */
+    long scheduledBy(long nowNanos) {
+        if (profile != null) {
+            return (long) profile.operationsBefore(Math.max(0, (nowNanos - startNanos) / 1e9));
+        }
+        Segment current = segment;
+        return (long) Math.max(0, current.firstSlot + (nowNanos - current.startNanos) * current.rate / 1e9);
+    }
+
+    WorkloadProfile getProfile() {
+        return profile;
+    }
+
+    long getIssuedSlots() {
+        return nextSlot.get();
+    }
+
+    long getMissedSlots() {
+        return missedSlots.sum();
+    }
+
+    /**
+     * Largest start lag of a missed slot since the previous call
+     */
+    long drainMaxLagNanos() {
+        return intervalMaxLagNanos.getAndSet(0);
+    }
+
+    /**
+     * Evenly spaced slots from firstSlot on, the first starting at startNanos
+     */
+    private static final class Segment {
+        final long firstSlot;
+        final long startNanos;
+        final double rate;
+
+        Segment(long firstSlot, long startNanos, double rate) {
+            this.firstSlot = firstSlot;
+            this.startNanos = startNanos;
+            this.rate = rate;
+        }
+
+        long slotStart(long slot) {
+            return startNanos + (long) ((slot - firstSlot) * 1_000_000_000.0 / rate);
+        }
+    }
+}
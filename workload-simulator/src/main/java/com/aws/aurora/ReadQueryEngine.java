@@ -0,0 +1,247 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Weighted mix of read queries against the test_NNNN tables
+ *
+ * Each read picks a query type by weight: a primary key point select, a
+ * recent col4 time-range scan, a col2 aggregate, or the original system
+ * variable query that never touches table data. Query text is built once
+ * per table, and every type records into its own latency histogram so a
+ * cold buffer pool on the green cluster shows up per access pattern.
+ *
+ * Point selects draw ids up to each table's MAX(id), learned on first use and
+ * re-learned every few seconds, so lookups spread over the rows that writes
+ * add instead of staying on the ids that existed when the table was first read.
+ */
+class ReadQueryEngine {
+
+    private static final int RANGE_SCAN_LIMIT = 100;
+    private static final int AGGREGATE_COL2_SPAN = 100;
+    static final long MAX_ID_REFRESH_MILLIS = 5000;
+
+    private final ReadQuery[] queries;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final long rangeScanMillis;
+    private final Map<ReadQuery, LatencyRecorder> recorders = new EnumMap<>(ReadQuery.class);
+    private final ConnectionTracker connectionTracker;
+
+    // Query text per table id (index 0 unused)
+    private final String[] pointSql;
+    private final String[] rangeSql;
+    private final String[] aggregateSql;
+    private final String[] maxIdSql;
+    private static final String SYSTEM_VARS_SQL = "SELECT @@hostname, @@server_id, @@aurora_version, @@read_only";
+
+    // Highest id seen per table, 0 until learned, and when it was last learned (nanoTime)
+    private final AtomicLongArray maxIds;
+    private final AtomicLongArray maxIdLearnedAt;
+    private final long maxIdRefreshNanos;
+
+    ReadQueryEngine(String[] tableNames, Map<ReadQuery, Integer> weights, int rangeScanSeconds,
+                    ConnectionTracker connectionTracker) {
+        this(tableNames, weights, rangeScanSeconds, connectionTracker, MAX_ID_REFRESH_MILLIS);
+    }
+
+    ReadQueryEngine(String[] tableNames, Map<ReadQuery, Integer> weights, int rangeScanSeconds,
+                    ConnectionTracker connectionTracker, long maxIdRefreshMillis) {
+        this.connectionTracker = connectionTracker;
+        this.maxIdRefreshNanos = maxIdRefreshMillis * 1_000_000L;
+        this.rangeScanMillis = rangeScanSeconds * 1000L;
+
+        int types = (int) weights.values().stream().filter(w -> w > 0).count();
+        this.queries = new ReadQuery[types];
+        this.cumulativeWeights = new int[types];
+        int i = 0;
+        int sum = 0;
+        for (ReadQuery query : ReadQuery.values()) {
+            int weight = weights.getOrDefault(query, 0);
+            if (weight > 0) {
+                sum += weight;
+                queries[i] = query;
+                cumulativeWeights[i] = sum;
+                recorders.put(query, new LatencyRecorder("read_" + query.name().toLowerCase()));
+                i++;
+            }
+        }
+        this.totalWeight = sum;
+
+        int tables = tableNames.length;
+        this.pointSql = new String[tables];
+        this.rangeSql = new String[tables];
+        this.aggregateSql = new String[tables];
+        this.maxIdSql = new String[tables];
+        this.maxIds = new AtomicLongArray(tables);
+        this.maxIdLearnedAt = new AtomicLongArray(tables);
+        for (int tableId = 1; tableId < tables; tableId++) {
+            String table = tableNames[tableId];
+            pointSql[tableId] = "SELECT id, col1, col2, col3, col4, col5 FROM " + table + " WHERE id = ?";
+            rangeSql[tableId] = "SELECT id, col2, col4 FROM " + table
+                + " WHERE col4 >= ? AND col4 < ? ORDER BY col4 LIMIT " + RANGE_SCAN_LIMIT;
+            aggregateSql[tableId] = "SELECT COUNT(*), AVG(col2), MAX(col4) FROM " + table
+                + " WHERE col2 BETWEEN ? AND ?";
+            maxIdSql[tableId] = "SELECT MAX(id) FROM " + table;
+        }
+    }
+
+    /**
+     * Pick the next query type by weight
+     */
+    ReadQuery next() {
+        if (queries.length == 1) {
+            return queries[0];
+        }
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < queries.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return queries[i];
+            }
+        }
+        return queries[queries.length - 1];
+    }
+
+    /**
+     * Run one query on the given connection and fill in the result
+     */
+    void execute(Connection conn, ReadQuery query, int tableId, ReadResult result) throws SQLException {
+        result.rows = 0;
+        result.host = null;
+        switch (query) {
+            case POINT:
+                executePoint(conn, tableId, result);
+                break;
+            case RANGE:
+                executeRange(conn, tableId, result);
+                break;
+            case AGGREGATE:
+                executeAggregate(conn, tableId, result);
+                break;
+            case SYSTEM_VARS:
+            default:
+                executeSystemVars(conn, result);
+                break;
+        }
+    }
+
+    private void executePoint(Connection conn, int tableId, ReadResult result) throws SQLException {
+        long maxId = maxIds.get(tableId);
+        long learnedAt = maxIdLearnedAt.get(tableId);
+        long now = System.nanoTime();
+        // One reader per table re-learns the bound once it is stale; the others keep using the old one
+        if (maxId == 0 || (now - learnedAt >= maxIdRefreshNanos
+            && maxIdLearnedAt.compareAndSet(tableId, learnedAt, now))) {
+            maxId = learnMaxId(conn, tableId);
+        }
+        try (PreparedStatement stmt = prepare(conn, pointSql[tableId])) {
+            stmt.setLong(1, ThreadLocalRandom.current().nextLong(1, maxId + 1));
+            result.rows = countRows(stmt);
+        }
+    }
+
+    private void executeRange(Connection conn, int tableId, ReadResult result) throws SQLException {
+        long now = System.currentTimeMillis();
+        try (PreparedStatement stmt = prepare(conn, rangeSql[tableId])) {
+            stmt.setLong(1, now - rangeScanMillis);
+            stmt.setLong(2, now);
+            result.rows = countRows(stmt);
+        }
+    }
+
+    private void executeAggregate(Connection conn, int tableId, ReadResult result) throws SQLException {
+        int from = ThreadLocalRandom.current().nextInt(1000 - AGGREGATE_COL2_SPAN + 1);
+        try (PreparedStatement stmt = prepare(conn, aggregateSql[tableId])) {
+            stmt.setInt(1, from);
+            stmt.setInt(2, from + AGGREGATE_COL2_SPAN - 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                result.rows = rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private void executeSystemVars(Connection conn, ReadResult result) throws SQLException {
+        try (PreparedStatement stmt = prepare(conn, SYSTEM_VARS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                result.host = rs.getString(1);
+                result.serverId = rs.getInt(2);
+                result.auroraVersion = rs.getString(3);
+                result.readOnly = rs.getInt(4);
+                result.rows = 1;
+            }
+        }
+    }
+
+    private long learnMaxId(Connection conn, int tableId) throws SQLException {
+        long maxId = 1;
+        try (PreparedStatement stmt = prepare(conn, maxIdSql[tableId]);
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                maxId = Math.max(rs.getLong(1), 1);
+            }
+        }
+        maxIdLearnedAt.set(tableId, System.nanoTime());
+        return maxIds.accumulateAndGet(tableId, maxId, Math::max);
+    }
+
+    /**
+     * Upper bound of point select ids for a table, 0 until learned
+     */
+    long getMaxId(int tableId) {
+        return maxIds.get(tableId);
+    }
+
+    /**
+     * Prepare through the statement cache mirror, since reads share the driver cache with writes
+     */
+    private PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        connectionTracker.recordStatement(conn, sql);
+        return conn.prepareStatement(sql);
+    }
+
+    private static int countRows(PreparedStatement stmt) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Latency recorder for a query type, or null if the type is not in the mix
+     */
+    LatencyRecorder recorderFor(ReadQuery query) {
+        return recorders.get(query);
+    }
+
+    /**
+     * Latency recorders of the query types in the mix, in declaration order
+     */
+    LatencyRecorder[] getRecorders() {
+        return recorders.values().toArray(new LatencyRecorder[0]);
+    }
+
+    /**
+     * Outcome of one read, reused by a worker for every read it runs.
+     * Only the system variable query fills in the host and server details.
+     */
+    static class ReadResult {
+        String host;
+        int rows;
+        int serverId;
+        String auroraVersion;
+        int readOnly;
+    }
+}
@@ -0,0 +1,188 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retry decisions shared by all workers
+ *
+ * A failed attempt is retried only if its error is retryable, the operation
+ * has attempts left and the global retry budget has a token. The budget is a
+ * token bucket kept as a single "theoretical arrival time" in an AtomicLong
+ * (GCRA), so taking a token is one compare-and-set with no lock. Backoff is
+ * exponential with full jitter (a uniform delay between 0 and
+ * base * 2^(attempt-1), capped), which spreads the retries of workers that
+ * failed together instead of sending them back in lockstep.
+ *
+ * While the bg plugin reports IN_PROGRESS the wrapper holds new connections
+ * anyway, so {@link #await} first parks until the phase moves on (bounded by
+ * the phase pause limit) and only then sleeps the backoff.
+ */
+class RetryPolicy {
+
+    static final long GIVE_UP = -1;
+    private static final long PHASE_POLL_MILLIS = 50;
+
+    /**
+     * Why an operation stopped retrying, exported as the "reason" tag of workload.retry.giveups
+     */
+    enum GiveUpReason {
+        FATAL,     // Error that a retry cannot fix (syntax, constraint, access)
+        ATTEMPTS,  // Attempt limit reached
+        BUDGET;    // Global retry budget empty
+
+        String getTag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxPhasePauseNanos;
+    private final BlueGreenPhaseTracker phaseTracker;
+
+    // Token bucket: one token every tokenIntervalNanos, up to burstNanos / tokenIntervalNanos tokens banked
+    private final long tokenIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+    private final LongAdder phasePauseNanos = new LongAdder();
+    private final Map<GiveUpReason, LongAdder> giveUps = new EnumMap<>(GiveUpReason.class);
+
+    /**
+     * @param budgetPerSecond retries allowed per second across all workers, 0 for unlimited
+     * @param budgetBurst     retries that can be taken at once after a quiet period
+     */
+    RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, double budgetPerSecond,
+                int budgetBurst, long maxPhasePauseMillis, BlueGreenPhaseTracker phaseTracker) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxPhasePauseNanos = TimeUnit.MILLISECONDS.toNanos(maxPhasePauseMillis);
+        this.phaseTracker = phaseTracker;
+        this.tokenIntervalNanos = budgetPerSecond > 0 ? (long) (1_000_000_000.0 / budgetPerSecond) : 0;
+        this.burstNanos = tokenIntervalNanos * Math.max(1, budgetBurst);
+        for (GiveUpReason reason : GiveUpReason.values()) {
+            giveUps.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Decide whether a failed attempt is retried
+     *
+     * @param attempt the attempt that failed, starting at 1
+     * @return jittered delay before the next attempt in milliseconds, or {@link #GIVE_UP}
+     */
+    long nextDelayMillis(int attempt, SQLException e, ErrorClassifier.ErrorType type) {
+        GiveUpReason reason = null;
+        if (!ErrorClassifier.isRetryable(e, type)) {
+            reason = GiveUpReason.FATAL;
+        } else if (attempt >= maxAttempts) {
+            reason = GiveUpReason.ATTEMPTS;
+        } else if (!takeToken()) {
+            reason = GiveUpReason.BUDGET;
+        }
+        if (reason != null) {
+            giveUps.get(reason).increment();
+            return GIVE_UP;
+        }
+
+        scheduled.increment();
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Wait out an IN_PROGRESS switchover (bounded), then sleep the backoff
+     */
+    void await(long delayMillis) throws InterruptedException {
+        if (phaseTracker.current() == BlueGreenPhase.IN_PROGRESS) {
+            long pauseStart = System.nanoTime();
+            while (phaseTracker.current() == BlueGreenPhase.IN_PROGRESS
+                && System.nanoTime() - pauseStart < maxPhasePauseNanos) {
+                Thread.sleep(PHASE_POLL_MILLIS);
+            }
+            phasePauseNanos.add(System.nanoTime() - pauseStart);
+        }
+        if (delayMillis > 0) {
+            backoffNanos.add(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+            Thread.sleep(delayMillis);
+        }
+    }
+
+    private boolean takeToken() {
+        return takeToken(System.nanoTime());
+    }
+
+    /**
+     * Take a retry token from the budget at time now (System.nanoTime)
+     */
+    boolean takeToken(long now) {
+        if (tokenIntervalNanos == 0) {
+            return true;
+        }
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + tokenIntervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    long getScheduled() {
+        return scheduled.sum();
+    }
+
+    long getGiveUps(GiveUpReason reason) {
+        return giveUps.get(reason).sum();
+    }
+
+    double getBackoffSeconds() {
+        return backoffNanos.sum() / 1e9;
+    }
+
+    double getPhasePauseSeconds() {
+        return phasePauseNanos.sum() / 1e9;
+    }
+
+    /**
+     * Tokens currently banked, or -1 with an unlimited budget
+     */
+    double getBudgetAvailable() {
+        if (tokenIntervalNanos == 0) {
+            return -1;
+        }
+        long headroom = burstNanos - Math.max(0, theoreticalArrival.get() - System.nanoTime());
+        return Math.max(0, headroom) / (double) tokenIntervalNanos;
+    }
+
+    double getBudgetPerSecond() {
+        return tokenIntervalNanos > 0 ? 1e9 / tokenIntervalNanos : 0;
+    }
+
+    long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+}
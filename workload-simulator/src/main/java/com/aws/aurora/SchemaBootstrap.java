@@ -0,0 +1,511 @@
+package com.aws.aurora;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates and seeds the test_NNNN tables (the init-schema subcommand)
+ *
+ * Tables are handled in batches of consecutive ids. Workers, one per pooled
+ * connection, claim the next batch from a shared cursor. A batch creates its
+ * missing tables with one multi-statement round trip, then fills every empty
+ * table in it with multi-row INSERTs, one transaction per table.
+ *
+ * Tables that already exist are not created again, and tables that already
+ * have rows are not seeded again, so an interrupted run can simply be
+ * restarted. Progress and throughput are logged every few seconds.
+ *
+ * Usage: init-schema --endpoint &lt;host&gt; --password &lt;password&gt;
+ * [--database lab_db] [--username admin] [--tables 12000] [--connections 16]
+ * [--batch-tables 50] [--seed-rows 1] [--progress-seconds 5]
+ */
+class SchemaBootstrap {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaBootstrap.class);
+
+    private static final int ROWS_PER_INSERT = 1000;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final long SEED_SPAN_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS %s ("
+        + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+        + "col1 VARCHAR(255), "
+        + "col2 INT, "
+        + "col3 VARCHAR(255), "
+        + "col4 BIGINT, "
+        + "col5 TEXT, "
+        + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+        + "INDEX idx_col2 (col2), "
+        + "INDEX idx_col4 (col4)"
+        + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci";
+
+    // About 200 bytes per row, so seeded tables take real space in the buffer pool
+    private static final String SEED_TEXT = "seed-row-".repeat(22);
+
+    private final String endpoint;
+    private final String database;
+    private final String username;
+    private final String password;
+    private final int tables;
+    private final int connections;
+    private final int batchTables;
+    private final int seedRows;
+    private final int progressSeconds;
+
+    private final AtomicInteger nextBatch = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder seededTables = new LongAdder();
+    private final LongAdder seededRows = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder batchRetries = new LongAdder();
+
+    SchemaBootstrap(String endpoint, String database, String username, String password, int tables,
+                    int connections, int batchTables, int seedRows, int progressSeconds) {
+        this.endpoint = endpoint;
+        this.database = database;
+        this.username = username;
+        this.password = password;
+        this.tables = tables;
+        this.connections = connections;
+        this.batchTables = batchTables;
+        this.seedRows = seedRows;
+        this.progressSeconds = progressSeconds;
+    }
+
+    /**
+     * Entry point for the init-schema subcommand
+     */
+    static void main(String[] args) {
+        String endpoint = null;
+        String database = "lab_db";
+        String username = "admin";
+        String password = System.getenv("DB_PASSWORD");
+        int tables = 12000;
+        int connections = 16;
+        int batchTables = 50;
+        int seedRows = 1;
+        int progressSeconds = 5;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--endpoint":
+                case "--aurora-endpoint":
+                    endpoint = args[++i];
+                    break;
+                case "--database":
+                case "--database-name":
+                    database = args[++i];
+                    break;
+                case "--username":
+                    username = args[++i];
+                    break;
+                case "--password":
+                    password = args[++i];
+                    break;
+                case "--tables":
+                    tables = Integer.parseInt(args[++i]);
+                    break;
+                case "--connections":
+                case "--parallel":
+                    connections = Integer.parseInt(args[++i]);
+                    break;
+                case "--batch-tables":
+                    batchTables = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed-rows":
+                    seedRows = Integer.parseInt(args[++i]);
+                    break;
+                case "--progress-seconds":
+                    progressSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--help":
+                    printUsage();
+                    return;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    printUsage();
+                    System.exit(1);
+            }
+        }
+
+        if (endpoint == null || password == null || password.isEmpty()) {
+            System.err.println("Error: --endpoint and --password (or DB_PASSWORD) are required");
+            printUsage();
+            System.exit(1);
+        }
+        if (!database.matches("[A-Za-z0-9_]+")) {
+            System.err.println("Error: Invalid database name: " + database);
+            System.exit(1);
+        }
+        if (tables < 1 || connections < 1 || batchTables < 1 || seedRows < 0 || progressSeconds < 1) {
+            System.err.println("Error: --tables, --connections, --batch-tables and --progress-seconds must be at least 1, --seed-rows at least 0");
+            System.exit(1);
+        }
+
+        SchemaBootstrap bootstrap = new SchemaBootstrap(endpoint, database, username, password, tables,
+            connections, batchTables, seedRows, progressSeconds);
+        try {
+            if (!bootstrap.run()) {
+                System.exit(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Schema initialization failed: {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  java -jar workload-simulator.jar init-schema --endpoint <host> --password <password> [options]");
+        System.out.println("\nOptions:");
+        System.out.println("  --endpoint <host>               Aurora cluster writer endpoint");
+        System.out.println("  --password <password>           Database password (or DB_PASSWORD)");
+        System.out.println("  --database <name>               Database name, created if missing (default: lab_db)");
+        System.out.println("  --username <username>           Database username (default: admin)");
+        System.out.println("  --tables <count>                Number of test_NNNN tables (default: 12000)");
+        System.out.println("  --connections <count>           Parallel connections (default: 16)");
+        System.out.println("  --batch-tables <count>          Tables created per multi-statement round trip (default: 50)");
+        System.out.println("  --seed-rows <count>             Rows inserted into every empty table, 0 for none (default: 1)");
+        System.out.println("  --progress-seconds <seconds>    Progress report interval (default: 5)");
+    }
+
+    /**
+     * Create and seed every table
+     *
+     * @return true if every batch succeeded
+     */
+    boolean run() throws SQLException {
+        logger.info("========================================");
+        logger.info("Aurora Schema Initialization");
+        logger.info("========================================");
+        logger.info("Endpoint: {}", endpoint);
+        logger.info("Database: {}", database);
+        logger.info("Tables: {} in batches of {}", tables, batchTables);
+        logger.info("Connections: {}", connections);
+        logger.info("Seed Rows: {} per empty table", seedRows);
+        logger.info("========================================");
+
+        createDatabase();
+
+        try (HikariDataSource pool = createPool()) {
+            BitSet existing = findExistingTables(pool);
+            logger.info("{} of {} tables already exist and will not be created again", existing.cardinality(), tables);
+
+            long start = System.nanoTime();
+            ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "schema-progress");
+                thread.setDaemon(true);
+                return thread;
+            });
+            progress.scheduleAtFixedRate(() -> logProgress(start), progressSeconds, progressSeconds, TimeUnit.SECONDS);
+
+            ExecutorService workers = Executors.newFixedThreadPool(connections);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < connections; worker++) {
+                futures.add(workers.submit(() -> work(pool, existing)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    logger.error("Schema worker failed", e.getCause());
+                    failedBatches.increment();
+                }
+            }
+            workers.shutdownNow();
+            progress.shutdownNow();
+            logProgress(start);
+
+            int found = countTables(pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            logger.info("========================================");
+            logger.info("Created: {} | Already present: {} | Seeded: {} tables, {} rows | Retried batches: {} | Failed batches: {}",
+                created.sum(), skipped.sum(), seededTables.sum(), seededRows.sum(), batchRetries.sum(),
+                failedBatches.sum());
+            logger.info("Time taken: {}s ({} tables/sec)", String.format("%.1f", seconds),
+                String.format("%.0f", seconds > 0 ? (created.sum() + skipped.sum()) / seconds : 0.0));
+            if (found == tables) {
+                logger.info("Verified: {} tables found in {}", found, database);
+            } else {
+                logger.warn("Table count mismatch: expected {}, found {}", tables, found);
+            }
+            logger.info("========================================");
+            return failedBatches.sum() == 0 && found == tables;
+        }
+    }
+
+    private String baseUrl() {
+        return "jdbc:mysql://" + endpoint + ":3306/";
+    }
+
+    private void createDatabase() throws SQLException {
+        try {
+            // Registers the driver; the shaded jar's java.sql.Driver service file lists only one driver
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("MySQL Connector/J is not on the classpath", e);
+        }
+        try (Connection conn = DriverManager.getConnection(baseUrl() + "?connectTimeout=30000", username, password);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE DATABASE IF NOT EXISTS " + database);
+        }
+        logger.info("Database '{}' is ready", database);
+    }
+
+    /**
+     * Plain Connector/J pool: multi-statement DDL and rewritten batches, no wrapper plugins
+     */
+    private HikariDataSource createPool() {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(baseUrl() + database
+            + "?allowMultiQueries=true&rewriteBatchedStatements=true&connectTimeout=30000&socketTimeout=600000");
+        hikariConfig.setUsername(username);
+        hikariConfig.setPassword(password);
+        hikariConfig.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        hikariConfig.setMaximumPoolSize(connections);
+        hikariConfig.setMinimumIdle(connections);
+        hikariConfig.setConnectionTimeout(30000);
+        hikariConfig.setPoolName("SchemaBootstrap");
+        return new HikariDataSource(hikariConfig);
+    }
+
+    /**
+     * Ids of the test_NNNN tables that are already there, in one query
+     */
+    BitSet findExistingTables(DataSource pool) throws SQLException {
+        BitSet existing = new BitSet(tables + 1);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT table_name FROM information_schema.tables WHERE table_schema = ? AND table_name LIKE 'test\\_%'")) {
+            stmt.setString(1, database);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    try {
+                        int id = Integer.parseInt(name.substring("test_".length()));
+                        if (id >= 1 && id <= tables && name.equals(tableName(id))) {
+                            existing.set(id);
+                        }
+                    } catch (NumberFormatException e) {
+                        // Not one of ours
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    private int countTables(DataSource pool) throws SQLException {
+        return findExistingTables(pool).cardinality();
+    }
+
+    /**
+     * Claim batches until none are left
+     */
+    private void work(DataSource pool, BitSet existing) {
+        int batches = (tables + batchTables - 1) / batchTables;
+        int batch;
+        while ((batch = nextBatch.getAndIncrement()) < batches && !Thread.currentThread().isInterrupted()) {
+            int first = batch * batchTables + 1;
+            int last = Math.min(tables, first + batchTables - 1);
+            runBatch(pool, existing, first, last);
+        }
+    }
+
+    /**
+     * Create and seed tables first..last, retrying the whole batch on errors
+     */
+    void runBatch(DataSource pool, BitSet existing, int first, int last) {
+        for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+            try (Connection conn = pool.getConnection()) {
+                int missing = createBatch(conn, existing, first, last);
+                if (seedRows > 0) {
+                    seedBatch(conn, first, last);
+                }
+                // Counted once the whole batch is done, so a retried batch is not counted twice
+                created.add(missing);
+                skipped.add(last - first + 1 - missing);
+                return;
+            } catch (SQLException e) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    logger.error("Tables {} to {} failed after {} attempts: {}",
+                        tableName(first), tableName(last), attempt, e.getMessage());
+                    failedBatches.increment();
+                    return;
+                }
+                batchRetries.increment();
+                logger.warn("Tables {} to {} failed (attempt {}/{}), retrying: {}",
+                    tableName(first), tableName(last), attempt, MAX_BATCH_ATTEMPTS, e.getMessage());
+                try {
+                    Thread.sleep(1000L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the batch's missing tables in one multi-statement round trip;
+     * IF NOT EXISTS makes a retried batch harmless. Returns how many were missing.
+     */
+    private int createBatch(Connection conn, BitSet existing, int first, int last) throws SQLException {
+        StringBuilder sql = new StringBuilder();
+        int missing = 0;
+        for (int id = first; id <= last; id++) {
+            if (existing.get(id)) {
+                continue;
+            }
+            if (sql.length() > 0) {
+                sql.append(";\n");
+            }
+            sql.append(String.format(CREATE_TABLE, tableName(id)));
+            missing++;
+        }
+        if (missing > 0) {
+            try (Statement stmt = conn.createStatement()) {
+                // Consume every result so a failing statement in the middle surfaces here
+                boolean isResultSet = stmt.execute(sql.toString());
+                while (isResultSet || stmt.getUpdateCount() != -1) {
+                    isResultSet = stmt.getMoreResults();
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Seed every table of the batch that has no rows yet
+     */
+    private void seedBatch(Connection conn, int first, int last) throws SQLException {
+        // One round trip tells which tables of the batch are still empty
+        StringBuilder probe = new StringBuilder("SELECT ");
+        for (int id = first; id <= last; id++) {
+            if (id > first) {
+                probe.append(", ");
+            }
+            probe.append("EXISTS(SELECT 1 FROM ").append(tableName(id)).append(')');
+        }
+        boolean[] empty = new boolean[last - first + 1];
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(probe.toString())) {
+            rs.next();
+            for (int i = 0; i < empty.length; i++) {
+                empty[i] = rs.getInt(i + 1) == 0;
+            }
+        }
+
+        for (int i = 0; i < empty.length; i++) {
+            if (empty[i]) {
+                seedTable(conn, first + i);
+            }
+        }
+    }
+
+    /**
+     * Fill one table with multi-row INSERTs in a single transaction
+     */
+    private void seedTable(Connection conn, int tableId) throws SQLException {
+        String table = tableName(tableId);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+
+        conn.setAutoCommit(false);
+        try {
+            int remaining = seedRows;
+            while (remaining > 0) {
+                int rows = Math.min(ROWS_PER_INSERT, remaining);
+                StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (col1, col2, col3, col4, col5) VALUES ");
+                for (int row = 0; row < rows; row++) {
+                    sql.append(row == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    int column = 1;
+                    for (int row = 0; row < rows; row++) {
+                        stmt.setString(column++, "seed-data");
+                        stmt.setInt(column++, random.nextInt(1000));
+                        stmt.setString(column++, "baseline");
+                        // Spread over the last hour, older than the rows the workload writes
+                        stmt.setLong(column++, now - SEED_SPAN_MILLIS + random.nextLong(SEED_SPAN_MILLIS));
+                        stmt.setString(column++, SEED_TEXT);
+                    }
+                    stmt.executeUpdate();
+                }
+                remaining -= rows;
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollback) {
+                // The connection is usually already broken; the pool discards it
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        seededTables.increment();
+        seededRows.add(seedRows);
+    }
+
+    private void logProgress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long done = created.sum() + skipped.sum();
+        double tablesPerSecond = seconds > 0 ? done / seconds : 0.0;
+        long etaSeconds = tablesPerSecond > 0 ? (long) ((tables - done) / tablesPerSecond) : -1;
+        logger.info("Progress: {}/{} tables ({}%) | Created: {} | Already present: {} | Seeded rows: {} | {} tables/sec, {} rows/sec | ETA: {}",
+            done, tables, String.format("%.1f", done * 100.0 / tables), created.sum(), skipped.sum(),
+            seededRows.sum(), String.format("%.0f", tablesPerSecond),
+            String.format("%.0f", seconds > 0 ? seededRows.sum() / seconds : 0.0),
+            etaSeconds >= 0 ? etaSeconds + "s" : "-");
+    }
+
+    long getCreated() {
+        return created.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    long getSeededTables() {
+        return seededTables.sum();
+    }
+
+    long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    static String tableName(int tableId) {
+        return String.format("test_%04d", tableId);
+    }
+}
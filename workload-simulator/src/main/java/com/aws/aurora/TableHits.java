@@ -0,0 +1,87 @@
+package com.aws.aurora;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-table operation counts, used to verify the configured key skew
+ *
+ * Workers bump one striped counter per table touched. The statistics thread
+ * turns the change since its previous call into a summary: how many
+ * operations the hottest share of tables received and which table was
+ * hottest.
+ */
+class TableHits {
+
+    private final LongAdder[] hits;
+    private final long[] previous;
+    private final long[] interval;
+
+    TableHits(int tables) {
+        this.hits = new LongAdder[tables + 1];
+        this.previous = new long[tables + 1];
+        this.interval = new long[tables + 1];
+        for (int tableId = 1; tableId <= tables; tableId++) {
+            hits[tableId] = new LongAdder();
+        }
+    }
+
+    void record(int tableId) {
+        hits[tableId].increment();
+    }
+
+    void record(int tableId, int count) {
+        hits[tableId].add(count);
+    }
+
+    /**
+     * Summarize operations since the previous call. Statistics thread only.
+     *
+     * @param topFraction share of tables counted as the "top" tables, e.g. 0.05
+     */
+    Summary drainInterval(double topFraction) {
+        Summary summary = new Summary();
+        int tables = hits.length - 1;
+        for (int tableId = 1; tableId <= tables; tableId++) {
+            long current = hits[tableId].sum();
+            long delta = current - previous[tableId];
+            previous[tableId] = current;
+            interval[tableId - 1] = delta;
+            summary.total += delta;
+            if (delta > summary.hottestHits) {
+                summary.hottestHits = delta;
+                summary.hottestTable = tableId;
+            }
+            if (delta > 0) {
+                summary.tablesTouched++;
+            }
+        }
+
+        summary.topTables = (int) Math.max(1, Math.round(tables * topFraction));
+        Arrays.sort(interval, 0, tables);
+        for (int i = tables - summary.topTables; i < tables; i++) {
+            summary.topHits += interval[i];
+        }
+        return summary;
+    }
+
+    /**
+     * Table access skew over one statistics interval
+     */
+    static class Summary {
+        long total;
+        int tablesTouched;
+        int topTables;
+        long topHits;
+        int hottestTable;
+        long hottestHits;
+
+        double getTopSharePercent() {
+            return total > 0 ? topHits * 100.0 / total : 0.0;
+        }
+
+        double getHottestSharePercent() {
+            return total > 0 ? hottestHits * 100.0 / total : 0.0;
+        }
+    }
+}
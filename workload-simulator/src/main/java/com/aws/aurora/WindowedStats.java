@@ -0,0 +1,290 @@
+package com.aws.aurora;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-second statistics ring buffer
+ *
+ * Workers only bump cumulative counters and latency recorders. Once per
+ * second the statistics thread calls {@link #roll}, which turns the change in
+ * those counters into a one-second bucket and swaps the latency recorders
+ * into that bucket's histograms. Interval figures are rolled up from the last
+ * N buckets, so "last N seconds" really means the last N seconds, and the
+ * bucket series doubles as a per-second availability time series for
+ * measuring switchover downtime to the second.
+ *
+ * All methods are called from the statistics thread only.
+ */
+class WindowedStats {
+
+    // Per-second counts are kept for an hour, histograms only for the reporting window
+    static final int SERIES_CAPACITY = 3600;
+
+    private final Bucket[] series = new Bucket[SERIES_CAPACITY];
+    private final LatencyRecorder[] recorders;
+    // Per recorder, one histogram per second of the reporting window
+    private final Histogram[][] histograms;
+    private final int histogramWindow;
+    private long rolledBuckets = 0;
+
+    // Cumulative totals seen at the previous roll
+    private final Totals previous = new Totals();
+
+    // Downtime tracking: a second with offered load but no successful operation is down
+    private long outageStartSecond = -1;
+    private long lastOutageStartSecond = -1;
+    private long lastOutageEndSecond = -1;
+    private long totalDowntimeSeconds = 0;
+
+    WindowedStats(int histogramWindowSeconds, LatencyRecorder... recorders) {
+        this.histogramWindow = Math.max(1, Math.min(histogramWindowSeconds, SERIES_CAPACITY));
+        this.recorders = recorders.clone();
+        this.histograms = new Histogram[recorders.length][histogramWindow];
+        for (Histogram[] ring : histograms) {
+            for (int i = 0; i < histogramWindow; i++) {
+                ring[i] = LatencyRecorder.newHistogram();
+            }
+        }
+        for (int i = 0; i < SERIES_CAPACITY; i++) {
+            series[i] = new Bucket(this.recorders);
+        }
+    }
+
+    /**
+     * Close the second ending at epochSecond and return its bucket
+     */
+    Bucket roll(long epochSecond, Totals current, boolean loadOffered) {
+        int histogramSlot = (int) (rolledBuckets % histogramWindow);
+        Bucket bucket = series[(int) (rolledBuckets % SERIES_CAPACITY)];
+        for (int r = 0; r < recorders.length; r++) {
+            Histogram histogram = histograms[r][histogramSlot];
+            recorders[r].swapInterval(histogram);
+            bucket.p99Nanos[r] = histogram.getValueAtPercentile(99.0);
+        }
+
+        bucket.epochSecond = epochSecond;
+        bucket.writeOps = current.writeOps - previous.writeOps;
+        bucket.writeSuccess = current.writeSuccess - previous.writeSuccess;
+        bucket.writeFailed = current.writeFailed - previous.writeFailed;
+        bucket.readOps = current.readOps - previous.readOps;
+        bucket.readSuccess = current.readSuccess - previous.readSuccess;
+        bucket.readFailed = current.readFailed - previous.readFailed;
+        bucket.writeStatements = current.writeStatements - previous.writeStatements;
+        bucket.retries = current.retries - previous.retries;
+        bucket.writeTarget = current.writeTarget - previous.writeTarget;
+        bucket.readTarget = current.readTarget - previous.readTarget;
+        bucket.down = loadOffered && bucket.getSuccess() == 0;
+        previous.copyFrom(current);
+        rolledBuckets++;
+
+        if (bucket.down) {
+            if (outageStartSecond < 0) {
+                outageStartSecond = epochSecond;
+            }
+        } else if (outageStartSecond >= 0) {
+            lastOutageStartSecond = outageStartSecond;
+            lastOutageEndSecond = epochSecond;
+            totalDowntimeSeconds += epochSecond - outageStartSecond;
+            outageStartSecond = -1;
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Roll up the most recent buckets (at most the histogram window)
+     */
+    Window window(int seconds) {
+        int count = (int) Math.min(Math.min(seconds, histogramWindow), rolledBuckets);
+        Window window = new Window(seconds, recorders);
+        for (int i = 1; i <= count; i++) {
+            long index = rolledBuckets - i;
+            Bucket bucket = series[(int) (index % SERIES_CAPACITY)];
+            window.writeOps += bucket.writeOps;
+            window.writeSuccess += bucket.writeSuccess;
+            window.writeFailed += bucket.writeFailed;
+            window.readOps += bucket.readOps;
+            window.readSuccess += bucket.readSuccess;
+            window.readFailed += bucket.readFailed;
+            window.writeStatements += bucket.writeStatements;
+            window.retries += bucket.retries;
+            window.writeTarget += bucket.writeTarget;
+            window.readTarget += bucket.readTarget;
+            if (bucket.down) {
+                window.downSeconds++;
+            }
+
+            int histogramSlot = (int) (index % histogramWindow);
+            for (int r = 0; r < recorders.length; r++) {
+                window.latencies[r].add(histograms[r][histogramSlot]);
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Latency histogram of the given recorder for the most recent second; it
+     * is reused when that slot comes round again, so copy it to keep it
+     */
+    Histogram latest(LatencyRecorder recorder) {
+        long index = Math.max(0, rolledBuckets - 1);
+        return histograms[indexOf(recorders, recorder)][(int) (index % histogramWindow)];
+    }
+
+    boolean isDown() {
+        return outageStartSecond >= 0;
+    }
+
+    long getOutageStartSecond() {
+        return outageStartSecond;
+    }
+
+    long getLastOutageStartSecond() {
+        return lastOutageStartSecond;
+    }
+
+    long getLastOutageEndSecond() {
+        return lastOutageEndSecond;
+    }
+
+    /**
+     * Total seconds without a successful operation, including an ongoing outage
+     */
+    long getTotalDowntimeSeconds(long nowEpochSecond) {
+        return totalDowntimeSeconds + (outageStartSecond >= 0 ? nowEpochSecond - outageStartSecond : 0);
+    }
+
+    private static int indexOf(LatencyRecorder[] recorders, LatencyRecorder recorder) {
+        for (int r = 0; r < recorders.length; r++) {
+            if (recorders[r] == recorder) {
+                return r;
+            }
+        }
+        throw new IllegalArgumentException("Latency recorder not registered: " + recorder.getOperation());
+    }
+
+    /**
+     * Cumulative counter readings handed to {@link #roll}
+     */
+    static class Totals {
+        long writeOps;
+        long writeSuccess;
+        long writeFailed;
+        long readOps;
+        long readSuccess;
+        long readFailed;
+        long writeStatements;
+        long retries;
+        long writeTarget; // Operations the schedulers called for so far
+        long readTarget;
+
+        void copyFrom(Totals other) {
+            writeOps = other.writeOps;
+            writeSuccess = other.writeSuccess;
+            writeFailed = other.writeFailed;
+            readOps = other.readOps;
+            readSuccess = other.readSuccess;
+            readFailed = other.readFailed;
+            writeStatements = other.writeStatements;
+            retries = other.retries;
+            writeTarget = other.writeTarget;
+            readTarget = other.readTarget;
+        }
+    }
+
+    /**
+     * One second of activity
+     */
+    static class Bucket {
+        long epochSecond;
+        long writeOps;
+        long writeSuccess;
+        long writeFailed;
+        long readOps;
+        long readSuccess;
+        long readFailed;
+        long writeStatements;
+        long retries;
+        long writeTarget;
+        long readTarget;
+        boolean down;
+        private final LatencyRecorder[] recorders;
+        private final long[] p99Nanos;
+
+        Bucket(LatencyRecorder[] recorders) {
+            this.recorders = recorders;
+            this.p99Nanos = new long[recorders.length];
+        }
+
+        /**
+         * P99 latency of the given recorder during this second
+         */
+        long getP99Nanos(LatencyRecorder recorder) {
+            return p99Nanos[indexOf(recorders, recorder)];
+        }
+
+        long getSuccess() {
+            return writeSuccess + readSuccess;
+        }
+
+        long getFailed() {
+            return writeFailed + readFailed;
+        }
+
+        /**
+         * Share of completed operations that succeeded, 0 when nothing completed
+         */
+        double getAvailabilityPercent() {
+            long completed = getSuccess() + getFailed();
+            return completed > 0 ? getSuccess() * 100.0 / completed : 0.0;
+        }
+    }
+
+    /**
+     * Activity rolled up over the last N seconds
+     */
+    static class Window {
+        final int seconds;
+        long writeOps;
+        long writeSuccess;
+        long writeFailed;
+        long readOps;
+        long readSuccess;
+        long readFailed;
+        long writeStatements;
+        long retries;
+        long writeTarget;
+        long readTarget;
+        int downSeconds;
+        private final LatencyRecorder[] recorders;
+        private final Histogram[] latencies;
+
+        Window(int seconds, LatencyRecorder[] recorders) {
+            this.seconds = seconds;
+            this.recorders = recorders;
+            this.latencies = new Histogram[recorders.length];
+            for (int r = 0; r < recorders.length; r++) {
+                latencies[r] = LatencyRecorder.newHistogram();
+            }
+        }
+
+        /**
+         * Latency histogram of the given recorder merged over the window
+         */
+        Histogram latency(LatencyRecorder recorder) {
+            return latencies[indexOf(recorders, recorder)];
+        }
+
+        long getOps() {
+            return writeOps + readOps;
+        }
+
+        long getSuccess() {
+            return writeSuccess + readSuccess;
+        }
+
+        long getFailed() {
+            return writeFailed + readFailed;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.aws.aurora;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Time-varying target rate for a {@link RateScheduler}
+ *
+ * A profile is a list of phases played back to back, each giving the global
+ * rate (operations per second across all workers) as a function of time:
+ *
+ * <pre>
+ * ramp  FROM TO DURATION               linear change from FROM to TO ops/s
+ * hold  RATE DURATION                  constant rate
+ * burst LOW HIGH PERIOD HIGH DURATION  square wave: HIGH ops/s for HIGH of every PERIOD, LOW otherwise
+ * sine  MEAN AMPLITUDE PERIOD DURATION MEAN + AMPLITUDE * sin(2 pi t / PERIOD), floored at 0
+ * repeat                               play the phases again from the start, forever
+ * </pre>
+ *
+ * Durations take an s, m or h suffix (seconds by default). Without repeat,
+ * the last phase's final rate is held after the profile ends.
+ *
+ * The rate is sampled into fixed steps, and the cumulative operation count
+ * at every step boundary is precomputed. The intended start of slot n is
+ * found by a binary search for the step where that count passes n, then by
+ * interpolation inside the constant-rate step. So every worker follows the
+ * same schedule, and ramps and bursts keep their shape regardless of worker
+ * count.
+ */
+class WorkloadProfile {
+
+    private static final double MIN_STEP_SECONDS = 0.01;
+    private static final int MAX_STEPS = 1_000_000;
+
+    private final List<Phase> phases;
+    private final boolean repeat;
+    private final double durationSeconds;
+    private final double stepSeconds;
+    private final double[] stepRates;   // ops/s during each step
+    private final double[] cumulative;  // operations issued before each step starts, length steps + 1
+
+    private WorkloadProfile(List<Phase> phases, boolean repeat) {
+        this.phases = phases;
+        this.repeat = repeat;
+        double total = 0;
+        for (Phase phase : phases) {
+            total += phase.seconds;
+        }
+        this.durationSeconds = total;
+        this.stepSeconds = Math.max(MIN_STEP_SECONDS, total / MAX_STEPS);
+        int steps = (int) Math.ceil(total / stepSeconds);
+        this.stepRates = new double[steps];
+        this.cumulative = new double[steps + 1];
+        for (int i = 0; i < steps; i++) {
+            // Rate at the middle of the step, so ramps integrate exactly
+            stepRates[i] = rateWithin(Math.min(total, (i + 0.5) * stepSeconds));
+            cumulative[i + 1] = cumulative[i] + stepRates[i] * stepSeconds;
+        }
+        if (getPeakRate() <= 0 || (repeat && cumulative[steps] <= 0)) {
+            throw new IllegalArgumentException("Profile never schedules an operation");
+        }
+    }
+
+    /**
+     * Parse a profile: phases separated by ';' or new lines, '#' starts a comment.
+     * A value starting with '@' is read from that file.
+     */
+    static WorkloadProfile parse(String value) throws IOException {
+        String text = value.startsWith("@")
+            ? new String(Files.readAllBytes(Paths.get(value.substring(1))), StandardCharsets.UTF_8)
+            : value;
+
+        List<Phase> phases = new ArrayList<>();
+        boolean repeat = false;
+        for (String line : text.split("[;\n]")) {
+            int comment = line.indexOf('#');
+            String entry = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            if (repeat) {
+                throw new IllegalArgumentException("repeat must be the last entry");
+            }
+            String[] parts = entry.split("\\s+");
+            String kind = parts[0].toLowerCase();
+            if (kind.equals("repeat") && parts.length == 1) {
+                repeat = true;
+                continue;
+            }
+            phases.add(Phase.parse(kind, Arrays.copyOfRange(parts, 1, parts.length), entry));
+        }
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("Profile has no phases");
+        }
+        return new WorkloadProfile(phases, repeat);
+    }
+
+    /**
+     * Duration with an optional ms, s, m or h suffix, in seconds
+     */
+    static double parseSeconds(String value) {
+        String v = value.toLowerCase();
+        double scale = 1;
+        if (v.endsWith("ms")) {
+            scale = 0.001;
+            v = v.substring(0, v.length() - 2);
+        } else if (v.endsWith("s")) {
+            v = v.substring(0, v.length() - 1);
+        } else if (v.endsWith("m")) {
+            scale = 60;
+            v = v.substring(0, v.length() - 1);
+        } else if (v.endsWith("h")) {
+            scale = 3600;
+            v = v.substring(0, v.length() - 1);
+        }
+        return Double.parseDouble(v) * scale;
+    }
+
+    /**
+     * Target rate at the given time since the start of the run
+     */
+    double rateAt(double seconds) {
+        if (seconds >= durationSeconds) {
+            if (!repeat) {
+                return phases.get(phases.size() - 1).rateAt(phases.get(phases.size() - 1).seconds);
+            }
+            seconds %= durationSeconds;
+        }
+        return rateWithin(Math.max(0, seconds));
+    }
+
+    private double rateWithin(double seconds) {
+        double phaseStart = 0;
+        for (Phase phase : phases) {
+            if (seconds < phaseStart + phase.seconds) {
+                return phase.rateAt(seconds - phaseStart);
+            }
+            phaseStart += phase.seconds;
+        }
+        Phase last = phases.get(phases.size() - 1);
+        return last.rateAt(last.seconds);
+    }
+
+    /**
+     * Operations the profile schedules in [0, seconds)
+     */
+    double operationsBefore(double seconds) {
+        double cycle = cumulative[stepRates.length];
+        if (seconds >= durationSeconds) {
+            if (repeat) {
+                long cycles = (long) (seconds / durationSeconds);
+                return cycles * cycle + operationsBefore(seconds - cycles * durationSeconds);
+            }
+            return cycle + (seconds - durationSeconds) * rateAt(durationSeconds);
+        }
+        int step = Math.min(stepRates.length - 1, (int) (seconds / stepSeconds));
+        return cumulative[step] + (seconds - step * stepSeconds) * stepRates[step];
+    }
+
+    /**
+     * Intended start of slot n in nanoseconds since the start of the run,
+     * or Long.MAX_VALUE if the profile never gets there (it ends at rate 0)
+     */
+    long slotOffsetNanos(long slot) {
+        double cycle = cumulative[stepRates.length];
+        double target = slot;
+        double offsetSeconds = 0;
+        if (target >= cycle) {
+            if (repeat) {
+                long cycles = (long) (target / cycle);
+                offsetSeconds = cycles * durationSeconds;
+                target -= cycles * cycle;
+            } else {
+                double finalRate = rateAt(durationSeconds);
+                if (finalRate <= 0) {
+                    return Long.MAX_VALUE;
+                }
+                return (long) ((durationSeconds + (target - cycle) / finalRate) * 1e9);
+            }
+        }
+
+        // Last step whose starting count is at or below the target; it has a positive rate
+        int low = 0;
+        int high = stepRates.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] <= target) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        double within = stepRates[low] > 0 ? (target - cumulative[low]) / stepRates[low] : 0;
+        return (long) ((offsetSeconds + low * stepSeconds + within) * 1e9);
+    }
+
+    /**
+     * Highest rate anywhere in the profile
+     */
+    double getPeakRate() {
+        double peak = 0;
+        for (double rate : stepRates) {
+            peak = Math.max(peak, rate);
+        }
+        return Math.max(peak, rateAt(durationSeconds));
+    }
+
+    double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    boolean isRepeating() {
+        return repeat;
+    }
+
+    /**
+     * One-line summary for the startup banner, e.g. "ramp 100->1000/s 60s, hold 1000/s 120s (repeat)"
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        for (Phase phase : phases) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(phase.describe());
+        }
+        return description.append(repeat ? " (repeat)" : "").toString();
+    }
+
+    /**
+     * One phase of a profile
+     */
+    private static final class Phase {
+        final String kind;
+        final double[] args;
+        final double seconds;
+
+        private Phase(String kind, double[] args, double seconds) {
+            this.kind = kind;
+            this.args = args;
+            this.seconds = seconds;
+        }
+
+        static Phase parse(String kind, String[] values, String entry) {
+            int expected;
+            switch (kind) {
+                case "ramp":
+                    expected = 3;
+                    break;
+                case "hold":
+                    expected = 2;
+                    break;
+                case "burst":
+                    expected = 5;
+                    break;
+                case "sine":
+                    expected = 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown phase: " + entry);
+            }
+            if (values.length != expected) {
+                throw new IllegalArgumentException("Expected " + expected + " values: " + entry);
+            }
+
+            // Rates and amplitudes are plain numbers, periods and durations take a unit
+            double[] args = new double[expected];
+            for (int i = 0; i < expected; i++) {
+                boolean isTime = (kind.equals("burst") && i >= 2) || (kind.equals("sine") && i >= 2)
+                    || i == expected - 1;
+                args[i] = isTime ? parseSeconds(values[i]) : Double.parseDouble(values[i]);
+                if (args[i] < 0 && !(kind.equals("sine") && i == 1)) {
+                    throw new IllegalArgumentException("Negative value: " + entry);
+                }
+            }
+            double seconds = args[expected - 1];
+            if (seconds <= 0) {
+                throw new IllegalArgumentException("Phase duration must be positive: " + entry);
+            }
+            if ((kind.equals("burst") || kind.equals("sine")) && args[2] <= 0) {
+                throw new IllegalArgumentException("Period must be positive: " + entry);
+            }
+            if (kind.equals("burst") && args[3] > args[2]) {
+                throw new IllegalArgumentException("Burst length longer than its period: " + entry);
+            }
+            return new Phase(kind, args, seconds);
+        }
+
+        /**
+         * Rate at t seconds into this phase
+         */
+        double rateAt(double t) {
+            switch (kind) {
+                case "ramp":
+                    return args[0] + (args[1] - args[0]) * Math.min(1.0, t / seconds);
+                case "hold":
+                    return args[0];
+                case "burst":
+                    return (t % args[2]) < args[3] ? args[1] : args[0];
+                case "sine":
+                default:
+                    return Math.max(0, args[0] + args[1] * Math.sin(2 * Math.PI * t / args[2]));
+            }
+        }
+
+        String describe() {
+            switch (kind) {
+                case "ramp":
+                    return String.format("ramp %.0f->%.0f/s %.0fs", args[0], args[1], seconds);
+                case "hold":
+                    return String.format("hold %.0f/s %.0fs", args[0], seconds);
+                case "burst":
+                    return String.format("burst %.0f/%.0f/s %.0fs of %.0fs for %.0fs", args[0], args[1], args[3], args[2], seconds);
+                case "sine":
+                default:
+                    return String.format("sine %.0f+-%.0f/s period %.0fs for %.0fs", args[0], args[1], args[2], seconds);
+            }
+        }
+    }
+}
@@ -2,44 +2,64 @@ package com.aws.aurora;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import io.micrometer.core.instrument.Counter;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.HdrHistogram.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Formatter;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
 import java.util.logging.LogManager;
 
 /**
  * Workload Simulator for Aurora Blue-Green Deployment Testing
  *
- * This application simulates write-heavy workloads against an Aurora MySQL cluster
+ * This application simulates mixed read/write workloads against an Aurora MySQL cluster
  * to test the Blue-Green deployment feature with minimal downtime.
  *
  * Key Features:
- * - Write-only workload targeting the writer endpoint
- * - Configurable number of concurrent write workers
+ * - Write workers on the writer endpoint, optional read workers on the writer,
+ *   reader or a custom endpoint
+ * - Configurable worker counts, target rates and read query mix
  * - AWS Advanced JDBC Wrapper with Blue-Green plugin support
  * - Real-time console output showing success/failure status
  * - Automatic reconnection and retry logic
@@ -49,6 +69,7 @@ public class WorkloadSimulator {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkloadSimulator.class);
     private static final Logger operationsLogger = LoggerFactory.getLogger("com.aws.aurora.operations");
+    private static final Logger availabilityLogger = LoggerFactory.getLogger("com.aws.aurora.availability");
 
     // Configuration parameters
     private final String auroraEndpoint;
@@ -59,52 +80,177 @@ public class WorkloadSimulator {
     private final int writeRatePerWorker;
     private final int readWorkers;
     private final int readRatePerWorker;
+    private final WorkloadProfile writeProfile;   // Time-varying write rate, null for a constant rate
+    private final WorkloadProfile readProfile;
+    private final int maxWriteWorkers;             // Workers started; those above the active count stay parked
+    private final int maxReadWorkers;
+    private final CapacitySearch capacitySearch;    // --discover-capacity, null otherwise
+    private final AuroraEmulator emulator;          // --emulator, null for a real cluster
+    private final int probeIntervalMs;              // --probe cadence, 0 when probes are off
+    private final int probeTimeoutMs;
+    private final List<AvailabilityProbe> probes = new ArrayList<>();
+    private final List<HikariDataSource> probePools = new ArrayList<>();
+
+    // Write stamps and outcomes for --verify-writes, null when off
+    private final WriteLedger writeLedger;
+    private final int verifyThreads;
+    private final LongAdder ambiguousResolved = new LongAdder();
+    private List<String> verificationReport = List.of();
     private final int connectionPoolSize;
     private final int logIntervalSeconds;
     private final String blueGreenDeploymentId;
     private final ConsoleFormat consoleFormat;
     private final String wrapperLoggerLevel;
-
-    // Data source and connection pool
+    private final HostAttribution hostAttribution;
+    private final int statementCacheSize;
+    private final boolean serverPrepStmts;
+    private final ExecutorMode executorMode;
+    private final WriteMode writeMode;
+    private final int batchSize;
+    private final long batchLingerNanos;
+    private final ReadTarget readTarget;
+    private final String readEndpoint;
+    private final Map<ReadQuery, Integer> readMix;
+
+    // Named pools and the routing of writes and read queries onto them
+    private final PoolTopology topology;
+
+    // Writer pool, also used for connection tests and host lookups
     private HikariDataSource dataSource;
 
-    // Runtime tracking for dashboard/event formats
+    // Serving host and statement cache state per physical connection
+    private final ConnectionTracker connectionTracker;
+    private static final String UNKNOWN_HOST = "unknown";
+
+    // col5 of rows that carry no write stamp
+    private static final String COL5_VALUE = "test-data";
+
+    // Bisection steps between the last passing and first failing rate of a capacity search
+    private static final int DISCOVER_REFINE_STEPS = 3;
+
+    // Connect, socket and pool checkout timeout of the workload pools
+    private static final int DEFAULT_TIMEOUT_MS = 30000;
+
+    // Cluster endpoint assumed with --emulator; the derived reader endpoint is served by the emulated reader
+    private static final String EMULATOR_ENDPOINT = "emulated.cluster-emulator.us-east-1.rds.amazonaws.com";
+
+    // Runtime tracking for dashboard/event formats (statistics thread only)
     private final long startTime = System.currentTimeMillis();
     private String lastKnownHost = null;
-    private BlueGreenPhase currentBlueGreenPhase = BlueGreenPhase.NOT_CREATED;
-    private boolean switchoverInProgress = false;
-    private String lastBgdId = null;
 
-    // Metrics registry
+    // Console output of one statistics tick, written with a single print at the end of the tick
+    private static final int CONSOLE_BUFFER_CHARS = 16384;
+    private final StringBuilder consoleBuffer = new StringBuilder(CONSOLE_BUFFER_CHARS);
+    private final Formatter console = new Formatter(consoleBuffer);
+
+    // Statistics tick timing (statistics thread only): ticks are due every second
+    // from statsScheduledNanos; maxima cover the ticks completed since the last report
+    private static final long STATS_TICK_LATE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private long statsScheduledNanos;
+    private long statsTicks;
+    private long intervalTickMaxNanos;
+    private long intervalTickMaxLateNanos;
+    private long maxTickNanos;
+    private long maxTickLateNanos;
+    private final Timer statsTickTimer;
+
+    // Blue-Green phase reported by the bg plugin, and operations tagged with it
+    private final BlueGreenPhaseTracker phaseTracker = new BlueGreenPhaseTracker();
+    private final PhaseStats phaseStats = new PhaseStats();
+
+    // Backoff, retry budget and retryable-error decisions shared by all workers
+    private final RetryPolicy retryPolicy;
+
+    // Metrics registry (meters read the striped counters below, nothing is updated per operation)
     private final MeterRegistry meterRegistry;
-    private final Counter successCounter;
-    private final Counter failureCounter;
-    private final Timer writeLatencyTimer;
+    private final int metricsPort;
+    private MetricsServer metricsServer;
+
+    // Per-operation log lines, formatted and written off the worker threads
+    private final OperationLog operationLog;
+
+    // Binary per-operation journal (--journal), null when disabled
+    private final String journalPath;
+    private final long journalMaxBytes;
+    private EventJournal journal;
+
+    // Writer host last reported by a write worker, exported as workload.writer.host{host}
+    private volatile String writerHost = null;
+    private String exportedWriterHost = null;
+    private final MultiGauge writerHostGauge;
+
+    // Failed attempts by error type, and the counts at the last statistics interval
+    private final Map<ErrorClassifier.ErrorType, LongAdder> errorCounts = new EnumMap<>(ErrorClassifier.ErrorType.class);
+    private final long[] reportedErrorCounts = new long[ErrorClassifier.ErrorType.values().length];
+    private final Map<ErrorClassifier.ErrorType, Long> intervalErrors = new EnumMap<>(ErrorClassifier.ErrorType.class);
+
+    // Striped counters for write statistics, summed by the statistics thread
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder successfulRequests = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder successfulWriteNanos = new LongAdder();
+    private final LongAdder writeStatements = new LongAdder();
+    private final LongAdder retryAttempts = new LongAdder();
+
+    // Striped counters for read statistics
+    private final LongAdder totalReadRequests = new LongAdder();
+    private final LongAdder successfulReadRequests = new LongAdder();
+    private final LongAdder failedReadRequests = new LongAdder();
+
+    // Nanosecond latency histograms, swapped into per-second buckets
+    private final LatencyRecorder writeLatency = new LatencyRecorder("write");
+    private final LatencyRecorder readLatency = new LatencyRecorder("read");
+    private final LatencyRecorder retryLatency = new LatencyRecorder("retry");
+    private final LatencyRecorder commitLatency = new LatencyRecorder("commit");
+    private final OperationStages operationStages = new OperationStages();
+
+    // Per-second buckets rolled up into true interval statistics
+    private final WindowedStats windowedStats;
+    private final WindowedStats.Totals statsTotals = new WindowedStats.Totals();
+    private WindowedStats.Window intervalWindow;
+    private long statsSeconds = 0;
 
-    // Atomic counters for write statistics
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong successfulRequests = new AtomicLong(0);
-    private final AtomicLong failedRequests = new AtomicLong(0);
+    // Host distribution tracking for reads
+    private final ConcurrentHashMap<String, LongAdder> readHostDistribution = new ConcurrentHashMap<>();
 
-    // Atomic counters for read statistics
-    private final AtomicLong totalReadRequests = new AtomicLong(0);
-    private final AtomicLong successfulReadRequests = new AtomicLong(0);
-    private final AtomicLong failedReadRequests = new AtomicLong(0);
-    private final AtomicLong totalReadLatencyMs = new AtomicLong(0);
+    // Weighted read query mix with a latency histogram per query type
+    private final ReadQueryEngine readQueryEngine;
 
-    // Host distribution tracking for reads
-    private final ConcurrentHashMap<String, AtomicLong> readHostDistribution = new ConcurrentHashMap<>();
+    // Open-loop schedulers shared by all workers of each type
+    private RateScheduler writeScheduler;
+    private RateScheduler readScheduler;
+    private long intervalWriteMaxLagMs = 0;
+    private int intervalPendingPeak = 0; // Most threads seen waiting for a pooled connection, sampled each second
+    private final Map<PoolTopology.Pool, PoolTopology.Interval> intervalPools = new LinkedHashMap<>();
+    private long intervalReadMaxLagMs = 0;
+    private long lastWriteMissedSlots = 0; // Missed slots at the previous scaling decision
+    private long lastReadMissedSlots = 0;
 
     // Executor services
     private ExecutorService workerExecutor;
     private ScheduledExecutorService statsExecutor;
+    private PinnedThreadMonitor pinnedThreadMonitor;
 
     // Shutdown flag
     private final AtomicBoolean running = new AtomicBoolean(true);
+    // Stop requested (signal, capacity search finished); the main thread then tears down
+    private final CountDownLatch stopRequested = new CountDownLatch(1);
+    private final CountDownLatch stopped = new CountDownLatch(1);
 
-    // Random generator for table selection
-    private final Random random = new Random();
-    private final int totalTables = 12000;
+    // Table selection (random values come from ThreadLocalRandom, one generator per worker thread)
+    private final int totalTables;
+    private final DistributionType keyDistribution;
+    private final KeyDistribution tableDistribution;
+    private final double hotspotTables;
+
+    // Operations per table, summarized every statistics interval to verify the skew
+    private final TableHits tableHits;
+    private volatile TableHits.Summary intervalTableSkew = new TableHits.Summary();
+
+    // Table names and INSERT text per table id, built once so nothing is formatted per write
+    private final String[] tableNames;
+    private final String[] insertSql;
+    private static final String ROW_PLACEHOLDERS = ", (?, ?, ?, ?, ?)";
 
     public WorkloadSimulator(Config config) {
         this.auroraEndpoint = config.auroraEndpoint;
@@ -115,11 +261,90 @@ public class WorkloadSimulator {
         this.writeRatePerWorker = config.writeRatePerWorker;
         this.readWorkers = config.readWorkers;
         this.readRatePerWorker = config.readRatePerWorker;
+        this.writeProfile = config.writeProfile;
+        this.readProfile = config.readProfile;
+        // The capacity search needs room to add workers; by default up to the pool size
+        this.maxWriteWorkers = Math.max(config.writeWorkers, config.maxWriteWorkers > 0 || !config.discoverCapacity
+            ? config.maxWriteWorkers : config.connectionPoolSize);
+        this.maxReadWorkers = Math.max(config.readWorkers, config.maxReadWorkers);
+        this.capacitySearch = config.discoverCapacity
+            ? new CapacitySearch(config.sloP99Ms, (double) config.writeWorkers * config.writeRatePerWorker,
+                config.discoverStepFactor, config.discoverMaxRate, config.discoverWarmupSeconds,
+                config.discoverStepSeconds, DISCOVER_REFINE_STEPS)
+            : null;
+        this.emulator = config.emulator;
+        this.probeIntervalMs = config.probe ? config.probeIntervalMs : 0;
+        this.probeTimeoutMs = config.probeTimeoutMs;
+        this.writeLedger = config.verifyWrites ? new WriteLedger() : null;
+        this.verifyThreads = config.verifyThreads;
         this.connectionPoolSize = config.connectionPoolSize;
         this.logIntervalSeconds = config.logIntervalSeconds;
         this.blueGreenDeploymentId = config.blueGreenDeploymentId;
         this.consoleFormat = config.consoleFormat;
         this.wrapperLoggerLevel = config.wrapperLoggerLevel;
+        this.hostAttribution = config.hostAttribution;
+        this.statementCacheSize = config.statementCacheSize;
+        this.serverPrepStmts = config.serverPrepStmts;
+        this.executorMode = config.executorMode;
+        this.writeMode = config.writeMode;
+        this.batchSize = config.writeMode == WriteMode.SINGLE ? 1 : config.batchSize;
+        this.batchLingerNanos = TimeUnit.MILLISECONDS.toNanos(config.batchLingerMs);
+        this.readTarget = config.readTarget;
+        this.readMix = new EnumMap<>(ReadQuery.class);
+        config.readMix.forEach((query, weight) -> {
+            if (weight > 0) {
+                readMix.put(query, weight);
+            }
+        });
+        this.readEndpoint = resolveReadEndpoint(config);
+        this.topology = buildTopology(config, readEndpoint);
+        this.connectionTracker = new ConnectionTracker(statementCacheSize);
+
+        this.totalTables = config.tables;
+        this.keyDistribution = config.keyDistribution;
+        this.hotspotTables = config.hotspotTables;
+        this.tableDistribution = KeyDistribution.create(keyDistribution, totalTables,
+            config.zipfTheta, config.hotspotTables, config.hotspotOps);
+        this.tableHits = new TableHits(totalTables);
+
+        this.tableNames = new String[totalTables + 1];
+        this.insertSql = new String[totalTables + 1];
+        for (int tableId = 1; tableId <= totalTables; tableId++) {
+            tableNames[tableId] = String.format("test_%04d", tableId);
+            insertSql[tableId] = "INSERT INTO " + tableNames[tableId]
+                + " (col1, col2, col3, col4, col5) VALUES (?, ?, ?, ?, ?)";
+        }
+
+        this.retryPolicy = new RetryPolicy(config.retryMaxAttempts, config.retryBaseMs, config.retryMaxMs,
+            resolveRetryBudget(config), config.retryBudgetBurst > 0 ? config.retryBudgetBurst
+                : config.writeWorkers + config.readWorkers,
+            config.retryPhasePauseMs, phaseTracker);
+
+        this.readQueryEngine = new ReadQueryEngine(tableNames, readMix, config.rangeScanSeconds, connectionTracker);
+        this.operationLog = new OperationLog(getOperationLogger(), tableNames,
+            config.opLogQueue, config.opLogSample, config.opLogWhenFull);
+        this.journalPath = config.journalPath;
+        this.journalMaxBytes = config.journalMaxMb * 1024L * 1024L;
+
+        LatencyRecorder[] readQueryLatency = readQueryEngine.getRecorders();
+        LatencyRecorder[] stageLatency = operationStages.getRecorders();
+        List<LatencyRecorder> poolLatency = new ArrayList<>();
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            poolLatency.add(pool.latency);
+        }
+        LatencyRecorder[] recorders = new LatencyRecorder[4 + readQueryLatency.length + stageLatency.length
+            + poolLatency.size()];
+        recorders[0] = writeLatency;
+        recorders[1] = readLatency;
+        recorders[2] = retryLatency;
+        recorders[3] = commitLatency;
+        System.arraycopy(readQueryLatency, 0, recorders, 4, readQueryLatency.length);
+        System.arraycopy(stageLatency, 0, recorders, 4 + readQueryLatency.length, stageLatency.length);
+        for (int i = 0; i < poolLatency.size(); i++) {
+            recorders[4 + readQueryLatency.length + stageLatency.length + i] = poolLatency.get(i);
+        }
+        this.windowedStats = new WindowedStats(logIntervalSeconds, recorders);
+        this.intervalWindow = windowedStats.window(logIntervalSeconds);
 
         // Initialize metrics registry
         if (config.enablePrometheus) {
@@ -128,114 +353,649 @@ public class WorkloadSimulator {
             this.meterRegistry = new SimpleMeterRegistry();
         }
 
-        this.successCounter = Counter.builder("workload.writes.success")
+        FunctionCounter.builder("workload.writes.success", successfulRequests, LongAdder::sum)
                 .description("Number of successful write operations")
                 .register(meterRegistry);
 
-        this.failureCounter = Counter.builder("workload.writes.failure")
+        FunctionCounter.builder("workload.writes.failure", failedRequests, LongAdder::sum)
                 .description("Number of failed write operations")
                 .register(meterRegistry);
 
-        this.writeLatencyTimer = Timer.builder("workload.writes.latency")
+        FunctionTimer.builder("workload.writes.latency", this,
+                    s -> s.successfulRequests.sum(), s -> s.successfulWriteNanos.sum(), TimeUnit.NANOSECONDS)
                 .description("Write operation latency")
                 .register(meterRegistry);
+
+        FunctionCounter.builder("workload.writes.statements", writeStatements, LongAdder::sum)
+                .description("INSERT statements executed (a multi-row INSERT or JDBC batch counts once)")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.reads.success", successfulReadRequests, LongAdder::sum)
+                .description("Number of successful read operations")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.reads.failure", failedReadRequests, LongAdder::sum)
+                .description("Number of failed read operations")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.retries", retryAttempts, LongAdder::sum)
+                .description("Failed attempts that were retried or gave up")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.retry.scheduled", retryPolicy, RetryPolicy::getScheduled)
+                .description("Failed attempts granted another attempt")
+                .register(meterRegistry);
+
+        for (RetryPolicy.GiveUpReason reason : RetryPolicy.GiveUpReason.values()) {
+            FunctionCounter.builder("workload.retry.giveups", retryPolicy, p -> p.getGiveUps(reason))
+                    .description("Operations that stopped retrying: fatal error, attempt limit or empty retry budget")
+                    .tag("reason", reason.getTag())
+                    .register(meterRegistry);
+        }
+
+        FunctionCounter.builder("workload.retry.backoff", retryPolicy, RetryPolicy::getBackoffSeconds)
+                .description("Time workers slept in jittered backoff")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.retry.phase_pause", retryPolicy, RetryPolicy::getPhasePauseSeconds)
+                .description("Time workers paused retries while the switchover was IN_PROGRESS")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("workload.retry.budget.available", retryPolicy, RetryPolicy::getBudgetAvailable)
+                .description("Retry tokens currently banked (-1 when the budget is unlimited)")
+                .register(meterRegistry);
+
+        for (ErrorClassifier.ErrorType type : ErrorClassifier.ErrorType.values()) {
+            LongAdder count = new LongAdder();
+            errorCounts.put(type, count);
+            FunctionCounter.builder("workload.errors", count, LongAdder::sum)
+                    .description("Failed attempts by error type")
+                    .tag("type", type.getTag())
+                    .register(meterRegistry);
+        }
+
+        for (BlueGreenPhase phase : BlueGreenPhase.values()) {
+            Gauge.builder("workload.bluegreen.phase", phaseTracker, t -> t.current() == phase ? 1 : 0)
+                    .description("1 for the current Blue-Green phase, 0 otherwise")
+                    .tag("phase", phase.getPhaseName())
+                    .register(meterRegistry);
+            bindPhaseCounter(phase, "write", "success", PhaseStats::getWriteSuccess);
+            bindPhaseCounter(phase, "write", "failure", PhaseStats::getWriteFailed);
+            bindPhaseCounter(phase, "read", "success", PhaseStats::getReadSuccess);
+            bindPhaseCounter(phase, "read", "failure", PhaseStats::getReadFailed);
+        }
+
+        this.writerHostGauge = MultiGauge.builder("workload.writer.host")
+                .description("1 for the Aurora host currently serving writes")
+                .register(meterRegistry);
+
+        Gauge.builder("workload.tables.top.share", this, sim -> sim.intervalTableSkew.getTopSharePercent() / 100.0)
+                .description("Share of last interval's table operations that went to the hottest tables")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.oplog.dropped", operationLog, OperationLog::getDropped)
+                .description("Operation log events dropped because the queue was full")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.oplog.sampled_out", operationLog, OperationLog::getSampledOut)
+                .description("Success events left out of the operation log by --op-log-sample")
+                .register(meterRegistry);
+
+        this.statsTickTimer = Timer.builder("workload.stats.tick")
+                .description("Time the statistics thread spends per one-second tick")
+                .register(meterRegistry);
+        Gauge.builder("workload.stats.tick.late", this, sim -> sim.maxTickLateNanos / 1e9)
+                .description("Most a statistics tick started after it was due")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("workload.oplog.queue.depth", operationLog, OperationLog::getQueueDepth)
+                .description("Operation log events waiting for the writer thread")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.stmtcache.estimated.hits", connectionTracker, ConnectionTracker::getStatementCacheHits)
+                .description("Estimated INSERT prepares that hit the per-connection statement cache (client-side LRU model)")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.stmtcache.estimated.misses", connectionTracker, ConnectionTracker::getStatementCacheMisses)
+                .description("Estimated INSERT prepares that missed the per-connection statement cache (client-side LRU model)")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("workload.stmtcache.estimated.evictions", connectionTracker, ConnectionTracker::getStatementCacheEvictions)
+                .description("Estimated statements evicted from the per-connection statement cache (client-side LRU model)")
+                .register(meterRegistry);
+
+        writeLatency.bindTo(meterRegistry);
+        readLatency.bindTo(meterRegistry);
+        retryLatency.bindTo(meterRegistry);
+        if (writeMode != WriteMode.SINGLE) {
+            commitLatency.bindTo(meterRegistry);
+        }
+        if (readWorkers > 0) {
+            for (LatencyRecorder recorder : readQueryLatency) {
+                recorder.bindTo(meterRegistry);
+            }
+        }
+        for (LatencyRecorder recorder : stageLatency) {
+            recorder.bindTo(meterRegistry);
+        }
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            pool.latency.bindTo(meterRegistry);
+            bindPoolOperations(pool);
+        }
+
+        // Bucketed histograms are only worth feeding when something scrapes them
+        if (meterRegistry instanceof PrometheusMeterRegistry) {
+            for (LatencyRecorder recorder : recorders) {
+                recorder.exportHistogram();
+            }
+            new LatencyHistogramCollector(Arrays.asList(recorders))
+                .register(((PrometheusMeterRegistry) meterRegistry).getPrometheusRegistry());
+        }
+        this.metricsPort = config.metricsPort;
+    }
+
+    /**
+     * Global retry budget in retries per second: --retry-budget, or by default
+     * a fifth of the scheduled operation rate (at least 10/s), taking the peak
+     * of a workload profile. Unthrottled runs have no rate to derive it from
+     * and get an unlimited budget.
+     */
+    private static double resolveRetryBudget(Config config) {
+        if (config.retryBudget >= 0) {
+            return config.retryBudget;
+        }
+        if ((config.writeProfile == null && config.writeRatePerWorker <= 0)
+            || (config.readWorkers > 0 && config.readProfile == null && config.readRatePerWorker <= 0)) {
+            return 0;
+        }
+        double writeRate = config.writeProfile != null ? config.writeProfile.getPeakRate()
+            : (double) config.writeWorkers * config.writeRatePerWorker;
+        double readRate = config.readWorkers == 0 ? 0 : config.readProfile != null ? config.readProfile.getPeakRate()
+            : (double) config.readWorkers * config.readRatePerWorker;
+        return Math.max(10.0, (writeRate + readRate) * 0.2);
+    }
+
+    /**
+     * Endpoint read workers connect to: the writer endpoint, the cluster's
+     * reader endpoint (derived from a cluster endpoint), or a custom endpoint
+     */
+    private static String resolveReadEndpoint(Config config) {
+        switch (config.readTarget) {
+            case READER:
+                if (config.readEndpoint != null) {
+                    return config.readEndpoint;
+                }
+                if (!config.auroraEndpoint.contains(".cluster-") || config.auroraEndpoint.contains(".cluster-ro-")) {
+                    throw new IllegalArgumentException(
+                        "--read-target reader needs a cluster endpoint or --read-endpoint: " + config.auroraEndpoint);
+                }
+                return config.auroraEndpoint.replace(".cluster-", ".cluster-ro-");
+            case CUSTOM:
+                if (config.readEndpoint == null) {
+                    throw new IllegalArgumentException("--read-target custom requires --read-endpoint");
+                }
+                return config.readEndpoint;
+            case SPLIT:
+            case WRITER:
+            default:
+                return config.auroraEndpoint;
+        }
+    }
+
+    /**
+     * Pools and routes: a "writer" pool on the Aurora endpoint, a "reader" pool
+     * for --read-target reader/custom, then --pool definitions (which add pools
+     * or replace options of these two) and --route overrides
+     */
+    private static PoolTopology buildTopology(Config config, String readEndpoint) {
+        Map<String, PoolTopology.Spec> specs = new LinkedHashMap<>();
+        String writerPlugins = config.readTarget == ReadTarget.SPLIT
+            ? PoolTopology.DEFAULT_PLUGINS + "," + PoolTopology.READ_WRITE_SPLITTING
+            : PoolTopology.DEFAULT_PLUGINS;
+        specs.put(PoolTopology.WRITER, new PoolTopology.Spec(PoolTopology.WRITER, config.auroraEndpoint,
+            config.connectionPoolSize, writerPlugins));
+
+        Map<String, String> routes = new LinkedHashMap<>();
+        if (config.readWorkers > 0 && (config.readTarget == ReadTarget.READER || config.readTarget == ReadTarget.CUSTOM)) {
+            specs.put(PoolTopology.READER, new PoolTopology.Spec(PoolTopology.READER, readEndpoint,
+                Math.min(config.connectionPoolSize, config.readWorkers), PoolTopology.DEFAULT_PLUGINS));
+            routes.put("read", PoolTopology.READER);
+        }
+
+        for (String value : config.pools) {
+            int colon = value.indexOf(':');
+            String name = (colon < 0 ? value : value.substring(0, colon)).trim();
+            specs.put(name, PoolTopology.Spec.parse(value, specs.get(name)));
+        }
+        routes.putAll(config.routes);
+        return new PoolTopology(specs.values(), routes);
+    }
+
+    /**
+     * Start the operation log and phase tracking, then open the connection pools
+     */
+    void open() {
+        operationLog.start();
+
+        // Follow the bg plugin's status before any wrapper connection is opened
+        phaseTracker.install(wrapperLoggerLevel);
+
+        // The emulator's switchover clock starts with the workload
+        if (emulator != null) {
+            emulator.start();
+        }
+
+        // Initialize data source
+        initializeDataSource();
+    }
+
+    /**
+     * Read every stamped row back through the writer pool, once the workers
+     * have stopped, and compare it with the write ledger
+     */
+    private void verifyWrites() {
+        logger.info("Verifying the writes of run {} with {} threads...", writeLedger.getRunId(), verifyThreads);
+        List<String> report = new ArrayList<>(new WriteVerifier(topology.writer().getDataSource(), tableNames,
+            writeLedger, verifyThreads).run());
+        report.add(String.format("Ambiguous attempts resolved by looking the row up before retrying: %d",
+            ambiguousResolved.sum()));
+        verificationReport = report;
+    }
+
+    /**
+     * Start the write probe on the writer endpoint and the read probe on the
+     * reader endpoint, each on its own one-connection pool
+     */
+    private void startProbes() {
+        String probeId = ManagementFactory.getRuntimeMXBean().getName();
+        PoolTopology.Pool writer = topology.writer();
+        PoolTopology.Pool reader = null;
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            if (pool.spec.name.equals(PoolTopology.READER)) {
+                reader = pool;
+            }
+        }
+        String readEndpoint = reader != null ? reader.spec.endpoint
+            : auroraEndpoint.contains(".cluster-") && !auroraEndpoint.contains(".cluster-ro-")
+                ? auroraEndpoint.replace(".cluster-", ".cluster-ro-") : auroraEndpoint;
+        String readPlugins = reader != null ? reader.spec.plugins : PoolTopology.DEFAULT_PLUGINS;
+
+        startProbe(AvailabilityProbe.Kind.WRITE, new PoolTopology.Spec("probe-write", writer.spec.endpoint, 1, 1,
+            writer.spec.plugins), probeId);
+        startProbe(AvailabilityProbe.Kind.READ, new PoolTopology.Spec("probe-read", readEndpoint, 1, 1,
+            readPlugins), probeId);
+    }
+
+    private void startProbe(AvailabilityProbe.Kind kind, PoolTopology.Spec spec, String probeId) {
+        HikariDataSource pool = createDataSource(spec, probeTimeoutMs);
+        probePools.add(pool);
+        AvailabilityProbe probe = new AvailabilityProbe(kind, pool, spec.endpoint, probeIntervalMs, probeId);
+        probes.add(probe);
+
+        String tag = kind.name().toLowerCase();
+        Gauge.builder("workload.probe.up", probe, p -> p.isUp() ? 1 : 0)
+                .description("1 while the probe succeeds, 0 while it fails")
+                .tag("probe", tag).register(meterRegistry);
+        FunctionCounter.builder("workload.probe.checks", probe, AvailabilityProbe::getSucceeded)
+                .description("Probe round trips")
+                .tag("probe", tag).tag("outcome", "success").register(meterRegistry);
+        FunctionCounter.builder("workload.probe.checks", probe, AvailabilityProbe::getFailed)
+                .description("Probe round trips")
+                .tag("probe", tag).tag("outcome", "failure").register(meterRegistry);
+        Gauge.builder("workload.probe.unavailable.max", probe, AvailabilityProbe::getMaxUnavailableSeconds)
+                .description("Longest time between two successful probes around a failure or host change")
+                .baseUnit("seconds")
+                .tag("probe", tag).register(meterRegistry);
+
+        probe.start();
+        logger.info("{} probe every {}ms on {} (timeout {}ms)", kind == AvailabilityProbe.Kind.WRITE ? "Write" : "Read",
+            probeIntervalMs, spec.endpoint, probeTimeoutMs);
+    }
+
+    private void stopProbes() {
+        for (AvailabilityProbe probe : probes) {
+            probe.stop();
+        }
+        for (HikariDataSource pool : probePools) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Log the probe windows closed since the last second. Statistics thread only.
+     */
+    private void drainProbeWindows() {
+        for (AvailabilityProbe probe : probes) {
+            AvailabilityProbe.Window window;
+            while ((window = probe.pollWindow()) != null) {
+                logger.info("{} PROBE | {} {}", probe.getKind(),
+                    window.isHostChange() && window.failedProbes == 0 ? "Host changed:" : "Unavailable",
+                    window.describe());
+            }
+        }
+    }
+
+    /**
+     * e.g. "Write up, longest 3.412s │ Read DOWN for 1.2s, longest 0.812s"
+     */
+    private String formatProbeStatus() {
+        StringBuilder status = new StringBuilder();
+        for (AvailabilityProbe probe : probes) {
+            if (status.length() > 0) {
+                status.append(" │ ");
+            }
+            status.append(probe.getKind() == AvailabilityProbe.Kind.WRITE ? "Write" : "Read");
+            status.append(probe.isUp() ? " up" : String.format(" DOWN for %.1fs", probe.getOngoingUnavailableSeconds()));
+            status.append(String.format(", longest %.3fs", probe.getMaxUnavailableSeconds()));
+        }
+        return status.toString();
+    }
+
+    /**
+     * Write out queued operation log events and close the connection pools
+     */
+    void close() {
+        operationLog.close();
+        topology.close();
+        if (emulator != null) {
+            emulator.close();
+        }
     }
 
     /**
      * Initialize the HikariCP connection pool with AWS JDBC Wrapper
      */
     private void initializeDataSource() {
-        logger.info("Initializing connection pool...");
+        topology.open(this::createDataSource);
+        this.dataSource = topology.writer().getDataSource();
+    }
+
+    /**
+     * Create a HikariCP connection pool for one endpoint
+     */
+    private HikariDataSource createDataSource(PoolTopology.Spec spec) {
+        return createDataSource(spec, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Create a HikariCP connection pool for one endpoint, with the given
+     * connect, socket and pool checkout timeouts
+     */
+    private HikariDataSource createDataSource(PoolTopology.Spec spec, int timeoutMs) {
+        String poolName = spec.name;
+        logger.info("Initializing connection pool {}...", poolName);
 
         HikariConfig hikariConfig = new HikariConfig();
 
         // Build JDBC URL with AWS wrapper
         StringBuilder jdbcUrl = new StringBuilder("jdbc:aws-wrapper:mysql://");
-        jdbcUrl.append(auroraEndpoint).append(":3306/").append(databaseName);
-        jdbcUrl.append("?wrapperPlugins=initialConnection,auroraConnectionTracker,bg,failover2,efm2");
+        jdbcUrl.append(spec.endpoint).append(":3306/").append(databaseName);
+        jdbcUrl.append("?wrapperPlugins=").append(spec.plugins);
 
         if (blueGreenDeploymentId != null && !blueGreenDeploymentId.isEmpty()) {
             jdbcUrl.append("&bgdId=").append(blueGreenDeploymentId);
         }
 
-        jdbcUrl.append("&connectTimeout=30000");
-        jdbcUrl.append("&socketTimeout=30000");
+        jdbcUrl.append("&connectTimeout=").append(timeoutMs);
+        jdbcUrl.append("&socketTimeout=").append(timeoutMs);
         jdbcUrl.append("&failoverTimeoutMs=60000");
         jdbcUrl.append("&failoverClusterTopologyRefreshRateMs=2000");
         jdbcUrl.append("&bgConnectTimeoutMs=30000");
         jdbcUrl.append("&bgSwitchoverTimeoutMs=180000");
 
+        // Per-connection prepared statement cache (LRU keyed by SQL) in Connector/J
+        if (statementCacheSize > 0) {
+            jdbcUrl.append("&cachePrepStmts=true");
+            jdbcUrl.append("&prepStmtCacheSize=").append(statementCacheSize);
+            jdbcUrl.append("&prepStmtCacheSqlLimit=").append(Math.max(2048, maxInsertSqlLength()));
+        }
+        if (serverPrepStmts) {
+            jdbcUrl.append("&useServerPrepStmts=true");
+        }
+
+        // Let Connector/J rewrite a JDBC batch of INSERTs into multi-row INSERTs
+        if (writeMode == WriteMode.JDBC_BATCH) {
+            jdbcUrl.append("&rewriteBatchedStatements=true");
+        }
+
         // Add wrapperLoggerLevel to control AWS JDBC Wrapper's JUL logging
         // This is the ONLY filter for JDBC wrapper logs (Log4j2 is set to pass through)
         jdbcUrl.append("&wrapperLoggerLevel=").append(wrapperLoggerLevel);
 
-        hikariConfig.setJdbcUrl(jdbcUrl.toString());
-        hikariConfig.setUsername(username);
-        hikariConfig.setPassword(password);
-        hikariConfig.setDriverClassName("software.amazon.jdbc.Driver");
+        if (emulator != null) {
+            hikariConfig.setDataSource(emulator.dataSource(spec.endpoint));
+        } else {
+            hikariConfig.setJdbcUrl(jdbcUrl.toString());
+            hikariConfig.setUsername(username);
+            hikariConfig.setPassword(password);
+            hikariConfig.setDriverClassName("software.amazon.jdbc.Driver");
+        }
 
         // Connection pool settings
-        hikariConfig.setMaximumPoolSize(connectionPoolSize);
-        hikariConfig.setMinimumIdle(Math.min(10, connectionPoolSize / 2));
-        hikariConfig.setConnectionTimeout(30000);
+        hikariConfig.setMaximumPoolSize(spec.size);
+        hikariConfig.setMinimumIdle(spec.minIdle);
+        hikariConfig.setConnectionTimeout(timeoutMs);
+        hikariConfig.setValidationTimeout(Math.min(5000, timeoutMs));
         hikariConfig.setIdleTimeout(600000);
         hikariConfig.setMaxLifetime(1800000);
-        hikariConfig.setPoolName("AuroraWorkloadPool");
+        hikariConfig.setPoolName(poolName);
 
         // Connection test query
         hikariConfig.setConnectionTestQuery("SELECT 1");
 
-        this.dataSource = new HikariDataSource(hikariConfig);
+        // Hikari's own pool meters (hikaricp.connections.active, .idle, .pending, .acquire, .timeout, ...)
+        hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource pool = new HikariDataSource(hikariConfig);
+
+        logger.info("Connection pool {} initialized with {} max connections on {}", poolName, spec.size, spec.endpoint);
+        if (emulator == null) {
+            logger.info("JDBC URL: {}", jdbcUrl.toString().replaceAll("password=[^&]*", "password=***"));
+        }
+        return pool;
+    }
+
+    /**
+     * Export a pool's operations and recovery times
+     */
+    private void bindPoolOperations(PoolTopology.Pool pool) {
+        FunctionCounter.builder("workload.pool.operations", pool, PoolTopology.Pool::getSuccess)
+                .description("Operations routed to the pool")
+                .tag("pool", pool.spec.name).tag("outcome", "success").register(meterRegistry);
+        FunctionCounter.builder("workload.pool.operations", pool, PoolTopology.Pool::getFailed)
+                .description("Operations routed to the pool")
+                .tag("pool", pool.spec.name).tag("outcome", "failure").register(meterRegistry);
+        FunctionCounter.builder("workload.pool.recoveries", pool, PoolTopology.Pool::getRecoveries)
+                .description("Times the pool served a success again after failed attempts")
+                .tag("pool", pool.spec.name).register(meterRegistry);
+        Gauge.builder("workload.pool.recovery", pool, PoolTopology.Pool::getLastRecoverySeconds)
+                .description("Last recovery time: first failed attempt to the next success")
+                .baseUnit("seconds")
+                .tag("pool", pool.spec.name).tag("stat", "last").register(meterRegistry);
+        Gauge.builder("workload.pool.recovery", pool, PoolTopology.Pool::getMaxRecoverySeconds)
+                .description("Longest recovery time of the run")
+                .baseUnit("seconds")
+                .tag("pool", pool.spec.name).tag("stat", "max").register(meterRegistry);
+    }
+
+    private void bindPhaseCounter(BlueGreenPhase phase, String operation, String outcome,
+                                  ToLongBiFunction<PhaseStats, BlueGreenPhase> count) {
+        FunctionCounter.builder("workload.phase.operations", phaseStats, s -> count.applyAsLong(s, phase))
+                .description("Operations by the Blue-Green phase they were scheduled in")
+                .tag("phase", phase.getPhaseName())
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a failed attempt by error type
+     */
+    private ErrorClassifier.ErrorType recordError(SQLException e) {
+        ErrorClassifier.ErrorType type = ErrorClassifier.classify(e);
+        errorCounts.get(type).increment();
+        return type;
+    }
 
-        logger.info("Connection pool initialized with {} max connections", connectionPoolSize);
-        logger.info("JDBC URL: {}", jdbcUrl.toString().replaceAll("password=[^&]*", "password=***"));
+    /**
+     * Append an operation to the event journal, if one is open
+     */
+    private void journalOperation(long intendedStart, long actualStart, long end, int workerId, byte opType,
+                                  int tableId, String host, boolean success, EventJournal.Attempts attempts,
+                                  BlueGreenPhase phase) {
+        if (journal != null) {
+            journal.record(intendedStart, actualStart, end, workerId, opType, tableId,
+                UNKNOWN_HOST.equals(host) ? null : host, success, attempts, phase);
+        }
     }
 
     /**
      * Start the workload simulator
+     *
+     * @return false if it could not start; whatever it had opened is closed again
      */
-    public void start() {
+    public boolean start() {
         logger.info("========================================");
         logger.info("Aurora Blue-Green Workload Simulator");
         logger.info("========================================");
         logger.info("Aurora Endpoint: {}", auroraEndpoint);
+        if (emulator != null) {
+            logger.info("Emulator: {}", emulator.describe());
+        }
+        if (writeLedger != null) {
+            logger.info("Write Verification: run {}, rows stamped in col5, {} verifier threads", writeLedger.getRunId(),
+                verifyThreads);
+        }
         logger.info("Database: {}", databaseName);
         logger.info("Write Workers: {}", writeWorkers);
-        logger.info("Write Rate: {} writes/sec/worker", writeRatePerWorker);
+        if (writeProfile != null) {
+            logger.info("Write Profile: {}", writeProfile.describe());
+        } else {
+            logger.info("Write Rate: {} writes/sec/worker", writeRatePerWorker);
+        }
+        if (writeMode == WriteMode.SINGLE) {
+            logger.info("Write Mode: single");
+        } else {
+            logger.info("Write Mode: {} (batch size: {}, linger: {}ms)", writeMode.name().toLowerCase(),
+                batchSize, TimeUnit.NANOSECONDS.toMillis(batchLingerNanos));
+        }
         logger.info("Connection Pool Size: {}", connectionPoolSize);
+        logger.info("Tables: {} ({} distribution)", totalTables, keyDistribution.name().toLowerCase());
+        if (readWorkers > 0) {
+            logger.info("Read Target: {} ({})", readTarget.name().toLowerCase(), readEndpoint);
+            logger.info("Read Mix: {}", formatReadMix());
+            if (readProfile != null) {
+                logger.info("Read Profile: {}", readProfile.describe());
+            }
+        }
+        if (capacitySearch != null) {
+            logger.info("Capacity Search: {}", capacitySearch.describe());
+        }
+        if (maxWriteWorkers > writeWorkers || maxReadWorkers > readWorkers) {
+            logger.info("Worker Scaling: write {}-{}, read {}-{}", writeWorkers, maxWriteWorkers,
+                readWorkers, maxReadWorkers);
+        }
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            logger.info("Pool {}: {} (size {}, min idle {}, plugins {})", pool.spec.name, pool.spec.endpoint,
+                pool.spec.size, pool.spec.minIdle, pool.spec.plugins);
+        }
+        logger.info("Routes: {}", formatRoutes());
+        logger.info("Worker Executor: {}", executorMode.name().toLowerCase());
+        logger.info("Retries: {} attempts, backoff {}-{}ms with full jitter, budget {}", retryPolicy.getMaxAttempts(),
+            retryPolicy.getBaseDelayMillis(), retryPolicy.getMaxDelayMillis(),
+            retryPolicy.getBudgetPerSecond() > 0 ? String.format("%.0f/sec", retryPolicy.getBudgetPerSecond()) : "unlimited");
+        logger.info("Host Attribution: {}", hostAttribution.name().toLowerCase());
+        logger.info("Statement Cache: {} per connection{}", statementCacheSize > 0 ? statementCacheSize : "disabled",
+            serverPrepStmts ? " (server-side prepares)" : "");
+        logger.info("Operation Log: queue {}, {} when full, {}% of successes sampled", operationLog.getCapacity(),
+            operationLog.getFullPolicy().name().toLowerCase(),
+            String.format("%.1f", operationLog.getSuccessSampleRate() * 100));
+        if (journalPath != null) {
+            logger.info("Event Journal: {} (max {}MB)", journalPath, journalMaxBytes / (1024 * 1024));
+        }
         logger.info("Blue-Green Deployment ID: {}", blueGreenDeploymentId != null ? blueGreenDeploymentId : "auto-detect");
         logger.info("========================================");
 
-        // Initialize data source
-        initializeDataSource();
+        if (journalPath != null) {
+            try {
+                journal = new EventJournal(Paths.get(journalPath), journalMaxBytes);
+            } catch (IOException e) {
+                logger.error("Failed to create event journal {}: {}. Exiting...", journalPath, e.getMessage());
+                return false;
+            }
+        }
+
+        try {
+            open();
+        } catch (RuntimeException e) {
+            // HikariCP fails fast when the first connection of a pool cannot be made
+            logger.error("Failed to open connection pools: {}. Exiting...", e.getMessage());
+            abortStart();
+            return false;
+        }
+
+        if (meterRegistry instanceof PrometheusMeterRegistry) {
+            metricsServer = new MetricsServer((PrometheusMeterRegistry) meterRegistry, metricsPort);
+            try {
+                metricsServer.start();
+            } catch (IOException e) {
+                logger.error("Failed to start metrics endpoint on port {}: {}", metricsPort, e.getMessage());
+            }
+        }
 
         // Test initial connection
         if (!testConnection()) {
             logger.error("Failed to establish initial connection. Exiting...");
-            return;
+            abortStart();
+            return false;
+        }
+
+        if (probeIntervalMs > 0) {
+            startProbes();
         }
 
         // Create executor services
-        int totalWorkers = writeWorkers + readWorkers;
-        workerExecutor = Executors.newFixedThreadPool(totalWorkers);
+        int totalWorkers = maxWriteWorkers + maxReadWorkers;
+        workerExecutor = createWorkerExecutor(totalWorkers);
         statsExecutor = Executors.newScheduledThreadPool(1);
 
-        // Start statistics logging
+        if (executorMode == ExecutorMode.VIRTUAL) {
+            pinnedThreadMonitor = new PinnedThreadMonitor(Duration.ofMillis(20));
+            pinnedThreadMonitor.start();
+        }
+
+        writeScheduler = writeProfile != null
+            ? new RateScheduler(writeProfile, writeWorkers)
+            : new RateScheduler((double) writeWorkers * writeRatePerWorker, writeWorkers);
+        readScheduler = readProfile != null
+            ? new RateScheduler(readProfile, readWorkers)
+            : new RateScheduler((double) readWorkers * readRatePerWorker, readWorkers);
+
+        // Roll per-second statistics and log every logIntervalSeconds
+        availabilityLogger.info("timestamp,epoch_second,write_ops,write_success,write_failed,read_ops,read_success,read_failed,retries,availability_pct,write_p99_ms,read_p99_ms,down,write_target,read_target");
+        statsScheduledNanos = System.nanoTime();
         statsExecutor.scheduleAtFixedRate(
-            this::logStatistics,
-            logIntervalSeconds,
-            logIntervalSeconds,
+            this::onStatsSecond,
+            1,
+            1,
             TimeUnit.SECONDS
         );
 
-        // Start write workers
-        for (int i = 0; i < writeWorkers; i++) {
+        // Start write workers; with worker scaling, those above the active count wait to be activated
+        for (int i = 0; i < maxWriteWorkers; i++) {
             final int workerId = i + 1;
-            workerExecutor.submit(() -> writeWorker(workerId));
+            if (writeMode == WriteMode.SINGLE) {
+                workerExecutor.submit(() -> writeWorker(workerId));
+            } else {
+                workerExecutor.submit(() -> batchWriteWorker(workerId));
+            }
         }
 
         // Start read workers
-        for (int i = 0; i < readWorkers; i++) {
+        for (int i = 0; i < maxReadWorkers; i++) {
             final int workerId = i + 1;
             workerExecutor.submit(() -> readWorker(workerId));
         }
@@ -243,8 +1003,69 @@ public class WorkloadSimulator {
         logger.info("Workload simulator started successfully (Write workers: {}, Read workers: {})",
             writeWorkers, readWorkers);
 
-        // Add shutdown hook
-        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+        // On SIGTERM/SIGINT hand the teardown to the main thread and wait for it
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            requestStop();
+            try {
+                stopped.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "shutdown-hook"));
+        return true;
+    }
+
+    /**
+     * Close what start() opened before it gave up
+     */
+    private void abortStart() {
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+        close();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.error("Failed to close event journal {}: {}", journal.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ask the main thread to stop the run; returns immediately
+     */
+    void requestStop() {
+        stopRequested.countDown();
+    }
+
+    /**
+     * Block until a stop is requested, then shut down on the calling thread
+     */
+    void awaitStop() throws InterruptedException {
+        stopRequested.await();
+        try {
+            shutdown();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Create the worker executor: one platform thread per worker, or one
+     * virtual thread per worker so thousands of mostly-idle simulated clients
+     * can share a bounded connection pool. Virtual threads need Java 21+, and
+     * this code is compiled for Java 17, so the factory is looked up reflectively.
+     */
+    private ExecutorService createWorkerExecutor(int totalWorkers) {
+        if (executorMode == ExecutorMode.VIRTUAL) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual thread executor requires Java 21 or later", e);
+            }
+        }
+        return Executors.newFixedThreadPool(totalWorkers);
     }
 
     /**
@@ -260,6 +1081,7 @@ public class WorkloadSimulator {
                 String auroraVersion = rs.getString(1);
                 String hostname = rs.getString(2);
                 logger.info("Connected successfully to Aurora version {} on host {}", auroraVersion, hostname);
+                writerHost = hostname;
                 return true;
             }
         } catch (SQLException e) {
@@ -274,65 +1096,21 @@ public class WorkloadSimulator {
     private void writeWorker(int workerId) {
         logger.info("Worker-{} started", workerId);
 
-        long delayMs = writeRatePerWorker > 0 ? 1000 / writeRatePerWorker : 0;
-        String currentHost = null;
+        WorkerState worker = newWorkerState(workerId);
 
         while (running.get()) {
-            long startTime = System.currentTimeMillis();
-
             try {
-                // Select a random table (1 to totalTables)
-                int tableId = random.nextInt(totalTables) + 1;
-                String tableName = String.format("test_%04d", tableId);
-
-                // Execute write operation
-                boolean success = executeWrite(tableName, workerId);
-
-                long latency = System.currentTimeMillis() - startTime;
-
-                if (success) {
-                    successfulRequests.incrementAndGet();
-                    successCounter.increment();
-                    writeLatencyTimer.record(Duration.ofMillis(latency));
-
-                    // Get current host
-                    String newHost = getCurrentHost();
-                    if (newHost != null && !newHost.equals(currentHost)) {
-                        if (currentHost != null) {
-                            logger.info("Worker-{} | Switched to new host: {} (from: {})",
-                                workerId, newHost, currentHost);
-                        }
-                        currentHost = newHost;
-                    }
-
-                    getOperationLogger().info("SUCCESS: Worker-{} | Host: {} | Table: {} | INSERT completed | Latency: {}ms",
-                        workerId, currentHost != null ? currentHost : "unknown", tableName, latency);
-                } else {
-                    failedRequests.incrementAndGet();
-                    failureCounter.increment();
-                    getOperationLogger().error("FAILED: Worker-{} | Table: {} | INSERT failed | Latency: {}ms",
-                        workerId, tableName, latency);
-                }
-
-                totalRequests.incrementAndGet();
-
-                // Rate limiting
-                if (delayMs > 0) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    long sleepTime = delayMs - elapsed;
-                    if (sleepTime > 0) {
-                        Thread.sleep(sleepTime);
-                    }
-                }
+                // Latency is measured from the slot's intended start, not from when it actually ran
+                writeScheduler.awaitActive(workerId);
+                runWrite(worker, writeScheduler.acquire());
 
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
                 logger.error("Worker-{} encountered unexpected error", workerId, e);
-                failedRequests.incrementAndGet();
-                failureCounter.increment();
-                totalRequests.incrementAndGet();
+                failedRequests.increment();
+                totalRequests.increment();
             }
         }
 
@@ -340,67 +1118,204 @@ public class WorkloadSimulator {
     }
 
     /**
-     * Read worker thread
+     * One single-row write and its bookkeeping, for the slot starting at intendedStart
      */
-    private void readWorker(int workerId) {
-        logger.info("Reader-{} started", workerId);
-
-        long delayMs = readRatePerWorker > 0 ? 1000 / readRatePerWorker : 0;
-        String currentHost = null;
+    void runWrite(WorkerState worker, long intendedStart) {
+        int workerId = worker.workerId;
+        long actualStart = System.nanoTime();
+        BlueGreenPhase phase = phaseTracker.current();
+
+        // Select a table (1 to totalTables) from the configured distribution
+        int tableId = tableDistribution.next();
+        tableHits.record(tableId);
+
+        // Stamp the row with the worker's next sequence number when verifying writes
+        long seq = 0;
+        String stamp = null;
+        if (writeLedger != null) {
+            if (worker.ledger == null) {
+                worker.ledger = writeLedger.worker(workerId);
+            }
+            seq = worker.ledger.reserve(1);
+            stamp = worker.ledger.stamp(seq);
+        }
 
-        while (running.get()) {
-            long startTime = System.currentTimeMillis();
+        // Execute write operation (returns the serving host, or null on failure)
+        PoolTopology.Route route = topology.forWrite();
+        String newHost = executeWrite(tableId, workerId, worker.dataValue, worker.workerValue, stamp,
+            worker.attempts, worker.stageTimer, route);
+        if (stamp != null) {
+            worker.ledger.record(seq, 1, WriteLedger.Outcome.of(newHost != null, worker.attempts.ambiguous));
+        }
 
-            try {
-                // Execute read operation
-                String result = executeRead(workerId);
-                long latency = System.currentTimeMillis() - startTime;
+        long completedAt = System.nanoTime();
+        long latencyNanos = completedAt - intendedStart;
+        journalOperation(intendedStart, actualStart, completedAt, workerId, EventJournal.OP_WRITE,
+            tableId, newHost, newHost != null, worker.attempts, phase);
+        long latency = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        writeLatency.record(latencyNanos);
+        phaseStats.recordWrite(phase, latencyNanos, newHost != null);
+        route.pool.record(latencyNanos, newHost != null);
+
+        if (newHost != null) {
+            successfulRequests.increment();
+            successfulWriteNanos.add(latencyNanos);
+
+            if (!newHost.equals(UNKNOWN_HOST) && !newHost.equals(worker.currentHost)) {
+                if (worker.currentHost != null) {
+                    logger.info("Worker-{} | Switched to new host: {} (from: {})",
+                        workerId, newHost, worker.currentHost);
+                }
+                worker.currentHost = newHost;
+                writerHost = newHost;
+            }
 
-                if (result != null) {
-                    successfulReadRequests.incrementAndGet();
-                    totalReadLatencyMs.addAndGet(latency);
+            operationLog.writeSucceeded(workerId, worker.currentHost != null ? worker.currentHost : UNKNOWN_HOST,
+                tableId, latency);
+        } else {
+            failedRequests.increment();
+            operationLog.writeFailed(workerId, tableId, latency);
+        }
 
-                    // Extract hostname from result (format: "hostname (server_id=X, version=Y, read_only=Z)")
-                    String hostname = result.split(" \\(")[0];
+        totalRequests.increment();
+    }
 
-                    // Track host distribution
-                    readHostDistribution.computeIfAbsent(hostname, k -> new AtomicLong(0)).incrementAndGet();
+    /**
+     * Batching write worker: buffers scheduled rows for one table and flushes
+     * them in a single transaction when the batch is full or its linger time
+     * runs out. Every row keeps its own intended start, so row latency
+     * includes the time spent waiting in the batch.
+     */
+    private void batchWriteWorker(int workerId) {
+        logger.info("Worker-{} started", workerId);
 
-                    // Check for host switch
-                    if (!hostname.equals(currentHost)) {
-                        if (currentHost != null) {
-                            logger.info("Reader-{} | Switched to new host: {} (from: {})",
-                                workerId, result, currentHost);
-                        }
-                        currentHost = hostname;
-                    }
+        WorkerState worker = newWorkerState(workerId);
+        WriteBatch batch = new WriteBatch(batchSize);
 
-                    getOperationLogger().info("SUCCESS: Reader-{} | Result: {} | Latency: {}ms",
-                        workerId, result, latency);
-                } else {
-                    failedReadRequests.incrementAndGet();
-                    getOperationLogger().error("FAILED: Reader-{} | Query: system_vars | READ failed | Latency: {}ms",
-                        workerId, latency);
+        while (running.get()) {
+            try {
+                if (batch.isEmpty()) {
+                    writeScheduler.awaitActive(workerId);
                 }
+                long intendedStart = writeScheduler.claim();
 
-                totalReadRequests.incrementAndGet();
+                // Flush a lingering partial batch instead of sleeping past its deadline
+                if (!batch.isEmpty() && intendedStart > batch.getDeadlineNanos()) {
+                    flushBatch(batch, worker);
+                }
 
-                // Rate limiting
-                if (delayMs > 0) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    long sleepTime = delayMs - elapsed;
-                    if (sleepTime > 0) {
-                        Thread.sleep(sleepTime);
-                    }
+                writeScheduler.awaitSlot(intendedStart);
+
+                if (batch.isEmpty()) {
+                    batch.open(tableDistribution.next(), intendedStart + batchLingerNanos);
+                }
+                tableHits.record(batch.getTableId());
+                batch.add(intendedStart, ThreadLocalRandom.current().nextInt(1000), System.currentTimeMillis());
+
+                if (batch.isFull()) {
+                    flushBatch(batch, worker);
                 }
 
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Worker-{} encountered unexpected error", workerId, e);
+                failedRequests.add(batch.size());
+                totalRequests.add(batch.size());
+                batch.clear();
+            }
+        }
+
+        // Rows already scheduled are still written on a graceful shutdown
+        if (!batch.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            flushBatch(batch, worker);
+        }
+
+        logger.info("Worker-{} stopped", workerId);
+    }
+
+    /**
+     * Write a batch and account each of its rows as one write operation
+     */
+    private void flushBatch(WriteBatch batch, WorkerState worker) {
+        int workerId = worker.workerId;
+        int rows = batch.size();
+        int tableId = batch.getTableId();
+
+        long actualStart = System.nanoTime();
+        BlueGreenPhase phase = phaseTracker.current();
+        PoolTopology.Route route = topology.forWrite();
+        long firstSeq = 0;
+        if (writeLedger != null) {
+            if (worker.ledger == null) {
+                worker.ledger = writeLedger.worker(workerId);
+            }
+            firstSeq = worker.ledger.reserve(rows);
+        }
+        String newHost = executeBatch(batch, workerId, worker.dataValue, worker.workerValue, worker.ledger, firstSeq,
+            worker.attempts, worker.stageTimer, route);
+        if (worker.ledger != null) {
+            worker.ledger.record(firstSeq, rows, WriteLedger.Outcome.of(newHost != null, worker.attempts.ambiguous));
+        }
+
+        long completedAt = System.nanoTime();
+        long rowNanos = 0;
+        for (int row = 0; row < rows; row++) {
+            long latencyNanos = completedAt - batch.getIntendedStart(row);
+            writeLatency.record(latencyNanos);
+            phaseStats.recordWrite(phase, latencyNanos, newHost != null);
+            route.pool.record(latencyNanos, newHost != null);
+            rowNanos += latencyNanos;
+            journalOperation(batch.getIntendedStart(row), actualStart, completedAt, workerId, EventJournal.OP_WRITE,
+                tableId, newHost, newHost != null, worker.attempts, phase);
+        }
+        long oldestRowLatency = TimeUnit.NANOSECONDS.toMillis(completedAt - batch.getIntendedStart(0));
+        batch.clear();
+
+        if (newHost != null) {
+            successfulRequests.add(rows);
+            successfulWriteNanos.add(rowNanos);
+
+            if (!newHost.equals(UNKNOWN_HOST) && !newHost.equals(worker.currentHost)) {
+                if (worker.currentHost != null) {
+                    logger.info("Worker-{} | Switched to new host: {} (from: {})",
+                        workerId, newHost, worker.currentHost);
+                }
+                worker.currentHost = newHost;
+                writerHost = newHost;
+            }
+
+            operationLog.batchSucceeded(workerId, worker.currentHost != null ? worker.currentHost : UNKNOWN_HOST,
+                tableId, rows, oldestRowLatency);
+        } else {
+            failedRequests.add(rows);
+            operationLog.batchFailed(workerId, tableId, rows, oldestRowLatency);
+        }
+
+        totalRequests.add(rows);
+    }
+
+    /**
+     * Read worker thread
+     */
+    private void readWorker(int workerId) {
+        logger.info("Reader-{} started", workerId);
+
+        WorkerState worker = newWorkerState(workerId);
+
+        while (running.get()) {
+            try {
+                readScheduler.awaitActive(workerId);
+                runRead(worker, readScheduler.acquire());
+
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
                 logger.error("Reader-{} encountered unexpected error", workerId, e);
-                failedReadRequests.incrementAndGet();
-                totalReadRequests.incrementAndGet();
+                failedReadRequests.increment();
+                totalReadRequests.increment();
             }
         }
 
@@ -408,101 +1323,396 @@ public class WorkloadSimulator {
     }
 
     /**
-     * Execute a write operation with retry logic
+     * One read from the configured mix and its bookkeeping, for the slot starting at intendedStart
      */
-    private boolean executeWrite(String tableName, int workerId) {
-        int maxRetries = 5;
-        int retryDelayMs = 500;
+    void runRead(WorkerState worker, long intendedStart) {
+        int workerId = worker.workerId;
+        ReadQueryEngine.ReadResult result = worker.readResult;
+        long actualStart = System.nanoTime();
+        BlueGreenPhase phase = phaseTracker.current();
+
+        // Execute read operation
+        ReadQuery query = readQueryEngine.next();
+        int tableId = 0;
+        if (query != ReadQuery.SYSTEM_VARS) {
+            tableId = tableDistribution.next();
+            tableHits.record(tableId);
+        }
+        PoolTopology.Route route = topology.forRead(query);
+        boolean succeeded = executeRead(workerId, query, tableId, result, worker.attempts, worker.stageTimer, route);
+        long completedAt = System.nanoTime();
+        long latencyNanos = completedAt - intendedStart;
+        journalOperation(intendedStart, actualStart, completedAt, workerId,
+            (byte) (EventJournal.OP_READ_BASE + query.ordinal()), tableId, result.host, succeeded, worker.attempts,
+            phase);
+        long latency = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        readLatency.record(latencyNanos);
+        phaseStats.recordRead(phase, latencyNanos, succeeded);
+        route.pool.record(latencyNanos, succeeded);
+        readQueryEngine.recorderFor(query).record(latencyNanos);
+
+        if (succeeded) {
+            successfulReadRequests.increment();
+
+            String hostname = result.host != null ? result.host : UNKNOWN_HOST;
+
+            // Track host distribution
+            readHostDistribution.computeIfAbsent(hostname, k -> new LongAdder()).increment();
+
+            // Check for host switch
+            if (!hostname.equals(UNKNOWN_HOST) && !hostname.equals(worker.currentHost)) {
+                if (worker.currentHost != null) {
+                    logger.info("Reader-{} | Switched to new host: {} (from: {})",
+                        workerId, hostname, worker.currentHost);
+                }
+                worker.currentHost = hostname;
+            }
+
+            if (query == ReadQuery.SYSTEM_VARS) {
+                operationLog.systemVarsRead(workerId, hostname, result.serverId, result.auroraVersion,
+                    result.readOnly, latency);
+            } else {
+                operationLog.readSucceeded(workerId, hostname, query, tableId, result.rows, latency);
+            }
+        } else {
+            failedReadRequests.increment();
+            operationLog.readFailed(workerId, query, latency);
+        }
 
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(
-                     "INSERT INTO " + tableName + " (col1, col2, col3, col4, col5) VALUES (?, ?, ?, ?, ?)")) {
+        totalReadRequests.increment();
+    }
+
+    /**
+     * Fresh state for a write or read worker
+     */
+    WorkerState newWorkerState(int workerId) {
+        return new WorkerState(workerId, operationStages.newTimer());
+    }
 
-                stmt.setString(1, "data-" + System.currentTimeMillis());
-                stmt.setInt(2, random.nextInt(1000));
-                stmt.setString(3, "worker-" + workerId);
-                stmt.setLong(4, System.currentTimeMillis());
-                stmt.setString(5, "test-data");
+    /**
+     * What a worker keeps between operations; owned by that worker's thread
+     */
+    static final class WorkerState {
+        final int workerId;
+        // Column values that only depend on the worker, built once
+        final String dataValue;
+        final String workerValue;
+        final EventJournal.Attempts attempts = new EventJournal.Attempts();
+        final OperationStages.Timer stageTimer;
+        final ReadQueryEngine.ReadResult readResult = new ReadQueryEngine.ReadResult();
+        String currentHost;
+        WriteLedger.Worker ledger;  // Created on the first write with --verify-writes
+
+        WorkerState(int workerId, OperationStages.Timer stageTimer) {
+            this.workerId = workerId;
+            this.dataValue = "data-worker-" + workerId;
+            this.workerValue = "worker-" + workerId;
+            this.stageTimer = stageTimer;
+        }
+    }
 
-                int rowsAffected = stmt.executeUpdate();
-                return rowsAffected > 0;
+    /**
+     * Execute a write operation with retry logic. A stamped write that may
+     * have committed in a failed attempt is looked up before it is retried,
+     * so an ambiguous commit is not inserted twice.
+     *
+     * @param stamp the row's write stamp for col5, or null when not verifying writes
+     * @return the Aurora host that served the write, UNKNOWN_HOST if host
+     *         attribution is disabled, or null if the write failed
+     */
+    private String executeWrite(int tableId, int workerId, String dataValue, String workerValue, String stamp,
+                                EventJournal.Attempts attempts, OperationStages.Timer stageTimer,
+                                PoolTopology.Route route) {
+        attempts.reset();
+        // Same col4 on every attempt, so a stamped row can be found through its index
+        long timestamp = System.currentTimeMillis();
+
+        for (int attempt = 1; attempt <= retryPolicy.getMaxAttempts(); attempt++) {
+            long attemptStart = System.nanoTime();
+            boolean sent = false;
+            try (stageTimer) {
+                Connection conn = stageTimer.acquire(route.dataSource(), false);
+                if (attempts.ambiguous && stamp != null && isCommitted(conn, tableId, timestamp, stamp)) {
+                    ambiguousResolved.increment();
+                    return resolveWriteHost(conn);
+                }
+                int rowsAffected;
+                try (PreparedStatement stmt = prepareInsert(conn, tableId)) {
+                    stageTimer.lap(OperationStages.Stage.PREPARE);
+
+                    stmt.setString(1, dataValue);
+                    stmt.setInt(2, ThreadLocalRandom.current().nextInt(1000));
+                    stmt.setString(3, workerValue);
+                    stmt.setLong(4, timestamp);
+                    stmt.setString(5, stamp != null ? stamp : COL5_VALUE);
+
+                    sent = true;
+                    rowsAffected = stmt.executeUpdate();
+                    stageTimer.lap(OperationStages.Stage.EXECUTE);
+                }
+                writeStatements.increment();
+                if (rowsAffected == 0) {
+                    return null;
+                }
+                String host = resolveWriteHost(conn);
+                stageTimer.lap(OperationStages.Stage.HOST);
+                return host;
 
             } catch (SQLException e) {
-                // Check if this error might be Blue-Green switchover related
-                detectBlueGreenEventsFromError(e);
+                // Time spent in the failed attempt, before any backoff
+                retryLatency.record(System.nanoTime() - attemptStart);
+                retryAttempts.increment();
+
+                ErrorClassifier.ErrorType type = recordError(e);
+                attempts.failed(type);
+                if (sent && ErrorClassifier.mayHaveCommitted(type)) {
+                    attempts.ambiguous = true;
+                }
+                route.pool.attemptFailed();
+
+                long delayMs = retryPolicy.nextDelayMillis(attempt, e, type);
+                if (delayMs == RetryPolicy.GIVE_UP) {
+                    operationLog.writeGaveUp(workerId, tableId, 0);
+                    return null;
+                }
 
-                getOperationLogger().warn("Worker-{} | Table: {} | connection_error | Retry {}/{} in {}ms | Error: {}",
-                    workerId, tableName, attempt, maxRetries, retryDelayMs * attempt, e.getMessage());
+                operationLog.writeRetry(workerId, tableId, 0, attempt, retryPolicy.getMaxAttempts(), delayMs, e.getMessage());
 
-                if (attempt < maxRetries) {
-                    try {
-                        Thread.sleep(retryDelayMs * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return false;
+                try {
+                    retryPolicy.await(delayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Execute a batch in one explicit transaction with retry logic. A failed
+     * attempt is rolled back and the whole batch is retried. When the COMMIT
+     * itself failed, a stamped batch is looked up by its first row before it
+     * is retried.
+     *
+     * @param ledger the worker's write ledger, or null when not verifying writes
+     * @param firstSeq sequence number of the batch's first row
+     * @return the Aurora host that committed the batch, UNKNOWN_HOST if host
+     *         attribution is disabled, or null if the batch failed
+     */
+    private String executeBatch(WriteBatch batch, int workerId, String dataValue, String workerValue,
+                                WriteLedger.Worker ledger, long firstSeq,
+                                EventJournal.Attempts attempts, OperationStages.Timer stageTimer,
+                                PoolTopology.Route route) {
+        attempts.reset();
+        int rows = batch.size();
+        int tableId = batch.getTableId();
+        String sql = writeMode == WriteMode.MULTI_ROW
+            ? multiRowInsertSql(tableId, rows)
+            : insertSql[tableId];
+
+        for (int attempt = 1; attempt <= retryPolicy.getMaxAttempts(); attempt++) {
+            long attemptStart = System.nanoTime();
+            boolean sent = false;
+            try (stageTimer) {
+                Connection conn = stageTimer.acquire(route.dataSource(), false);
+                if (attempts.ambiguous && ledger != null
+                    && isCommitted(conn, tableId, batch.getTimestamp(0), ledger.stamp(firstSeq))) {
+                    ambiguousResolved.increment();
+                    return resolveWriteHost(conn);
+                }
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = prepareCached(conn, sql)) {
+                    stageTimer.lap(OperationStages.Stage.PREPARE);
+                    if (writeMode == WriteMode.MULTI_ROW) {
+                        for (int row = 0; row < rows; row++) {
+                            batch.bindRow(stmt, row, row * WriteBatch.COLUMNS + 1, dataValue, workerValue,
+                                ledger != null ? ledger.stamp(firstSeq + row) : COL5_VALUE);
+                        }
+                        stmt.executeUpdate();
+                    } else {
+                        for (int row = 0; row < rows; row++) {
+                            batch.bindRow(stmt, row, 1, dataValue, workerValue,
+                                ledger != null ? ledger.stamp(firstSeq + row) : COL5_VALUE);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
                     }
-                } else {
-                    getOperationLogger().error("Worker-{} | Table: {} | Max retries exceeded", workerId, tableName);
-                    return false;
+                    stageTimer.lap(OperationStages.Stage.EXECUTE);
+                    sent = true;
+                    conn.commit();
+                    stageTimer.lap(OperationStages.Stage.COMMIT);
+                } catch (SQLException e) {
+                    rollbackQuietly(conn);
+                    throw e;
+                }
+
+                writeStatements.increment();
+                commitLatency.record(System.nanoTime() - attemptStart);
+                String host = resolveWriteHost(conn);
+                stageTimer.lap(OperationStages.Stage.HOST);
+                return host;
+
+            } catch (SQLException e) {
+                // Time spent in the failed attempt, before any backoff
+                retryLatency.record(System.nanoTime() - attemptStart);
+                retryAttempts.increment();
+
+                ErrorClassifier.ErrorType type = recordError(e);
+                attempts.failed(type);
+                if (sent && ErrorClassifier.mayHaveCommitted(type)) {
+                    attempts.ambiguous = true;
+                }
+                route.pool.attemptFailed();
+
+                long delayMs = retryPolicy.nextDelayMillis(attempt, e, type);
+                if (delayMs == RetryPolicy.GIVE_UP) {
+                    operationLog.writeGaveUp(workerId, tableId, rows);
+                    return null;
+                }
+
+                operationLog.writeRetry(workerId, tableId, rows, attempt, retryPolicy.getMaxAttempts(), delayMs, e.getMessage());
+
+                try {
+                    retryPolicy.await(delayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
                 }
             }
         }
 
-        return false;
+        return null;
     }
 
     /**
-     * Execute a read operation with retry logic
+     * Whether a stamped row is in the table, found through the col4 index
+     */
+    private boolean isCommitted(Connection conn, int tableId, long timestamp, String stamp) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT 1 FROM " + tableNames[tableId] + " WHERE col4 = ? AND col5 = ? LIMIT 1")) {
+            stmt.setLong(1, timestamp);
+            stmt.setString(2, stamp);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            // The connection is usually already broken; the pool discards it
+        }
+    }
+
+    /**
+     * Prepare the INSERT for a table, accounting statement cache hits and misses
      */
-    private String executeRead(int workerId) {
-        int maxRetries = 5;
-        int retryDelayMs = 500;
+    private PreparedStatement prepareInsert(Connection conn, int tableId) throws SQLException {
+        return prepareCached(conn, insertSql[tableId]);
+    }
 
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try (Connection conn = dataSource.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT @@hostname, @@server_id, @@aurora_version, @@read_only")) {
+    private PreparedStatement prepareCached(Connection conn, String sql) throws SQLException {
+        connectionTracker.recordStatement(conn, sql);
+        return conn.prepareStatement(sql);
+    }
 
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    String hostname = rs.getString(1);
-                    int serverId = rs.getInt(2);
-                    String auroraVersion = rs.getString(3);
-                    int readOnly = rs.getInt(4);
+    /**
+     * Multi-row INSERT for the given table and row count
+     */
+    private String multiRowInsertSql(int tableId, int rows) {
+        StringBuilder sql = new StringBuilder(insertSql[tableId].length() + ROW_PLACEHOLDERS.length() * (rows - 1));
+        sql.append(insertSql[tableId]);
+        for (int row = 1; row < rows; row++) {
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
 
-                    // Format detailed result string
-                    String result = String.format("%s (server_id=%d, version=%s, read_only=%d)",
-                        hostname, serverId, auroraVersion, readOnly);
+    /**
+     * Longest INSERT text the workers prepare, so the driver's statement cache
+     * does not skip full multi-row batches
+     */
+    private int maxInsertSqlLength() {
+        int longest = insertSql[totalTables].length();
+        return writeMode == WriteMode.MULTI_ROW ? longest + ROW_PLACEHOLDERS.length() * (batchSize - 1) : longest;
+    }
 
-                    return result;
+    /**
+     * Attribute a successful write to the Aurora host that served it.
+     * A lookup failure never fails the write itself, so the INSERT is not retried.
+     */
+    private String resolveWriteHost(Connection conn) {
+        switch (hostAttribution) {
+            case CONNECTION:
+                try {
+                    String host = connectionTracker.hostFor(conn);
+                    return host != null ? host : UNKNOWN_HOST;
+                } catch (SQLException e) {
+                    return UNKNOWN_HOST;
                 }
+            case QUERY:
+                String host = getCurrentHost();
+                return host != null ? host : UNKNOWN_HOST;
+            case NONE:
+            default:
+                return UNKNOWN_HOST;
+        }
+    }
 
-                return null;
+    /**
+     * Execute a read operation with retry logic
+     *
+     * @return true if the query succeeded; the result then holds the serving
+     *         host and the rows read
+     */
+    private boolean executeRead(int workerId, ReadQuery query, int tableId, ReadQueryEngine.ReadResult result,
+                                EventJournal.Attempts attempts, OperationStages.Timer stageTimer,
+                                PoolTopology.Route route) {
+        attempts.reset();
+
+        for (int attempt = 1; attempt <= retryPolicy.getMaxAttempts(); attempt++) {
+            long attemptStart = System.nanoTime();
+            try (stageTimer) {
+                Connection conn = stageTimer.acquire(route.dataSource(), route.readOnly);
+                readQueryEngine.execute(conn, query, tableId, result);
+                stageTimer.lap(OperationStages.Stage.EXECUTE);
+                if (result.host == null && hostAttribution != HostAttribution.NONE) {
+                    result.host = connectionTracker.hostFor(conn);
+                    stageTimer.lap(OperationStages.Stage.HOST);
+                }
+                return true;
 
             } catch (SQLException e) {
-                // Check if this error might be Blue-Green switchover related
-                detectBlueGreenEventsFromError(e);
+                // Time spent in the failed attempt, before any backoff
+                retryLatency.record(System.nanoTime() - attemptStart);
+                retryAttempts.increment();
 
-                if (attempt < maxRetries) {
-                    getOperationLogger().warn("Reader-{} | Query: system_vars | connection_error | Retry {}/{} in {}ms | Error: {}",
-                        workerId, attempt, maxRetries, retryDelayMs, e.getMessage());
+                ErrorClassifier.ErrorType type = recordError(e);
+                attempts.failed(type);
+                route.pool.attemptFailed();
 
-                    try {
-                        Thread.sleep(retryDelayMs);
-                        retryDelayMs *= 2; // Exponential backoff
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return null;
-                    }
-                } else {
-                    getOperationLogger().error("Reader-{} | Query: system_vars | Max retries exceeded", workerId);
-                    return null;
+                long delayMs = retryPolicy.nextDelayMillis(attempt, e, type);
+                if (delayMs == RetryPolicy.GIVE_UP) {
+                    operationLog.readGaveUp(workerId, query);
+                    return false;
+                }
+
+                operationLog.readRetry(workerId, query, attempt, retryPolicy.getMaxAttempts(), delayMs, e.getMessage());
+
+                try {
+                    retryPolicy.await(delayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
                 }
             }
         }
 
-        return null;
+        return false;
     }
 
     /**
@@ -526,143 +1736,144 @@ public class WorkloadSimulator {
                 return rs.getString(1);
             }
         } catch (SQLException e) {
-            // Check if this might be a Blue-Green switchover related error
-            detectBlueGreenEventsFromError(e);
+            // Reported as an unknown host; the phase comes from the bg plugin, not from errors
         }
         return null;
     }
 
     /**
-     * Detect Blue-Green events from connection errors and behaviors
-     */
-    private void detectBlueGreenEventsFromError(SQLException e) {
-        String errorMessage = e.getMessage();
-
-        if (errorMessage != null) {
-            // Check for typical Blue-Green switchover error messages
-            if (errorMessage.contains("The active SQL connection has changed") ||
-                errorMessage.contains("Communications link failure") ||
-                errorMessage.contains("Connection is closed")) {
-
-                // If we're not already in IN_PROGRESS, this might indicate switchover
-                if (currentBlueGreenPhase != BlueGreenPhase.IN_PROGRESS) {
-                    updateBlueGreenPhase(BlueGreenPhase.IN_PROGRESS, "Detected connection errors");
-                    switchoverInProgress = true;
-                }
-            }
-        }
-    }
-
-    /**
-     * Update Blue-Green phase and log transition
+     * Apply the phase transitions published since the last second: close the
+     * time spent in the previous phase and report the change. Statistics thread only.
      */
-    private synchronized void updateBlueGreenPhase(BlueGreenPhase newPhase, String reason) {
-        if (newPhase != currentBlueGreenPhase) {
-            BlueGreenPhase previousPhase = currentBlueGreenPhase;
-            currentBlueGreenPhase = newPhase;
+    private void drainPhaseTransitions() {
+        BlueGreenPhaseTracker.Transition transition;
+        while ((transition = phaseTracker.pollTransition()) != null) {
+            phaseStats.enter(transition);
 
             String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
-
-            // Log phase transition in console formats
             if (consoleFormat == ConsoleFormat.EVENT_DRIVEN || consoleFormat == ConsoleFormat.VERBOSE) {
-                System.out.printf("[%s] 🔄 BG-PHASE | %s → %s | %s%n",
-                    timestamp, previousPhase.getDisplayName(), newPhase.getDisplayName(), reason);
-            }
-
-            // Update switchover status
-            if (newPhase == BlueGreenPhase.IN_PROGRESS) {
-                switchoverInProgress = true;
-            } else if (newPhase == BlueGreenPhase.POST || newPhase == BlueGreenPhase.COMPLETED) {
-                switchoverInProgress = false;
+                console.format("[%s] 🔄 BG-PHASE | %s → %s | %s%n",
+                    timestamp, transition.previous.getDisplayName(), transition.phase.getDisplayName(),
+                    formatPhaseRow(phaseStats.summary(transition.previous)));
             }
 
-            // Log to file via logger
-            logger.info("Blue-Green phase transition: {} → {} ({})",
-                previousPhase.getPhaseName(), newPhase.getPhaseName(), reason);
+            logger.info("Blue-Green phase transition: {} → {} at {} (reported by {})",
+                transition.previous.getPhaseName(), transition.phase.getPhaseName(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(transition.epochMillis), ZoneId.systemDefault())
+                    .format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS")),
+                transition.source);
+            logger.info("Blue-Green phase {} closed: {}", transition.previous.getPhaseName(),
+                formatPhaseRow(phaseStats.summary(transition.previous)));
         }
     }
 
     /**
-     * Detect Blue-Green deployment status from deployment ID and connection behavior
+     * Throughput and tail latency of one phase since the run started
      */
-    private void detectBlueGreenStatus() {
-        // If blueGreenDeploymentId is specified, assume we have a deployment
-        if (blueGreenDeploymentId != null && !blueGreenDeploymentId.isEmpty() &&
-            currentBlueGreenPhase == BlueGreenPhase.NOT_CREATED) {
-            updateBlueGreenPhase(BlueGreenPhase.CREATED, "Deployment ID specified: " + blueGreenDeploymentId);
-            lastBgdId = blueGreenDeploymentId;
-        }
-
-        // Check for host changes that might indicate switchover completion
-        String currentHost = getCurrentHost();
-        if (currentHost != null && lastKnownHost != null && !currentHost.equals(lastKnownHost)) {
-            if (switchoverInProgress) {
-                updateBlueGreenPhase(BlueGreenPhase.POST, "Host switched: " + lastKnownHost + " → " + currentHost);
-            } else if (currentBlueGreenPhase == BlueGreenPhase.CREATED ||
-                      currentBlueGreenPhase == BlueGreenPhase.PREPARATION) {
-                // Unexpected host change might indicate switchover
-                updateBlueGreenPhase(BlueGreenPhase.POST, "Unexpected host change: " + lastKnownHost + " → " + currentHost);
-            }
-        }
-
-        // Simulate detection of PREPARATION phase before switchover
-        // In a real scenario, this would be detected by parsing JDBC wrapper logs
-        if (currentBlueGreenPhase == BlueGreenPhase.CREATED) {
-            // After some time in CREATED, transition to PREPARATION
-            // This is a simulation - real implementation would parse JDBC logs
-            long timeInCreated = System.currentTimeMillis() - startTime;
-            if (timeInCreated > 30000) { // After 30 seconds, simulate PREPARATION
-                updateBlueGreenPhase(BlueGreenPhase.PREPARATION, "Simulated: Green cluster syncing");
-            }
+    private String formatPhaseRow(PhaseStats.Summary summary) {
+        StringBuilder row = new StringBuilder(String.format("%s %.1fs │ Writes: %d ok/%d failed (%.0f/s) P99 %.1fms",
+            summary.phase.getPhaseName(), summary.getSeconds(), summary.writeSuccess, summary.writeFailed,
+            summary.getWritesPerSecond(), LatencyRecorder.percentileMs(summary.writeLatency, 99.0)));
+        if (readWorkers > 0) {
+            row.append(String.format(" │ Reads: %d ok/%d failed (%.0f/s) P99 %.1fms",
+                summary.readSuccess, summary.readFailed, summary.getReadsPerSecond(),
+                LatencyRecorder.percentileMs(summary.readLatency, 99.0)));
         }
+        return row.toString();
     }
 
     /**
      * Format 2: Event-driven clean console output
      */
     private void logEventDrivenFormat() {
-        long total = totalRequests.get();
-        long success = successfulRequests.get();
-        long failed = failedRequests.get();
+        WindowedStats.Window window = intervalWindow;
 
-        long totalRead = totalReadRequests.get();
-        long successRead = successfulReadRequests.get();
-        long failedRead = failedReadRequests.get();
-        double avgReadLatency = successRead > 0 ? (totalReadLatencyMs.get() * 1.0 / successRead) : 0.0;
+        Histogram combinedLatency = window.latency(writeLatency).copy();
+        combinedLatency.add(window.latency(readLatency));
 
         String currentTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
 
         // Check for host changes (potential switchover events)
-        String currentHost = getCurrentHost();
+        String currentHost = getWriterHostSnapshot();
         if (currentHost != null && !currentHost.equals(lastKnownHost)) {
             if (lastKnownHost != null) {
-                System.out.printf("[%s] ✅ RECOVERY| New writer: %s | Reconnection successful%n",
+                console.format("[%s] ✅ RECOVERY| New writer: %s | Reconnection successful%n",
                     currentTime, currentHost);
             } else {
-                System.out.printf("[%s] 🚀 STARTED  | Writers: %d | Rate: %d/sec | Pool: %d | Target: %s:3306%n",
+                console.format("[%s] 🚀 STARTED  | Writers: %d | Rate: %d/sec | Pool: %d | Target: %s:3306%n",
                     currentTime, writeWorkers, writeRatePerWorker, connectionPoolSize, currentHost);
             }
             lastKnownHost = currentHost;
         }
 
         // Log periodic summary
-        int combinedTotal = (int)(total + totalRead);
-        int combinedSuccess = (int)(success + successRead);
-        int combinedFailed = (int)(failed + failedRead);
+        long combinedTotal = window.getOps();
+        long combinedSuccess = window.getSuccess();
+        long combinedFailed = window.getFailed();
         double combinedSuccessRate = combinedTotal > 0 ? (combinedSuccess * 100.0 / combinedTotal) : 0.0;
 
-        System.out.printf("[%s] 📈 SUMMARY  | %ds | Total: %d | Success: %d (%.1f%%) | Failed: %d | Avg: %.0fms%n",
-            currentTime, logIntervalSeconds, combinedTotal, combinedSuccess, combinedSuccessRate,
-            combinedFailed, avgReadLatency > 0 ? avgReadLatency : 0.0);
+        console.format("[%s] 📈 SUMMARY  | %ds | Total: %d | Success: %d (%.1f%%) | Failed: %d | P50: %.1fms | P99: %.1fms | P99.9: %.1fms%n",
+            currentTime, logIntervalSeconds, combinedTotal, combinedSuccess, combinedSuccessRate, combinedFailed,
+            LatencyRecorder.percentileMs(combinedLatency, 50.0),
+            LatencyRecorder.percentileMs(combinedLatency, 99.0),
+            LatencyRecorder.percentileMs(combinedLatency, 99.9));
+
+        // Report when workers could not keep up with the open-loop schedule
+        long maxLagMs = Math.max(intervalWriteMaxLagMs, intervalReadMaxLagMs);
+        if (maxLagMs > 0) {
+            console.format("[%s] ⏳ BEHIND   | Missed slots: %d | Max start lag: %dms%n",
+                currentTime, getMissedSlots(), maxLagMs);
+        }
+
+        // Report when the database fell behind the target rate, as when a profile ramps past capacity
+        long target = window.writeTarget + window.readTarget;
+        if (target > 0 && combinedTotal < target * 0.95) {
+            console.format("[%s] 🎯 RATE     | Target: %.0f/sec | Achieved: %.0f/sec (%.1f%%) | Workers: %d/%d%n",
+                currentTime, (double) target / logIntervalSeconds, (double) combinedTotal / logIntervalSeconds,
+                combinedTotal * 100.0 / target, getActiveWorkers(), maxWriteWorkers + maxReadWorkers);
+        }
+
+        // Report threads queueing for a pooled connection
+        if (intervalPendingPeak > 0) {
+            console.format("[%s] 🚰 POOL     | %s%n", currentTime, formatPoolPressure(window));
+        }
+
+        // Report pools that are failing or came back during the interval
+        for (Map.Entry<PoolTopology.Pool, PoolTopology.Interval> entry : intervalPools.entrySet()) {
+            PoolTopology.Pool pool = entry.getKey();
+            if (pool.isFailing()) {
+                console.format("[%s] 🔌 POOL-DOWN| %s%n", currentTime, formatPoolRow(pool, entry.getValue(), window));
+            } else if (entry.getValue().recoveries > 0) {
+                console.format("[%s] 🔌 POOL-UP  | %s recovered after %.1fs (%s)%n", currentTime, pool.spec.name,
+                    pool.getLastRecoverySeconds(), pool.spec.endpoint);
+            }
+        }
+
+        // Report seconds in this interval without a single successful operation
+        if (window.downSeconds > 0) {
+            console.format("[%s] 🔻 DOWNTIME | %ds without success in last %ds | Total downtime: %ds%n",
+                currentTime, window.downSeconds, logIntervalSeconds,
+                windowedStats.getTotalDowntimeSeconds(System.currentTimeMillis() / 1000));
+        }
 
-        // Update Blue-Green status detection
-        detectBlueGreenStatus();
+        // Report when the statistics thread itself fell behind
+        if (intervalTickMaxLateNanos > STATS_TICK_LATE_NANOS) {
+            console.format("[%s] 🐢 STATS    | %s%n", currentTime, formatStatsTick());
+        }
+
+        // Report probes that are failing right now
+        for (AvailabilityProbe probe : probes) {
+            if (!probe.isUp()) {
+                console.format("[%s] 🩺 PROBE    | %s DOWN for %.1fs on %s | Last error: %s%n", currentTime,
+                    probe.getKind() == AvailabilityProbe.Kind.WRITE ? "Write" : "Read",
+                    probe.getOngoingUnavailableSeconds(), probe.getEndpoint(), probe.getLastError());
+            }
+        }
 
-        // Log Blue-Green deployment detection
-        if (blueGreenDeploymentId != null && currentBlueGreenPhase == BlueGreenPhase.CREATED && lastBgdId == null) {
-            System.out.printf("[%s] 🔄 DETECTED | Blue-Green deployment: %s | Phase: %s%n",
-                currentTime, blueGreenDeploymentId, currentBlueGreenPhase.getDisplayName());
-            lastBgdId = blueGreenDeploymentId;
+        // Report the phase while a deployment is in flight
+        BlueGreenPhase phase = phaseTracker.current();
+        if (phase != BlueGreenPhase.NOT_CREATED) {
+            console.format("[%s] 🔄 BG-PHASE | %s%n", currentTime, formatPhaseRow(phaseStats.summary(phase)));
         }
     }
 
@@ -670,17 +1881,16 @@ public class WorkloadSimulator {
      * Format 3: Dashboard-style console output
      */
     private void logDashboardFormat() {
-        long total = totalRequests.get();
-        long success = successfulRequests.get();
-        long failed = failedRequests.get();
+        WindowedStats.Window window = intervalWindow;
+        long total = window.writeOps;
+        long success = window.writeSuccess;
+        long failed = window.writeFailed;
         double successRate = total > 0 ? (success * 100.0 / total) : 0.0;
 
-        long totalRead = totalReadRequests.get();
-        long successRead = successfulReadRequests.get();
-        long failedRead = failedReadRequests.get();
-        double avgReadLatency = successRead > 0 ? (totalReadLatencyMs.get() * 1.0 / successRead) : 0.0;
+        long totalRead = window.readOps;
+        long successRead = window.readSuccess;
 
-        String currentHost = getCurrentHost();
+        String currentHost = getWriterHostSnapshot();
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
         // Calculate runtime
@@ -701,87 +1911,383 @@ public class WorkloadSimulator {
         }
 
         // Calculate combined statistics
-        int combinedTotal = (int)(total + totalRead);
-        int combinedSuccess = (int)(success + successRead);
-        int combinedFailed = (int)(failed + failedRead);
+        int combinedTotal = (int) window.getOps();
+        int combinedSuccess = (int) window.getSuccess();
+        int combinedFailed = (int) window.getFailed();
         double combinedSuccessRate = combinedTotal > 0 ? (combinedSuccess * 100.0 / combinedTotal) : 0.0;
 
         // Clear screen and show dashboard (comment out clear if not desired)
         // System.out.print("\033[2J\033[H"); // Clear screen and move cursor to top
 
-        // Update Blue-Green status detection
-        detectBlueGreenStatus();
+        BlueGreenPhase currentPhase = phaseTracker.current();
 
-        System.out.println("┌─────────────────────────────────────────────────────────────────────────────┐");
-        System.out.printf("│ Aurora Blue-Green Monitor │ %s │ Runtime: %s        │%n", timestamp, runtime);
-        System.out.println("├─────────────────────────────────────────────────────────────────────────────┤");
-        System.out.printf("│ Current Writer: %-25s │ BG Phase: %-17s │%n",
-            currentHost != null ? currentHost : "unknown", currentBlueGreenPhase.getDisplayName());
-        System.out.printf("│ Workers: %d/%d Active    │ Pool: %d/%-3d      │ Deployment: %-15s │%n",
-            writeWorkers + readWorkers, writeWorkers + readWorkers, activeConnections, totalConnections,
+        console.format("┌─────────────────────────────────────────────────────────────────────────────┐%n");
+        console.format("│ Aurora Blue-Green Monitor │ %s │ Runtime: %s        │%n", timestamp, runtime);
+        console.format("├─────────────────────────────────────────────────────────────────────────────┤%n");
+        console.format("│ Current Writer: %-25s │ BG Phase: %-17s │%n",
+            currentHost != null ? currentHost : "unknown", currentPhase.getDisplayName());
+        console.format("│ Workers: %d/%d Active    │ Pool: %d/%-3d      │ Deployment: %-15s │%n",
+            getActiveWorkers(), maxWriteWorkers + maxReadWorkers, activeConnections, totalConnections,
             blueGreenDeploymentId != null ? blueGreenDeploymentId : "none");
-        System.out.println("├─────────────────────────────────────────────────────────────────────────────┤");
-        System.out.printf("│ LAST %d SECONDS%67s │%n", logIntervalSeconds, "");
-        System.out.printf("│ ├─ Operations: %-8d │ Success: %d (%.1f%%)  │ Failed: %d (%.1f%%)%7s │%n",
+        console.format("├─────────────────────────────────────────────────────────────────────────────┤%n");
+        console.format("│ LAST %d SECONDS%67s │%n", logIntervalSeconds, "");
+        console.format("│ ├─ Operations: %-8d │ Success: %d (%.1f%%)  │ Failed: %d (%.1f%%)%7s │%n",
             combinedTotal, combinedSuccess, combinedSuccessRate, combinedFailed,
             combinedTotal > 0 ? (combinedFailed * 100.0 / combinedTotal) : 0.0, "");
+        console.format("│ %-75s │%n", String.format("├─ Schedule: Target: %.0f/s │ Achieved: %.0f/s │ Missed: %d │ Max lag: %dms",
+            (double) (window.writeTarget + window.readTarget) / logIntervalSeconds,
+            (double) combinedTotal / logIntervalSeconds, getMissedSlots(),
+            Math.max(intervalWriteMaxLagMs, intervalReadMaxLagMs)));
+        if (pinnedThreadMonitor != null) {
+            console.format("│ %-75s │%n", formatVirtualThreadRow());
+        }
+        if (keyDistribution != DistributionType.UNIFORM) {
+            console.format("│ %-75s │%n", formatTableSkewRow());
+        }
+        if (operationLog.getDropped() > 0) {
+            console.format("│ %-75s │%n", String.format("├─ Operation log: Dropped: %d │ Queued: %d/%d",
+                operationLog.getDropped(), operationLog.getQueueDepth(), operationLog.getCapacity()));
+        }
 
         // Show detailed stats if both read and write are active
         if (writeWorkers > 0 && readWorkers > 0) {
-            System.out.printf("│ ├─ Writes: %-12d │ Success: %d (%.1f%%)    │ Failed: %d%13s │%n",
+            console.format("│ ├─ Writes: %-12d │ Success: %d (%.1f%%)    │ Failed: %d%13s │%n",
                 (int)total, (int)success, successRate, (int)failed, "");
-            System.out.printf("│ ├─ Reads: %-13d │ Success: %d (%.1f%%)    │ Avg: %.0fms%12s │%n",
+            console.format("│ ├─ Reads: %-13d │ Success: %d (%.1f%%)    │ Avg: %.0fms%12s │%n",
                 (int)totalRead, (int)successRead,
-                totalRead > 0 ? (successRead * 100.0 / totalRead) : 0.0, avgReadLatency, "");
-        } else {
-            System.out.printf("│ ├─ Avg Latency: %.0fms%4s │ P95: --ms             │ P99: --ms%16s │%n",
-                avgReadLatency, "", "");
+                totalRead > 0 ? (successRead * 100.0 / totalRead) : 0.0,
+                LatencyRecorder.meanMs(window.latency(readLatency)), "");
+        }
+
+        if (writeWorkers > 0) {
+            console.format("│ %-75s │%n", formatLatencyCell("Write", window.latency(writeLatency)));
+        }
+        if (writeMode != WriteMode.SINGLE) {
+            console.format("│ %-75s │%n", formatThroughputRow(window));
+            console.format("│ %-75s │%n", formatLatencyCell("Commit", window.latency(commitLatency)));
+        }
+        if (readWorkers > 0) {
+            console.format("│ %-75s │%n", formatLatencyCell("Read", window.latency(readLatency)));
+            for (ReadQuery query : ReadQuery.values()) {
+                LatencyRecorder recorder = readQueryEngine.recorderFor(query);
+                if (recorder != null && readMix.size() > 1) {
+                    console.format("│ %-75s │%n", formatQueryCell(query, window.latency(recorder)));
+                }
+            }
+        }
+        if (window.retries > 0) {
+            console.format("│ %-75s │%n", formatLatencyCell("Retry", window.latency(retryLatency)));
+        }
+        console.format("│ %-75s │%n", "├─ Pool: " + formatPoolPressure(window));
+        if (intervalPools.size() > 1) {
+            for (Map.Entry<PoolTopology.Pool, PoolTopology.Interval> entry : intervalPools.entrySet()) {
+                console.format("│ %-75s │%n", "├─ " + formatPoolRow(entry.getKey(), entry.getValue(), window));
+            }
+        }
+
+        if (currentPhase != BlueGreenPhase.NOT_CREATED) {
+            for (BlueGreenPhase phase : BlueGreenPhase.values()) {
+                if (phaseStats.wasEntered(phase)) {
+                    console.format("│ %-75s │%n", "├─ Phase " + formatPhaseRow(phaseStats.summary(phase)));
+                }
+            }
+        }
+
+        if (!probes.isEmpty()) {
+            console.format("│ %-75s │%n", "├─ Probe: " + formatProbeStatus());
         }
+        console.format("│ %-75s │%n", "├─ Stats tick: " + formatStatsTick());
 
-        if (combinedFailed > 0) {
-            System.out.printf("│ └─ Recent Errors: Connection issues (%d), Timeouts (%d)%20s │%n",
-                combinedFailed / 2, combinedFailed / 2, "");
+        if (window.downSeconds > 0 || windowedStats.isDown()) {
+            console.format("│ %-75s │%n", String.format("├─ Downtime: %ds in window │ Total: %ds │ %s",
+                window.downSeconds, windowedStats.getTotalDowntimeSeconds(System.currentTimeMillis() / 1000),
+                windowedStats.isDown() ? "ONGOING" : "recovered"));
+        }
+
+        if (!intervalErrors.isEmpty()) {
+            console.format("│ %-75s │%n", "└─ Recent Errors: " + formatIntervalErrors());
         } else {
-            System.out.printf("│ └─ No errors in last %d seconds%44s │%n", logIntervalSeconds, "");
+            console.format("│ └─ No errors in last %d seconds%44s │%n", logIntervalSeconds, "");
         }
 
-        System.out.println("├─────────────────────────────────────────────────────────────────────────────┤");
+        console.format("├─────────────────────────────────────────────────────────────────────────────┤%n");
 
         // Show recent events based on Blue-Green phase
         String eventTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
-        switch (currentBlueGreenPhase) {
+        switch (currentPhase) {
             case IN_PROGRESS:
-                System.out.printf("│ %s ⚠️  BLUE-GREEN SWITCHOVER IN PROGRESS%32s │%n", eventTime, "");
+                console.format("│ %s ⚠️  BLUE-GREEN SWITCHOVER IN PROGRESS%32s │%n", eventTime, "");
                 break;
             case PREPARATION:
-                System.out.printf("│ %s 🟡 PREPARING: Green cluster syncing data%32s │%n", eventTime, "");
+                console.format("│ %s 🟡 PREPARING: Green cluster syncing data%32s │%n", eventTime, "");
                 break;
             case POST:
-                System.out.printf("│ %s 🟠 FINALIZING: Switchover completed, stabilizing%26s │%n", eventTime, "");
+                console.format("│ %s 🟠 FINALIZING: Switchover completed, stabilizing%26s │%n", eventTime, "");
                 break;
             case CREATED:
-                System.out.printf("│ %s 🟡 CREATED: Green cluster ready, awaiting switchover%23s │%n", eventTime, "");
+                console.format("│ %s 🟡 CREATED: Green cluster ready, awaiting switchover%23s │%n", eventTime, "");
                 break;
             case COMPLETED:
-                System.out.printf("│ %s ✅ COMPLETED: Blue-Green deployment finished%29s │%n", eventTime, "");
+                console.format("│ %s ✅ COMPLETED: Blue-Green deployment finished%29s │%n", eventTime, "");
                 break;
             default:
                 if (combinedFailed > 5) {
-                    System.out.printf("│ %s 💔 HIGH ERROR RATE: %d failures detected%28s │%n",
+                    console.format("│ %s 💔 HIGH ERROR RATE: %d failures detected%28s │%n",
                         eventTime, combinedFailed, "");
                 } else {
-                    System.out.printf("│ %s ✅ STABLE: All systems operational%35s │%n", eventTime, "");
+                    console.format("│ %s ✅ STABLE: All systems operational%35s │%n", eventTime, "");
                 }
         }
 
-        System.out.println("└─────────────────────────────────────────────────────────────────────────────┘");
-        System.out.println(); // Add spacing
+        console.format("└─────────────────────────────────────────────────────────────────────────────┘%n");
+        console.format("%n"); // Add spacing
+    }
+
+    /**
+     * Workers currently taking slots, across both schedulers
+     */
+    private int getActiveWorkers() {
+        if (writeScheduler == null) {
+            return writeWorkers + readWorkers;
+        }
+        return writeScheduler.getActiveWorkers() + readScheduler.getActiveWorkers();
+    }
+
+    /**
+     * Slots across both schedulers that started more than one worker period late
+     */
+    private long getMissedSlots() {
+        if (writeScheduler == null) {
+            return 0;
+        }
+        return writeScheduler.getMissedSlots() + readScheduler.getMissedSlots();
+    }
+
+    /**
+     * Runs every second on the statistics thread: close the current one-second
+     * bucket, append it to the availability time series, and log statistics
+     * every logIntervalSeconds
+     */
+    private void onStatsSecond() {
+        long tickStart = System.nanoTime();
+        long late = tickStart - (statsScheduledNanos + TimeUnit.SECONDS.toNanos(++statsTicks));
+        try {
+            long epochSecond = System.currentTimeMillis() / 1000;
+            statsTotals.writeOps = totalRequests.sum();
+            statsTotals.writeSuccess = successfulRequests.sum();
+            statsTotals.writeFailed = failedRequests.sum();
+            statsTotals.readOps = totalReadRequests.sum();
+            statsTotals.readSuccess = successfulReadRequests.sum();
+            statsTotals.readFailed = failedReadRequests.sum();
+            statsTotals.writeStatements = writeStatements.sum();
+            statsTotals.retries = retryAttempts.sum();
+            if (writeScheduler != null) {
+                long now = System.nanoTime();
+                statsTotals.writeTarget = writeScheduler.scheduledBy(now);
+                statsTotals.readTarget = readScheduler.scheduledBy(now);
+            }
+            boolean loadOffered = running.get();
+
+            WindowedStats.Bucket bucket = windowedStats.roll(epochSecond, statsTotals, loadOffered);
+            phaseStats.roll();
+            drainPhaseTransitions();
+            drainProbeWindows();
+            logAvailability(bucket);
+            scaleWorkers(bucket);
+            runCapacitySearch(bucket);
+            exportWriterHost();
+            intervalPendingPeak = Math.max(intervalPendingPeak, getPendingThreads());
+
+            if (++statsSeconds % logIntervalSeconds == 0) {
+                logStatistics();
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the scheduled statistics task
+            logger.error("Statistics update failed", e);
+        } finally {
+            flushConsole();
+            recordStatsTick(System.nanoTime() - tickStart, late);
+        }
+    }
+
+    /**
+     * Print what this tick rendered in one write, so the console never shows half a dashboard
+     */
+    private void flushConsole() {
+        if (consoleBuffer.length() > 0) {
+            System.out.print(consoleBuffer);
+            System.out.flush();
+            consoleBuffer.setLength(0);
+        }
+    }
+
+    private void recordStatsTick(long tickNanos, long lateNanos) {
+        statsTickTimer.record(tickNanos, TimeUnit.NANOSECONDS);
+        lateNanos = Math.max(0, lateNanos);
+        intervalTickMaxNanos = Math.max(intervalTickMaxNanos, tickNanos);
+        intervalTickMaxLateNanos = Math.max(intervalTickMaxLateNanos, lateNanos);
+        maxTickNanos = Math.max(maxTickNanos, tickNanos);
+        maxTickLateNanos = Math.max(maxTickLateNanos, lateNanos);
+    }
+
+    /**
+     * e.g. "max 1.2ms │ Max late: 0.3ms │ Run max: 4.0ms, late 0.9ms"
+     */
+    private String formatStatsTick() {
+        return String.format("max %.1fms │ Max late: %.1fms │ Run max: %.1fms, late %.1fms",
+            intervalTickMaxNanos / 1e6, intervalTickMaxLateNanos / 1e6, maxTickNanos / 1e6, maxTickLateNanos / 1e6);
+    }
+
+    /**
+     * Writer host as last seen by the write probe or a write worker; never
+     * touches the database, so the statistics thread cannot block on a switchover
+     */
+    private String getWriterHostSnapshot() {
+        for (AvailabilityProbe probe : probes) {
+            if (probe.getKind() == AvailabilityProbe.Kind.WRITE && probe.getCurrentHost() != null) {
+                return probe.getCurrentHost();
+            }
+        }
+        return writerHost;
+    }
+
+    /**
+     * Move the writer host gauge when a write worker has seen a new host
+     */
+    private void exportWriterHost() {
+        String host = writerHost;
+        if (host != null && !host.equals(exportedWriterHost)) {
+            writerHostGauge.register(List.of(MultiGauge.Row.of(Tags.of("host", host), 1)), true);
+            exportedWriterHost = host;
+        }
+    }
+
+    /**
+     * Append one second to the availability time series (CSV)
+     */
+    private void logAvailability(WindowedStats.Bucket bucket) {
+        availabilityLogger.info("{},{},{},{},{},{},{},{},{},{},{},{},{},{},{}",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+            bucket.epochSecond, bucket.writeOps, bucket.writeSuccess, bucket.writeFailed,
+            bucket.readOps, bucket.readSuccess, bucket.readFailed, bucket.retries,
+            String.format("%.2f", bucket.getAvailabilityPercent()),
+            String.format("%.1f", bucket.getP99Nanos(writeLatency) / 1e6),
+            String.format("%.1f", bucket.getP99Nanos(readLatency) / 1e6),
+            bucket.down ? 1 : 0, bucket.writeTarget, bucket.readTarget);
+    }
+
+    /**
+     * Follow the target rate with the number of active workers, when
+     * --max-write-workers/--max-read-workers allow more than configured.
+     * Pools grow in proportion to the workers, and shrink back with them.
+     */
+    private void scaleWorkers(WindowedStats.Bucket bucket) {
+        if (writeScheduler == null || (maxWriteWorkers == writeWorkers && maxReadWorkers == readWorkers)) {
+            return;
+        }
+        long writeMissed = writeScheduler.getMissedSlots();
+        long readMissed = readScheduler.getMissedSlots();
+        int write = workersNeeded(writeScheduler, bucket.getP99Nanos(writeLatency), batchSize,
+            writeWorkers, maxWriteWorkers, writeMissed > lastWriteMissedSlots);
+        int read = workersNeeded(readScheduler, bucket.getP99Nanos(readLatency), 1,
+            readWorkers, maxReadWorkers, readMissed > lastReadMissedSlots);
+        lastWriteMissedSlots = writeMissed;
+        lastReadMissedSlots = readMissed;
+        if (write == writeScheduler.getActiveWorkers() && read == readScheduler.getActiveWorkers()) {
+            return;
+        }
+
+        writeScheduler.setActiveWorkers(write);
+        readScheduler.setActiveWorkers(read);
+        double scale = (double) (write + read) / (writeWorkers + readWorkers);
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            pool.resize((int) Math.ceil(pool.spec.size * scale));
+        }
+        logger.info("Workers: {} write, {} read active (target {}/sec write, {}/sec read)", write, read,
+            String.format("%.0f", writeScheduler.getOpsPerSecond()), String.format("%.0f", readScheduler.getOpsPerSecond()));
+    }
+
+    /**
+     * Feed the second to the capacity search and move the write rate to its
+     * next step; once the search is over, shut down, which prints the report
+     */
+    private void runCapacitySearch(WindowedStats.Bucket bucket) {
+        if (capacitySearch == null || writeScheduler == null || capacitySearch.isFinished()) {
+            return;
+        }
+        PoolTopology.Pool pool = topology.forWrite().pool;
+        double rate = capacitySearch.onSecond(bucket, windowedStats.latest(writeLatency),
+            writeScheduler.getActiveWorkers(), pool.getActiveConnections(), pool.getMaximumPoolSize(),
+            pool.getPendingThreads());
+        if (rate < 0) {
+            logger.info("Capacity search finished, shutting down");
+            requestStop();
+        } else if (rate != writeScheduler.getOpsPerSecond()) {
+            writeScheduler.setOpsPerSecond(rate);
+            logger.info("Capacity search: next step at {} writes/sec", String.format("%.0f", rate));
+        }
+    }
+
+    /**
+     * Workers that keep the current target rate in flight at the last
+     * second's P99 latency with 50% headroom, a quarter more while slots are
+     * missed; shrinking waits until a quarter fewer would do
+     *
+     * @param opsPerWorker operations one worker has in flight at once (rows per batch)
+     */
+    private static int workersNeeded(RateScheduler scheduler, long p99Nanos, int opsPerWorker,
+                                     int min, int max, boolean missing) {
+        int active = scheduler.getActiveWorkers();
+        double inFlight = scheduler.getOpsPerSecond() * p99Nanos / 1e9 / opsPerWorker;
+        int needed = (int) Math.ceil(inFlight * 1.5) + 1;
+        if (missing) {
+            needed = Math.max(needed, (int) Math.ceil(active * 1.25));
+        }
+        if (needed < active && needed > active * 0.75) {
+            needed = active;
+        }
+        return Math.max(min, Math.min(max, needed));
     }
 
     /**
      * Log statistics based on configured console format
      */
     private void logStatistics() {
+        connectionTracker.purgeClosed();
+
+        intervalWindow = windowedStats.window(logIntervalSeconds);
+        writeLatency.publish(intervalWindow.latency(writeLatency));
+        readLatency.publish(intervalWindow.latency(readLatency));
+        retryLatency.publish(intervalWindow.latency(retryLatency));
+        commitLatency.publish(intervalWindow.latency(commitLatency));
+        for (OperationStages.Stage stage : OperationStages.Stage.values()) {
+            LatencyRecorder recorder = operationStages.recorderFor(stage);
+            recorder.publish(intervalWindow.latency(recorder));
+        }
+
+        if (writeScheduler != null) {
+            intervalWriteMaxLagMs = TimeUnit.NANOSECONDS.toMillis(writeScheduler.drainMaxLagNanos());
+            intervalReadMaxLagMs = TimeUnit.NANOSECONDS.toMillis(readScheduler.drainMaxLagNanos());
+        }
+
+        intervalTableSkew = tableHits.drainInterval(hotspotTables);
+
+        intervalErrors.clear();
+        for (Map.Entry<ErrorClassifier.ErrorType, LongAdder> entry : errorCounts.entrySet()) {
+            int type = entry.getKey().ordinal();
+            long count = entry.getValue().sum();
+            if (count > reportedErrorCounts[type]) {
+                intervalErrors.put(entry.getKey(), count - reportedErrorCounts[type]);
+            }
+            reportedErrorCounts[type] = count;
+        }
+
+        intervalPools.clear();
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            pool.latency.publish(intervalWindow.latency(pool.latency));
+            intervalPools.put(pool, pool.drainInterval());
+        }
+
         switch (consoleFormat) {
             case EVENT_DRIVEN:
                 logEventDrivenFormat();
@@ -794,52 +2300,325 @@ public class WorkloadSimulator {
                 logVerboseFormat();
                 break;
         }
+        intervalPendingPeak = 0;
+        intervalTickMaxNanos = 0;
+        intervalTickMaxLateNanos = 0;
+    }
+
+    /**
+     * Original verbose format logging
+     */
+    private void logVerboseFormat() {
+        WindowedStats.Window window = intervalWindow;
+
+        // Write statistics (last logIntervalSeconds)
+        long total = window.writeOps;
+        long success = window.writeSuccess;
+        long failed = window.writeFailed;
+        double successRate = total > 0 ? (success * 100.0 / total) : 0.0;
+
+        // Read statistics (last logIntervalSeconds)
+        long totalRead = window.readOps;
+        long successRead = window.readSuccess;
+        long failedRead = window.readFailed;
+        double readSuccessRate = totalRead > 0 ? (successRead * 100.0 / totalRead) : 0.0;
+        double avgReadLatency = LatencyRecorder.meanMs(window.latency(readLatency));
+
+        logger.info("========================================");
+
+        // Log write stats if write workers are enabled
+        if (writeWorkers > 0) {
+            logger.info("WRITE STATS (last {}s): Total: {} | Success: {} | Failed: {} | Success Rate: {}% | Since start: {}/{}",
+                logIntervalSeconds, total, success, failed, String.format("%.2f", successRate),
+                successfulRequests.sum(), totalRequests.sum());
+            logger.info("WRITE {}", formatLatencyRow("LATENCY", window.latency(writeLatency)));
+            logger.info("WRITE THROUGHPUT: Rows/sec: {} | Statements/sec: {} | Rows/statement: {}",
+                String.format("%.1f", (double) success / logIntervalSeconds),
+                String.format("%.1f", (double) window.writeStatements / logIntervalSeconds),
+                String.format("%.1f", window.writeStatements > 0 ? (double) success / window.writeStatements : 0.0));
+            if (writeMode != WriteMode.SINGLE) {
+                logger.info("COMMIT {}", formatLatencyRow("LATENCY", window.latency(commitLatency)));
+            }
+
+            logger.info("WRITE SCHEDULE: Target: {}/sec | Achieved: {}/sec | Workers: {} | Issued: {} | Missed slots: {} | Max start lag: {}ms",
+                String.format("%.0f", (double) window.writeTarget / logIntervalSeconds),
+                String.format("%.0f", (double) window.writeOps / logIntervalSeconds), writeScheduler.getActiveWorkers(),
+                writeScheduler.getIssuedSlots(), writeScheduler.getMissedSlots(), intervalWriteMaxLagMs);
+
+            if (hostAttribution == HostAttribution.CONNECTION) {
+                logger.info("HOST ATTRIBUTION: Host lookups: {} | Tracked physical connections: {}",
+                    connectionTracker.getHostLookups(), connectionTracker.getTrackedConnections());
+            }
+
+            if (statementCacheSize > 0) {
+                long hits = connectionTracker.getStatementCacheHits();
+                long misses = connectionTracker.getStatementCacheMisses();
+                double hitRate = (hits + misses) > 0 ? (hits * 100.0 / (hits + misses)) : 0.0;
+                logger.info("STATEMENT CACHE (estimated): Size: {}/connection | Hits: {} | Misses: {} | Evictions: {} | Hit Rate: {}%",
+                    statementCacheSize, hits, misses, connectionTracker.getStatementCacheEvictions(),
+                    String.format("%.2f", hitRate));
+            }
+        }
+
+        // Log read stats if read workers are enabled
+        if (readWorkers > 0) {
+            logger.info("READ STATS (last {}s): Total: {} | Success: {} | Failed: {} | Success Rate: {}% | Avg Latency: {}ms | Since start: {}/{}",
+                logIntervalSeconds, totalRead, successRead, failedRead, String.format("%.2f", readSuccessRate),
+                String.format("%.1f", avgReadLatency), successfulReadRequests.sum(), totalReadRequests.sum());
+            logger.info("READ {}", formatLatencyRow("LATENCY", window.latency(readLatency)));
+            for (ReadQuery query : ReadQuery.values()) {
+                LatencyRecorder recorder = readQueryEngine.recorderFor(query);
+                if (recorder != null) {
+                    logger.info("READ {}", formatLatencyRow(query.name(), window.latency(recorder)));
+                }
+            }
+            logger.info("READ SCHEDULE: Target: {}/sec | Achieved: {}/sec | Workers: {} | Issued: {} | Missed slots: {} | Max start lag: {}ms",
+                String.format("%.0f", (double) window.readTarget / logIntervalSeconds),
+                String.format("%.0f", (double) window.readOps / logIntervalSeconds), readScheduler.getActiveWorkers(),
+                readScheduler.getIssuedSlots(), readScheduler.getMissedSlots(), intervalReadMaxLagMs);
+
+            // Log host distribution
+            if (!readHostDistribution.isEmpty()) {
+                logger.info("READ HOST DISTRIBUTION:");
+                long readsSinceStart = totalReadRequests.sum();
+                for (Map.Entry<String, LongAdder> entry : readHostDistribution.entrySet()) {
+                    long count = entry.getValue().sum();
+                    double percentage = readsSinceStart > 0 ? (count * 100.0 / readsSinceStart) : 0.0;
+                    logger.info("  {} : {} queries ({}%)",
+                        entry.getKey(), count, String.format("%.2f", percentage));
+                }
+            }
+        }
+
+        if (window.retries > 0) {
+            logger.info("RETRY {}", formatLatencyRow("LATENCY", window.latency(retryLatency)));
+        }
+        logger.info("POOL: {}", formatPoolPressure(window));
+        for (Map.Entry<PoolTopology.Pool, PoolTopology.Interval> entry : intervalPools.entrySet()) {
+            PoolTopology.Pool pool = entry.getKey();
+            logger.info("POOL {} ({}): {} | Connections: {}/{} | Pending: {} | Recoveries: {} (last {}s, max {}s)",
+                pool.spec.name, pool.spec.endpoint, formatPoolRow(pool, entry.getValue(), window),
+                pool.getActiveConnections(), pool.getTotalConnections(), pool.getPendingThreads(),
+                pool.getRecoveries(), String.format("%.1f", pool.getLastRecoverySeconds()),
+                String.format("%.1f", pool.getMaxRecoverySeconds()));
+        }
+        logger.info("STAGES (P99): {}", formatStageRow(window));
+        logger.info("STATS TICK: {}", formatStatsTick());
+        if (retryAttempts.sum() > 0) {
+            logger.info("RETRY POLICY: Retried: {} | Gave up: fatal {}, attempts {}, budget {} | Backoff: {}s | IN_PROGRESS pause: {}s | Budget left: {}",
+                retryPolicy.getScheduled(), retryPolicy.getGiveUps(RetryPolicy.GiveUpReason.FATAL),
+                retryPolicy.getGiveUps(RetryPolicy.GiveUpReason.ATTEMPTS),
+                retryPolicy.getGiveUps(RetryPolicy.GiveUpReason.BUDGET),
+                String.format("%.1f", retryPolicy.getBackoffSeconds()),
+                String.format("%.1f", retryPolicy.getPhasePauseSeconds()),
+                retryPolicy.getBudgetAvailable() >= 0 ? String.format("%.0f", retryPolicy.getBudgetAvailable()) : "unlimited");
+        }
+
+        TableHits.Summary skew = intervalTableSkew;
+        logger.info("TABLE SKEW (last {}s): Distribution: {} | Tables touched: {}/{} | Top {} tables: {}% of {} ops | Hottest: {} ({}%)",
+            logIntervalSeconds, keyDistribution.name().toLowerCase(), skew.tablesTouched, totalTables,
+            skew.topTables, String.format("%.1f", skew.getTopSharePercent()), skew.total,
+            skew.hottestTable > 0 ? tableNames[skew.hottestTable] : "none",
+            String.format("%.2f", skew.getHottestSharePercent()));
+
+        logger.info("OPERATION LOG: Written: {} | Queued: {} | Dropped: {} | Sampled out: {}",
+            operationLog.getWritten(), operationLog.getQueueDepth(), operationLog.getDropped(),
+            operationLog.getSampledOut());
+
+        if (pinnedThreadMonitor != null) {
+            logger.info("VIRTUAL THREADS: {} | Top pinning site: {}", formatVirtualThreadRow(),
+                pinnedThreadMonitor.getTopSite() != null ? pinnedThreadMonitor.getTopSite() : "none");
+        }
+
+        for (BlueGreenPhase phase : BlueGreenPhase.values()) {
+            if (phaseStats.wasEntered(phase) && phaseTracker.current() != BlueGreenPhase.NOT_CREATED) {
+                logger.info("BG PHASE {}", formatPhaseRow(phaseStats.summary(phase)));
+            }
+        }
+
+        long nowSecond = System.currentTimeMillis() / 1000;
+        if (windowedStats.isDown()) {
+            logger.info("DOWNTIME: ONGOING since {}s ago | Total downtime: {}s",
+                nowSecond - windowedStats.getOutageStartSecond(), windowedStats.getTotalDowntimeSeconds(nowSecond));
+        } else if (windowedStats.getLastOutageEndSecond() > 0) {
+            logger.info("DOWNTIME: Last outage {}s | Total downtime: {}s",
+                windowedStats.getLastOutageEndSecond() - windowedStats.getLastOutageStartSecond(),
+                windowedStats.getTotalDowntimeSeconds(nowSecond));
+        }
+
+        logger.info("========================================");
+    }
+
+    /**
+     * Failed attempts of the interval by error type, e.g. "connection (12), timeout (3)"
+     */
+    private String formatIntervalErrors() {
+        StringBuilder row = new StringBuilder();
+        for (Map.Entry<ErrorClassifier.ErrorType, Long> entry : intervalErrors.entrySet()) {
+            if (row.length() > 0) {
+                row.append(", ");
+            }
+            row.append(entry.getKey().getTag()).append(" (").append(entry.getValue()).append(')');
+        }
+        return row.toString();
+    }
+
+    /**
+     * Share of the interval's table operations that went to the hottest tables
+     */
+    private String formatTableSkewRow() {
+        TableHits.Summary skew = intervalTableSkew;
+        return String.format("├─ Tables: %s │ Top %d: %.1f%% of ops │ Hottest: %s %.1f%%",
+            keyDistribution.name().toLowerCase(), skew.topTables, skew.getTopSharePercent(),
+            skew.hottestTable > 0 ? tableNames[skew.hottestTable] : "none", skew.getHottestSharePercent());
+    }
+
+    /**
+     * Threads waiting for a pooled connection (now, and the most seen in any
+     * second of the interval) and how long borrowing one took
+     */
+    private String formatPoolPressure(WindowedStats.Window window) {
+        Histogram acquire = window.latency(operationStages.recorderFor(OperationStages.Stage.ACQUIRE));
+        return String.format("Pending: %d (peak %d) │ Acquire P99: %.1fms │ Max: %.1fms",
+            getPendingThreads(), intervalPendingPeak,
+            LatencyRecorder.percentileMs(acquire, 99.0), LatencyRecorder.maxMs(acquire));
+    }
+
+    /**
+     * P99 of each stage that ran in the interval, e.g. "acquire 0.1ms | prepare 0.0ms | ..."
+     */
+    private String formatStageRow(WindowedStats.Window window) {
+        StringBuilder row = new StringBuilder();
+        for (OperationStages.Stage stage : OperationStages.Stage.values()) {
+            Histogram histogram = window.latency(operationStages.recorderFor(stage));
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            if (row.length() > 0) {
+                row.append(" | ");
+            }
+            row.append(stage.name().toLowerCase()).append(' ')
+                .append(String.format("%.1fms", LatencyRecorder.percentileMs(histogram, 99.0)));
+        }
+        return row.length() > 0 ? row.toString() : "none";
+    }
+
+    /**
+     * One pool's operations over the interval, e.g. "reader: 1200 ok, 3 failed │ P99 4.1ms"
+     */
+    private String formatPoolRow(PoolTopology.Pool pool, PoolTopology.Interval interval, WindowedStats.Window window) {
+        return String.format("%s: %d ok, %d failed │ P99 %.1fms%s", pool.spec.name, interval.success, interval.failed,
+            LatencyRecorder.percentileMs(window.latency(pool.latency), 99.0),
+            pool.isFailing() ? " │ failing" : "");
+    }
+
+    /**
+     * Routes for the startup banner, e.g. "write=writer, read=reader, read.range=analytics"
+     */
+    private String formatRoutes() {
+        StringBuilder routes = new StringBuilder("write=").append(topology.forWrite().pool.spec.name);
+        if (readWorkers > 0) {
+            for (ReadQuery query : readMix.keySet()) {
+                PoolTopology.Route route = topology.forRead(query);
+                routes.append(", read.").append(query.getQueryName()).append('=').append(route.pool.spec.name);
+                if (route.readOnly) {
+                    routes.append(" (read-only)");
+                }
+            }
+        }
+        return routes.toString();
+    }
+
+    /**
+     * Threads waiting for a connection across all pools
+     */
+    private int getPendingThreads() {
+        int pending = 0;
+        try {
+            for (PoolTopology.Pool pool : topology.getPools()) {
+                pending += pool.getPendingThreads();
+            }
+        } catch (Exception e) {
+            // Ignore - pool might not be ready
+        }
+        return pending;
+    }
+
+    /**
+     * Virtual thread clients, pool waiters and carrier pinning
+     */
+    private String formatVirtualThreadRow() {
+        int waiting = 0;
+        try {
+            waiting = dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
+        } catch (Exception e) {
+            // Ignore - pool might not be ready
+        }
+        return String.format("├─ Virtual clients: %d │ Awaiting connection: %d │ Pinned: %d (%dms)",
+            writeWorkers + readWorkers, waiting,
+            pinnedThreadMonitor.getPinnedEvents(), pinnedThreadMonitor.getPinnedMillis());
+    }
+
+    /**
+     * Read mix as "point=70, range=20, ..." for the startup banner
+     */
+    private String formatReadMix() {
+        StringBuilder mix = new StringBuilder();
+        for (Map.Entry<ReadQuery, Integer> entry : readMix.entrySet()) {
+            if (mix.length() > 0) {
+                mix.append(", ");
+            }
+            mix.append(entry.getKey().getQueryName()).append('=').append(entry.getValue());
+        }
+        return mix.toString();
     }
 
     /**
-     * Original verbose format logging
+     * Per-query-type latency, indented under the read row of the dashboard
      */
-    private void logVerboseFormat() {
-        // Write statistics
-        long total = totalRequests.get();
-        long success = successfulRequests.get();
-        long failed = failedRequests.get();
-        double successRate = total > 0 ? (success * 100.0 / total) : 0.0;
-
-        // Read statistics
-        long totalRead = totalReadRequests.get();
-        long successRead = successfulReadRequests.get();
-        long failedRead = failedReadRequests.get();
-        double readSuccessRate = totalRead > 0 ? (successRead * 100.0 / totalRead) : 0.0;
-        double avgReadLatency = successRead > 0 ? (totalReadLatencyMs.get() * 1.0 / successRead) : 0.0;
-
-        logger.info("========================================");
-
-        // Log write stats if write workers are enabled
-        if (writeWorkers > 0) {
-            logger.info("WRITE STATS: Total: {} | Success: {} | Failed: {} | Success Rate: {}%",
-                total, success, failed, String.format("%.2f", successRate));
-        }
+    private String formatQueryCell(ReadQuery query, Histogram histogram) {
+        return String.format("   ├─ %-12s P50 %.1f │ P99 %.1f │ Max %.1f ms │ n=%d",
+            query.getQueryName() + ":",
+            LatencyRecorder.percentileMs(histogram, 50.0),
+            LatencyRecorder.percentileMs(histogram, 99.0),
+            LatencyRecorder.maxMs(histogram),
+            histogram.getTotalCount());
+    }
 
-        // Log read stats if read workers are enabled
-        if (readWorkers > 0) {
-            logger.info("READ STATS: Total: {} | Success: {} | Failed: {} | Success Rate: {}% | Avg Latency: {}ms",
-                totalRead, successRead, failedRead, String.format("%.2f", readSuccessRate),
-                String.format("%.1f", avgReadLatency));
+    /**
+     * Committed rows versus statements sent, per second over the interval
+     */
+    private String formatThroughputRow(WindowedStats.Window window) {
+        return String.format("├─ Batches: %.0f rows/s │ %.0f statements/s │ %.1f rows/statement",
+            (double) window.writeSuccess / logIntervalSeconds,
+            (double) window.writeStatements / logIntervalSeconds,
+            window.writeStatements > 0 ? (double) window.writeSuccess / window.writeStatements : 0.0);
+    }
 
-            // Log host distribution
-            if (!readHostDistribution.isEmpty()) {
-                logger.info("READ HOST DISTRIBUTION:");
-                for (Map.Entry<String, AtomicLong> entry : readHostDistribution.entrySet()) {
-                    long count = entry.getValue().get();
-                    double percentage = totalRead > 0 ? (count * 100.0 / totalRead) : 0.0;
-                    logger.info("  {} : {} queries ({}%)",
-                        entry.getKey(), count, String.format("%.2f", percentage));
-                }
-            }
-        }
+    /**
+     * Percentile summary narrow enough for a dashboard row
+     */
+    private String formatLatencyCell(String label, Histogram histogram) {
+        return String.format("├─ %-5s ms: P50 %.1f │ P95 %.1f │ P99 %.1f │ P99.9 %.1f │ Max %.1f",
+            label,
+            LatencyRecorder.percentileMs(histogram, 50.0),
+            LatencyRecorder.percentileMs(histogram, 95.0),
+            LatencyRecorder.percentileMs(histogram, 99.0),
+            LatencyRecorder.percentileMs(histogram, 99.9),
+            LatencyRecorder.maxMs(histogram));
+    }
 
-        logger.info("========================================");
+    /**
+     * One-line percentile summary of an interval histogram
+     */
+    private String formatLatencyRow(String label, Histogram histogram) {
+        return String.format("%s (%ds, n=%d): P50 %.1fms | P95 %.1fms | P99 %.1fms | P99.9 %.1fms | Max %.1fms",
+            label, logIntervalSeconds, histogram.getTotalCount(),
+            LatencyRecorder.percentileMs(histogram, 50.0),
+            LatencyRecorder.percentileMs(histogram, 95.0),
+            LatencyRecorder.percentileMs(histogram, 99.0),
+            LatencyRecorder.percentileMs(histogram, 99.9),
+            LatencyRecorder.maxMs(histogram));
     }
 
     /**
@@ -848,30 +2627,95 @@ public class WorkloadSimulator {
     private void shutdown() {
         logger.info("Shutting down workload simulator...");
         running.set(false);
+        if (writeScheduler != null) {
+            writeScheduler.stop();
+            readScheduler.stop();
+        }
 
-        // Shutdown executors
+        // Shutdown executors; termination also publishes the workers' ledgers to this thread
+        boolean workersStopped = true;
         if (workerExecutor != null) {
             workerExecutor.shutdown();
             try {
                 if (!workerExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
                     workerExecutor.shutdownNow();
+                    workersStopped = workerExecutor.awaitTermination(5, TimeUnit.SECONDS);
                 }
             } catch (InterruptedException e) {
                 workerExecutor.shutdownNow();
+                workersStopped = false;
             }
         }
 
         if (statsExecutor != null) {
+            // Ticks never wait on the database, so the one in flight finishes quickly
             statsExecutor.shutdown();
+            try {
+                statsExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (pinnedThreadMonitor != null) {
+            pinnedThreadMonitor.close();
+        }
+
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+
+        if (writeLedger != null && workersStopped) {
+            verifyWrites();
+        } else if (writeLedger != null) {
+            // A worker blocked in JDBC may still be recording; its ledger cannot be read safely
+            verificationReport = List.of("Write verification skipped: write workers did not stop within 35s");
         }
 
-        // Close data source
-        if (dataSource != null) {
-            dataSource.close();
+        stopProbes();
+
+        // Write out queued operation log events before the final statistics
+        close();
+
+        if (journal != null) {
+            try {
+                journal.close();
+                logger.info("Event journal: {} records written to {}{}", journal.getRecords(), journal.getPath(),
+                    journal.getDropped() > 0 ? " (" + journal.getDropped() + " dropped, journal full)" : "");
+            } catch (IOException e) {
+                logger.error("Failed to close event journal {}: {}", journal.getPath(), e.getMessage());
+            }
         }
 
         // Final statistics
         logStatistics();
+        flushConsole();
+        for (BlueGreenPhase phase : BlueGreenPhase.values()) {
+            if (phaseStats.wasEntered(phase)) {
+                logger.info("Blue-Green phase {}", formatPhaseRow(phaseStats.summary(phase)));
+            }
+        }
+        for (PoolTopology.Pool pool : topology.getPools()) {
+            logger.info("Pool {} ({}): Success: {} | Failed: {} | Failed attempts: {} | Recoveries: {} | Max recovery: {}s",
+                pool.spec.name, pool.spec.endpoint, pool.getSuccess(), pool.getFailed(), pool.getFailedAttempts(),
+                pool.getRecoveries(), String.format("%.1f", pool.getMaxRecoverySeconds()));
+        }
+        if (capacitySearch != null) {
+            for (String line : capacitySearch.report()) {
+                logger.info(line);
+            }
+        }
+        for (AvailabilityProbe probe : probes) {
+            for (String line : probe.report()) {
+                logger.info(line);
+            }
+        }
+        for (String line : verificationReport) {
+            logger.info(line);
+        }
+        if (emulator != null) {
+            logger.info("Emulator: {}", emulator.summary());
+        }
         logger.info("Workload simulator stopped");
     }
 
@@ -884,6 +2728,67 @@ public class WorkloadSimulator {
         DASHBOARD     // Format 3: Dashboard-style output (default)
     }
 
+    /**
+     * Threads that run the simulated clients
+     */
+    public enum ExecutorMode {
+        PLATFORM, // One platform thread per worker (default)
+        VIRTUAL   // One virtual thread per worker (Java 21+)
+    }
+
+    /**
+     * Read query types in the read mix
+     */
+    public enum ReadQuery {
+        POINT,       // Primary key point select
+        RANGE,       // col4 time-range scan over recent rows
+        AGGREGATE,   // COUNT/AVG/MAX over a col2 range
+        SYSTEM_VARS; // @@hostname, @@server_id, @@aurora_version, @@read_only (no table access)
+
+        public String getQueryName() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * How workers pick the table for each operation
+     */
+    public enum DistributionType {
+        UNIFORM,    // Every table equally likely (default)
+        ZIPFIAN,    // Table popularity falls off as 1/rank^theta
+        HOTSPOT,    // --hotspot-tables of the tables get --hotspot-ops of the operations
+        SEQUENTIAL, // Round-robin over all tables
+        LATEST      // Zipfian behind a head that moves one table per second
+    }
+
+    /**
+     * Endpoint read workers connect to
+     */
+    public enum ReadTarget {
+        WRITER, // Same endpoint and pool as the write workers (default)
+        READER, // Cluster reader endpoint (.cluster-ro-), or --read-endpoint
+        CUSTOM, // Custom endpoint given by --read-endpoint
+        SPLIT   // Writer pool with the readWriteSplitting plugin; reads run on read-only connections
+    }
+
+    /**
+     * How write workers send rows
+     */
+    public enum WriteMode {
+        SINGLE,     // One autocommit INSERT per row (default)
+        MULTI_ROW,  // One INSERT ... VALUES (...),(...) per batch in an explicit transaction
+        JDBC_BATCH  // addBatch/executeBatch with rewriteBatchedStatements in an explicit transaction
+    }
+
+    /**
+     * How successful writes are attributed to the Aurora host that served them
+     */
+    public enum HostAttribution {
+        CONNECTION, // Learn @@hostname once per physical connection (default)
+        QUERY,      // Extra SELECT @@hostname on a second pooled connection after every write
+        NONE        // No host attribution
+    }
+
     /**
      * Blue-Green deployment phases from AWS JDBC Wrapper
      */
@@ -935,18 +2840,101 @@ public class WorkloadSimulator {
         int writeRatePerWorker = 100;
         int readWorkers = 0;
         int readRatePerWorker = 100;
+        WorkloadProfile writeProfile = null;  // --write-profile, replaces --write-rate
+        WorkloadProfile readProfile = null;
+        int maxWriteWorkers = 0;          // Upper bound for worker scaling, 0 for the configured workers
+        int maxReadWorkers = 0;
         int connectionPoolSize = 100;
         int logIntervalSeconds = 10;
         String blueGreenDeploymentId = null;
         boolean enablePrometheus = false;
         ConsoleFormat consoleFormat = ConsoleFormat.DASHBOARD; // Default to Format 3
         String wrapperLoggerLevel = "INFO"; // Default JDBC wrapper log level (JUL level)
+        HostAttribution hostAttribution = HostAttribution.CONNECTION;
+        int statementCacheSize = 0;       // Prepared statements cached per connection (0 disables)
+        boolean serverPrepStmts = false;  // Use server-side prepared statements
+        ExecutorMode executorMode = ExecutorMode.PLATFORM;
+        WriteMode writeMode = WriteMode.SINGLE;
+        int batchSize = 100;              // Rows per batch in multi_row/jdbc_batch mode
+        int batchLingerMs = 10;           // Longest a partial batch waits for more rows
+        Map<ReadQuery, Integer> readMix = defaultReadMix();
+        ReadTarget readTarget = ReadTarget.WRITER;
+        String readEndpoint = null;
+        List<String> pools = new ArrayList<>();              // --pool definitions, in order
+        Map<String, String> routes = new LinkedHashMap<>();  // --route: write, read or read.<query> to pool name
+        int rangeScanSeconds = 60;        // col4 window covered by a range scan
+        int tables = 12000;               // Number of test_NNNN tables created by init-schema.sh
+        DistributionType keyDistribution = DistributionType.UNIFORM;
+        double zipfTheta = 0.99;          // Zipfian/latest skew, 0 < theta < 1
+        double hotspotTables = 0.05;      // Share of tables in the hot set
+        double hotspotOps = 0.9;          // Share of operations sent to the hot set
+        int metricsPort = 9090;           // Prometheus scrape port (with --enable-prometheus)
+        int opLogQueue = 65536;           // Operation log ring size, in events
+        double opLogSample = 1.0;         // Share of success events written to the operation log
+        OperationLog.FullPolicy opLogWhenFull = OperationLog.FullPolicy.DROP;
+        String journalPath = null;        // Binary event journal file, disabled when null
+        int journalMaxMb = 4096;          // Journal size limit, records beyond it are dropped
+        int retryMaxAttempts = 5;         // Attempts per operation, including the first
+        int retryBaseMs = 100;            // Backoff ceiling of the first retry, doubled per attempt
+        int retryMaxMs = 5000;            // Largest backoff ceiling
+        double retryBudget = -1;          // Retries/sec across all workers, 0 unlimited, -1 derived from the target rate
+        int retryBudgetBurst = 0;         // Retry tokens banked, 0 for one per worker
+        int retryPhasePauseMs = 60000;    // Longest a retry waits for an IN_PROGRESS switchover to end
+        boolean discoverCapacity = false; // Search for the highest write rate within the P99 SLO, then exit
+        double sloP99Ms = 50;             // P99 write latency SLO of the capacity search
+        double discoverStepFactor = 1.25; // Rate growth per capacity search step
+        double discoverMaxRate = 0;       // Highest write rate the search tries, 0 for no limit
+        int discoverWarmupSeconds = 15;   // Seconds ignored after each rate change
+        int discoverStepSeconds = 60;     // Seconds measured per step
+        AuroraEmulator emulator = null;   // In-process cluster instead of a real one
+        boolean probe = false;            // Writer and reader availability probes
+        int probeIntervalMs = 20;         // Time between probes
+        int probeTimeoutMs = 1000;        // Connect, socket and pool checkout timeout of the probes
+        boolean verifyWrites = false;     // Stamp every row and verify them all after the run
+        int verifyThreads = 8;            // Parallel range readers of the verification
+
+        private static Map<ReadQuery, Integer> defaultReadMix() {
+            Map<ReadQuery, Integer> mix = new EnumMap<>(ReadQuery.class);
+            mix.put(ReadQuery.SYSTEM_VARS, 100);
+            return mix;
+        }
+    }
+
+    /**
+     * Parse a read mix such as "point=70,range=20,aggregate=10"
+     */
+    static Map<ReadQuery, Integer> parseReadMix(String value) {
+        Map<ReadQuery, Integer> mix = new EnumMap<>(ReadQuery.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected query=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight: " + entry);
+            }
+            mix.put(ReadQuery.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one query needs a positive weight");
+        }
+        return mix;
     }
 
     /**
      * Main entry point
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("analyze-journal")) {
+            JournalAnalyzer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("init-schema")) {
+            SchemaBootstrap.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         Config config = new Config();
 
         // Parse command-line arguments
@@ -976,6 +2964,47 @@ public class WorkloadSimulator {
                 case "--read-rate":
                     config.readRatePerWorker = Integer.parseInt(args[++i]);
                     break;
+                case "--write-profile":
+                case "--read-profile":
+                    String option = args[i];
+                    String profileValue = args[++i];
+                    try {
+                        WorkloadProfile profile = WorkloadProfile.parse(profileValue);
+                        if (option.equals("--write-profile")) {
+                            config.writeProfile = profile;
+                        } else {
+                            config.readProfile = profile;
+                        }
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.err.println("Error: Invalid " + option + ": " + e.getMessage());
+                        System.err.println("Format: \"ramp 100 1000 60s; hold 1000 5m; burst 500 2000 60s 10s 10m; sine 800 400 1h 24h; repeat\" or @file");
+                        System.exit(1);
+                    }
+                    break;
+                case "--max-write-workers":
+                    config.maxWriteWorkers = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-read-workers":
+                    config.maxReadWorkers = Integer.parseInt(args[++i]);
+                    break;
+                case "--discover-capacity":
+                    config.discoverCapacity = true;
+                    break;
+                case "--slo-p99-ms":
+                    config.sloP99Ms = Double.parseDouble(args[++i]);
+                    break;
+                case "--discover-step-factor":
+                    config.discoverStepFactor = Double.parseDouble(args[++i]);
+                    break;
+                case "--discover-max-rate":
+                    config.discoverMaxRate = Double.parseDouble(args[++i]);
+                    break;
+                case "--discover-warmup-seconds":
+                    config.discoverWarmupSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--discover-step-seconds":
+                    config.discoverStepSeconds = Integer.parseInt(args[++i]);
+                    break;
                 case "--connection-pool-size":
                     config.connectionPoolSize = Integer.parseInt(args[++i]);
                     break;
@@ -988,6 +3017,9 @@ public class WorkloadSimulator {
                 case "--enable-prometheus":
                     config.enablePrometheus = true;
                     break;
+                case "--metrics-port":
+                    config.metricsPort = Integer.parseInt(args[++i]);
+                    break;
                 case "--console-format":
                     String formatValue = args[++i];
                     try {
@@ -1010,6 +3042,176 @@ public class WorkloadSimulator {
                         System.exit(1);
                     }
                     break;
+                case "--host-attribution":
+                    String attributionValue = args[++i];
+                    try {
+                        config.hostAttribution = HostAttribution.valueOf(attributionValue.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid host attribution mode: " + attributionValue);
+                        System.err.println("Valid modes: connection, query, none");
+                        System.exit(1);
+                    }
+                    break;
+                case "--stmt-cache-size":
+                    config.statementCacheSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--server-prep-stmts":
+                    config.serverPrepStmts = true;
+                    break;
+                case "--executor":
+                    String executorValue = args[++i];
+                    try {
+                        config.executorMode = ExecutorMode.valueOf(executorValue.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid executor: " + executorValue);
+                        System.err.println("Valid executors: platform, virtual");
+                        System.exit(1);
+                    }
+                    break;
+                case "--write-mode":
+                    String writeModeValue = args[++i];
+                    try {
+                        config.writeMode = WriteMode.valueOf(writeModeValue.toUpperCase().replace('-', '_'));
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid write mode: " + writeModeValue);
+                        System.err.println("Valid modes: single, multi_row, jdbc_batch");
+                        System.exit(1);
+                    }
+                    break;
+                case "--batch-size":
+                    config.batchSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--batch-linger-ms":
+                    config.batchLingerMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--read-mix":
+                    String mixValue = args[++i];
+                    try {
+                        config.readMix = parseReadMix(mixValue);
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid read mix: " + mixValue + " (" + e.getMessage() + ")");
+                        System.err.println("Format: point=70,range=20,aggregate=10,system_vars=0");
+                        System.exit(1);
+                    }
+                    break;
+                case "--read-target":
+                    String targetValue = args[++i];
+                    try {
+                        config.readTarget = ReadTarget.valueOf(targetValue.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid read target: " + targetValue);
+                        System.err.println("Valid targets: writer, reader, custom, split");
+                        System.exit(1);
+                    }
+                    break;
+                case "--read-endpoint":
+                    config.readEndpoint = args[++i];
+                    break;
+                case "--pool":
+                    config.pools.add(args[++i]);
+                    break;
+                case "--route":
+                    String routeValue = args[++i];
+                    for (String route : routeValue.split(",")) {
+                        String[] parts = route.trim().split("=");
+                        if (parts.length != 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+                            System.err.println("Error: Invalid route: " + routeValue);
+                            System.err.println("Format: write=writer,read=reader,read.range=analytics");
+                            System.exit(1);
+                        }
+                        config.routes.put(parts[0].trim().toLowerCase(), parts[1].trim());
+                    }
+                    break;
+                case "--range-scan-seconds":
+                    config.rangeScanSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--tables":
+                    config.tables = Integer.parseInt(args[++i]);
+                    break;
+                case "--key-distribution":
+                    String distributionValue = args[++i];
+                    try {
+                        config.keyDistribution = DistributionType.valueOf(distributionValue.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid key distribution: " + distributionValue);
+                        System.err.println("Valid distributions: uniform, zipfian, hotspot, sequential, latest");
+                        System.exit(1);
+                    }
+                    break;
+                case "--zipf-theta":
+                    config.zipfTheta = Double.parseDouble(args[++i]);
+                    break;
+                case "--hotspot-tables":
+                    config.hotspotTables = Double.parseDouble(args[++i]);
+                    break;
+                case "--hotspot-ops":
+                    config.hotspotOps = Double.parseDouble(args[++i]);
+                    break;
+                case "--journal":
+                    config.journalPath = args[++i];
+                    break;
+                case "--journal-max-mb":
+                    config.journalMaxMb = Integer.parseInt(args[++i]);
+                    break;
+                case "--retry-max-attempts":
+                    config.retryMaxAttempts = Integer.parseInt(args[++i]);
+                    break;
+                case "--retry-base-ms":
+                    config.retryBaseMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--retry-max-ms":
+                    config.retryMaxMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--retry-budget":
+                    config.retryBudget = Double.parseDouble(args[++i]);
+                    break;
+                case "--retry-budget-burst":
+                    config.retryBudgetBurst = Integer.parseInt(args[++i]);
+                    break;
+                case "--retry-phase-pause-ms":
+                    config.retryPhasePauseMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--emulator":
+                    String emulatorValue = args[++i];
+                    try {
+                        config.emulator = AuroraEmulator.parse(emulatorValue);
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid --emulator: " + e.getMessage());
+                        System.err.println("Format: latency-ms=1,jitter-ms=0.5,switchover-at=60s,preparation=10s,outage=5s,post=60s");
+                        System.exit(1);
+                    }
+                    break;
+                case "--probe":
+                    config.probe = true;
+                    break;
+                case "--verify-writes":
+                    config.verifyWrites = true;
+                    break;
+                case "--verify-threads":
+                    config.verifyThreads = Integer.parseInt(args[++i]);
+                    break;
+                case "--probe-interval-ms":
+                    config.probeIntervalMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--probe-timeout-ms":
+                    config.probeTimeoutMs = Integer.parseInt(args[++i]);
+                    break;
+                case "--op-log-queue":
+                    config.opLogQueue = Integer.parseInt(args[++i]);
+                    break;
+                case "--op-log-sample":
+                    config.opLogSample = Double.parseDouble(args[++i]);
+                    break;
+                case "--op-log-when-full":
+                    String fullValue = args[++i];
+                    try {
+                        config.opLogWhenFull = OperationLog.FullPolicy.valueOf(fullValue.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Error: Invalid operation log full policy: " + fullValue);
+                        System.err.println("Valid policies: drop, block");
+                        System.exit(1);
+                    }
+                    break;
                 case "--help":
                     printUsage();
                     return;
@@ -1020,6 +3222,16 @@ public class WorkloadSimulator {
             }
         }
 
+        // The emulator needs neither a real endpoint nor a password
+        if (config.emulator != null) {
+            if (config.auroraEndpoint == null || config.auroraEndpoint.isEmpty()) {
+                config.auroraEndpoint = EMULATOR_ENDPOINT;
+            }
+            if (config.password == null || config.password.isEmpty()) {
+                config.password = "emulator";
+            }
+        }
+
         // Validate required parameters
         if (config.auroraEndpoint == null || config.auroraEndpoint.isEmpty()) {
             System.err.println("Error: --aurora-endpoint is required");
@@ -1042,6 +3254,103 @@ public class WorkloadSimulator {
             System.exit(1);
         }
 
+        if (config.readWorkers > 0) {
+            try {
+                resolveReadEndpoint(config);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        if (config.discoverCapacity && (config.writeProfile != null || config.writeRatePerWorker <= 0)) {
+            System.err.println("Error: --discover-capacity starts from --write-workers x --write-rate, "
+                + "which must be positive, and cannot be combined with --write-profile");
+            System.exit(1);
+        }
+
+        if (config.sloP99Ms <= 0 || config.discoverStepFactor <= 1 || config.discoverMaxRate < 0
+            || config.discoverWarmupSeconds < 0 || config.discoverStepSeconds < 1) {
+            System.err.println("Error: --slo-p99-ms must be positive, --discover-step-factor above 1, "
+                + "--discover-max-rate and --discover-warmup-seconds at least 0 and --discover-step-seconds at least 1");
+            System.exit(1);
+        }
+
+        if (config.probeIntervalMs < 1 || config.probeIntervalMs > 1000 || config.probeTimeoutMs < 250) {
+            System.err.println("Error: --probe-interval-ms must be between 1 and 1000 and --probe-timeout-ms at least 250");
+            System.exit(1);
+        }
+
+        if (config.verifyThreads < 1) {
+            System.err.println("Error: --verify-threads must be at least 1");
+            System.exit(1);
+        }
+
+        if (config.verifyWrites && config.emulator != null) {
+            System.err.println("Error: --verify-writes needs a real cluster; the emulator does not keep rows");
+            System.exit(1);
+        }
+
+        if (config.readProfile != null && config.readWorkers < 1) {
+            System.err.println("Error: --read-profile requires --read-workers");
+            System.exit(1);
+        }
+
+        if (config.maxWriteWorkers < 0 || config.maxReadWorkers < 0
+            || (config.maxReadWorkers > config.readWorkers && config.readWorkers < 1)) {
+            System.err.println("Error: --max-write-workers and --max-read-workers must be at least 0, "
+                + "and --max-read-workers requires --read-workers");
+            System.exit(1);
+        }
+
+        if (config.serverPrepStmts && config.statementCacheSize <= 0) {
+            System.err.println("Error: --server-prep-stmts requires --stmt-cache-size above 0; "
+                + "without the cache every INSERT is prepared and closed on the server");
+            System.exit(1);
+        }
+
+        if (config.tables < 1) {
+            System.err.println("Error: --tables must be at least 1");
+            System.exit(1);
+        }
+
+        if (config.zipfTheta <= 0 || config.zipfTheta >= 1) {
+            System.err.println("Error: --zipf-theta must be between 0 and 1 (exclusive)");
+            System.exit(1);
+        }
+
+        if (config.hotspotTables <= 0 || config.hotspotTables > 1 || config.hotspotOps < 0 || config.hotspotOps > 1) {
+            System.err.println("Error: --hotspot-tables must be in (0, 1] and --hotspot-ops in [0, 1]");
+            System.exit(1);
+        }
+
+        if (config.opLogQueue < 2 || config.opLogQueue > (1 << 24) || config.opLogSample < 0 || config.opLogSample > 1) {
+            System.err.println("Error: --op-log-queue must be between 2 and 16777216 and --op-log-sample in [0, 1]");
+            System.exit(1);
+        }
+
+        if (config.journalMaxMb < 1) {
+            System.err.println("Error: --journal-max-mb must be at least 1");
+            System.exit(1);
+        }
+
+        if (config.retryMaxAttempts < 1 || config.retryBaseMs < 0 || config.retryMaxMs < config.retryBaseMs
+            || config.retryBudgetBurst < 0 || config.retryPhasePauseMs < 0) {
+            System.err.println("Error: --retry-max-attempts must be at least 1, --retry-max-ms at least --retry-base-ms, "
+                + "and --retry-base-ms, --retry-budget-burst and --retry-phase-pause-ms at least 0");
+            System.exit(1);
+        }
+
+        if (config.batchSize < 1 || config.batchLingerMs < 0) {
+            System.err.println("Error: --batch-size must be at least 1 and --batch-linger-ms at least 0");
+            System.exit(1);
+        }
+
+        if (config.executorMode == ExecutorMode.VIRTUAL && Runtime.version().feature() < 21) {
+            System.err.println("Error: --executor virtual requires Java 21 or later (running " + Runtime.version() + ")");
+            System.exit(1);
+        }
+
         // Configure JUL to SLF4J bridge for AWS JDBC Wrapper logging
         // Note: Log level is controlled by wrapperLoggerLevel in JDBC URL, not Log4j2
         // This allows us to see AWS JDBC Wrapper logs through SLF4J/Log4j2
@@ -1051,14 +3360,20 @@ public class WorkloadSimulator {
 
         // Start the simulator
         WorkloadSimulator simulator = new WorkloadSimulator(config);
-        simulator.start();
+        if (!simulator.start()) {
+            org.apache.logging.log4j.LogManager.shutdown();
+            System.exit(1);
+        }
 
-        // Keep main thread alive
+        // Run until stopped, then tear down here rather than in the shutdown hook
         try {
-            Thread.currentThread().join();
+            simulator.awaitStop();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        // Log4j's own shutdown hook is disabled so the teardown above could still log
+        org.apache.logging.log4j.LogManager.shutdown();
+        System.exit(0);
     }
 
     /**
@@ -1068,6 +3383,8 @@ public class WorkloadSimulator {
         System.out.println("Aurora Blue-Green Workload Simulator");
         System.out.println("\nUsage:");
         System.out.println("  java -jar workload-simulator.jar [options]");
+        System.out.println("  java -jar workload-simulator.jar analyze-journal <journal> [--help]");
+        System.out.println("  java -jar workload-simulator.jar init-schema --endpoint <endpoint> --password <password> [--help]");
         System.out.println("\nRequired options:");
         System.out.println("  --aurora-endpoint <endpoint>    Aurora cluster writer endpoint");
         System.out.println("\nOptional options:");
@@ -1078,12 +3395,59 @@ public class WorkloadSimulator {
         System.out.println("  --write-rate <rate>             Writes per second per worker (default: 100)");
         System.out.println("  --read-workers <count>          Number of read workers (default: 0)");
         System.out.println("  --read-rate <rate>              Reads per second per worker (default: 100)");
+        System.out.println("  --write-profile <phases|@file>  Time-varying total write rate, replaces --write-rate (ramp, hold, burst, sine, repeat)");
+        System.out.println("  --read-profile <phases|@file>   Time-varying total read rate, replaces --read-rate");
+        System.out.println("  --max-write-workers <count>     Let the write worker count follow the target rate up to this many (default: --write-workers)");
+        System.out.println("  --max-read-workers <count>      Let the read worker count follow the target rate up to this many (default: --read-workers)");
+        System.out.println("  --discover-capacity             Step the write rate up to find the highest one within --slo-p99-ms, report and exit");
+        System.out.println("  --slo-p99-ms <ms>               P99 write latency SLO of the capacity search (default: 50)");
+        System.out.println("  --discover-step-factor <factor> Write rate growth per step (default: 1.25)");
+        System.out.println("  --discover-max-rate <rate>      Highest write rate to try, 0 for no limit (default: 0)");
+        System.out.println("  --discover-warmup-seconds <s>   Seconds ignored after each rate change (default: 15)");
+        System.out.println("  --discover-step-seconds <s>     Seconds measured per step (default: 60)");
+        System.out.println("  --emulator <key=value,...>      Run against an in-process Aurora emulator (keys: latency-ms, jitter-ms, switchover-at,");
+        System.out.println("                                  preparation, outage, post, blue-host, green-host, blue-version, green-version)");
+        System.out.println("  --verify-writes                 Stamp every row with its worker and sequence number, verify all of them after the run");
+        System.out.println("  --verify-threads <count>        Parallel readers of the write verification (default: 8)");
+        System.out.println("  --probe                         Probe writer and reader availability every few ms, apart from the workload");
+        System.out.println("  --probe-interval-ms <ms>        Time between probes (default: 20)");
+        System.out.println("  --probe-timeout-ms <ms>         Connect, socket and checkout timeout of the probes (default: 1000)");
         System.out.println("  --connection-pool-size <size>   Connection pool size (default: 100)");
         System.out.println("  --log-interval <seconds>        Statistics log interval (default: 10)");
         System.out.println("  --blue-green-deployment-id <id> Blue-Green deployment ID (optional, auto-detect if not provided)");
-        System.out.println("  --enable-prometheus             Enable Prometheus metrics export");
+        System.out.println("  --enable-prometheus             Enable Prometheus metrics export on /metrics");
+        System.out.println("  --metrics-port <port>           Prometheus scrape port (default: 9090)");
         System.out.println("  --console-format <format>       Console output format: verbose, event_driven, dashboard (default: dashboard)");
         System.out.println("  --jdbc-log-level <level>        JDBC wrapper log level (JUL): FINEST, FINER, FINE, CONFIG, INFO, WARNING, SEVERE (default: INFO)");
+        System.out.println("  --host-attribution <mode>       Write host attribution: connection, query, none (default: connection)");
+        System.out.println("  --stmt-cache-size <count>       Prepared statements cached per connection, 0 disables (default: 0)");
+        System.out.println("  --server-prep-stmts             Use server-side prepared statements (useServerPrepStmts), needs --stmt-cache-size");
+        System.out.println("  --executor <type>               Worker threads: platform, virtual (Java 21+) (default: platform)");
+        System.out.println("  --write-mode <mode>             Write path: single, multi_row, jdbc_batch (default: single)");
+        System.out.println("  --batch-size <rows>             Rows per batch in multi_row/jdbc_batch mode (default: 100)");
+        System.out.println("  --batch-linger-ms <ms>          Longest a partial batch waits before it is flushed (default: 10)");
+        System.out.println("  --read-mix <mix>                Read query weights: point, range, aggregate, system_vars (default: system_vars=100)");
+        System.out.println("  --read-target <target>          Read endpoint: writer, reader, custom, split (default: writer)");
+        System.out.println("  --read-endpoint <endpoint>      Endpoint for --read-target custom (or to override the derived reader endpoint)");
+        System.out.println("  --pool <name:key=value,...>     Add a pool or change one (keys: endpoint, size, min-idle, plugins=a+b); repeatable");
+        System.out.println("  --route <op=pool,...>           Route write, read or read.<query> to a pool; repeatable");
+        System.out.println("  --range-scan-seconds <seconds>  Recent col4 window covered by a range scan (default: 60)");
+        System.out.println("  --tables <count>                Number of test_NNNN tables, as created by init-schema.sh (default: 12000)");
+        System.out.println("  --key-distribution <type>       Table selection: uniform, zipfian, hotspot, sequential, latest (default: uniform)");
+        System.out.println("  --zipf-theta <theta>            Skew of zipfian/latest, between 0 and 1 (default: 0.99)");
+        System.out.println("  --hotspot-tables <fraction>     Share of tables in the hot set (default: 0.05)");
+        System.out.println("  --hotspot-ops <fraction>        Share of operations sent to the hot set (default: 0.9)");
+        System.out.println("  --op-log-queue <events>         Operation log queue size, rounded up to a power of two (default: 65536)");
+        System.out.println("  --op-log-sample <fraction>      Share of successful operations logged; failures are always logged (default: 1.0)");
+        System.out.println("  --op-log-when-full <policy>     When the operation log queue is full: drop, block (default: drop)");
+        System.out.println("  --journal <file>                Record every operation in a binary journal (see analyze-journal)");
+        System.out.println("  --journal-max-mb <mb>           Journal size limit; later operations are not recorded (default: 4096)");
+        System.out.println("  --retry-max-attempts <count>    Attempts per operation, including the first (default: 5)");
+        System.out.println("  --retry-base-ms <ms>            Backoff ceiling of the first retry, doubled per attempt, full jitter (default: 100)");
+        System.out.println("  --retry-max-ms <ms>             Largest backoff ceiling (default: 5000)");
+        System.out.println("  --retry-budget <retries/sec>    Retries per second across all workers, 0 unlimited (default: 20% of target rate)");
+        System.out.println("  --retry-budget-burst <count>    Retries that can be taken at once (default: one per worker)");
+        System.out.println("  --retry-phase-pause-ms <ms>     Longest a retry waits while the switchover is IN_PROGRESS (default: 60000)");
         System.out.println("  --help                          Show this help message");
         System.out.println("\nExamples:");
         System.out.println("  # Basic usage");
@@ -1097,6 +3461,22 @@ public class WorkloadSimulator {
         System.out.println("    --write-rate 200 \\");
         System.out.println("    --connection-pool-size 500 \\");
         System.out.println("    --password MySecretPassword");
+        System.out.println("\n  # Thousands of simulated clients on virtual threads (Java 21+)");
+        System.out.println("  java -jar workload-simulator.jar \\");
+        System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
+        System.out.println("    --executor virtual \\");
+        System.out.println("    --write-workers 5000 \\");
+        System.out.println("    --write-rate 1 \\");
+        System.out.println("    --connection-pool-size 200 \\");
+        System.out.println("    --password MySecretPassword");
+        System.out.println("\n  # Batched ingestion: 20,000 rows/sec in multi-row INSERTs of 200 rows");
+        System.out.println("  java -jar workload-simulator.jar \\");
+        System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
+        System.out.println("    --write-mode multi_row \\");
+        System.out.println("    --batch-size 200 \\");
+        System.out.println("    --write-workers 20 \\");
+        System.out.println("    --write-rate 1000 \\");
+        System.out.println("    --password MySecretPassword");
         System.out.println("\n  # Mixed workload (write + read)");
         System.out.println("  java -jar workload-simulator.jar \\");
         System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
@@ -1105,6 +3485,28 @@ public class WorkloadSimulator {
         System.out.println("    --read-workers 10 \\");
         System.out.println("    --read-rate 50 \\");
         System.out.println("    --password MySecretPassword");
+        System.out.println("\n  # Table reads on the reader endpoint");
+        System.out.println("  java -jar workload-simulator.jar \\");
+        System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
+        System.out.println("    --read-workers 10 \\");
+        System.out.println("    --read-target reader \\");
+        System.out.println("    --read-mix point=70,range=20,aggregate=10 \\");
+        System.out.println("    --password MySecretPassword");
+        System.out.println("\n  # Ramp to 5,000 writes/sec, hold, then a burst every minute; workers scale up to 200");
+        System.out.println("  java -jar workload-simulator.jar \\");
+        System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
+        System.out.println("    --write-profile \"ramp 500 5000 5m; hold 5000 10m; burst 5000 10000 60s 10s 10m\" \\");
+        System.out.println("    --write-workers 50 \\");
+        System.out.println("    --max-write-workers 200 \\");
+        System.out.println("    --password MySecretPassword");
+        System.out.println("\n  # Capacity check before a switchover: highest write rate with P99 under 20ms");
+        System.out.println("  java -jar workload-simulator.jar \\");
+        System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
+        System.out.println("    --discover-capacity \\");
+        System.out.println("    --slo-p99-ms 20 \\");
+        System.out.println("    --write-workers 20 \\");
+        System.out.println("    --write-rate 50 \\");
+        System.out.println("    --password MySecretPassword");
         System.out.println("\n  # Event-driven console output for cleaner logs");
         System.out.println("  java -jar workload-simulator.jar \\");
         System.out.println("    --aurora-endpoint my-cluster.cluster-xxxxx.us-east-1.rds.amazonaws.com \\");
@@ -0,0 +1,93 @@
+package com.aws.aurora;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Rows buffered by one write worker until they are flushed together
+ *
+ * A batch fills a single table, the way an ingestion service batches per
+ * destination table, so it can be flushed as one multi-row INSERT or one
+ * JDBC batch. It is flushed when it reaches its capacity or when its linger
+ * time, counted from the intended start of its first row, runs out.
+ * Buffers are allocated once per worker and reused for every batch.
+ */
+class WriteBatch {
+
+    // Parameters bound per row: col1..col5
+    static final int COLUMNS = 5;
+
+    private final long[] intendedStarts;
+    private final int[] values;
+    private final long[] timestamps;
+    private int tableId;
+    private int size;
+    private long deadlineNanos;
+
+    WriteBatch(int capacity) {
+        this.intendedStarts = new long[capacity];
+        this.values = new int[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    /**
+     * Start a new batch for the given table, flushed no later than deadlineNanos
+     */
+    void open(int tableId, long deadlineNanos) {
+        this.tableId = tableId;
+        this.deadlineNanos = deadlineNanos;
+        this.size = 0;
+    }
+
+    void add(long intendedStart, int value, long timestamp) {
+        intendedStarts[size] = intendedStart;
+        values[size] = value;
+        timestamps[size] = timestamp;
+        size++;
+    }
+
+    /**
+     * Bind one buffered row starting at the given parameter index; col5 is
+     * the row's write stamp, or the fixed test value
+     */
+    void bindRow(PreparedStatement stmt, int row, int firstParameter,
+                 String dataValue, String workerValue, String col5) throws SQLException {
+        stmt.setString(firstParameter, dataValue);
+        stmt.setInt(firstParameter + 1, values[row]);
+        stmt.setString(firstParameter + 2, workerValue);
+        stmt.setLong(firstParameter + 3, timestamps[row]);
+        stmt.setString(firstParameter + 4, col5);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isFull() {
+        return size == intendedStarts.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getTableId() {
+        return tableId;
+    }
+
+    long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    long getIntendedStart(int row) {
+        return intendedStarts[row];
+    }
+
+    long getTimestamp(int row) {
+        return timestamps[row];
+    }
+}
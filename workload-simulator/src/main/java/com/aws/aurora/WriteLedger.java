@@ -0,0 +1,167 @@
+package com.aws.aurora;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Client-side outcome of every write of a run, for verifying it afterwards
+ *
+ * Each write worker numbers its rows 1, 2, 3, ... and stamps col5 with
+ * "&lt;run&gt;:&lt;worker&gt;:&lt;seq&gt;". A worker finishes its rows in
+ * sequence order, so outcomes are kept run-length encoded: a new run starts
+ * only when the outcome changes. A billion acknowledged writes with a few
+ * outages cost a few runs per outage, not a bit or an object per write.
+ *
+ * A failed attempt is ambiguous when the statement or the COMMIT had been
+ * sent: the server may have committed it even though the client saw an
+ * error. Rows reserved but never recorded, because the worker died or was
+ * stopped mid-write, count as ambiguous too.
+ */
+class WriteLedger {
+
+    enum Outcome {
+        ACKED,                  // Acknowledged, no attempt was ambiguous
+        ACKED_AFTER_AMBIGUOUS,  // Acknowledged by a retry after an ambiguous attempt; may be duplicated
+        AMBIGUOUS,              // Gave up after an ambiguous attempt; may or may not be committed
+        FAILED;                 // Gave up, and no attempt reached the database
+
+        static Outcome of(boolean acked, boolean ambiguous) {
+            if (acked) {
+                return ambiguous ? ACKED_AFTER_AMBIGUOUS : ACKED;
+            }
+            return ambiguous ? AMBIGUOUS : FAILED;
+        }
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final String runId;
+    private final String stampPrefix;
+    private final ConcurrentHashMap<Integer, Worker> workers = new ConcurrentHashMap<>();
+
+    WriteLedger() {
+        this.runId = String.format("%012x", ThreadLocalRandom.current().nextLong() >>> 16);
+        this.stampPrefix = runId + ":";
+    }
+
+    String getRunId() {
+        return runId;
+    }
+
+    /**
+     * col5 prefix shared by every row of this run, for LIKE filters
+     */
+    String getStampPrefix() {
+        return stampPrefix;
+    }
+
+    /**
+     * The ledger of one write worker, created on its first write
+     */
+    Worker worker(int workerId) {
+        return workers.computeIfAbsent(workerId, id -> new Worker(id, stampPrefix + id + ":"));
+    }
+
+    Worker find(int workerId) {
+        return workers.get(workerId);
+    }
+
+    /**
+     * Workers by id; only once they have stopped writing
+     */
+    List<Worker> getWorkers() {
+        List<Worker> sorted = new ArrayList<>(workers.values());
+        sorted.sort(Comparator.comparingInt(w -> w.workerId));
+        return sorted;
+    }
+
+    /**
+     * Write ids and outcomes of one worker. Written by that worker's thread
+     * only; read once the worker executor has terminated, which publishes them.
+     */
+    static final class Worker {
+        final int workerId;
+        private final String stampPrefix;
+        private long nextSeq = 1;       // Next sequence number to hand out
+        private long recordedEnd = 1;   // Sequence numbers below this have an outcome
+        private long[] runStarts = new long[16];
+        private byte[] runOutcomes = new byte[16];
+        private int runs;
+
+        Worker(int workerId, String stampPrefix) {
+            this.workerId = workerId;
+            this.stampPrefix = stampPrefix;
+        }
+
+        /**
+         * Reserve sequence numbers for the next count rows; returns the first
+         */
+        long reserve(int count) {
+            long first = nextSeq;
+            nextSeq += count;
+            return first;
+        }
+
+        String stamp(long seq) {
+            return stampPrefix + seq;
+        }
+
+        /**
+         * Record the outcome of count rows starting at firstSeq. Rows reserved
+         * before firstSeq without an outcome are recorded as ambiguous.
+         */
+        void record(long firstSeq, int count, Outcome outcome) {
+            if (firstSeq > recordedEnd) {
+                append(recordedEnd, Outcome.AMBIGUOUS);
+            }
+            append(firstSeq, outcome);
+            recordedEnd = firstSeq + count;
+        }
+
+        private void append(long start, Outcome outcome) {
+            if (runs > 0 && runOutcomes[runs - 1] == outcome.ordinal()) {
+                return;
+            }
+            if (runs == runStarts.length) {
+                runStarts = Arrays.copyOf(runStarts, runs * 2);
+                runOutcomes = Arrays.copyOf(runOutcomes, runs * 2);
+            }
+            runStarts[runs] = start;
+            runOutcomes[runs] = (byte) outcome.ordinal();
+            runs++;
+        }
+
+        /**
+         * Highest sequence number handed out, 0 if none
+         */
+        long getMaxSeq() {
+            return nextSeq - 1;
+        }
+
+        int getRuns() {
+            return runs;
+        }
+
+        /**
+         * Visit [start, end) ranges of equal outcome in order, including an
+         * ambiguous tail of rows that were reserved but never recorded
+         */
+        void forEachRun(RunVisitor visitor) {
+            for (int run = 0; run < runs; run++) {
+                long end = run + 1 < runs ? runStarts[run + 1] : recordedEnd;
+                visitor.visit(runStarts[run], end, OUTCOMES[runOutcomes[run]]);
+            }
+            if (nextSeq > recordedEnd) {
+                visitor.visit(recordedEnd, nextSeq, Outcome.AMBIGUOUS);
+            }
+        }
+    }
+
+    interface RunVisitor {
+        void visit(long startSeq, long endSeq, Outcome outcome);
+    }
+}
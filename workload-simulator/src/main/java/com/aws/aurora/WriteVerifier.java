@@ -0,0 +1,368 @@
+package com.aws.aurora;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Reads every row of a run back after it and compares it with the {@link WriteLedger}
+ *
+ * Each table is split into primary key ranges, which threads claim from a
+ * shared cursor. A range is read with one query filtered on the run's col5
+ * prefix, and every stamp found sets a bit in its worker's seen bitmap. A
+ * bit that is already set marks a duplicate. The bitmaps are allocated
+ * lazily in 64K-bit pages, so memory follows the rows found: about 8 KB per
+ * 65536 writes.
+ *
+ * Afterwards the ledger's runs are compared with the bitmaps:
+ * - lost: acknowledged, not found
+ * - duplicated: found more than once
+ * - phantom: found, but the client saw it fail without the statement ever
+ *   reaching the database, or the stamp was never handed out
+ * Ambiguous writes may or may not be there; how many were is reported.
+ */
+class WriteVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteVerifier.class);
+
+    // Primary key ids per range query
+    private static final long RANGE_IDS = 50_000;
+    private static final int MAX_RANGE_ATTEMPTS = 3;
+    private static final int PROGRESS_SECONDS = 10;
+    private static final int MAX_EXAMPLES = 10;
+
+    private final DataSource dataSource;
+    private final String[] tableNames;
+    private final WriteLedger ledger;
+    private final int threads;
+
+    private final Map<Integer, Bitmap> seen = new HashMap<>();
+    private final Map<Integer, Bitmap> duplicated = new HashMap<>();
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder rangesRead = new LongAdder();
+    private final LongAdder failedRanges = new LongAdder();
+    private final LongAdder unknownRows = new LongAdder();
+    private final LongAdder extraRows = new LongAdder();
+
+    WriteVerifier(DataSource dataSource, String[] tableNames, WriteLedger ledger, int threads) {
+        this.dataSource = dataSource;
+        this.tableNames = tableNames;
+        this.ledger = ledger;
+        this.threads = threads;
+        for (WriteLedger.Worker worker : ledger.getWorkers()) {
+            seen.put(worker.workerId, new Bitmap(worker.getMaxSeq()));
+            duplicated.put(worker.workerId, new Bitmap(worker.getMaxSeq()));
+        }
+    }
+
+    /**
+     * Read the tables back and compare; returns the report lines
+     */
+    List<String> run() {
+        long start = System.nanoTime();
+        int tables = tableNames.length - 1;
+
+        // Split every table into primary key ranges, reading the table bounds in parallel
+        long[] minIds = new long[tables + 1];
+        long[] maxIds = new long[tables + 1];
+        AtomicInteger nextTable = new AtomicInteger(1);
+        runParallel("bounds", () -> {
+            int tableId;
+            while ((tableId = nextTable.getAndIncrement()) <= tables) {
+                readBounds(tableId, minIds, maxIds);
+            }
+        }, () -> String.format("table bounds %d/%d", Math.min(nextTable.get() - 1, tables), tables));
+
+        List<long[]> ranges = new ArrayList<>();
+        for (int tableId = 1; tableId <= tables; tableId++) {
+            for (long from = minIds[tableId]; from > 0 && from <= maxIds[tableId]; from += RANGE_IDS) {
+                ranges.add(new long[] {tableId, from, Math.min(from + RANGE_IDS, maxIds[tableId] + 1)});
+            }
+        }
+
+        AtomicInteger nextRange = new AtomicInteger();
+        runParallel("ranges", () -> {
+            int range;
+            while ((range = nextRange.getAndIncrement()) < ranges.size()) {
+                long[] r = ranges.get(range);
+                readRange((int) r[0], r[1], r[2]);
+                rangesRead.increment();
+            }
+        }, () -> String.format("ranges %d/%d, %d rows of this run", rangesRead.sum(), ranges.size(), rowsRead.sum()));
+
+        return compare(ranges.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private void runParallel(String name, Runnable task, Supplier<String> progress) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "verify-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Write verification thread failed", e);
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(PROGRESS_SECONDS, TimeUnit.SECONDS)) {
+                logger.info("Write verification: {}", progress.get());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readBounds(int tableId, long[] minIds, long[] maxIds) {
+        String sql = "SELECT MIN(id), MAX(id) FROM " + tableNames[tableId];
+        for (int attempt = 1; attempt <= MAX_RANGE_ATTEMPTS; attempt++) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    minIds[tableId] = rs.getLong(1);
+                    maxIds[tableId] = rs.getLong(2);
+                }
+                return;
+            } catch (SQLException e) {
+                if (attempt == MAX_RANGE_ATTEMPTS) {
+                    logger.warn("Could not read the id range of {}: {}", tableNames[tableId], e.getMessage());
+                    failedRanges.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark the stamps of this run in ids [fromId, toId) of one table. Marks
+     * are applied only once the whole range has been read, so a range that
+     * fails halfway and is retried is not counted twice.
+     */
+    private void readRange(int tableId, long fromId, long toId) {
+        String sql = "SELECT col5 FROM " + tableNames[tableId] + " WHERE id >= ? AND id < ? AND col5 LIKE ?";
+        List<String> stamps = new ArrayList<>();
+        for (int attempt = 1; attempt <= MAX_RANGE_ATTEMPTS; attempt++) {
+            stamps.clear();
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, fromId);
+                stmt.setLong(2, toId);
+                stmt.setString(3, ledger.getStampPrefix() + "%");
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stamps.add(rs.getString(1));
+                    }
+                }
+                for (String stamp : stamps) {
+                    mark(stamp);
+                }
+                rowsRead.add(stamps.size());
+                return;
+            } catch (SQLException e) {
+                if (attempt == MAX_RANGE_ATTEMPTS) {
+                    logger.warn("Could not read ids {}-{} of {}: {}", fromId, toId - 1, tableNames[tableId],
+                        e.getMessage());
+                    failedRanges.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse "&lt;run&gt;:&lt;worker&gt;:&lt;seq&gt;" and set its seen bit
+     */
+    private void mark(String stamp) {
+        int prefix = ledger.getStampPrefix().length();
+        int colon = stamp.indexOf(':', prefix);
+        try {
+            if (colon > prefix) {
+                int workerId = Integer.parseInt(stamp, prefix, colon, 10);
+                long seq = Long.parseLong(stamp, colon + 1, stamp.length(), 10);
+                Bitmap bitmap = seen.get(workerId);
+                if (bitmap != null && bitmap.contains(seq)) {
+                    if (bitmap.set(seq)) {
+                        duplicated.get(workerId).set(seq);
+                        extraRows.increment();
+                    }
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Counted as an unknown stamp
+        }
+        unknownRows.increment();
+    }
+
+    /**
+     * Walk every worker's outcome runs over its bitmaps
+     */
+    private List<String> compare(int ranges, double seconds) {
+        long[] writes = new long[WriteLedger.Outcome.values().length];
+        long[] found = new long[writes.length];
+        long[] duplicatedWrites = new long[writes.length];
+        List<String> lostExamples = new ArrayList<>();
+        List<String> phantomExamples = new ArrayList<>();
+        long runs = 0;
+
+        for (WriteLedger.Worker worker : ledger.getWorkers()) {
+            Bitmap seenBits = seen.get(worker.workerId);
+            Bitmap duplicatedBits = duplicated.get(worker.workerId);
+            runs += worker.getRuns();
+            worker.forEachRun((startSeq, endSeq, outcome) -> {
+                int o = outcome.ordinal();
+                long present = seenBits.count(startSeq, endSeq);
+                writes[o] += endSeq - startSeq;
+                found[o] += present;
+                duplicatedWrites[o] += duplicatedBits.count(startSeq, endSeq);
+                if ((outcome == WriteLedger.Outcome.ACKED || outcome == WriteLedger.Outcome.ACKED_AFTER_AMBIGUOUS)
+                    && present < endSeq - startSeq) {
+                    seenBits.collectClear(startSeq, endSeq, worker.workerId, lostExamples);
+                } else if (outcome == WriteLedger.Outcome.FAILED && present > 0) {
+                    seenBits.collectSet(startSeq, endSeq, worker.workerId, phantomExamples);
+                }
+            });
+        }
+
+        int acked = WriteLedger.Outcome.ACKED.ordinal();
+        int ackedAfter = WriteLedger.Outcome.ACKED_AFTER_AMBIGUOUS.ordinal();
+        int ambiguous = WriteLedger.Outcome.AMBIGUOUS.ordinal();
+        int failed = WriteLedger.Outcome.FAILED.ordinal();
+        long lost = writes[acked] - found[acked] + writes[ackedAfter] - found[ackedAfter];
+        long phantom = found[failed] + unknownRows.sum();
+        long duplicates = duplicatedWrites[acked] + duplicatedWrites[ackedAfter] + duplicatedWrites[ambiguous]
+            + duplicatedWrites[failed];
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Write verification (run %s): %d rows of this run read in %d ranges of %d tables in %.1fs%s",
+            ledger.getRunId(), rowsRead.sum(), ranges, tableNames.length - 1, seconds,
+            failedRanges.sum() > 0 ? String.format(" | %d ranges FAILED to read, results incomplete", failedRanges.sum()) : ""));
+        lines.add(String.format("Writes: %d acknowledged | %d acknowledged after an ambiguous attempt | %d ambiguous (%d committed) | %d failed | %d outcome runs",
+            writes[acked], writes[ackedAfter], writes[ambiguous], found[ambiguous], writes[failed], runs));
+        lines.add(String.format("%s: Lost: %d | Duplicated: %d writes, %d extra rows (%d after an ambiguous attempt) | Phantom: %d (%d failed writes, %d unknown stamps)",
+            lost == 0 && phantom == 0 && duplicates == 0 && failedRanges.sum() == 0 ? "PASS" : "FAIL",
+            lost, duplicates, extraRows.sum(), duplicatedWrites[ackedAfter] + duplicatedWrites[ambiguous],
+            phantom, found[failed], unknownRows.sum()));
+        if (!lostExamples.isEmpty()) {
+            lines.add("Lost writes (worker:seq): " + String.join(", ", lostExamples));
+        }
+        if (!phantomExamples.isEmpty()) {
+            lines.add("Phantom writes (worker:seq): " + String.join(", ", phantomExamples));
+        }
+        return lines;
+    }
+
+    /**
+     * Bits 1..maxSeq in lazily allocated pages of 65536 bits; set is atomic
+     */
+    static final class Bitmap {
+        private static final int PAGE_BITS = 16;
+        private static final int PAGE_WORDS = (1 << PAGE_BITS) / 64;
+
+        private final long maxSeq;
+        private final AtomicReferenceArray<AtomicLongArray> pages;
+
+        Bitmap(long maxSeq) {
+            this.maxSeq = maxSeq;
+            this.pages = new AtomicReferenceArray<>((int) (maxSeq >>> PAGE_BITS) + 1);
+        }
+
+        boolean contains(long seq) {
+            return seq >= 1 && seq <= maxSeq;
+        }
+
+        /**
+         * Set a bit; returns true if it was already set
+         */
+        boolean set(long seq) {
+            AtomicLongArray page = page((int) (seq >>> PAGE_BITS));
+            int word = (int) (seq >>> 6) & (PAGE_WORDS - 1);
+            long mask = 1L << seq;
+            long previous;
+            do {
+                previous = page.get(word);
+            } while ((previous & mask) == 0 && !page.compareAndSet(word, previous, previous | mask));
+            return (previous & mask) != 0;
+        }
+
+        private AtomicLongArray page(int index) {
+            AtomicLongArray page = pages.get(index);
+            if (page == null) {
+                pages.compareAndSet(index, null, new AtomicLongArray(PAGE_WORDS));
+                page = pages.get(index);
+            }
+            return page;
+        }
+
+        boolean get(long seq) {
+            AtomicLongArray page = pages.get((int) (seq >>> PAGE_BITS));
+            return page != null && (page.get((int) (seq >>> 6) & (PAGE_WORDS - 1)) & (1L << seq)) != 0;
+        }
+
+        /**
+         * Set bits in [from, to)
+         */
+        long count(long from, long to) {
+            long count = 0;
+            long seq = from;
+            while (seq < to) {
+                AtomicLongArray page = pages.get((int) (seq >>> PAGE_BITS));
+                long pageEnd = Math.min(to, ((seq >>> PAGE_BITS) + 1) << PAGE_BITS);
+                if (page == null) {
+                    seq = pageEnd;
+                    continue;
+                }
+                while (seq < pageEnd) {
+                    long wordEnd = Math.min(pageEnd, (seq | 63) + 1);
+                    long bits = page.get((int) (seq >>> 6) & (PAGE_WORDS - 1)) >>> (seq & 63);
+                    int width = (int) (wordEnd - seq);
+                    if (width < 64) {
+                        bits &= (1L << width) - 1;
+                    }
+                    count += Long.bitCount(bits);
+                    seq = wordEnd;
+                }
+            }
+            return count;
+        }
+
+        void collectSet(long from, long to, int workerId, List<String> examples) {
+            for (long seq = from; seq < to && examples.size() < MAX_EXAMPLES; seq++) {
+                if (get(seq)) {
+                    examples.add(workerId + ":" + seq);
+                }
+            }
+        }
+
+        void collectClear(long from, long to, int workerId, List<String> examples) {
+            for (long seq = from; seq < to && examples.size() < MAX_EXAMPLES; seq++) {
+                if (!get(seq)) {
+                    examples.add(workerId + ":" + seq);
+                }
+            }
+        }
+    }
+}
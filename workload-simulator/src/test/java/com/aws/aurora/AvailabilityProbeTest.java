@@ -0,0 +1,70 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the write probe through an emulated switchover and checks the
+ * unavailable window it measures from blue to green
+ */
+class AvailabilityProbeTest {
+
+    private static final String BLUE = "ip-10-0-1-10";
+    private static final String GREEN = "ip-10-0-2-10";
+
+    @Test
+    void writeProbeMeasuresTheSwitchoverWindow() throws Exception {
+        AuroraEmulator emulator = AuroraEmulator.parse(
+            "latency-ms=0,jitter-ms=0,switchover-at=500ms,preparation=200ms,outage=300ms,post=200ms,"
+                + "blue-host=" + BLUE + ",green-host=" + GREEN);
+        DataSource dataSource = emulator.dataSource("emulated.cluster-emulator.us-east-1.rds.amazonaws.com");
+        AvailabilityProbe probe = new AvailabilityProbe(AvailabilityProbe.Kind.WRITE, dataSource, "emulated", 5, "test");
+
+        emulator.start();
+        try {
+            probe.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!(probe.getSwitchover() != null && probe.isUp()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            probe.stop();
+        } finally {
+            emulator.close();
+        }
+
+        AvailabilityProbe.Window switchover = probe.getSwitchover();
+        assertNotNull(switchover);
+        assertEquals(BLUE, switchover.lastHost);
+        assertEquals(GREEN, switchover.nextHost);
+        assertTrue(switchover.isHostChange());
+        assertTrue(switchover.failedProbes > 0);
+        assertTrue(switchover.getUnavailableSeconds() >= 0.2 && switchover.getUnavailableSeconds() < 5,
+            switchover.describe());
+        assertTrue(switchover.nextSuccessMillis >= switchover.lastSuccessMillis);
+        assertEquals(GREEN, probe.getCurrentHost());
+        assertTrue(probe.isUp());
+        assertTrue(probe.getMaxUnavailableSeconds() >= switchover.getUnavailableSeconds());
+        assertTrue(probe.getSucceeded() > 0);
+        assertEquals(switchover.failedProbes, probe.getFailed());
+
+        // The switchover is the only window and is handed to the statistics thread once
+        assertEquals(switchover, probe.pollWindow());
+        assertNull(probe.pollWindow());
+
+        List<String> report = probe.report();
+        assertTrue(report.get(0).startsWith("Write probe (emulated): "), report.get(0));
+        assertTrue(report.get(0).contains(probe.getFailed() + " failed | 1 unavailable windows"), report.get(0));
+        assertTrue(report.get(1).startsWith("Write probe switchover: last success on blue " + BLUE), report.get(1));
+        assertEquals("Write probe window: " + switchover.describe(), report.get(2));
+        assertTrue(switchover.describe().endsWith(" (host changed)"));
+        assertEquals(3, report.size(), String.join("\n", report));
+    }
+}
@@ -0,0 +1,59 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlueGreenPhaseTrackerTest {
+
+    @Test
+    void statusProviderMessagesAreParsed() {
+        assertEquals(BlueGreenPhase.IN_PROGRESS, BlueGreenPhaseTracker.parseStatus("BG status: IN_PROGRESS"));
+        assertEquals(BlueGreenPhase.CREATED,
+            BlueGreenPhaseTracker.parseStatus("[bgdId: '1-abc'] BG status: CREATED, role: SOURCE"));
+        assertEquals(BlueGreenPhase.NOT_CREATED, BlueGreenPhaseTracker.parseStatus("BG status: NOT_CREATED"));
+        assertEquals(BlueGreenPhase.PREPARATION, BlueGreenPhaseTracker.parseStatus("BG status:\n  PREPARATION"));
+    }
+
+    @Test
+    void statusMonitorMessagesAreParsed() {
+        assertEquals(BlueGreenPhase.POST, BlueGreenPhaseTracker.parseStatus("Status changed to: POST"));
+        assertEquals(BlueGreenPhase.COMPLETED,
+            BlueGreenPhaseTracker.parseStatus("[bgdId: '1-abc', role: TARGET] status changed to: COMPLETED"));
+        assertEquals(BlueGreenPhase.PREPARATION, BlueGreenPhaseTracker.parseStatus("Status changed to PREPARATION"));
+    }
+
+    @Test
+    void otherMessagesCarryNoPhase() {
+        assertNull(BlueGreenPhaseTracker.parseStatus(null));
+        assertNull(BlueGreenPhaseTracker.parseStatus("Switchover IN_PROGRESS"));
+        assertNull(BlueGreenPhaseTracker.parseStatus("BG status: UNKNOWN"));
+        assertNull(BlueGreenPhaseTracker.parseStatus("BG status: POSTPONED"));
+        assertNull(BlueGreenPhaseTracker.parseStatus("Interim status changed for host ip-10-0-1-10"));
+    }
+
+    @Test
+    void publishRecordsEachChangeOnce() {
+        BlueGreenPhaseTracker tracker = new BlueGreenPhaseTracker();
+        assertEquals(BlueGreenPhase.NOT_CREATED, tracker.current());
+        assertFalse(tracker.publish(BlueGreenPhase.NOT_CREATED, "test"));
+        assertTrue(tracker.publish(BlueGreenPhase.CREATED, "test"));
+        assertFalse(tracker.publish(BlueGreenPhase.CREATED, "test"));
+        assertTrue(tracker.publish(BlueGreenPhase.IN_PROGRESS, "test"));
+
+        BlueGreenPhaseTracker.Transition first = tracker.pollTransition();
+        assertEquals(1, first.sequence);
+        assertEquals(BlueGreenPhase.NOT_CREATED, first.previous);
+        assertEquals(BlueGreenPhase.CREATED, first.phase);
+        BlueGreenPhaseTracker.Transition second = tracker.pollTransition();
+        assertEquals(2, second.sequence);
+        assertEquals(BlueGreenPhase.CREATED, second.previous);
+        assertEquals(BlueGreenPhase.IN_PROGRESS, second.phase);
+        assertNull(tracker.pollTransition());
+        assertEquals(second, tracker.currentTransition());
+    }
+}
@@ -0,0 +1,109 @@
+package com.aws.aurora;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CapacitySearchTest {
+
+    private static final long MS = 1_000_000L;
+
+    /**
+     * One simulated second at a target rate
+     */
+    private static final class Second {
+        final long ops;
+        final long failed;
+        final long latencyNanos;
+
+        Second(long ops, long failed, long latencyNanos) {
+            this.ops = ops;
+            this.failed = failed;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+
+    /**
+     * Run the search against a simulated cluster and return the rate of every step
+     */
+    private static List<Double> run(CapacitySearch search, DoubleFunction<Second> cluster) {
+        List<Double> rates = new ArrayList<>();
+        double rate = search.getTargetRate();
+        rates.add(rate);
+        for (int second = 0; second < 1000 && rate >= 0; second++) {
+            Second result = cluster.apply(rate);
+            WindowedStats.Bucket bucket = new WindowedStats.Bucket(new LatencyRecorder[0]);
+            bucket.writeTarget = (long) rate;
+            bucket.writeOps = result.ops;
+            bucket.writeFailed = result.failed;
+            Histogram latency = LatencyRecorder.newHistogram();
+            latency.recordValueWithCount(result.latencyNanos, Math.max(1, result.ops));
+
+            double next = search.onSecond(bucket, latency, 10, 5, 10, 0);
+            if (next != rate && next >= 0) {
+                rates.add(next);
+            }
+            rate = next;
+        }
+        assertTrue(search.isFinished());
+        return rates;
+    }
+
+    private static String result(CapacitySearch search) {
+        List<String> report = search.report();
+        return report.get(report.size() - 1);
+    }
+
+    @Test
+    void growsToTheKneeThenBisects() {
+        CapacitySearch search = new CapacitySearch(20, 100, 2, 0, 1, 2, 3);
+        List<Double> rates = run(search, rate -> new Second((long) rate, 0, rate <= 1000 ? 5 * MS : 50 * MS));
+
+        assertEquals(List.of(100.0, 200.0, 400.0, 800.0, 1600.0), rates.subList(0, 5));
+        assertEquals(8, rates.size());
+        assertEquals(Math.sqrt(800 * 1600), rates.get(5), 1e-6);
+        assertEquals(Math.sqrt(800 * rates.get(5)), rates.get(6), 1e-6);
+        assertEquals(Math.sqrt(rates.get(6) * rates.get(5)), rates.get(7), 1e-6);
+
+        // The best passing step is the capacity, the lowest failing one the knee
+        String capacity = result(search);
+        assertTrue(capacity.startsWith("CAPACITY: 951 writes/sec"), capacity);
+        assertTrue(capacity.endsWith("knee before 1037/sec (P99 over SLO)"), capacity);
+        assertEquals(2 + rates.size() + 1, search.report().size());
+    }
+
+    @Test
+    void missedRateAndErrorsFailAStep() {
+        CapacitySearch saturated = new CapacitySearch(20, 100, 2, 0, 0, 1, 0);
+        run(saturated, rate -> new Second(rate <= 200 ? (long) rate : (long) (rate * 0.9), 0, MS));
+        assertTrue(result(saturated).endsWith("knee before 400/sec (rate not reached)"), result(saturated));
+
+        CapacitySearch errors = new CapacitySearch(20, 100, 2, 0, 0, 1, 0);
+        run(errors, rate -> new Second((long) rate, rate <= 200 ? 0 : (long) (rate * 0.02), MS));
+        assertTrue(result(errors).endsWith("knee before 400/sec (errors over 1%)"), result(errors));
+    }
+
+    @Test
+    void maxRateEndsTheSearchWithoutAKnee() {
+        CapacitySearch search = new CapacitySearch(20, 100, 3, 500, 0, 1, 3);
+        List<Double> rates = run(search, rate -> new Second((long) rate, 0, MS));
+
+        assertEquals(List.of(100.0, 300.0, 500.0), rates);
+        assertTrue(result(search).endsWith("no knee found below the highest rate tried"), result(search));
+    }
+
+    @Test
+    void failingStartRateIsReported() {
+        CapacitySearch search = new CapacitySearch(20, 100, 2, 0, 0, 1, 3);
+        List<Double> rates = run(search, rate -> new Second((long) rate, 0, 100 * MS));
+
+        assertEquals(List.of(100.0), rates);
+        assertEquals("CAPACITY: below the starting rate of 100 writes/sec (P99 over SLO)", result(search));
+    }
+}
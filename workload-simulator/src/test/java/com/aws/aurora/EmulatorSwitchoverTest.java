@@ -0,0 +1,108 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a scripted switchover through the emulator and checks what a worker
+ * sees: the phases reported by the tracker, the errors it classifies and the
+ * writer host it attributes its statements to
+ */
+class EmulatorSwitchoverTest {
+
+    private static final String BLUE = "ip-10-0-1-10";
+    private static final String GREEN = "ip-10-0-2-10";
+
+    @Test
+    void switchoverIsDetectedAndPhasesTrackedInOrder() throws Exception {
+        BlueGreenPhaseTracker phaseTracker = new BlueGreenPhaseTracker();
+        phaseTracker.install("INFO");
+        ConnectionTracker connections = new ConnectionTracker(0);
+        AuroraEmulator emulator = AuroraEmulator.parse(
+            "latency-ms=0,jitter-ms=0,switchover-at=1s,preparation=500ms,outage=500ms,post=500ms,"
+                + "blue-host=" + BLUE + ",green-host=" + GREEN);
+        DataSource dataSource = emulator.dataSource("emulated.cluster-emulator.us-east-1.rds.amazonaws.com");
+
+        List<String> hosts = new ArrayList<>();
+        Set<ErrorClassifier.ErrorType> errors = EnumSet.noneOf(ErrorClassifier.ErrorType.class);
+        int errorsWhileInProgress = 0;
+
+        emulator.start();
+        try (Connection idle = dataSource.getConnection()) {
+            assertEquals(BLUE, connections.hostFor(idle));
+
+            // One worker issuing statements until the deployment completes, reconnecting after errors
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            Connection conn = null;
+            while (phaseTracker.current() != BlueGreenPhase.COMPLETED && System.nanoTime() < deadline) {
+                try {
+                    if (conn == null) {
+                        conn = dataSource.getConnection();
+                    }
+                    String host = connections.hostFor(conn);
+                    selectHostname(conn);
+                    if (hosts.isEmpty() || !hosts.get(hosts.size() - 1).equals(host)) {
+                        hosts.add(host);
+                    }
+                } catch (SQLException e) {
+                    errors.add(ErrorClassifier.classify(e));
+                    if (phaseTracker.current() == BlueGreenPhase.IN_PROGRESS) {
+                        errorsWhileInProgress++;
+                    }
+                    if (conn != null && conn.isClosed()) {
+                        conn = null;
+                    }
+                }
+                Thread.sleep(10);
+            }
+            if (conn != null) {
+                conn.close();
+            }
+
+            // A connection opened on blue moves to green with the wrapper's failover exception
+            try {
+                selectHostname(idle);
+            } catch (SQLException e) {
+                errors.add(ErrorClassifier.classify(e));
+            }
+            assertEquals(GREEN, connections.hostFor(idle));
+            assertEquals(GREEN, selectHostname(idle));
+        } finally {
+            emulator.close();
+        }
+
+        List<BlueGreenPhase> phases = new ArrayList<>();
+        for (BlueGreenPhaseTracker.Transition t = phaseTracker.pollTransition(); t != null;
+             t = phaseTracker.pollTransition()) {
+            phases.add(t.phase);
+        }
+        assertEquals(List.of(BlueGreenPhase.CREATED, BlueGreenPhase.PREPARATION, BlueGreenPhase.IN_PROGRESS,
+            BlueGreenPhase.POST, BlueGreenPhase.COMPLETED), phases);
+
+        assertEquals(List.of(BLUE, GREEN), hosts);
+        assertTrue(errors.contains(ErrorClassifier.ErrorType.CONNECTION), "errors: " + errors);
+        assertTrue(errors.contains(ErrorClassifier.ErrorType.FAILOVER), "errors: " + errors);
+        assertTrue(errorsWhileInProgress > 0);
+    }
+
+    private static String selectHostname(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT @@hostname");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.aws.aurora;
+
+import com.aws.aurora.ErrorClassifier.ErrorType;
+import org.junit.jupiter.api.Test;
+import software.amazon.jdbc.plugin.failover.FailoverSuccessSQLException;
+import software.amazon.jdbc.plugin.failover.TransactionStateUnknownSQLException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorClassifierTest {
+
+    private static SQLException error(String sqlState, int errorCode) {
+        return new SQLException("error", sqlState, errorCode);
+    }
+
+    @Test
+    void wrapperFailoverExceptionsAreFailovers() {
+        assertEquals(ErrorType.FAILOVER, ErrorClassifier.classify(new FailoverSuccessSQLException()));
+        assertEquals(ErrorType.FAILOVER, ErrorClassifier.classify(new TransactionStateUnknownSQLException()));
+    }
+
+    @Test
+    void mysqlErrorCodesComeBeforeTheSqlState() {
+        assertEquals(ErrorType.LOCK_WAIT, ErrorClassifier.classify(error("HY000", 1205)));
+        assertEquals(ErrorType.DEADLOCK, ErrorClassifier.classify(error("40001", 1213)));
+        assertEquals(ErrorType.READ_ONLY, ErrorClassifier.classify(error("HY000", 1290)));
+        assertEquals(ErrorType.READ_ONLY, ErrorClassifier.classify(error("25006", 1792)));
+        assertEquals(ErrorType.READ_ONLY, ErrorClassifier.classify(error("HY000", 1836)));
+        // A lock wait timeout is not reported as a generic timeout
+        assertEquals(ErrorType.LOCK_WAIT, ErrorClassifier.classify(new SQLTimeoutException("error", "HY000", 1205)));
+    }
+
+    @Test
+    void sqlStateClassesAndTimeouts() {
+        assertEquals(ErrorType.TIMEOUT, ErrorClassifier.classify(new SQLTimeoutException("error", "08S01")));
+        assertEquals(ErrorType.CONNECTION, ErrorClassifier.classify(error("08S01", 0)));
+        assertEquals(ErrorType.CONNECTION, ErrorClassifier.classify(error("08001", 2003)));
+        assertEquals(ErrorType.DEADLOCK, ErrorClassifier.classify(error("40001", 0)));
+        assertEquals(ErrorType.TIMEOUT, ErrorClassifier.classify(
+            new SQLTransientConnectionException("Connection is not available, request timed out")));
+        assertEquals(ErrorType.CONNECTION, ErrorClassifier.classify(new SQLTransientConnectionException("error", "08003")));
+        assertEquals(ErrorType.OTHER, ErrorClassifier.classify(error("23000", 1062)));
+        assertEquals(ErrorType.OTHER, ErrorClassifier.classify(new SQLException("error")));
+    }
+
+    @Test
+    void onlyTypedErrorsAndUnknownStatesAreRetried() {
+        assertTrue(ErrorClassifier.isRetryable(error("08S01", 0), ErrorType.CONNECTION));
+        assertTrue(ErrorClassifier.isRetryable(error("HY000", 1290), ErrorType.READ_ONLY));
+        assertTrue(ErrorClassifier.isRetryable(new SQLException("error"), ErrorType.OTHER));
+        assertTrue(ErrorClassifier.isRetryable(error("HY000", 1105), ErrorType.OTHER));
+        for (String sqlState : new String[] {"0A000", "22001", "23000", "28000", "42S02", "44000"}) {
+            assertFalse(ErrorClassifier.isRetryable(error(sqlState, 0), ErrorType.OTHER), sqlState);
+        }
+    }
+
+    @Test
+    void onlyLostOutcomesMayHaveCommitted() {
+        assertTrue(ErrorClassifier.mayHaveCommitted(ErrorType.CONNECTION));
+        assertTrue(ErrorClassifier.mayHaveCommitted(ErrorType.FAILOVER));
+        assertTrue(ErrorClassifier.mayHaveCommitted(ErrorType.TIMEOUT));
+        assertFalse(ErrorClassifier.mayHaveCommitted(ErrorType.DEADLOCK));
+        assertFalse(ErrorClassifier.mayHaveCommitted(ErrorType.LOCK_WAIT));
+        assertFalse(ErrorClassifier.mayHaveCommitted(ErrorType.READ_ONLY));
+        assertFalse(ErrorClassifier.mayHaveCommitted(ErrorType.OTHER));
+        assertEquals("lock_wait", ErrorType.LOCK_WAIT.getTag());
+    }
+}
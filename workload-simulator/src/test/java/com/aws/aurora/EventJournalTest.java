@@ -0,0 +1,129 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.BlueGreenPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static void record(EventJournal journal, long start, boolean success) {
+        journal.record(start, start, start + 1_000_000, 1, EventJournal.OP_WRITE, 1, "host-a", success,
+            new EventJournal.Attempts(), BlueGreenPhase.NOT_CREATED);
+    }
+
+    @Test
+    void smallLimitMapsOnlyTheRecordsItAllows() throws IOException {
+        Path path = dir.resolve("small.journal");
+        long maxBytes = EventJournal.HEADER_SIZE + 10L * EventJournal.RECORD_SIZE;
+        try (EventJournal journal = new EventJournal(path, maxBytes)) {
+            for (int i = 0; i < 12; i++) {
+                record(journal, i, true);
+            }
+            assertEquals(maxBytes, Files.size(path));
+            assertEquals(10, journal.getRecords());
+            assertEquals(2, journal.getDropped());
+        }
+        assertEquals(maxBytes, Files.size(path));
+    }
+
+    @Test
+    void recordsUseTheDocumentedLayout() throws IOException {
+        Path path = dir.resolve("layout.journal");
+        EventJournal.Attempts attempts = new EventJournal.Attempts();
+        attempts.failed(ErrorClassifier.ErrorType.CONNECTION);
+        attempts.failed(ErrorClassifier.ErrorType.TIMEOUT);
+        try (EventJournal journal = new EventJournal(path, 1 << 20)) {
+            journal.record(100, 150, 900, 7, EventJournal.OP_WRITE, 42, "host-a", true, attempts,
+                BlueGreenPhase.IN_PROGRESS);
+            journal.record(200, 200, 300, 3, (byte) (EventJournal.OP_READ_BASE + 1), 0, "host-b", false,
+                new EventJournal.Attempts(), BlueGreenPhase.NOT_CREATED);
+        }
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(EventJournal.HEADER_SIZE + 2 * EventJournal.RECORD_SIZE, file.capacity());
+        assertEquals(EventJournal.MAGIC, file.getLong(0));
+        assertEquals(EventJournal.VERSION, file.getInt(8));
+        assertEquals(EventJournal.RECORD_SIZE, file.getInt(12));
+        assertEquals(2, file.getLong(32));
+
+        int first = EventJournal.HEADER_SIZE;
+        assertEquals(100, file.getLong(first + EventJournal.INTENDED_START));
+        assertEquals(150, file.getLong(first + EventJournal.ACTUAL_START));
+        assertEquals(900, file.getLong(first + EventJournal.END));
+        assertEquals(7, file.getInt(first + EventJournal.WORKER_ID));
+        assertEquals(42, file.getInt(first + EventJournal.TABLE_ID));
+        assertEquals(1, file.getShort(first + EventJournal.HOST_ID));
+        assertEquals(EventJournal.OP_WRITE, file.get(first + EventJournal.OP_TYPE));
+        assertEquals(EventJournal.OUTCOME_SUCCESS, file.get(first + EventJournal.OUTCOME));
+        assertEquals(2, file.get(first + EventJournal.RETRIES));
+        assertEquals(ErrorClassifier.ErrorType.TIMEOUT.ordinal() + 1, file.get(first + EventJournal.ERROR_CLASS));
+        assertEquals(BlueGreenPhase.IN_PROGRESS.ordinal() + 1, file.get(first + EventJournal.PHASE));
+
+        int second = first + EventJournal.RECORD_SIZE;
+        assertEquals(2, file.getShort(second + EventJournal.HOST_ID));
+        assertEquals(EventJournal.OP_READ_BASE + 1, file.get(second + EventJournal.OP_TYPE));
+        assertEquals(EventJournal.OUTCOME_FAILED, file.get(second + EventJournal.OUTCOME));
+        assertEquals(0, file.get(second + EventJournal.ERROR_CLASS));
+        assertEquals(BlueGreenPhase.NOT_CREATED.ordinal() + 1, file.get(second + EventJournal.PHASE));
+
+        assertEquals(List.of("1\thost-a", "2\thost-b"),
+            Files.readAllLines(EventJournal.hostsPath(path), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void analyzerRebuildsTheSwitchoverFromTheJournal() throws IOException {
+        Path path = dir.resolve("switchover.journal");
+        long base = System.nanoTime();
+        long ms = 1_000_000L;
+        try (EventJournal journal = new EventJournal(path, 1 << 20)) {
+            // One writer on host-a, down from 1s to 3s and back on host-b; one reader up throughout
+            for (long t = 0; t < 4000; t += 10) {
+                long start = base + t * ms;
+                boolean down = t >= 1000 && t < 3000;
+                journal.record(start, start, start + ms, 1, EventJournal.OP_WRITE, 1, t < 3000 ? "host-a" : "host-b",
+                    !down, new EventJournal.Attempts(), down ? BlueGreenPhase.IN_PROGRESS : BlueGreenPhase.NOT_CREATED);
+                journal.record(start, start, start + ms, 1, EventJournal.OP_READ_BASE, 1, "host-a", true,
+                    new EventJournal.Attempts(), BlueGreenPhase.NOT_CREATED);
+            }
+        }
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        Path timeline = dir.resolve("timeline.csv");
+        new JournalAnalyzer(path, 100, 1, 500).analyze(timeline, new PrintStream(summary, true, StandardCharsets.UTF_8));
+        String text = summary.toString(StandardCharsets.UTF_8);
+
+        assertTrue(text.contains("(800 records, 2 workers)"), text);
+        assertTrue(text.contains("(2010ms)"), text);
+        assertTrue(text.contains("Writer host: host-b"), text);
+        assertTrue(text.contains("by Worker-1 (+2010ms into the window)"), text);
+        assertTrue(text.matches("(?s).*Worker-1 .* 2010ms  failed ops: 200 +host-a -> host-b.*"), text);
+        assertFalse(text.contains("Reader-1 "), text);
+        assertTrue(text.contains("Timeline: 40 buckets of 100ms"), text);
+
+        List<String> rows = Files.readAllLines(timeline, StandardCharsets.UTF_8);
+        assertEquals(41, rows.size());
+        String[] up = rows.get(1 + 5).split(",");
+        assertEquals("500", up[1]);
+        assertEquals(List.of("10", "0", "10", "0", "100.0"), List.of(up).subList(2, 7));
+        String[] down = rows.get(1 + 15).split(",");
+        assertEquals("1500", down[1]);
+        assertEquals(List.of("0", "10", "10", "0", "50.0"), List.of(down).subList(2, 7));
+    }
+}
@@ -0,0 +1,126 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.DistributionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyDistributionTest {
+
+    private static final int TABLES = 100;
+    private static final int SAMPLES = 200_000;
+
+    /**
+     * Draw counts per table id, index 0 unused
+     */
+    private static int[] sample(KeyDistribution distribution) {
+        int[] counts = new int[TABLES + 1];
+        for (int i = 0; i < SAMPLES; i++) {
+            int table = distribution.next();
+            assertTrue(table >= 1 && table <= TABLES, "table " + table);
+            counts[table]++;
+        }
+        return counts;
+    }
+
+    private static double share(int count) {
+        return (double) count / SAMPLES;
+    }
+
+    @Test
+    void permutationIsAFixedShuffleOfAllTables() {
+        int[] tables = KeyDistribution.permutation(TABLES);
+        assertArrayEquals(tables, KeyDistribution.permutation(TABLES));
+
+        Set<Integer> seen = new HashSet<>();
+        for (int table : tables) {
+            seen.add(table);
+        }
+        assertEquals(TABLES, seen.size());
+        assertTrue(seen.contains(1) && seen.contains(TABLES));
+        int[] identity = new int[TABLES];
+        Arrays.setAll(identity, i -> i + 1);
+        assertFalse(Arrays.equals(identity, tables));
+    }
+
+    @Test
+    void zipfianFavoursLowRanksThroughThePermutation() {
+        double theta = 0.99;
+        int[] counts = sample(new KeyDistribution.Zipfian(TABLES, theta));
+        int[] ranked = KeyDistribution.permutation(TABLES);
+
+        double zeta = 0;
+        for (int i = 1; i <= TABLES; i++) {
+            zeta += 1.0 / Math.pow(i, theta);
+        }
+        assertEquals(1.0 / zeta, share(counts[ranked[0]]), 0.01);
+        assertEquals(1.0 / (Math.pow(2, theta) * zeta), share(counts[ranked[1]]), 0.01);
+        assertTrue(counts[ranked[1]] > counts[ranked[10]]);
+        assertTrue(counts[ranked[10]] > counts[ranked[TABLES - 1]]);
+    }
+
+    @Test
+    void latestDrawsBehindTheHead() {
+        // The head stays on table 1 for the first second, rank 1 wraps to the last table
+        int[] counts = sample(new KeyDistribution.Latest(TABLES, 0.99));
+        int hottest = 1;
+        for (int table = 2; table <= TABLES; table++) {
+            if (counts[table] > counts[hottest]) {
+                hottest = table;
+            }
+        }
+        assertEquals(1, hottest);
+        assertTrue(counts[TABLES] > counts[TABLES - 1]);
+        assertTrue(counts[TABLES - 1] > counts[2]);
+    }
+
+    @Test
+    void hotspotSendsItsShareToTheHotTables() {
+        int[] counts = sample(new KeyDistribution.Hotspot(TABLES, 0.2, 0.8));
+        int[] ranked = KeyDistribution.permutation(TABLES);
+
+        int hot = 0;
+        for (int i = 0; i < 20; i++) {
+            hot += counts[ranked[i]];
+        }
+        assertEquals(0.8, share(hot), 0.01);
+        for (int i = 20; i < TABLES; i++) {
+            assertTrue(counts[ranked[i]] > 0);
+        }
+    }
+
+    @Test
+    void hotspotCoveringAllTablesIsUniform() {
+        int[] counts = sample(new KeyDistribution.Hotspot(TABLES, 1.0, 0.5));
+        for (int table = 1; table <= TABLES; table++) {
+            assertEquals(1.0 / TABLES, share(counts[table]), 0.003);
+        }
+    }
+
+    @Test
+    void sequentialCyclesThroughEveryTable() {
+        KeyDistribution distribution = new KeyDistribution.Sequential(3);
+        int[] tables = new int[7];
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = distribution.next();
+        }
+        assertArrayEquals(new int[] {1, 2, 3, 1, 2, 3, 1}, tables);
+    }
+
+    @Test
+    void createPicksTheImplementationForEachType() {
+        assertInstanceOf(KeyDistribution.Uniform.class, KeyDistribution.create(DistributionType.UNIFORM, 10, 0.99, 0.2, 0.8));
+        assertInstanceOf(KeyDistribution.Zipfian.class, KeyDistribution.create(DistributionType.ZIPFIAN, 10, 0.99, 0.2, 0.8));
+        assertInstanceOf(KeyDistribution.Latest.class, KeyDistribution.create(DistributionType.LATEST, 10, 0.99, 0.2, 0.8));
+        assertInstanceOf(KeyDistribution.Hotspot.class, KeyDistribution.create(DistributionType.HOTSPOT, 10, 0.99, 0.2, 0.8));
+        assertInstanceOf(KeyDistribution.Sequential.class, KeyDistribution.create(DistributionType.SEQUENTIAL, 10, 0.99, 0.2, 0.8));
+    }
+}
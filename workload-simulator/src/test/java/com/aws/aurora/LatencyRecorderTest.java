@@ -0,0 +1,82 @@
+package com.aws.aurora;
+
+import io.prometheus.client.Collector;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LatencyRecorderTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void bucketIndexUsesInclusiveUpperBounds() {
+        assertEquals(0, LatencyRecorder.bucketIndex(0));
+        assertEquals(0, LatencyRecorder.bucketIndex(MS));
+        assertEquals(1, LatencyRecorder.bucketIndex(MS + 1));
+        assertEquals(LatencyRecorder.BUCKET_BOUNDS_NANOS.length - 1, LatencyRecorder.bucketIndex(60_000 * MS));
+        assertEquals(LatencyRecorder.BUCKET_BOUNDS_NANOS.length, LatencyRecorder.bucketIndex(61_000 * MS));
+    }
+
+    @Test
+    void bucketsAccumulateAcrossIntervalsOnlyWhenExported() {
+        LatencyRecorder quiet = new LatencyRecorder("quiet");
+        quiet.record(3 * MS);
+        quiet.swapInterval(LatencyRecorder.newHistogram());
+        assertNull(quiet.getBucketSnapshot());
+
+        LatencyRecorder recorder = new LatencyRecorder("write");
+        recorder.exportHistogram();
+        Histogram interval = LatencyRecorder.newHistogram();
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(3 * MS);
+        }
+        recorder.record(700 * MS);
+        recorder.swapInterval(interval);
+        recorder.record(3 * MS);
+        recorder.swapInterval(interval);
+
+        LatencyRecorder.BucketSnapshot snapshot = recorder.getBucketSnapshot();
+        assertEquals(1002, snapshot.count);
+        assertEquals(1001, snapshot.counts[LatencyRecorder.bucketIndex(3 * MS)]);
+        assertEquals(1, snapshot.counts[LatencyRecorder.bucketIndex(700 * MS)]);
+        assertEquals((1001 * 3 + 700) * MS, snapshot.sumNanos, 2 * MS);
+    }
+
+    @Test
+    void collectorExportsCumulativeBuckets() {
+        LatencyRecorder recorder = new LatencyRecorder("read");
+        recorder.exportHistogram();
+        recorder.record(MS / 2);
+        recorder.record(15 * MS);
+        recorder.record(90_000 * MS);
+        recorder.swapInterval(LatencyRecorder.newHistogram());
+
+        List<Collector.MetricFamilySamples> families = new LatencyHistogramCollector(List.of(recorder)).collect();
+        assertEquals(1, families.size());
+        assertEquals(Collector.Type.HISTOGRAM, families.get(0).type);
+
+        Map<String, Double> buckets = new HashMap<>();
+        double count = 0;
+        for (Collector.MetricFamilySamples.Sample sample : families.get(0).samples) {
+            assertEquals("read", sample.labelValues.get(0));
+            if (sample.name.endsWith("_bucket")) {
+                buckets.put(sample.labelValues.get(1), sample.value);
+            } else if (sample.name.endsWith("_count")) {
+                count = sample.value;
+            }
+        }
+        assertEquals(1, buckets.get("0.001"));
+        assertEquals(1, buckets.get("0.01"));
+        assertEquals(2, buckets.get("0.02"));
+        assertEquals(2, buckets.get("60.0"));
+        assertEquals(3, buckets.get("+Inf"));
+        assertEquals(3, count);
+    }
+}
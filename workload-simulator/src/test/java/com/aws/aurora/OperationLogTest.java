@@ -0,0 +1,127 @@
+package com.aws.aurora;
+
+import com.aws.aurora.OperationLog.FullPolicy;
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OperationLogTest {
+
+    private static final String[] TABLES = {null, "test_0001", "test_0002"};
+
+    /**
+     * Logger that keeps "LEVEL message" lines for every info/warn/error call
+     */
+    private static Logger capture(List<String> lines) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[] {Logger.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (method.getReturnType() == boolean.class) {
+                    return true;
+                }
+                if ((name.equals("info") || name.equals("warn") || name.equals("error"))
+                    && args != null && args[0] instanceof String) {
+                    Object[] params = args.length == 2 && args[1] instanceof Object[]
+                        ? (Object[]) args[1] : Arrays.copyOfRange(args, 1, args.length);
+                    lines.add(name.toUpperCase() + " " + MessageFormatter.arrayFormat((String) args[0], params).getMessage());
+                }
+                return name.equals("getName") ? "operations" : null;
+            });
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        List<String> lines = new ArrayList<>();
+        assertEquals(2, new OperationLog(capture(lines), TABLES, 1, 1.0, FullPolicy.DROP).getCapacity());
+        assertEquals(4, new OperationLog(capture(lines), TABLES, 3, 1.0, FullPolicy.DROP).getCapacity());
+        assertEquals(4, new OperationLog(capture(lines), TABLES, 4, 1.0, FullPolicy.DROP).getCapacity());
+        assertEquals(1024, new OperationLog(capture(lines), TABLES, 1000, 1.0, FullPolicy.DROP).getCapacity());
+    }
+
+    @Test
+    void fullRingDropsNewEventsAndKeepsQueuedOnes() {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        OperationLog log = new OperationLog(capture(lines), TABLES, 4, 1.0, FullPolicy.DROP);
+        for (int worker = 1; worker <= 6; worker++) {
+            log.writeFailed(worker, 1, 10);
+        }
+        assertEquals(4, log.getQueueDepth());
+        assertEquals(2, log.getDropped());
+
+        log.start();
+        log.close();
+        assertEquals(4, log.getWritten());
+        assertEquals(0, log.getQueueDepth());
+        assertEquals(List.of(
+            "ERROR FAILED: Worker-1 | Table: test_0001 | INSERT failed | Latency: 10ms",
+            "ERROR FAILED: Worker-2 | Table: test_0001 | INSERT failed | Latency: 10ms",
+            "ERROR FAILED: Worker-3 | Table: test_0001 | INSERT failed | Latency: 10ms",
+            "ERROR FAILED: Worker-4 | Table: test_0001 | INSERT failed | Latency: 10ms"), lines);
+    }
+
+    @Test
+    void blockingProducersLapTheRingWithoutLosingEvents() throws InterruptedException {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        OperationLog log = new OperationLog(capture(lines), TABLES, 8, 1.0, FullPolicy.BLOCK);
+        log.start();
+
+        int producers = 4;
+        int events = 2000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int worker = p + 1;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < events; i++) {
+                    log.writeSucceeded(worker, "host-a", 2, i);
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.close();
+
+        assertEquals(producers * events, log.getWritten());
+        assertEquals(0, log.getDropped());
+        assertEquals(producers * events, lines.size());
+
+        // Each producer's events come out in the order it offered them
+        long[] next = new long[producers + 1];
+        for (String line : lines) {
+            int worker = Integer.parseInt(line.substring(line.indexOf("Worker-") + 7, line.indexOf(" | Host")));
+            long latency = Long.parseLong(line.substring(line.indexOf("Latency: ") + 9, line.length() - 2));
+            assertEquals(next[worker]++, latency, line);
+        }
+    }
+
+    @Test
+    void successesAreSampledAndFailuresAlwaysKept() {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        OperationLog log = new OperationLog(capture(lines), TABLES, 16, 0.0, FullPolicy.DROP);
+        log.writeSucceeded(1, "host-a", 1, 5);
+        log.batchSucceeded(1, "host-a", 1, 10, 5);
+        log.readSucceeded(1, "host-a", ReadQuery.POINT, 1, 1, 5);
+        log.systemVarsRead(1, "host-a", 1, "3.05", 0, 5);
+        log.writeRetry(1, 2, 0, 1, 3, 100, "Communications link failure");
+        log.writeGaveUp(1, 2, 25);
+        log.readFailed(2, ReadQuery.RANGE, 7);
+        assertEquals(4, log.getSampledOut());
+
+        log.start();
+        log.close();
+        assertEquals(List.of(
+            "WARN Worker-1 | Table: test_0002 | connection_error | Retry 1/3 in 100ms | Error: Communications link failure",
+            "ERROR Worker-1 | Table: test_0002 | Batch: 25 rows | Max retries exceeded",
+            "ERROR FAILED: Reader-2 | Query: " + ReadQuery.RANGE.getQueryName() + " | READ failed | Latency: 7ms"), lines);
+    }
+}
@@ -0,0 +1,78 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateSchedulerTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void slotsAreEvenlySpacedAtTheGlobalRate() {
+        RateScheduler scheduler = new RateScheduler(1000, 4);
+        long first = scheduler.claim();
+        for (int slot = 1; slot < 10; slot++) {
+            assertEquals(first + slot * MS, scheduler.claim());
+        }
+        assertEquals(10, scheduler.getIssuedSlots());
+        assertEquals(1000, scheduler.scheduledBy(first + SECOND));
+        assertEquals(0, scheduler.scheduledBy(first - SECOND));
+    }
+
+    @Test
+    void rateChangeContinuesFromTheNextUnclaimedSlot() {
+        RateScheduler scheduler = new RateScheduler(1, 1);
+        long first = scheduler.claim();
+        scheduler.claim();
+        scheduler.claim();
+
+        // Slot 3 is still 3s ahead, so the new spacing starts there
+        scheduler.setOpsPerSecond(1000);
+        assertEquals(first + 3 * SECOND, scheduler.claim());
+        assertEquals(first + 3 * SECOND + MS, scheduler.claim());
+        assertEquals(1000, scheduler.getOpsPerSecond());
+        assertEquals(3 + 1000, scheduler.scheduledBy(first + 4 * SECOND));
+    }
+
+    @Test
+    void rateChangeDropsTheBacklogOfASchedule() throws InterruptedException {
+        RateScheduler scheduler = new RateScheduler(1000, 1);
+        long first = scheduler.claim();
+        Thread.sleep(50);
+
+        long before = System.nanoTime();
+        scheduler.setOpsPerSecond(10);
+        long next = scheduler.claim();
+        assertTrue(next >= before, "slot starts " + (before - next) + "ns before the change");
+        assertEquals(next + 100 * MS, scheduler.claim());
+        assertTrue(next > first + 40 * MS);
+    }
+
+    @Test
+    void unthrottledSchedulerHandsOutSlotsImmediately() {
+        RateScheduler scheduler = new RateScheduler(0, 1);
+        long before = System.nanoTime();
+        assertTrue(scheduler.claim() >= before);
+        assertEquals(1, scheduler.getIssuedSlots());
+        assertEquals(0, scheduler.scheduledBy(System.nanoTime() + SECOND));
+        assertThrows(IllegalStateException.class, () -> scheduler.setOpsPerSecond(100));
+    }
+
+    @Test
+    void lateSlotsAreCountedAsMissed() throws InterruptedException {
+        RateScheduler scheduler = new RateScheduler(1000, 1);
+        long intended = System.nanoTime() - 100 * MS;
+        assertEquals(intended, scheduler.awaitSlot(intended));
+        assertEquals(1, scheduler.getMissedSlots());
+        assertTrue(scheduler.drainMaxLagNanos() >= 100 * MS);
+        assertEquals(0, scheduler.drainMaxLagNanos());
+
+        // Within one per-worker period (and the 1ms floor) is on time
+        scheduler.awaitSlot(System.nanoTime() + MS);
+        assertEquals(1, scheduler.getMissedSlots());
+    }
+}
@@ -0,0 +1,52 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WorkloadSimulator.ReadQuery;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadQueryEngineTest {
+
+    private static final String[] TABLES = {null, "test_0001"};
+
+    private static void insert(Connection conn, int rows) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO test_0001 (col1) VALUES (?)")) {
+            for (int i = 0; i < rows; i++) {
+                stmt.setString(1, "row");
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void pointReadBoundFollowsTheTableAsItGrows() throws Exception {
+        AuroraEmulator emulator = AuroraEmulator.parse("latency-ms=0,jitter-ms=0");
+        DataSource dataSource = emulator.dataSource("emulated.cluster-emulator.us-east-1.rds.amazonaws.com");
+        ReadQueryEngine engine = new ReadQueryEngine(TABLES, Map.of(ReadQuery.POINT, 1), 60,
+            new ConnectionTracker(0), 50);
+        ReadQueryEngine.ReadResult result = new ReadQueryEngine.ReadResult();
+
+        emulator.start();
+        try (Connection conn = dataSource.getConnection()) {
+            engine.execute(conn, ReadQuery.POINT, 1, result);
+            assertEquals(1, engine.getMaxId(1));
+
+            insert(conn, 100);
+            engine.execute(conn, ReadQuery.POINT, 1, result);
+            assertEquals(1, engine.getMaxId(1));
+
+            Thread.sleep(100);
+            engine.execute(conn, ReadQuery.POINT, 1, result);
+            assertEquals(100, engine.getMaxId(1));
+            assertEquals(1, result.rows);
+        } finally {
+            emulator.close();
+        }
+    }
+}
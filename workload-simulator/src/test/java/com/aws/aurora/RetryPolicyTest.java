@@ -0,0 +1,77 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static RetryPolicy policy(double budgetPerSecond, int budgetBurst) {
+        return new RetryPolicy(5, 100, 1000, budgetPerSecond, budgetBurst, 0, null);
+    }
+
+    @Test
+    void burstIsAvailableAtOnceThenOneTokenPerInterval() {
+        RetryPolicy retry = policy(1, 3);
+        long now = System.nanoTime();
+
+        assertTrue(retry.takeToken(now));
+        assertTrue(retry.takeToken(now));
+        assertTrue(retry.takeToken(now));
+        assertFalse(retry.takeToken(now));
+
+        assertFalse(retry.takeToken(now + SECOND - 1));
+        assertTrue(retry.takeToken(now + SECOND));
+        assertFalse(retry.takeToken(now + SECOND));
+    }
+
+    @Test
+    void quietPeriodBanksNoMoreThanTheBurst() {
+        RetryPolicy retry = policy(10, 2);
+        long later = System.nanoTime() + 60 * SECOND;
+
+        assertTrue(retry.takeToken(later));
+        assertTrue(retry.takeToken(later));
+        assertFalse(retry.takeToken(later));
+    }
+
+    @Test
+    void refusedTokenIsNotConsumed() {
+        RetryPolicy retry = policy(1, 1);
+        long now = System.nanoTime();
+
+        assertTrue(retry.takeToken(now));
+        for (int i = 0; i < 10; i++) {
+            assertFalse(retry.takeToken(now));
+        }
+        assertTrue(retry.takeToken(now + SECOND));
+    }
+
+    @Test
+    void unlimitedBudgetAlwaysHasATokenAndReportsMinusOne() {
+        RetryPolicy retry = policy(0, 0);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(retry.takeToken(now));
+        }
+        assertEquals(-1, retry.getBudgetAvailable());
+    }
+
+    @Test
+    void emptyBudgetGivesUpWithBudgetReason() {
+        RetryPolicy retry = policy(0.001, 1);
+        SQLException lost = new SQLException("Communications link failure", "08S01");
+
+        assertTrue(retry.nextDelayMillis(1, lost, ErrorClassifier.ErrorType.CONNECTION) >= 0);
+        assertEquals(RetryPolicy.GIVE_UP, retry.nextDelayMillis(1, lost, ErrorClassifier.ErrorType.CONNECTION));
+        assertEquals(1, retry.getGiveUps(RetryPolicy.GiveUpReason.BUDGET));
+        assertEquals(1, retry.getScheduled());
+    }
+}
@@ -0,0 +1,181 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaBootstrapTest {
+
+    private static final Pattern TABLE = Pattern.compile("(test_\\d+)");
+
+    /**
+     * Just enough of a MySQL connection for SchemaBootstrap: records DDL and
+     * INSERTs, answers the information_schema lookup and the EXISTS probe
+     */
+    private static final class FakeDatabase {
+        final List<String> tableNames = new ArrayList<>();
+        final Set<String> nonEmpty;
+        final List<String> created = new ArrayList<>();
+        final List<String> seeded = new ArrayList<>();
+
+        FakeDatabase(Set<String> nonEmpty) {
+            this.nonEmpty = nonEmpty;
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (name, args) -> name.equals("getConnection") ? connection() : null);
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, (name, args) -> {
+                switch (name) {
+                    case "createStatement":
+                        return statement();
+                    case "prepareStatement":
+                        return preparedStatement((String) args[0]);
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private Statement statement() {
+            return proxy(Statement.class, (name, args) -> {
+                switch (name) {
+                    case "execute":
+                        for (String sql : ((String) args[0]).split(";\n")) {
+                            Matcher table = TABLE.matcher(sql);
+                            table.find();
+                            created.add(table.group(1));
+                        }
+                        return false;
+                    case "getUpdateCount":
+                        return -1;
+                    case "getMoreResults":
+                        return false;
+                    case "executeQuery":
+                        List<Object> exists = new ArrayList<>();
+                        Matcher table = TABLE.matcher((String) args[0]);
+                        while (table.find()) {
+                            exists.add(nonEmpty.contains(table.group(1)) ? 1 : 0);
+                        }
+                        return resultSet(List.of(exists));
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private PreparedStatement preparedStatement(String sql) {
+            return proxy(PreparedStatement.class, (name, args) -> {
+                switch (name) {
+                    case "executeQuery":
+                        List<List<Object>> rows = new ArrayList<>();
+                        for (String table : tableNames) {
+                            rows.add(List.of(table));
+                        }
+                        return resultSet(rows);
+                    case "executeUpdate":
+                        Matcher table = TABLE.matcher(sql);
+                        table.find();
+                        seeded.add(table.group(1));
+                        return 1;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private static ResultSet resultSet(List<List<Object>> rows) {
+            int[] row = {-1};
+            return proxy(ResultSet.class, (name, args) -> {
+                switch (name) {
+                    case "next":
+                        return ++row[0] < rows.size();
+                    case "getInt":
+                    case "getString":
+                        return rows.get(row[0]).get((Integer) args[0] - 1);
+                    default:
+                        return null;
+                }
+            });
+        }
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                Object result = handler.handle(method.getName(), args);
+                if (result == null && method.getReturnType() == boolean.class) {
+                    return false;
+                }
+                return result;
+            }));
+    }
+
+    private static SchemaBootstrap bootstrap(int tables, int seedRows) {
+        return new SchemaBootstrap("localhost", "lab_db", "admin", "secret", tables, 1, 3, seedRows, 5);
+    }
+
+    @Test
+    void onlyThisRunsTableNamesCountAsExisting() throws Exception {
+        FakeDatabase database = new FakeDatabase(Set.of());
+        database.tableNames.addAll(List.of("test_0002", "test_0005", "test_02", "test_abcd", "test_0007", "test_12345"));
+
+        BitSet existing = bootstrap(6, 0).findExistingTables(database.dataSource());
+        assertEquals("{2, 5}", existing.toString());
+    }
+
+    @Test
+    void existingTablesAreSkippedAndMissingOnesCreated() {
+        FakeDatabase database = new FakeDatabase(Set.of());
+        SchemaBootstrap bootstrap = bootstrap(6, 0);
+        BitSet existing = new BitSet();
+        existing.set(2);
+        existing.set(5);
+
+        bootstrap.runBatch(database.dataSource(), existing, 1, 3);
+        bootstrap.runBatch(database.dataSource(), existing, 4, 6);
+
+        assertEquals(List.of("test_0001", "test_0003", "test_0004", "test_0006"), database.created);
+        assertEquals(4, bootstrap.getCreated());
+        assertEquals(2, bootstrap.getSkipped());
+        assertEquals(List.of(), database.seeded);
+        assertEquals(0, bootstrap.getFailedBatches());
+    }
+
+    @Test
+    void onlyEmptyTablesAreSeeded() {
+        FakeDatabase database = new FakeDatabase(Set.of("test_0001", "test_0003"));
+        SchemaBootstrap bootstrap = bootstrap(3, 1500);
+        BitSet existing = new BitSet();
+        existing.set(1);
+        existing.set(2);
+        existing.set(3);
+
+        bootstrap.runBatch(database.dataSource(), existing, 1, 3);
+
+        assertEquals(List.of(), database.created);
+        assertEquals(3, bootstrap.getSkipped());
+        // 1500 rows take two multi-row INSERTs
+        assertEquals(List.of("test_0002", "test_0002"), database.seeded);
+        assertEquals(1, bootstrap.getSeededTables());
+    }
+}
@@ -0,0 +1,101 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadProfileTest {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double TOLERANCE_NANOS = 1e6; // 1ms
+
+    private static void assertSlotAt(WorkloadProfile profile, long slot, double expectedSeconds) {
+        assertEquals(expectedSeconds * NANOS_PER_SECOND, profile.slotOffsetNanos(slot), TOLERANCE_NANOS,
+            "slot " + slot);
+    }
+
+    @Test
+    void constantRateSpacesSlotsEvenly() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("hold 100 10s");
+
+        assertSlotAt(profile, 0, 0);
+        assertSlotAt(profile, 1, 0.01);
+        assertSlotAt(profile, 500, 5);
+        assertEquals(500, profile.operationsBefore(5), 1e-6);
+    }
+
+    @Test
+    void rampFollowsTheIntegratedRate() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("ramp 0 100 10s");
+
+        // Operations before t are 5 * t^2, so slot n starts at sqrt(n / 5)
+        assertEquals(125, profile.operationsBefore(5), 0.01);
+        assertSlotAt(profile, 125, 5);
+        assertSlotAt(profile, 320, 8);
+    }
+
+    @Test
+    void binarySearchSkipsPhasesWithoutOperations() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("hold 10 10s; hold 0 5s; hold 20 10s");
+
+        assertSlotAt(profile, 99, 9.9);
+        assertSlotAt(profile, 101, 15.05);
+        assertSlotAt(profile, 150, 17.5);
+    }
+
+    @Test
+    void slotsAndOperationCountsAgree() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("burst 10 200 10s 2s 60s; sine 100 80 15s 30s");
+
+        long previous = -1;
+        for (long slot = 0; slot < 5000; slot += 7) {
+            long offset = profile.slotOffsetNanos(slot);
+            assertTrue(offset >= previous, "slot offsets must not go backwards");
+            assertEquals(slot, profile.operationsBefore(offset / NANOS_PER_SECOND), 0.01, "slot " + slot);
+            previous = offset;
+        }
+    }
+
+    @Test
+    void repeatWrapsAroundWholeCycles() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("hold 100 1s; hold 200 1s; repeat");
+
+        // 300 operations per 2s cycle
+        assertSlotAt(profile, 300, 2);
+        assertSlotAt(profile, 450, 3.25);
+        assertSlotAt(profile, 3000 + 150, 21.25);
+        assertEquals(450, profile.operationsBefore(3.25), 1e-6);
+        assertEquals(3150, profile.operationsBefore(21.25), 1e-6);
+        assertEquals(100, profile.rateAt(20.5));
+        assertEquals(200, profile.rateAt(21.5));
+    }
+
+    @Test
+    void finalRateIsHeldWithoutRepeat() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("hold 10 1s");
+
+        assertSlotAt(profile, 30, 3);
+        assertEquals(30, profile.operationsBefore(3), 1e-6);
+    }
+
+    @Test
+    void profileEndingAtRateZeroNeverReachesLaterSlots() throws IOException {
+        WorkloadProfile profile = WorkloadProfile.parse("ramp 100 0 10s");
+
+        // 500 operations in total
+        assertTrue(profile.slotOffsetNanos(400) < 10 * NANOS_PER_SECOND);
+        assertEquals(Long.MAX_VALUE, profile.slotOffsetNanos(600));
+        assertEquals(Long.MAX_VALUE, profile.slotOffsetNanos(Long.MAX_VALUE / 2));
+        assertEquals(500, profile.operationsBefore(3600), 0.01);
+    }
+
+    @Test
+    void profileThatNeverSchedulesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadProfile.parse("hold 0 10s"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadProfile.parse("hold 10 1s; repeat; hold 5 1s"));
+    }
+}
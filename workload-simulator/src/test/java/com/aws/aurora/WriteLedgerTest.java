@@ -0,0 +1,120 @@
+package com.aws.aurora;
+
+import com.aws.aurora.WriteLedger.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WriteLedgerTest {
+
+    private static List<String> runs(WriteLedger.Worker worker) {
+        List<String> runs = new ArrayList<>();
+        worker.forEachRun((start, end, outcome) -> runs.add(start + "-" + end + " " + outcome));
+        return runs;
+    }
+
+    private static void write(WriteLedger.Worker worker, int count, Outcome outcome) {
+        worker.record(worker.reserve(count), count, outcome);
+    }
+
+    @Test
+    void equalOutcomesMergeIntoOneRun() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+        for (int i = 0; i < 1000; i++) {
+            write(worker, 1, Outcome.ACKED);
+        }
+        write(worker, 100, Outcome.ACKED);
+
+        assertEquals(1, worker.getRuns());
+        assertEquals(List.of("1-1101 ACKED"), runs(worker));
+        assertEquals(1100, worker.getMaxSeq());
+    }
+
+    @Test
+    void outcomeChangeStartsANewRun() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+        write(worker, 3, Outcome.ACKED);
+        write(worker, 1, Outcome.AMBIGUOUS);
+        write(worker, 2, Outcome.ACKED_AFTER_AMBIGUOUS);
+        write(worker, 1, Outcome.FAILED);
+        write(worker, 1, Outcome.ACKED);
+
+        assertEquals(List.of("1-4 ACKED", "4-5 AMBIGUOUS", "5-7 ACKED_AFTER_AMBIGUOUS", "7-8 FAILED", "8-9 ACKED"),
+            runs(worker));
+    }
+
+    @Test
+    void rowsReservedWithoutOutcomeAreAmbiguous() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+        write(worker, 2, Outcome.ACKED);
+        worker.reserve(3);
+        write(worker, 1, Outcome.ACKED);
+
+        assertEquals(List.of("1-3 ACKED", "3-6 AMBIGUOUS", "6-7 ACKED"), runs(worker));
+    }
+
+    @Test
+    void gapAfterAnAmbiguousRunExtendsIt() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+        write(worker, 1, Outcome.AMBIGUOUS);
+        worker.reserve(4);
+        write(worker, 1, Outcome.AMBIGUOUS);
+        write(worker, 1, Outcome.ACKED);
+
+        assertEquals(2, worker.getRuns());
+        assertEquals(List.of("1-7 AMBIGUOUS", "7-8 ACKED"), runs(worker));
+    }
+
+    @Test
+    void unrecordedTailIsReportedAmbiguous() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+        write(worker, 5, Outcome.ACKED);
+        worker.reserve(10);
+
+        assertEquals(List.of("1-6 ACKED", "6-16 AMBIGUOUS"), runs(worker));
+        assertEquals(15, worker.getMaxSeq());
+    }
+
+    @Test
+    void workerWithoutWritesHasNoRuns() {
+        WriteLedger.Worker worker = new WriteLedger().worker(1);
+
+        assertEquals(List.of(), runs(worker));
+        assertEquals(0, worker.getMaxSeq());
+    }
+
+    @Test
+    void stampsCarryRunWorkerAndSequence() {
+        WriteLedger ledger = new WriteLedger();
+        WriteLedger.Worker worker = ledger.worker(7);
+
+        assertEquals(ledger.getRunId() + ":7:42", worker.stamp(42));
+        assertEquals(ledger.getRunId() + ":", ledger.getStampPrefix());
+        assertEquals(worker, ledger.worker(7));
+    }
+
+    @Test
+    void workersAreListedById() {
+        WriteLedger ledger = new WriteLedger();
+        ledger.worker(7);
+        ledger.worker(1);
+        ledger.worker(3);
+
+        List<Integer> ids = new ArrayList<>();
+        for (WriteLedger.Worker worker : ledger.getWorkers()) {
+            ids.add(worker.workerId);
+        }
+        assertEquals(List.of(1, 3, 7), ids);
+    }
+
+    @Test
+    void outcomeCombinesAcknowledgementAndAmbiguity() {
+        assertEquals(Outcome.ACKED, Outcome.of(true, false));
+        assertEquals(Outcome.ACKED_AFTER_AMBIGUOUS, Outcome.of(true, true));
+        assertEquals(Outcome.AMBIGUOUS, Outcome.of(false, true));
+        assertEquals(Outcome.FAILED, Outcome.of(false, false));
+    }
+}
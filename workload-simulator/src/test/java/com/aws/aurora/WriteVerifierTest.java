@@ -0,0 +1,96 @@
+package com.aws.aurora;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteVerifierTest {
+
+    private static final long PAGE = 1 << 16;
+
+    @Test
+    void setReportsWhetherTheBitWasAlreadySet() {
+        WriteVerifier.Bitmap bitmap = new WriteVerifier.Bitmap(1000);
+
+        assertFalse(bitmap.set(42));
+        assertTrue(bitmap.set(42));
+        assertTrue(bitmap.get(42));
+        assertFalse(bitmap.get(41));
+        assertFalse(bitmap.get(43));
+    }
+
+    @Test
+    void bitsAtWordBoundariesStayInTheirWord() {
+        WriteVerifier.Bitmap bitmap = new WriteVerifier.Bitmap(1000);
+        long[] seqs = {1, 63, 64, 127, 128};
+        for (long seq : seqs) {
+            assertFalse(bitmap.set(seq));
+        }
+
+        for (long seq = 0; seq < 200; seq++) {
+            boolean expected = seq == 1 || seq == 63 || seq == 64 || seq == 127 || seq == 128;
+            assertEquals(expected, bitmap.get(seq), "seq " + seq);
+        }
+        assertEquals(5, bitmap.count(1, 129));
+        assertEquals(2, bitmap.count(63, 65));
+        assertEquals(1, bitmap.count(64, 65));
+        assertEquals(0, bitmap.count(65, 127));
+        assertEquals(3, bitmap.count(64, 129));
+    }
+
+    @Test
+    void pagesAreSeparateAndAllocatedLazily() {
+        WriteVerifier.Bitmap bitmap = new WriteVerifier.Bitmap(3 * PAGE);
+
+        assertFalse(bitmap.set(PAGE - 1));
+        assertFalse(bitmap.set(PAGE));
+        assertFalse(bitmap.set(3 * PAGE));
+
+        assertTrue(bitmap.get(PAGE - 1));
+        assertTrue(bitmap.get(PAGE));
+        assertFalse(bitmap.get(2 * PAGE));
+        assertEquals(2, bitmap.count(PAGE - 1, PAGE + 1));
+        assertEquals(0, bitmap.count(PAGE + 1, 3 * PAGE));
+        assertEquals(3, bitmap.count(1, 3 * PAGE + 1));
+        assertTrue(bitmap.contains(3 * PAGE));
+        assertFalse(bitmap.contains(3 * PAGE + 1));
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test
+    void countMatchesBitByBitOverUnalignedRanges() {
+        WriteVerifier.Bitmap bitmap = new WriteVerifier.Bitmap(2 * PAGE);
+        for (long seq = 1; seq <= 2 * PAGE; seq += 3) {
+            bitmap.set(seq);
+        }
+
+        long[][] ranges = {{1, 2}, {5, 70}, {63, 64}, {100, 1000}, {PAGE - 70, PAGE + 70}, {1, 2 * PAGE + 1}};
+        for (long[] range : ranges) {
+            long expected = 0;
+            for (long seq = range[0]; seq < range[1]; seq++) {
+                expected += bitmap.get(seq) ? 1 : 0;
+            }
+            assertEquals(expected, bitmap.count(range[0], range[1]), range[0] + "-" + range[1]);
+        }
+    }
+
+    @Test
+    void collectListsSetAndClearSequences() {
+        WriteVerifier.Bitmap bitmap = new WriteVerifier.Bitmap(10);
+        bitmap.set(2);
+        bitmap.set(4);
+
+        List<String> set = new ArrayList<>();
+        bitmap.collectSet(1, 6, 3, set);
+        List<String> clear = new ArrayList<>();
+        bitmap.collectClear(1, 6, 3, clear);
+
+        assertEquals(List.of("3:2", "3:4"), set);
+        assertEquals(List.of("3:1", "3:3", "3:5"), clear);
+    }
+}